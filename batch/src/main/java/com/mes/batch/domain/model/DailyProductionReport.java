@@ -1,8 +1,13 @@
 package com.mes.batch.domain.model;
 
+import javax.persistence.*;
 import java.time.LocalDate;
 
+@Entity
+@Table(name = "daily_production_reports")
 public class DailyProductionReport {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private LocalDate reportDate;
     private String lineId;
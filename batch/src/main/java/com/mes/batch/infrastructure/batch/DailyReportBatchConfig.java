@@ -3,54 +3,138 @@ package com.mes.batch.infrastructure.batch;
 import com.mes.batch.domain.model.DailyProductionReport;
 import com.mes.batch.domain.model.ProductionRecord;
 import com.mes.batch.domain.repository.DailyReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import javax.sql.DataSource;
+import java.sql.Date;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
+@EnableBatchProcessing
 public class DailyReportBatchConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(DailyReportBatchConfig.class);
+
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
     private final DailyReportRepository reportRepository;
+    private final DataSource dataSource;
+
+    /**
+     * 分區數上限；產線數超過時相鄰的產線合併為同一個分區。
+     */
+    @Value("${mes.batch.daily-report.grid-size:64}")
+    private int gridSize;
+
+    /**
+     * 同時執行的分區數。
+     */
+    @Value("${mes.batch.daily-report.concurrency:8}")
+    private int concurrency;
+
+    /**
+     * 暫時性的資料庫錯誤（死結、鎖等待逾時）每個 item 的重試次數。
+     */
+    @Value("${mes.batch.daily-report.retry-limit:3}")
+    private int retryLimit;
+
+    /**
+     * reader 每頁查詢的筆數，也是每個分區同時在記憶體中的生產紀錄上限。
+     */
+    @Value("${mes.batch.daily-report.page-size:1000}")
+    private int pageSize;
+
+    /**
+     * JDBC 驅動程式每次往返取回的列數。
+     */
+    @Value("${mes.batch.daily-report.fetch-size:1000}")
+    private int fetchSize;
 
     public DailyReportBatchConfig(JobBuilderFactory jobBuilderFactory,
                                    StepBuilderFactory stepBuilderFactory,
-                                   DailyReportRepository reportRepository) {
+                                   DailyReportRepository reportRepository,
+                                   DataSource dataSource) {
         this.jobBuilderFactory = jobBuilderFactory;
         this.stepBuilderFactory = stepBuilderFactory;
         this.reportRepository = reportRepository;
+        this.dataSource = dataSource;
     }
 
     @Bean
     @StepScope
-    public ItemReader<ProductionRecord> dailyReportReader(
+    public Partitioner dailyReportPartitioner(
             @Value("#{jobParameters['reportDate']}") String reportDateStr) {
-        LocalDate reportDate = reportDateStr != null 
-                ? LocalDate.parse(reportDateStr) 
-                : LocalDate.now().minusDays(1);
-        
-        List<ProductionRecord> mockData = Arrays.asList(
-                new ProductionRecord("WO-001", "LINE-A", reportDate, 100, 5, "COMPLETED"),
-                new ProductionRecord("WO-002", "LINE-A", reportDate, 150, 8, "COMPLETED"),
-                new ProductionRecord("WO-003", "LINE-B", reportDate, 200, 12, "COMPLETED"),
-                new ProductionRecord("WO-004", "LINE-B", reportDate, 80, 3, "COMPLETED")
-        );
-        
-        return new ListItemReader<>(mockData);
+        List<String> lineIds = new JdbcTemplate(dataSource).queryForList(
+                "SELECT DISTINCT line_id FROM production_record WHERE production_date = ?",
+                String.class, Date.valueOf(resolveReportDate(reportDateStr)));
+        return new ProductionLinePartitioner(lineIds);
+    }
+
+    /**
+     * 以 (line_id, order_id) keyset 分頁讀取分區內產線在報表日期的生產紀錄，依 lineId 排序。
+     * 每次只查詢 page-size 筆，記憶體用量與當日的紀錄數無關；
+     * 讀取位置（最後一筆的排序鍵）存入 ExecutionContext，重新執行時從下一筆繼續，不重讀已處理的頁。
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<ProductionRecord> dailyReportReader(
+            @Value("#{jobParameters['reportDate']}") String reportDateStr,
+            @Value("#{stepExecutionContext['minLineId']}") String minLineId,
+            @Value("#{stepExecutionContext['maxLineId']}") String maxLineId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("reportDate", Date.valueOf(resolveReportDate(reportDateStr)));
+        parameters.put("minLineId", minLineId);
+        parameters.put("maxLineId", maxLineId);
+
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("line_id", Order.ASCENDING);
+        sortKeys.put("order_id", Order.ASCENDING);
+
+        return new JdbcPagingItemReaderBuilder<ProductionRecord>()
+                .name("dailyReportReader")
+                .dataSource(dataSource)
+                .selectClause("SELECT order_id, line_id, production_date, output_quantity, defective_quantity, status")
+                .fromClause("FROM production_record")
+                .whereClause("WHERE production_date = :reportDate AND line_id BETWEEN :minLineId AND :maxLineId")
+                .sortKeys(sortKeys)
+                .parameterValues(parameters)
+                .pageSize(pageSize)
+                .fetchSize(fetchSize)
+                .rowMapper((rs, rowNum) -> new ProductionRecord(
+                        rs.getString("order_id"),
+                        rs.getString("line_id"),
+                        rs.getDate("production_date").toLocalDate(),
+                        rs.getInt("output_quantity"),
+                        rs.getInt("defective_quantity"),
+                        rs.getString("status")))
+                .build();
     }
 
     @Bean
@@ -61,15 +145,39 @@ public class DailyReportBatchConfig {
                     record.getLineId()
             );
             report.updateMetrics(1, 1, record.getOutputQuantity(), record.getDefectiveQuantity());
-            report.setGeneratedAt(LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            report.setGeneratedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
             return report;
         };
     }
 
+    /**
+     * reader 依 lineId 排序，同一條產線的紀錄在 chunk 中是連續的：
+     * 先在記憶體中合併連續相同產線的指標，每條產線每個 chunk 只查詢與儲存一次日報表。
+     */
     @Bean
     public ItemWriter<DailyProductionReport> dailyReportWriter() {
         return reports -> {
+            List<DailyProductionReport> merged = new ArrayList<>();
+            DailyProductionReport current = null;
             for (DailyProductionReport report : reports) {
+                if (current != null && current.getReportDate().equals(report.getReportDate())
+                        && current.getLineId().equals(report.getLineId())) {
+                    current.updateMetrics(
+                            current.getTotalOrders() + report.getTotalOrders(),
+                            current.getCompletedOrders() + report.getCompletedOrders(),
+                            current.getTotalOutput() + report.getTotalOutput(),
+                            current.getDefectiveOutput() + report.getDefectiveOutput()
+                    );
+                } else {
+                    current = new DailyProductionReport(report.getReportDate(), report.getLineId());
+                    current.updateMetrics(report.getTotalOrders(), report.getCompletedOrders(),
+                            report.getTotalOutput(), report.getDefectiveOutput());
+                    current.setGeneratedAt(report.getGeneratedAt());
+                    merged.add(current);
+                }
+            }
+
+            for (DailyProductionReport report : merged) {
                 java.util.Optional<DailyProductionReport> existing = reportRepository.findByReportDateAndLineId(
                         report.getReportDate(), report.getLineId());
                 if (existing.isPresent()) {
@@ -85,20 +193,50 @@ public class DailyReportBatchConfig {
                     reportRepository.save(report);
                 }
             }
-            System.out.println("Wrote " + reports.size() + " daily reports");
+            log.debug("日報表寫入完成: records={}, reports={}", reports.size(), merged.size());
         };
     }
 
+    /**
+     * 處理單一分區（一條或相鄰幾條產線）的 worker step。
+     * reader 是 step scope，每個分區各自建立並把讀取位置存在自己的 ExecutionContext，失敗的分區可以從中斷處重新執行。
+     */
     @Bean
-    public Step dailyReportGenerationStep() {
-        return stepBuilderFactory.get("dailyReportGenerationStep")
+    public Step dailyReportLineStep() {
+        return stepBuilderFactory.get("dailyReportLineStep")
                 .<ProductionRecord, DailyProductionReport>chunk(10)
-                .reader(dailyReportReader(null))
+                .reader(dailyReportReader(null, null, null))
                 .processor(dailyReportProcessor())
                 .writer(dailyReportWriter())
+                .faultTolerant()
+                .retry(TransientDataAccessException.class)
+                .retryLimit(retryLimit)
                 .build();
     }
 
+    /**
+     * 依產線分區，在固定大小的執行緒池上平行處理；
+     * 同一條產線只會在同一個分區中寫入，各分區的 writer 不會更新到同一筆日報表。
+     */
+    @Bean
+    public Step dailyReportGenerationStep() {
+        return stepBuilderFactory.get("dailyReportGenerationStep")
+                .partitioner("dailyReportLineStep", dailyReportPartitioner(null))
+                .step(dailyReportLineStep())
+                .gridSize(gridSize)
+                .taskExecutor(dailyReportTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    public TaskExecutor dailyReportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("daily-report-");
+        return executor;
+    }
+
     @Bean
     public Job dailyReportGenerationJob() {
         return jobBuilderFactory.get("dailyReportGenerationJob")
@@ -106,20 +244,9 @@ public class DailyReportBatchConfig {
                 .build();
     }
 
-    public static class ListItemReader<T> implements ItemReader<T> {
-        private final List<T> items;
-        private int currentIndex = 0;
-
-        public ListItemReader(List<T> items) {
-            this.items = items;
-        }
-
-        @Override
-        public T read() {
-            if (currentIndex >= items.size()) {
-                return null;
-            }
-            return items.get(currentIndex++);
-        }
+    private LocalDate resolveReportDate(String reportDateStr) {
+        return reportDateStr != null
+                ? LocalDate.parse(reportDateStr)
+                : LocalDate.now().minusDays(1);
     }
 }
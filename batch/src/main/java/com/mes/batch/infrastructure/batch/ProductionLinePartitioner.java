@@ -0,0 +1,52 @@
+package com.mes.batch.infrastructure.batch;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 依產線切分日報表的資料：產線數不超過 gridSize 時每條產線一個分區，
+ * 超過時把依 lineId 排序後相鄰的產線合併為 gridSize 個區間。
+ * 每個分區的 ExecutionContext 帶有 minLineId / maxLineId（含），由 reader 依此讀取；
+ * 分區名稱只由產線組成，重新執行時可以對應回上一次的分區。
+ */
+public class ProductionLinePartitioner implements Partitioner {
+
+    public static final String MIN_LINE_ID = "minLineId";
+    public static final String MAX_LINE_ID = "maxLineId";
+
+    private final List<String> lineIds;
+
+    public ProductionLinePartitioner(Collection<String> lineIds) {
+        this.lineIds = new ArrayList<>(new TreeSet<>(lineIds));
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        if (lineIds.isEmpty()) {
+            return partitions;
+        }
+        int partitionCount = Math.min(Math.max(1, gridSize), lineIds.size());
+        int from = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            // 前 (size % partitionCount) 個分區多分到一條產線
+            int to = from + lineIds.size() / partitionCount + (i < lineIds.size() % partitionCount ? 1 : 0);
+            String minLineId = lineIds.get(from);
+            String maxLineId = lineIds.get(to - 1);
+            ExecutionContext context = new ExecutionContext();
+            context.putString(MIN_LINE_ID, minLineId);
+            context.putString(MAX_LINE_ID, maxLineId);
+            String name = minLineId.equals(maxLineId) ? minLineId : minLineId + ".." + maxLineId;
+            partitions.put("line:" + name, context);
+            from = to;
+        }
+        return partitions;
+    }
+}
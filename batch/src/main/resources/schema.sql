@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS production_record (
+    order_id            VARCHAR(36)  NOT NULL PRIMARY KEY,
+    line_id             VARCHAR(36)  NOT NULL,
+    production_date     DATE         NOT NULL,
+    output_quantity     INT          NOT NULL,
+    defective_quantity  INT          NOT NULL,
+    status              VARCHAR(20)  NOT NULL
+);
+
+-- 日報表 reader 依 (production_date, line_id 區間) 篩選並以 (line_id, order_id) keyset 分頁
+CREATE INDEX IF NOT EXISTS idx_production_record_date_line
+    ON production_record (production_date, line_id, order_id);
@@ -9,11 +9,15 @@ import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.batch.test.context.SpringBatchTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.sql.Date;
 import java.time.LocalDate;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBatchTest
 @SpringBootTest
@@ -28,6 +32,9 @@ class DailyReportBatchTest {
     @Autowired
     private DailyReportRepository reportRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("應該成功執行日報告生成 Job")
     void dailyReportJob_shouldCompleteSuccessfully() throws Exception {
@@ -51,4 +58,41 @@ class DailyReportBatchTest {
 
         assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
     }
+
+    @Test
+    @DisplayName("應該依產線分區執行並產生每條產線的日報表")
+    void dailyReportStep_shouldRunOnePartitionPerLine() throws Exception {
+        LocalDate reportDate = LocalDate.now().minusDays(2);
+        // 記憶體資料庫由同一個 JVM 內的測試共用，先清除本測試使用的日期
+        jdbcTemplate.update("DELETE FROM production_record WHERE production_date IN (?, ?)",
+                Date.valueOf(reportDate), Date.valueOf(reportDate.minusDays(1)));
+        reportRepository.deleteAll(reportRepository.findByReportDate(reportDate));
+        insertProductionRecord("PT-001", "LINE-A", reportDate, 100, 5);
+        insertProductionRecord("PT-002", "LINE-A", reportDate, 150, 8);
+        insertProductionRecord("PT-003", "LINE-B", reportDate, 200, 12);
+        insertProductionRecord("PT-004", "LINE-B", reportDate, 80, 3);
+        insertProductionRecord("PT-005", "LINE-C", reportDate.minusDays(1), 90, 1);
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("reportDate", reportDate.toString())
+                .toJobParameters();
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchStep("dailyReportGenerationStep", jobParameters);
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions().stream()
+                .map(StepExecution::getStepName)
+                .collect(Collectors.toList()))
+                .contains("dailyReportLineStep:line:LINE-A", "dailyReportLineStep:line:LINE-B");
+        assertThat(reportRepository.findByReportDate(reportDate))
+                .extracting(DailyProductionReport::getLineId, DailyProductionReport::getTotalOrders,
+                        DailyProductionReport::getTotalOutput)
+                .containsExactlyInAnyOrder(tuple("LINE-A", 2, 250), tuple("LINE-B", 2, 280));
+    }
+
+    private void insertProductionRecord(String orderId, String lineId, LocalDate productionDate,
+                                        int outputQuantity, int defectiveQuantity) {
+        jdbcTemplate.update("INSERT INTO production_record (order_id, line_id, production_date, "
+                        + "output_quantity, defective_quantity, status) VALUES (?, ?, ?, ?, ?, 'COMPLETED')",
+                orderId, lineId, Date.valueOf(productionDate), outputQuantity, defectiveQuantity);
+    }
 }
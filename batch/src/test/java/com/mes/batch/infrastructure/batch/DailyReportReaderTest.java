@@ -0,0 +1,109 @@
+package com.mes.batch.infrastructure.batch;
+
+import com.mes.batch.MesBatchApplication;
+import com.mes.batch.domain.model.ProductionRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBatchTest
+@SpringBootTest(properties = "mes.batch.daily-report.page-size=2")
+@ContextConfiguration(classes = {MesBatchApplication.class, DailyReportBatchConfig.class})
+@DisplayName("日報表生產紀錄 reader 測試")
+class DailyReportReaderTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2020, 1, 15);
+
+    @Autowired
+    private ItemStreamReader<ProductionRecord> dailyReportReader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * step scope 的 reader 在測試方法中使用此 StepExecution（分區 LINE-A..LINE-B）。
+     */
+    public StepExecution getStepExecution() {
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(new JobParametersBuilder()
+                .addString("reportDate", REPORT_DATE.toString())
+                .toJobParameters());
+        stepExecution.getExecutionContext().putString(ProductionLinePartitioner.MIN_LINE_ID, "LINE-A");
+        stepExecution.getExecutionContext().putString(ProductionLinePartitioner.MAX_LINE_ID, "LINE-B");
+        return stepExecution;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM production_record WHERE production_date IN (?, ?)",
+                Date.valueOf(REPORT_DATE), Date.valueOf(REPORT_DATE.plusDays(1)));
+        insertProductionRecord("RD-005", "LINE-B", REPORT_DATE);
+        insertProductionRecord("RD-001", "LINE-A", REPORT_DATE);
+        insertProductionRecord("RD-004", "LINE-B", REPORT_DATE);
+        insertProductionRecord("RD-002", "LINE-A", REPORT_DATE);
+        insertProductionRecord("RD-003", "LINE-A", REPORT_DATE);
+        insertProductionRecord("RD-006", "LINE-C", REPORT_DATE);
+        insertProductionRecord("RD-007", "LINE-A", REPORT_DATE.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("應該跨頁依 lineId、orderId 順序讀取分區內報表日期的紀錄")
+    void read_shouldReturnPartitionRecordsInLineOrder() throws Exception {
+        dailyReportReader.open(new ExecutionContext());
+        List<String> orderIds = readAll();
+        dailyReportReader.close();
+
+        assertThat(orderIds).containsExactly("RD-001", "RD-002", "RD-003", "RD-004", "RD-005");
+    }
+
+    @Test
+    @DisplayName("重新開啟時應從 ExecutionContext 記錄的位置繼續讀取")
+    void read_shouldResumeFromExecutionContext() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        dailyReportReader.open(executionContext);
+        List<String> firstRun = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            firstRun.add(dailyReportReader.read().getOrderId());
+        }
+        dailyReportReader.update(executionContext);
+        dailyReportReader.close();
+
+        dailyReportReader.open(executionContext);
+        List<String> secondRun = readAll();
+        dailyReportReader.close();
+
+        assertThat(firstRun).containsExactly("RD-001", "RD-002", "RD-003");
+        assertThat(secondRun).containsExactly("RD-004", "RD-005");
+    }
+
+    private List<String> readAll() throws Exception {
+        List<String> orderIds = new ArrayList<>();
+        ProductionRecord record;
+        while ((record = dailyReportReader.read()) != null) {
+            orderIds.add(record.getOrderId());
+        }
+        return orderIds;
+    }
+
+    private void insertProductionRecord(String orderId, String lineId, LocalDate productionDate) {
+        jdbcTemplate.update("INSERT INTO production_record (order_id, line_id, production_date, "
+                        + "output_quantity, defective_quantity, status) VALUES (?, ?, ?, 100, 2, 'COMPLETED')",
+                orderId, lineId, Date.valueOf(productionDate));
+    }
+}
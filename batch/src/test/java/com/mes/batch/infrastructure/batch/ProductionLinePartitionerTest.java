@@ -0,0 +1,51 @@
+package com.mes.batch.infrastructure.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("產線分區器測試")
+class ProductionLinePartitionerTest {
+
+    @Test
+    @DisplayName("產線數不超過 gridSize 時應每條產線一個分區")
+    void partition_shouldCreateOnePartitionPerLine() {
+        ProductionLinePartitioner partitioner = new ProductionLinePartitioner(
+                Arrays.asList("LINE-B", "LINE-A", "LINE-C", "LINE-A"));
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(8);
+
+        assertThat(partitions).containsOnlyKeys("line:LINE-A", "line:LINE-B", "line:LINE-C");
+        ExecutionContext lineB = partitions.get("line:LINE-B");
+        assertThat(lineB.getString(ProductionLinePartitioner.MIN_LINE_ID)).isEqualTo("LINE-B");
+        assertThat(lineB.getString(ProductionLinePartitioner.MAX_LINE_ID)).isEqualTo("LINE-B");
+    }
+
+    @Test
+    @DisplayName("產線數超過 gridSize 時應合併相鄰產線為連續區間")
+    void partition_shouldGroupAdjacentLinesIntoRanges() {
+        ProductionLinePartitioner partitioner = new ProductionLinePartitioner(
+                Arrays.asList("L1", "L2", "L3", "L4", "L5"));
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        assertThat(partitions).containsOnlyKeys("line:L1..L3", "line:L4..L5");
+        ExecutionContext second = partitions.get("line:L4..L5");
+        assertThat(second.getString(ProductionLinePartitioner.MIN_LINE_ID)).isEqualTo("L4");
+        assertThat(second.getString(ProductionLinePartitioner.MAX_LINE_ID)).isEqualTo("L5");
+    }
+
+    @Test
+    @DisplayName("沒有產線時不應建立分區")
+    void partition_shouldReturnEmptyWhenNoLines() {
+        ProductionLinePartitioner partitioner = new ProductionLinePartitioner(Collections.emptyList());
+
+        assertThat(partitioner.partition(4)).isEmpty();
+    }
+}
@@ -3,6 +3,7 @@ package com.mes.common.ddd.model;
 import com.mes.common.ddd.event.DomainEvent;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -54,4 +55,11 @@ public abstract class BaseAggregateRoot<ID> extends BaseEntity<ID> {
     public void clearEvents() {
         domainEvents.clear();
     }
+
+    /**
+     * 只清除指定的領域事件，保留其他流程註冊但尚未處理的事件。
+     */
+    public void clearEvents(Collection<? extends DomainEvent> events) {
+        domainEvents.removeAll(events);
+    }
 }
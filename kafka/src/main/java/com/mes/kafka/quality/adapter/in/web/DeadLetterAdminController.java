@@ -0,0 +1,64 @@
+package com.mes.kafka.quality.adapter.in.web;
+
+import com.mes.kafka.quality.infrastructure.messaging.kafka.consumer.ProductionEventConsumer;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.retry.DeadLetterReplayService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * [Hexagonal Architecture: Input Adapter - REST Admin Controller]
+ * [SOLID: SRP - 只負責死信主題的維運操作]
+ *
+ * 死信（DLT）維運端點。問題修正後，可將死信主題中指定範圍的事件送回原主題重新處理。
+ */
+@RestController
+@RequestMapping("/api/v1/admin/dead-letters")
+public class DeadLetterAdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterAdminController.class);
+
+    private final DeadLetterReplayService replayService;
+
+    public DeadLetterAdminController(DeadLetterReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    /**
+     * 重播死信主題中某分區的 offset 範圍（含兩端）。
+     *
+     * @param request 包含 topic（原主題，可省略）、partition、fromOffset、toOffset 的請求
+     * @return 實際重播的筆數
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<ApiResponse<Integer>> replay(@RequestBody Map<String, Object> request) {
+        String topic = request.containsKey("topic")
+                ? String.valueOf(request.get("topic"))
+                : ProductionEventConsumer.SOURCE_TOPIC;
+        int partition = (int) toLong(request.get("partition"), "partition");
+        long fromOffset = toLong(request.get("fromOffset"), "fromOffset");
+        long toOffset = toLong(request.get("toOffset"), "toOffset");
+
+        log.info("POST /api/v1/admin/dead-letters/replay - topic={}, partition={}, range=[{}, {}]",
+                topic, partition, fromOffset, toOffset);
+
+        int replayed = replayService.replay(topic, partition, fromOffset, toOffset);
+        return ResponseEntity.ok(ApiResponse.success("Dead letters replayed", replayed));
+    }
+
+    private long toLong(Object value, String field) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return Long.parseLong(String.valueOf(value));
+    }
+}
@@ -5,8 +5,10 @@ import com.mes.common.ddd.event.DomainEvent;
 import com.mes.common.ddd.event.DomainEventPublisher;
 import com.mes.common.exception.EntityNotFoundException;
 import com.mes.kafka.quality.application.command.RecordInspectionResultCommand;
+import com.mes.kafka.quality.application.query.readmodel.DefectStatisticsReadModel;
 import com.mes.kafka.quality.domain.model.InspectionOrder;
 import com.mes.kafka.quality.domain.model.InspectionOrderId;
+import com.mes.kafka.quality.domain.model.InspectionResult;
 import com.mes.kafka.quality.domain.model.MeasuredValue;
 import com.mes.kafka.quality.domain.model.QualityStandard;
 import com.mes.kafka.quality.domain.repository.InspectionOrderRepository;
@@ -15,6 +17,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * [CQRS Pattern: Command Handler - 記錄檢驗結果處理器]
@@ -27,6 +30,7 @@ import java.time.LocalDateTime;
  * 2. 建立 QualityStandard 與 MeasuredValue
  * 3. 透過聚合根記錄結果
  * 4. 持久化並發佈事件
+ * 5. 增量更新缺陷統計讀取模型（{@link DefectStatisticsReadModel}）
  */
 @Component
 public class RecordInspectionResultCommandHandler implements CommandHandler<RecordInspectionResultCommand, Void> {
@@ -35,11 +39,14 @@ public class RecordInspectionResultCommandHandler implements CommandHandler<Reco
 
     private final InspectionOrderRepository repository;
     private final DomainEventPublisher eventPublisher;
+    private final DefectStatisticsReadModel statisticsReadModel;
 
     public RecordInspectionResultCommandHandler(InspectionOrderRepository repository,
-                                                 DomainEventPublisher eventPublisher) {
+                                                 DomainEventPublisher eventPublisher,
+                                                 DefectStatisticsReadModel statisticsReadModel) {
         this.repository = repository;
         this.eventPublisher = eventPublisher;
+        this.statisticsReadModel = statisticsReadModel;
     }
 
     @Override
@@ -66,6 +73,9 @@ public class RecordInspectionResultCommandHandler implements CommandHandler<Reco
         order.recordResult(standard, measuredValue);
         repository.save(order);
 
+        List<InspectionResult> results = order.getResults();
+        statisticsReadModel.record(order.getProductCode(), results.get(results.size() - 1));
+
         // 發佈領域事件
         for (DomainEvent event : order.getDomainEvents()) {
             eventPublisher.publish(event);
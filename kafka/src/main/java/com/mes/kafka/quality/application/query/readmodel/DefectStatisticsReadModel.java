@@ -0,0 +1,96 @@
+package com.mes.kafka.quality.application.query.readmodel;
+
+import com.mes.kafka.quality.application.query.dto.DefectStatisticsView;
+import com.mes.kafka.quality.domain.model.DefectDetail;
+import com.mes.kafka.quality.domain.model.InspectionResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [CQRS Pattern: Read Model - 缺陷統計讀取模型]
+ * [SOLID: SRP - 只負責維護缺陷統計的增量計數]
+ *
+ * 由寫入端（RecordInspectionResultCommandHandler）在記錄檢驗結果時增量更新，
+ * 查詢端不再需要掃描所有檢驗工單：
+ * <ul>
+ *   <li>每個產品代碼各有一組原子計數器（總檢驗數、缺陷數）</li>
+ *   <li>缺陷代碼以 {@link SpaceSavingTopK} 追蹤高頻項目，記憶體有上限</li>
+ *   <li>另維護一組全產品的彙總計數，查詢全部時不需逐產品加總</li>
+ * </ul>
+ * 查詢成本為 O(K)，與檢驗筆數無關。
+ */
+@Component
+public class DefectStatisticsReadModel {
+
+    /** 統計查詢回傳的最常見缺陷代碼數量。 */
+    public static final int TOP_DEFECT_CODES = 5;
+
+    /** 每組 Top-K 最多追蹤的缺陷代碼數，遠大於回傳數量以維持精確度。 */
+    private static final int TRACKED_DEFECT_CODES = 64;
+
+    private final Counters overall = new Counters();
+    private final Map<String, Counters> byProduct = new ConcurrentHashMap<>();
+
+    /**
+     * 記錄一筆檢驗結果。
+     *
+     * @param productCode 產品代碼
+     * @param result      檢驗結果
+     */
+    public void record(String productCode, InspectionResult result) {
+        String defectCode = null;
+        if (!result.isPassed()) {
+            DefectDetail defect = result.getDefectDetail();
+            defectCode = defect != null ? defect.getDefectCode() : null;
+        }
+        Counters product = byProduct.computeIfAbsent(productCode, k -> new Counters());
+        product.record(result.isPassed(), defectCode);
+        overall.record(result.isPassed(), defectCode);
+    }
+
+    /**
+     * 取得缺陷統計。
+     *
+     * @param productCode 產品代碼（null 或空字串表示全部產品）
+     * @return 缺陷統計視圖
+     */
+    public DefectStatisticsView getStatistics(String productCode) {
+        if (productCode == null || productCode.isEmpty()) {
+            return overall.toView();
+        }
+        Counters product = byProduct.get(productCode);
+        return product != null
+                ? product.toView()
+                : new DefectStatisticsView(0, 0, 0.0, Collections.<String>emptyList());
+    }
+
+    private static final class Counters {
+        private final AtomicLong totalInspections = new AtomicLong();
+        private final AtomicLong totalDefects = new AtomicLong();
+        private final SpaceSavingTopK defectCodes = new SpaceSavingTopK(TRACKED_DEFECT_CODES);
+
+        private void record(boolean passed, String defectCode) {
+            totalInspections.incrementAndGet();
+            if (!passed) {
+                totalDefects.incrementAndGet();
+                if (defectCode != null) {
+                    defectCodes.offer(defectCode);
+                }
+            }
+        }
+
+        private DefectStatisticsView toView() {
+            // 先讀缺陷數再讀總數，並行寫入時不會出現缺陷數大於總數
+            long defects = totalDefects.get();
+            long inspections = totalInspections.get();
+            double rate = inspections > 0 ? (double) defects / inspections : 0.0;
+            List<String> topCodes = defectCodes.top(TOP_DEFECT_CODES);
+            return new DefectStatisticsView((int) inspections, (int) defects, rate, topCodes);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.mes.kafka.quality.application.query.readmodel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [Read Model: Space-Saving Heavy Hitters - 有界的高頻項目統計]
+ * [SOLID: SRP - 只負責在固定記憶體內近似追蹤出現次數最多的項目]
+ *
+ * Space-Saving 演算法（Metwally et al.）：最多保留 capacity 個計數器，
+ * 新項目在計數器已滿時取代目前次數最少的項目，並繼承其次數（高估量不超過被取代的次數）。
+ *
+ * <ul>
+ *   <li>相異項目數不超過 capacity 時，計數完全精確</li>
+ *   <li>超過時，任何實際次數大於 N / capacity 的項目一定會留在結果中</li>
+ *   <li>記憶體與查詢成本只與 capacity 有關，與檢驗筆數無關</li>
+ * </ul>
+ */
+class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    /**
+     * @param capacity 最多追蹤的項目數
+     */
+    SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    /**
+     * 記錄一次出現。
+     *
+     * @param item 項目（如缺陷代碼）
+     */
+    synchronized void offer(String item) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, 1));
+            return;
+        }
+        Counter min = null;
+        for (Counter candidate : counters.values()) {
+            if (min == null || candidate.count < min.count) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.item);
+        counters.put(item, new Counter(item, min.count + 1));
+    }
+
+    /**
+     * 取得出現次數最多的前 k 個項目（次數相同時依項目名稱排序）。
+     *
+     * @param k 數量
+     * @return 依次數遞減排序的項目
+     */
+    synchronized List<String> top(int k) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        Collections.sort(sorted, (a, b) -> a.count != b.count
+                ? Long.compare(b.count, a.count)
+                : a.item.compareTo(b.item));
+        List<String> result = new ArrayList<>(Math.min(k, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < k; i++) {
+            result.add(sorted.get(i).item);
+        }
+        return result;
+    }
+
+    /**
+     * @param item 項目
+     * @return 估計次數（未追蹤時為 0）；相異項目數未超過 capacity 時即為實際次數
+     */
+    synchronized long estimate(String item) {
+        Counter counter = counters.get(item);
+        return counter == null ? 0 : counter.count;
+    }
+
+    synchronized int size() {
+        return counters.size();
+    }
+
+    private static final class Counter {
+        private final String item;
+        private long count;
+
+        private Counter(String item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+    }
+}
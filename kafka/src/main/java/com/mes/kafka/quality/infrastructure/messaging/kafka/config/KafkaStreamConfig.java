@@ -1,7 +1,11 @@
 package com.mes.kafka.quality.infrastructure.messaging.kafka.config;
 
+import com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency.IdempotencyProperties;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.parallel.ParallelConsumerProperties;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.retry.RetryTopicProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -16,6 +20,7 @@ import org.springframework.context.annotation.Configuration;
  *   <li>qualityEventsOut-out-0 → mes.quality.events（發送品質事件）</li>
  *   <li>qualityEventsIn-in-0 → mes.quality.events（接收品質事件）</li>
  *   <li>productionEventsIn-in-0 → mes.production.events（接收生產事件）</li>
+ *   <li>productionRetryTier0~2-in-0 → mes.production.events-retry-*（分層重試）</li>
  * </ul>
  *
  * <p>Spring Cloud Stream 函數式綁定命名規則：</p>
@@ -23,8 +28,16 @@ import org.springframework.context.annotation.Configuration;
  * &lt;functionName&gt;-&lt;in|out&gt;-&lt;index&gt;
  * 例如：qualityEventsIn-in-0 表示 qualityEventsIn 函數的第 0 個輸入
  * </pre>
+ *
+ * <p>消費端去重（{@link IdempotencyProperties}）的組態前綴為 mes.quality.idempotency；
+ * 非阻塞重試（{@link RetryTopicProperties}）的組態前綴為 mes.quality.retry；
+ * 分區內平行處理（{@link ParallelConsumerProperties}）的組態前綴為 mes.quality.parallel。</p>
  */
 @Configuration
+@EnableConfigurationProperties({
+        IdempotencyProperties.class,
+        RetryTopicProperties.class,
+        ParallelConsumerProperties.class})
 public class KafkaStreamConfig {
 
     private static final Logger log = LoggerFactory.getLogger(KafkaStreamConfig.class);
@@ -33,5 +46,4 @@ public class KafkaStreamConfig {
     // 此類別可擴展以下功能：
     // - 自訂 MessageConverter
     // - 自訂 PartitionKeyExtractor
-    // - 自訂 ErrorHandler / DLQ 配置
 }
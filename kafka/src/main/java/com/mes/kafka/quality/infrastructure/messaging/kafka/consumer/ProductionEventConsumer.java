@@ -2,9 +2,14 @@ package com.mes.kafka.quality.infrastructure.messaging.kafka.consumer;
 
 import com.mes.kafka.quality.application.command.CreateInspectionCommand;
 import com.mes.kafka.quality.application.command.handler.CreateInspectionCommandHandler;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency.IdempotentMessageFilter;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.parallel.KeyOrderedDispatcher;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.retry.RetryHeaders;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.retry.RetryTopicRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +30,9 @@ import java.util.function.Consumer;
  *   <li>Bounded Context 之間透過事件解耦</li>
  *   <li>最終一致性（Eventually Consistent）</li>
  *   <li>消費者將外部事件轉換為內部命令（Anti-Corruption Layer 概念）</li>
+ *   <li>冪等消費（Idempotent Consumer）- 重送的事件不會重複建立檢驗工單</li>
+ *   <li>非阻塞重試（Retry Topics + DLT）- 失敗事件不會遺失，也不會卡住分區</li>
+ *   <li>分區內依鍵平行處理 - 不同工單的事件可平行處理，同一工單維持順序</li>
  * </ul>
  */
 @Component
@@ -32,55 +40,85 @@ public class ProductionEventConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(ProductionEventConsumer.class);
 
+    /** 生產事件的原主題；重試與死信主題名稱皆由此推導。 */
+    public static final String SOURCE_TOPIC = "mes.production.events";
+
     private final CreateInspectionCommandHandler createInspectionCommandHandler;
+    private final IdempotentMessageFilter idempotentFilter;
+    private final RetryTopicRouter retryTopicRouter;
+    private final KeyOrderedDispatcher dispatcher;
 
-    public ProductionEventConsumer(CreateInspectionCommandHandler createInspectionCommandHandler) {
+    public ProductionEventConsumer(CreateInspectionCommandHandler createInspectionCommandHandler,
+                                   IdempotentMessageFilter idempotentFilter,
+                                   RetryTopicRouter retryTopicRouter,
+                                   KeyOrderedDispatcher dispatcher) {
         this.createInspectionCommandHandler = createInspectionCommandHandler;
+        this.idempotentFilter = idempotentFilter;
+        this.retryTopicRouter = retryTopicRouter;
+        this.dispatcher = dispatcher;
     }
 
     /**
      * 生產事件消費者 Bean。
      * Spring Cloud Stream 會自動綁定到 productionEventsIn-in-0 binding。
      * 接收生產完成事件後，自動建立 FINAL 類型的檢驗工單。
+     * 處理失敗的事件交由 {@link RetryTopicRouter} 轉送到重試主題，不在此阻塞重試。
+     * 啟用平行模式時，由 {@link KeyOrderedDispatcher} 依 aggregateId 分派到工作通道。
      *
      * @return 消費生產事件的 Consumer 函數
      */
     @Bean
     public Consumer<Message<String>> productionEventsIn() {
-        return message -> {
-            String eventType = (String) message.getHeaders().get("eventType");
-            String payload = message.getPayload();
+        return message -> dispatcher.dispatch(message, () -> processOrRoute(message));
+    }
 
-            log.info("Received production event: type={}, payload={}", eventType, payload);
+    private void processOrRoute(Message<String> message) {
+        try {
+            process(message);
+        } catch (Exception e) {
+            String sourceTopic = RetryHeaders.asString(message.getHeaders().get(KafkaHeaders.RECEIVED_TOPIC));
+            retryTopicRouter.routeFailure(message, sourceTopic != null ? sourceTopic : SOURCE_TOPIC, e);
+        }
+    }
 
-            if ("ProductionCompletedEvent".equals(eventType)) {
-                handleProductionCompleted(message);
-            } else {
-                log.debug("Ignoring production event type: {}", eventType);
+    /**
+     * 處理單一生產事件。失敗時直接拋出例外，由呼叫端（主要消費者或重試層消費者）決定下一站。
+     *
+     * @param message 生產事件訊息
+     */
+    public void process(Message<String> message) {
+        String eventType = (String) message.getHeaders().get("eventType");
+        String payload = message.getPayload();
+
+        log.info("Received production event: type={}, payload={}", eventType, payload);
+
+        if ("ProductionCompletedEvent".equals(eventType)) {
+            String eventId = idempotentFilter.resolveEventId(message);
+            if (idempotentFilter.isDuplicate(eventId)) {
+                return;
             }
-        };
+            handleProductionCompleted(message, eventId);
+        } else {
+            log.debug("Ignoring production event type: {}", eventType);
+        }
     }
 
     /**
      * 處理生產完成事件。
      * 從事件訊息中擷取工單 ID 和產品代碼，建立最終檢驗工單。
      */
-    private void handleProductionCompleted(Message<String> message) {
+    private void handleProductionCompleted(Message<String> message, String eventId) {
         // 從 headers 或 payload 中取得必要資訊
         String workOrderId = (String) message.getHeaders().get("aggregateId");
         String productCode = (String) message.getHeaders().getOrDefault("productCode", "UNKNOWN");
 
         log.info("Production completed for workOrder={}, creating FINAL inspection order", workOrderId);
 
-        try {
-            CreateInspectionCommand command = new CreateInspectionCommand(
-                    workOrderId, productCode, "FINAL");
-            String inspectionOrderId = createInspectionCommandHandler.handle(command);
-            log.info("Auto-created FINAL inspection order: {} for workOrder: {}",
-                    inspectionOrderId, workOrderId);
-        } catch (Exception e) {
-            log.error("Failed to auto-create inspection order for workOrder: {}", workOrderId, e);
-            // 在實際生產環境中，應該將失敗的事件發送到 DLQ（Dead Letter Queue）
-        }
+        CreateInspectionCommand command = new CreateInspectionCommand(
+                workOrderId, productCode, "FINAL");
+        String inspectionOrderId = createInspectionCommandHandler.handle(command);
+        idempotentFilter.markProcessed(eventId);
+        log.info("Auto-created FINAL inspection order: {} for workOrder: {}",
+                inspectionOrderId, workOrderId);
     }
 }
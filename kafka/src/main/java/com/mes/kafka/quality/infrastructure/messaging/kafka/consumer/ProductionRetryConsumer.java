@@ -0,0 +1,114 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.consumer;
+
+import com.mes.kafka.quality.infrastructure.messaging.kafka.retry.RetryTopicProperties;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.retry.RetryTopicRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * [Infrastructure: Retry Tier Consumer - 生產事件重試層消費者]
+ * [SOLID: SRP - 只負責等待重試延遲並重新交給 ProductionEventConsumer 處理]
+ * [Hexagonal Architecture: Input Adapter - 訊息接收配接器]
+ *
+ * 每一層重試主題各有一個獨立的 binding，等待只會阻塞該層，不影響主要消費者：
+ * <ul>
+ *   <li>productionRetryTier0-in-0 → mes.production.events-retry-1000</li>
+ *   <li>productionRetryTier1-in-0 → mes.production.events-retry-10000</li>
+ *   <li>productionRetryTier2-in-0 → mes.production.events-retry-60000</li>
+ * </ul>
+ * 再次失敗時交由 {@link RetryTopicRouter} 送往下一層或死信主題。
+ *
+ * <p>binding 的 destination 寫在 application.yml，延遲則來自 mes.quality.retry.delays；
+ * 啟動時會驗證兩者一致，不一致時啟動失敗，避免路由器送往沒有消費者的主題。</p>
+ */
+@Component
+public class ProductionRetryConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionRetryConsumer.class);
+
+    /** 重試層消費者 binding 的數量，需與 mes.quality.retry.delays 的層數相同。 */
+    static final int TIER_COUNT = 3;
+
+    private final ProductionEventConsumer productionEventConsumer;
+    private final RetryTopicRouter retryTopicRouter;
+    private final RetryTopicProperties retryProperties;
+    private final Environment environment;
+
+    public ProductionRetryConsumer(ProductionEventConsumer productionEventConsumer,
+                                   RetryTopicRouter retryTopicRouter,
+                                   RetryTopicProperties retryProperties,
+                                   Environment environment) {
+        this.productionEventConsumer = productionEventConsumer;
+        this.retryTopicRouter = retryTopicRouter;
+        this.retryProperties = retryProperties;
+        this.environment = environment;
+    }
+
+    /**
+     * 驗證每一層重試 binding 的 destination 與 {@link RetryTopicProperties#retryTopic} 推導的主題一致。
+     *
+     * @throws IllegalStateException 層數或 destination 不一致時
+     */
+    @PostConstruct
+    public void verifyTierBindings() {
+        List<String> mismatches = new ArrayList<>();
+        int delayCount = retryProperties.getDelays().size();
+        if (delayCount != TIER_COUNT) {
+            mismatches.add("mes.quality.retry.delays has " + delayCount
+                    + " tiers but " + TIER_COUNT + " retry bindings are defined");
+        }
+        for (int tier = 0; tier < Math.min(delayCount, TIER_COUNT); tier++) {
+            String property = "spring.cloud.stream.bindings.productionRetryTier" + tier + "-in-0.destination";
+            String expected = retryProperties.retryTopic(ProductionEventConsumer.SOURCE_TOPIC, tier);
+            String actual = environment.getProperty(property);
+            if (!expected.equals(actual)) {
+                mismatches.add(property + " is '" + actual + "' but expected '" + expected + "'");
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Retry tier bindings do not match retry delays: " + mismatches);
+        }
+    }
+
+    @Bean
+    public Consumer<Message<String>> productionRetryTier0() {
+        return this::retry;
+    }
+
+    @Bean
+    public Consumer<Message<String>> productionRetryTier1() {
+        return this::retry;
+    }
+
+    @Bean
+    public Consumer<Message<String>> productionRetryTier2() {
+        return this::retry;
+    }
+
+    private void retry(Message<String> message) {
+        try {
+            retryTopicRouter.awaitDue(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 拋出例外讓 binder 不提交 offset，重啟後會重新收到此訊息
+            throw new IllegalStateException("Interrupted while waiting for retry delay", e);
+        }
+
+        try {
+            productionEventConsumer.process(message);
+            log.info("Retry succeeded: eventType={}, aggregateId={}",
+                    message.getHeaders().get("eventType"), message.getHeaders().get("aggregateId"));
+        } catch (Exception e) {
+            retryTopicRouter.routeFailure(message, ProductionEventConsumer.SOURCE_TOPIC, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mes.kafka.quality.infrastructure.messaging.kafka.consumer;
 
+import com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency.IdempotentMessageFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +16,7 @@ import java.util.function.Consumer;
  *
  * 使用 Spring Cloud Stream 函數式程式設計模型消費品質事件。
  * 訂閱 mes.quality.events 主題，處理品質檢驗相關事件。
+ * 透過 {@link IdempotentMessageFilter} 略過重送的事件，避免重複發出警報。
  *
  * <p>在實際生產環境中，可能會觸發以下動作：</p>
  * <ul>
@@ -28,6 +30,12 @@ public class QualityAlertConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(QualityAlertConsumer.class);
 
+    private final IdempotentMessageFilter idempotentFilter;
+
+    public QualityAlertConsumer(IdempotentMessageFilter idempotentFilter) {
+        this.idempotentFilter = idempotentFilter;
+    }
+
     /**
      * 品質事件消費者 Bean。
      * Spring Cloud Stream 會自動綁定到 qualityEventsIn-in-0 binding。
@@ -44,6 +52,11 @@ public class QualityAlertConsumer {
             log.info("Received quality event: type={}, aggregateId={}", eventType, aggregateId);
             log.debug("Quality event payload: {}", payload);
 
+            String eventId = idempotentFilter.resolveEventId(message);
+            if (idempotentFilter.isDuplicate(eventId)) {
+                return;
+            }
+
             // 根據事件類型進行不同處理
             if ("QualityAlertEvent".equals(eventType)) {
                 log.warn("QUALITY ALERT received! aggregateId={}, payload={}", aggregateId, payload);
@@ -53,6 +66,8 @@ public class QualityAlertConsumer {
             } else if ("DefectDetectedEvent".equals(eventType)) {
                 log.info("Defect detected: aggregateId={}", aggregateId);
             }
+
+            idempotentFilter.markProcessed(eventId);
         };
     }
 }
@@ -0,0 +1,230 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * [Infrastructure: Idempotent Consumer - 事件去重器]
+ * [SOLID: SRP - 只負責判斷 eventId 是否已在時間窗口內處理過]
+ *
+ * Kafka 採用 at-least-once 投遞，rebalance 或重新投遞時同一事件可能被消費多次。
+ * 此類別以 {@code DomainEvent.getEventId()} 為鍵，提供有界、具時間窗口的去重：
+ *
+ * <ol>
+ *   <li>{@link RotatingBloomFilter} - 無鎖的機率判斷；絕大多數新事件在此即可放行</li>
+ *   <li>精確 LRU（eventId → 處理時間）- Bloom Filter 回報「可能看過」時才加鎖確認</li>
+ * </ol>
+ *
+ * <p>使用方式：先以 {@link #isDuplicate(String)} 判斷，處理成功後再呼叫
+ * {@link #markProcessed(String)}。處理失敗的事件不會被標記，重新投遞時仍可再次處理。</p>
+ *
+ * <p>窗口內容可透過 {@link #saveSnapshot(Path)} / {@link #loadSnapshot(Path)} 持久化，
+ * 讓服務重啟後仍能辨識重送的事件。</p>
+ */
+public class EventDeduplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(EventDeduplicator.class);
+
+    private static final char SNAPSHOT_SEPARATOR = '\t';
+
+    private final long windowMillis;
+    private final int capacity;
+    private final LongSupplier clock;
+    private final RotatingBloomFilter bloomFilter;
+    private final LinkedHashMap<String, Long> processed;
+    private final AtomicLong duplicateCount = new AtomicLong();
+
+    private volatile long generationStartedAt;
+
+    /**
+     * @param windowMillis      去重時間窗口（毫秒）
+     * @param capacity          LRU 最多保留的 eventId 數量
+     * @param falsePositiveRate Bloom Filter 期望誤判率
+     */
+    public EventDeduplicator(long windowMillis, int capacity, double falsePositiveRate) {
+        this(windowMillis, capacity, falsePositiveRate, System::currentTimeMillis);
+    }
+
+    EventDeduplicator(long windowMillis, int capacity, double falsePositiveRate, LongSupplier clock) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Dedupe window must be positive");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Dedupe capacity must be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.bloomFilter = new RotatingBloomFilter(capacity, falsePositiveRate);
+        this.processed = new LinkedHashMap<String, Long>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > EventDeduplicator.this.capacity;
+            }
+        };
+        this.generationStartedAt = clock.getAsLong();
+    }
+
+    /**
+     * 判斷事件是否已在窗口內處理過。
+     *
+     * @param eventId 事件 ID（null 表示無法去重，一律視為新事件）
+     * @return true 表示重複事件，應略過
+     */
+    public boolean isDuplicate(String eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(eventId)) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        synchronized (processed) {
+            Long processedAt = processed.get(eventId);
+            if (processedAt == null) {
+                return false;
+            }
+            if (now - processedAt > windowMillis) {
+                processed.remove(eventId);
+                return false;
+            }
+        }
+        duplicateCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 標記事件已成功處理。
+     *
+     * @param eventId 事件 ID（null 時忽略）
+     */
+    public void markProcessed(String eventId) {
+        if (eventId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        rotateIfNeeded(now);
+        synchronized (processed) {
+            bloomFilter.put(eventId);
+            processed.put(eventId, now);
+        }
+    }
+
+    /**
+     * 將窗口內仍有效的 eventId 寫入快照檔（先寫暫存檔再原子性替換）。
+     *
+     * @param file 快照檔路徑
+     * @throws IOException 寫入失敗時
+     */
+    public void saveSnapshot(Path file) throws IOException {
+        List<Map.Entry<String, Long>> entries;
+        synchronized (processed) {
+            entries = new ArrayList<>(processed.entrySet());
+        }
+        long now = clock.getAsLong();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> entry : entries) {
+                if (now - entry.getValue() > windowMillis) {
+                    continue;
+                }
+                writer.write(entry.getKey());
+                writer.write(SNAPSHOT_SEPARATOR);
+                writer.write(Long.toString(entry.getValue()));
+                writer.newLine();
+                written++;
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Saved dedupe snapshot: file={}, entries={}", file, written);
+    }
+
+    /**
+     * 從快照檔還原窗口內容；已過期或格式錯誤的資料列會被略過。
+     *
+     * @param file 快照檔路徑（不存在時不做任何事）
+     * @throws IOException 讀取失敗時
+     */
+    public void loadSnapshot(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            log.info("No dedupe snapshot found at {}, starting with an empty window", file);
+            return;
+        }
+        long now = clock.getAsLong();
+        int restored = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.lastIndexOf(SNAPSHOT_SEPARATOR);
+                if (separator <= 0) {
+                    continue;
+                }
+                long processedAt;
+                try {
+                    processedAt = Long.parseLong(line.substring(separator + 1));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (now - processedAt > windowMillis) {
+                    continue;
+                }
+                String eventId = line.substring(0, separator);
+                synchronized (processed) {
+                    bloomFilter.put(eventId);
+                    processed.put(eventId, processedAt);
+                }
+                restored++;
+            }
+        }
+        log.info("Restored dedupe snapshot: file={}, entries={}", file, restored);
+    }
+
+    /**
+     * @return 目前窗口內追蹤的 eventId 數量
+     */
+    public int size() {
+        synchronized (processed) {
+            return processed.size();
+        }
+    }
+
+    /**
+     * @return 啟動以來被判定為重複而略過的事件數
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    private void rotateIfNeeded(long now) {
+        if (now - generationStartedAt < windowMillis) {
+            return;
+        }
+        synchronized (processed) {
+            if (now - generationStartedAt >= windowMillis) {
+                bloomFilter.rotate();
+                generationStartedAt = now;
+                // 寫入某世代的 eventId 至少要再經過一個完整窗口才會被丟棄，窗口內不會漏判
+                log.debug("Rotated dedupe bloom filter generation");
+            }
+        }
+    }
+}
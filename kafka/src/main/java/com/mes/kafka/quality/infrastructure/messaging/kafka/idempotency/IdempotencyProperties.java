@@ -0,0 +1,101 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責消費端去重的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   quality:
+ *     idempotency:
+ *       enabled: true
+ *       window: 10m
+ *       capacity: 100000
+ *       false-positive-rate: 0.001
+ *       snapshot-file: /var/lib/mes/quality-dedupe.snapshot
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.quality.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * 是否啟用消費端去重。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 去重時間窗口，超過此時間的 eventId 不再視為重複。
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * 窗口內最多追蹤的 eventId 數量（LRU 上限）。
+     */
+    private int capacity = 100_000;
+
+    /**
+     * Bloom Filter 期望誤判率。
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * 窗口快照檔路徑；空白表示不持久化。
+     */
+    private String snapshotFile;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyProperties{" +
+                "enabled=" + enabled +
+                ", window=" + window +
+                ", capacity=" + capacity +
+                ", falsePositiveRate=" + falsePositiveRate +
+                ", snapshotFile='" + snapshotFile + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * [Infrastructure: Idempotent Consumer - 消費端去重階段]
+ * [SOLID: SRP - 只負責從訊息取得 eventId 並委派給 {@link EventDeduplicator}]
+ * [SOLID: DIP - 消費者只依賴此元件，不需知道去重的實作細節]
+ *
+ * 供各個 Kafka 消費者共用的去重階段。eventId 的取得順序：
+ * <ol>
+ *   <li>訊息標頭 {@code eventId}（由 KafkaDomainEventPublisher 寫入）</li>
+ *   <li>JSON payload 中的 {@code eventId} 欄位（相容未寫入標頭的外部事件）</li>
+ * </ol>
+ * 兩者皆無時無法去重，訊息一律放行。
+ *
+ * <p>payload 解析需要完整讀取 JSON，因此消費者只呼叫一次 {@link #resolveEventId(Message)}，
+ * 再把結果分別交給 {@link #isDuplicate(String)} 與 {@link #markProcessed(String)}。</p>
+ *
+ * <p>啟動時還原快照、關閉時寫回快照，讓去重窗口跨越重啟。</p>
+ */
+@Component
+public class IdempotentMessageFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentMessageFilter.class);
+
+    public static final String EVENT_ID_HEADER = "eventId";
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final EventDeduplicator deduplicator;
+
+    public IdempotentMessageFilter(IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.deduplicator = new EventDeduplicator(
+                properties.getWindow().toMillis(),
+                properties.getCapacity(),
+                properties.getFalsePositiveRate());
+    }
+
+    @PostConstruct
+    public void restore() {
+        Path snapshot = snapshotPath();
+        if (!properties.isEnabled() || snapshot == null) {
+            return;
+        }
+        try {
+            deduplicator.loadSnapshot(snapshot);
+        } catch (IOException e) {
+            log.warn("Failed to restore dedupe snapshot from {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void persist() {
+        Path snapshot = snapshotPath();
+        if (!properties.isEnabled() || snapshot == null) {
+            return;
+        }
+        try {
+            deduplicator.saveSnapshot(snapshot);
+        } catch (IOException e) {
+            log.warn("Failed to save dedupe snapshot to {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    /**
+     * 判斷事件是否為窗口內已處理過的重複事件。
+     *
+     * @param eventId {@link #resolveEventId(Message)} 取得的 eventId
+     * @return true 表示應略過
+     */
+    public boolean isDuplicate(String eventId) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (deduplicator.isDuplicate(eventId)) {
+            log.info("Skipping duplicate event: eventId={}", eventId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 標記事件已成功處理，之後的重送會被 {@link #isDuplicate(String)} 擋下。
+     *
+     * @param eventId {@link #resolveEventId(Message)} 取得的 eventId
+     */
+    public void markProcessed(String eventId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        deduplicator.markProcessed(eventId);
+    }
+
+    /**
+     * 從標頭或 payload 取得 eventId。未啟用去重時不解析，直接回傳 null。
+     *
+     * @param message 收到的訊息
+     * @return eventId，無法取得或未啟用時回傳 null
+     */
+    public String resolveEventId(Message<String> message) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        Object header = message.getHeaders().get(EVENT_ID_HEADER);
+        if (header instanceof String) {
+            return (String) header;
+        }
+        if (header instanceof byte[]) {
+            return new String((byte[]) header, StandardCharsets.UTF_8);
+        }
+        String payload = message.getPayload();
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode eventId = objectMapper.readTree(payload).get(EVENT_ID_HEADER);
+            return eventId != null && !eventId.isNull() ? eventId.asText() : null;
+        } catch (IOException e) {
+            log.debug("Payload is not JSON, cannot resolve eventId: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public EventDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
+    private Path snapshotPath() {
+        String file = properties.getSnapshotFile();
+        return file == null || file.trim().isEmpty() ? null : Paths.get(file.trim());
+    }
+}
@@ -0,0 +1,131 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * [Infrastructure: 時間窗口 Bloom Filter]
+ * [SOLID: SRP - 只負責「可能已看過」的機率判斷]
+ *
+ * 由兩個世代（current / previous）組成的 Bloom Filter。
+ * 每經過一個時間窗口就輪替一次：previous 被丟棄、current 成為 previous、
+ * 再建立一個空的 current。因此記憶體用量固定，且過期的 eventId 會自然淘汰。
+ *
+ * <p>判斷結果：</p>
+ * <ul>
+ *   <li>false - 一定沒看過（快速路徑，不需加鎖）</li>
+ *   <li>true - 可能看過，需交由精確的 LRU 確認</li>
+ * </ul>
+ */
+class RotatingBloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    /**
+     * @param expectedInsertions 每個世代預期寫入的數量
+     * @param falsePositiveRate  期望的誤判率（0 ~ 1）
+     */
+    RotatingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(bits, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.current = newBits();
+        this.previous = newBits();
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    void put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        AtomicLongArray bits = current;
+        for (int i = 1; i <= hashCount; i++) {
+            int index = bitIndex(h1 + i * h2);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    /**
+     * 輪替世代，捨棄最舊的一代。呼叫端負責同步。
+     */
+    void rotate() {
+        previous = current;
+        current = newBits();
+    }
+
+    /**
+     * 清空兩個世代。呼叫端負責同步。
+     */
+    void clear() {
+        previous = newBits();
+        current = newBits();
+    }
+
+    int getBitCount() {
+        return bitCount;
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    private boolean contains(AtomicLongArray bits, int h1, int h2) {
+        for (int i = 1; i <= hashCount; i++) {
+            int index = bitIndex(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    /**
+     * FNV-1a 64-bit 雜湊，再以 murmur3 finalizer 打散位元。
+     * eventId 多為 36 字元的 UUID，逐字元處理即可，不需要額外配置記憶體。
+     */
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
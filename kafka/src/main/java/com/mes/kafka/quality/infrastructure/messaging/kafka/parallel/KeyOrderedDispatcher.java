@@ -0,0 +1,185 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [Infrastructure: Key-Ordered Parallel Consumer - 分區內依鍵平行分派器]
+ * [SOLID: SRP - 只負責分派紀錄與提交 offset，不含業務邏輯]
+ *
+ * Kafka 的平行度預設受限於分區數（每個分區一個消費者執行緒）。
+ * 啟用後，消費者執行緒只負責把紀錄依 {@code aggregateId} 標頭分派到
+ * {@link KeyOrderedExecutor} 的工作通道：
+ * <ul>
+ *   <li>同一個工單（aggregateId）的事件落在同一通道，維持順序</li>
+ *   <li>不同工單的事件平行處理，可使用所有核心而不需重新分區</li>
+ *   <li>{@link PartitionOffsetTracker} 只確認到最低的未完成紀錄之前，重啟時不會遺漏</li>
+ *   <li>失敗的工作在原通道內以指數退避重試，成功後提交點繼續前進，不會永久停在失敗的紀錄</li>
+ *   <li>分區被收回時由 {@link KeyOrderedRebalanceListener} 呼叫 {@link #revoke}，
+ *       捨棄該分區的追蹤器，仍在處理中的紀錄完成後也不再確認</li>
+ * </ul>
+ *
+ * 未啟用時直接在呼叫端執行緒處理，行為與原本的逐筆消費相同。
+ */
+@Component
+public class KeyOrderedDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedDispatcher.class);
+
+    static final String KEY_HEADER = "aggregateId";
+
+    private final ParallelConsumerProperties properties;
+    private final KeyOrderedExecutor executor;
+    private final Map<String, PartitionOffsetTracker<Acknowledgment>> trackers = new ConcurrentHashMap<>();
+
+    public KeyOrderedDispatcher(ParallelConsumerProperties properties) {
+        this.properties = properties;
+        this.executor = properties.isEnabled()
+                ? new KeyOrderedExecutor(properties.getConcurrency(), properties.getQueueCapacity(), "quality-keyed")
+                : null;
+        if (executor != null) {
+            log.info("Key-ordered parallel consumer enabled: {}", properties);
+        }
+    }
+
+    /**
+     * 分派一筆紀錄。task 應自行處理業務例外（例如轉送重試主題），
+     * 正常結束即視為完成並推進可提交的 offset。
+     * task 仍拋出例外（例如轉送重試主題失敗）時不確認此紀錄：
+     * 未啟用時例外直接拋給 binder 重新投遞；平行模式下在同一條通道內以退避重試直到成功，
+     * 重試期間提交點不會越過此紀錄。
+     *
+     * @param message 收到的訊息
+     * @param task    處理此訊息的工作
+     */
+    public void dispatch(Message<?> message, Runnable task) {
+        MessageHeaders headers = message.getHeaders();
+        Acknowledgment ack = headers.get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class);
+        Object partition = headers.get(KafkaHeaders.RECEIVED_PARTITION_ID);
+        Object offset = headers.get(KafkaHeaders.OFFSET);
+
+        if (executor == null || partition == null || !(offset instanceof Number)) {
+            task.run();
+            if (ack != null) {
+                ack.acknowledge();
+            }
+            return;
+        }
+
+        String trackerKey = trackerKey(headers.get(KafkaHeaders.RECEIVED_TOPIC), partition);
+        PartitionOffsetTracker<Acknowledgment> tracker =
+                trackers.computeIfAbsent(trackerKey, k -> new PartitionOffsetTracker<>());
+        long recordOffset = ((Number) offset).longValue();
+        tracker.register(recordOffset, ack);
+
+        Runnable tracked = () -> {
+            if (!runWithRetry(task, tracker, trackerKey, recordOffset)) {
+                // 不標記完成：提交點停在此 offset 之前，由分區的下一個擁有者或重啟後重新消費
+                return;
+            }
+            Acknowledgment committable = tracker.complete(recordOffset);
+            if (committable != null) {
+                committable.acknowledge();
+            }
+        };
+
+        Object key = headers.get(KEY_HEADER);
+        if (key != null) {
+            executor.execute(key.toString(), tracked);
+        } else {
+            // 沒有排序鍵的紀錄彼此獨立，依 offset 分散到各通道
+            executor.execute(recordOffset, tracked);
+        }
+    }
+
+    /**
+     * 在目前的通道執行緒中執行 task，失敗時以指數退避（retry-backoff-millis 起、每次加倍，
+     * 上限 max-retry-backoff-millis）重試直到成功。
+     * 重試期間通道不處理其他工作：同鍵的後續紀錄維持在它之後，通道佇列滿時消費者執行緒被阻塞（背壓），
+     * 未提交的紀錄數因此不會無限增長。
+     * 分區被收回或執行器關閉（通道執行緒被中斷）時放棄重試，紀錄交由下一個擁有者或重啟後重新消費。
+     *
+     * @return task 是否成功完成
+     */
+    private boolean runWithRetry(Runnable task, PartitionOffsetTracker<Acknowledgment> tracker,
+                                 String trackerKey, long recordOffset) {
+        long backoffMillis = properties.getRetryBackoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                task.run();
+                return true;
+            } catch (Exception e) {
+                log.error("Dispatched task failed, retrying in {} ms: partition={}, offset={}, attempt={}",
+                        backoffMillis, trackerKey, recordOffset, attempt, e);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Dispatcher shutting down, offset stays uncommitted: partition={}, offset={}",
+                        trackerKey, recordOffset);
+                return false;
+            }
+            if (tracker.isRevoked()) {
+                log.info("Partition revoked, giving up retry: partition={}, offset={}", trackerKey, recordOffset);
+                return false;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, properties.getMaxRetryBackoffMillis());
+        }
+    }
+
+    /**
+     * 分區被收回時捨棄其追蹤器。已分派的紀錄仍會執行完畢，但不會再確認 offset，
+     * 避免替已不屬於本消費者的分區提交；未提交的紀錄由新的擁有者重新消費。
+     *
+     * @param partitions 被收回的分區
+     */
+    public void revoke(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            PartitionOffsetTracker<Acknowledgment> tracker =
+                    trackers.remove(trackerKey(partition.topic(), partition.partition()));
+            if (tracker != null) {
+                log.info("Partition revoked, dropping {} uncommitted records: partition={}",
+                        tracker.pendingCount(), partition);
+                tracker.revoke();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * @return 各分區已登記但尚未提交的紀錄數
+     */
+    public int pendingCount() {
+        int total = 0;
+        for (PartitionOffsetTracker<Acknowledgment> tracker : trackers.values()) {
+            total += tracker.pendingCount();
+        }
+        return total;
+    }
+
+    private static String trackerKey(Object topic, Object partition) {
+        return topic + "-" + partition;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown(properties.getShutdownTimeoutMillis());
+        }
+    }
+}
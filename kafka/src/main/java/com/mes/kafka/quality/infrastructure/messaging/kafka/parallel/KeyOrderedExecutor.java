@@ -0,0 +1,125 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [Infrastructure: 依鍵保序的執行器]
+ * [SOLID: SRP - 只負責把工作依鍵分派到固定的單執行緒通道]
+ *
+ * 由 N 條單執行緒「通道」（lane）組成，同一個鍵永遠落在同一條通道，
+ * 因此同鍵的工作依提交順序執行；不同鍵的工作可在不同通道平行執行。
+ *
+ * <p>每條通道的佇列有上限，佇列滿時提交端會被阻塞（背壓），
+ * 避免消費者一次拉取過多紀錄而耗盡記憶體。不可使用 CallerRuns，否則會破壞同鍵順序。</p>
+ */
+class KeyOrderedExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedExecutor.class);
+
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * @param laneCount     通道數量
+     * @param queueCapacity 每條通道的佇列上限
+     * @param threadPrefix  執行緒名稱前綴
+     */
+    KeyOrderedExecutor(int laneCount, int queueCapacity, String threadPrefix) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive");
+        }
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = threadPrefix + "-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (task, executor) -> blockingPut(task, executor));
+        }
+    }
+
+    /**
+     * 依鍵提交工作。
+     *
+     * @param key  排序鍵（同鍵保證依序執行）
+     * @param task 工作
+     */
+    void execute(String key, Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    /**
+     * 直接指定通道提交工作，用於沒有排序鍵、可任意分散的紀錄。
+     *
+     * @param spread 用來選擇通道的數值（如 offset）
+     * @param task   工作
+     */
+    void execute(long spread, Runnable task) {
+        lanes[(int) Math.floorMod(spread, (long) lanes.length)].execute(task);
+    }
+
+    int laneOf(String key) {
+        return Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return 所有通道中等待執行的工作數
+     */
+    int queuedCount() {
+        int total = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            total += lane.getQueue().size();
+        }
+        return total;
+    }
+
+    /**
+     * 停止接收新工作並等待已提交的工作完成。
+     *
+     * @param timeoutMillis 最長等待時間
+     */
+    void shutdown(long timeoutMillis) {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0 || !lane.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+                    log.warn("Key-ordered lane did not drain in time, {} tasks dropped",
+                            lane.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void blockingPut(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Key-ordered executor has been shut down");
+        }
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for lane capacity", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.cloud.stream.binder.kafka.KafkaBindingRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * [Infrastructure: Rebalance Listener - 分區收回時清理平行分派狀態]
+ * [SOLID: SRP - 只負責把 binder 的重新平衡通知轉給 KeyOrderedDispatcher]
+ *
+ * 重新平衡後分區可能改由其他消費者處理；若保留舊的追蹤器，
+ * 仍在處理中的紀錄完成時會替已不屬於本消費者的分區確認 offset，且追蹤器永遠不會被移除。
+ */
+@Component
+public class KeyOrderedRebalanceListener implements KafkaBindingRebalanceListener {
+
+    private final KeyOrderedDispatcher dispatcher;
+
+    public KeyOrderedRebalanceListener(KeyOrderedDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(String bindingName, Consumer<?, ?> consumer,
+                                                Collection<TopicPartition> partitions) {
+        dispatcher.revoke(partitions);
+    }
+}
@@ -0,0 +1,116 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責分區內平行消費的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   quality:
+ *     parallel:
+ *       enabled: true
+ *       concurrency: 8
+ *       queue-capacity: 500
+ *       retry-backoff-millis: 1000
+ *       max-retry-backoff-millis: 30000
+ * </pre>
+ *
+ * 啟用時需將對應 binding 設為手動確認（ackMode: MANUAL），
+ * offset 才會只提交到最低的未完成紀錄之前。
+ */
+@ConfigurationProperties(prefix = "mes.quality.parallel")
+public class ParallelConsumerProperties {
+
+    /**
+     * 是否啟用分區內依鍵平行處理。
+     */
+    private boolean enabled = false;
+
+    /**
+     * 工作通道數量，預設為可用 CPU 核心數。
+     */
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 每條通道的佇列上限，滿時消費者執行緒會等待（背壓）。
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * 關閉時等待通道清空的最長時間（毫秒）。
+     */
+    private long shutdownTimeoutMillis = 30_000;
+
+    /**
+     * 工作失敗後第一次重試前的等待時間（毫秒），之後每次加倍。
+     */
+    private long retryBackoffMillis = 1_000;
+
+    /**
+     * 重試等待時間的上限（毫秒）。
+     */
+    private long maxRetryBackoffMillis = 30_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public void setRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    public long getMaxRetryBackoffMillis() {
+        return maxRetryBackoffMillis;
+    }
+
+    public void setMaxRetryBackoffMillis(long maxRetryBackoffMillis) {
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelConsumerProperties{" +
+                "enabled=" + enabled +
+                ", concurrency=" + concurrency +
+                ", queueCapacity=" + queueCapacity +
+                ", shutdownTimeoutMillis=" + shutdownTimeoutMillis +
+                ", retryBackoffMillis=" + retryBackoffMillis +
+                ", maxRetryBackoffMillis=" + maxRetryBackoffMillis +
+                '}';
+    }
+}
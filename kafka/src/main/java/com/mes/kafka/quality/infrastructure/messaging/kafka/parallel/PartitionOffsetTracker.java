@@ -0,0 +1,109 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * [Infrastructure: 分區 Offset 追蹤器]
+ * [SOLID: SRP - 只負責計算單一分區「可安全提交」的 offset]
+ *
+ * 同一分區的紀錄被分派到多個工作執行緒後，完成順序不再等於 offset 順序。
+ * 此類別記錄尚未提交的 offset，只有當最低的未完成紀錄之前全部完成時，
+ * 才回傳可提交的最後一筆紀錄，確保重啟後不會跳過尚未處理完的紀錄。
+ *
+ * <pre>
+ * 已登記：10 11 12 13
+ * 完成 12 → 無可提交（10 未完成）
+ * 完成 10 → 可提交至 10
+ * 完成 11 → 可提交至 12（11、12 皆已完成）
+ * </pre>
+ *
+ * @param <A> 每筆紀錄附帶的確認物件（如 Kafka Acknowledgment）
+ */
+class PartitionOffsetTracker<A> {
+
+    private final TreeMap<Long, Entry<A>> pending = new TreeMap<>();
+    private boolean revoked;
+
+    /**
+     * 登記一筆開始處理的紀錄。
+     *
+     * @param offset 紀錄 offset
+     * @param ack    此紀錄的確認物件
+     */
+    synchronized void register(long offset, A ack) {
+        pending.put(offset, new Entry<>(ack));
+    }
+
+    /**
+     * 標記一筆紀錄已完成。
+     *
+     * @param offset 紀錄 offset
+     * @return 連續完成區段中最後一筆的確認物件；若最低的紀錄仍未完成或分區已被收回則回傳 null
+     */
+    synchronized A complete(long offset) {
+        if (revoked) {
+            return null;
+        }
+        Entry<A> entry = pending.get(offset);
+        if (entry == null) {
+            return null;
+        }
+        entry.done = true;
+
+        A committable = null;
+        while (!pending.isEmpty()) {
+            Map.Entry<Long, Entry<A>> first = pending.firstEntry();
+            if (!first.getValue().done) {
+                break;
+            }
+            committable = first.getValue().ack;
+            pending.pollFirstEntry();
+        }
+        return committable;
+    }
+
+    /**
+     * @return 最低的未完成 offset；全部完成時回傳 -1
+     */
+    synchronized long lowestIncomplete() {
+        for (Map.Entry<Long, Entry<A>> entry : pending.entrySet()) {
+            if (!entry.getValue().done) {
+                return entry.getKey();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 分區被收回：捨棄所有未提交的紀錄，之後的完成通知一律忽略。
+     * 未提交的紀錄會由新的擁有者從已提交的 offset 重新消費。
+     */
+    synchronized void revoke() {
+        revoked = true;
+        pending.clear();
+    }
+
+    /**
+     * @return 分區是否已被收回
+     */
+    synchronized boolean isRevoked() {
+        return revoked;
+    }
+
+    /**
+     * @return 已登記但尚未提交的紀錄數
+     */
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    private static final class Entry<A> {
+        private final A ack;
+        private boolean done;
+
+        private Entry(A ack) {
+            this.ack = ack;
+        }
+    }
+}
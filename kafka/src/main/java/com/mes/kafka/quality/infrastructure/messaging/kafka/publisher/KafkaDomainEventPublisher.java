@@ -18,6 +18,7 @@ import org.springframework.stereotype.Component;
  * 使用 Spring Cloud Stream 的 {@link StreamBridge} 將領域事件發送到 Kafka。
  * 事件以 JSON 格式序列化，並在訊息標頭中附加事件元資料：
  * <ul>
+ *   <li>eventId - 事件唯一識別碼（供消費端去重）</li>
  *   <li>eventType - 事件類型名稱</li>
  *   <li>aggregateId - 觸發事件的聚合根 ID</li>
  *   <li>occurredOn - 事件發生時間</li>
@@ -43,6 +44,7 @@ public class KafkaDomainEventPublisher implements DomainEventPublisher {
 
         Message<DomainEvent> message = MessageBuilder
                 .withPayload(event)
+                .setHeader("eventId", event.getEventId())
                 .setHeader("eventType", event.getClass().getSimpleName())
                 .setHeader("aggregateId", event.getAggregateId())
                 .setHeader("occurredOn", event.getOccurredOn().toString())
@@ -0,0 +1,138 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.retry;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.DefaultKafkaHeaderMapper;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * [Infrastructure: Dead-Letter Replay - 死信重播服務]
+ * [SOLID: SRP - 只負責讀取指定範圍的死信並送回原主題]
+ *
+ * 以獨立的 KafkaConsumer（assign + seek，不加入消費者群組、不提交 offset）
+ * 讀取死信主題某分區的 offset 範圍，移除重試標頭後重新發送到原主題。
+ * 事件的 eventId 保持不變；由於失敗事件從未被標記為已處理，重播後會正常處理一次。
+ */
+@Component
+public class DeadLetterReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayService.class);
+
+    private final StreamBridge streamBridge;
+    private final RetryTopicProperties properties;
+    private final String brokers;
+    private final DefaultKafkaHeaderMapper headerMapper = new DefaultKafkaHeaderMapper();
+
+    public DeadLetterReplayService(StreamBridge streamBridge,
+                                   RetryTopicProperties properties,
+                                   @Value("${spring.cloud.stream.kafka.binder.brokers:localhost:9092}") String brokers) {
+        this.streamBridge = streamBridge;
+        this.properties = properties;
+        this.brokers = brokers;
+    }
+
+    /**
+     * 重播死信主題中 [fromOffset, toOffset] 範圍（含兩端）的事件。
+     *
+     * @param originalTopic 原主題（死信主題由此推導）
+     * @param partition     死信主題分區
+     * @param fromOffset    起始 offset（含）
+     * @param toOffset      結束 offset（含）
+     * @return 實際重播的筆數
+     * @throws IllegalArgumentException 範圍不合法或超過單次上限時
+     */
+    public int replay(String originalTopic, int partition, long fromOffset, long toOffset) {
+        if (fromOffset < 0 || toOffset < fromOffset) {
+            throw new IllegalArgumentException(
+                    "Invalid offset range: [" + fromOffset + ", " + toOffset + "]");
+        }
+        if (toOffset - fromOffset + 1 > properties.getMaxReplayRecords()) {
+            throw new IllegalArgumentException(
+                    "Replay range exceeds the limit of " + properties.getMaxReplayRecords() + " records");
+        }
+
+        String dltTopic = properties.dltTopic(originalTopic);
+        TopicPartition topicPartition = new TopicPartition(dltTopic, partition);
+        log.info("Replaying dead letters: topic={}, partition={}, range=[{}, {}]",
+                dltTopic, partition, fromOffset, toOffset);
+
+        int replayed = 0;
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerProperties())) {
+            consumer.assign(Collections.singletonList(topicPartition));
+            consumer.seek(topicPartition, fromOffset);
+
+            long position = fromOffset;
+            while (position <= toOffset) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(properties.getReplayPollTimeout());
+                if (records.isEmpty()) {
+                    log.warn("No more dead letters available at offset {}, stopping replay", position);
+                    break;
+                }
+                for (ConsumerRecord<byte[], byte[]> record : records.records(topicPartition)) {
+                    if (record.offset() > toOffset) {
+                        position = record.offset();
+                        break;
+                    }
+                    replayRecord(record, originalTopic);
+                    replayed++;
+                    position = record.offset() + 1;
+                }
+            }
+        }
+
+        log.info("Replayed {} dead letters from {}-{}", replayed, dltTopic, partition);
+        return replayed;
+    }
+
+    private void replayRecord(ConsumerRecord<byte[], byte[]> record, String defaultTopic) {
+        Map<String, Object> headers = new HashMap<>();
+        headerMapper.toHeaders(record.headers(), headers);
+
+        String originalTopic = RetryHeaders.asString(headers.get(RetryHeaders.ORIGINAL_TOPIC));
+        if (originalTopic == null) {
+            originalTopic = defaultTopic;
+        }
+
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(record.value());
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (name.startsWith("x-") || MessageHeaders.ID.equals(name)
+                    || MessageHeaders.TIMESTAMP.equals(name)) {
+                continue;
+            }
+            builder.setHeader(name, header.getValue());
+        }
+        builder.setHeader(RetryHeaders.REPLAYED_FROM_DLT, record.topic() + "@" + record.offset());
+
+        if (!streamBridge.send(originalTopic, builder.build())) {
+            throw new IllegalStateException("Failed to replay dead letter at offset " + record.offset());
+        }
+    }
+
+    private Properties consumerProperties() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, "quality-dlt-replay-" + UUID.randomUUID());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return props;
+    }
+}
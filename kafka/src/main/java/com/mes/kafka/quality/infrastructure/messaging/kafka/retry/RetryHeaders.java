@@ -0,0 +1,80 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.retry;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * [Infrastructure: 重試 / 死信訊息標頭]
+ *
+ * 失敗事件在重試主題與死信主題（DLT）之間流轉時，失敗資訊皆以標頭攜帶，
+ * payload 保持原樣，重播時可直接送回原主題。
+ */
+public final class RetryHeaders {
+
+    /** 已經重試的次數（0 表示第一次失敗）。 */
+    public static final String ATTEMPT = "x-retry-attempt";
+
+    /** 事件原本所在的主題。 */
+    public static final String ORIGINAL_TOPIC = "x-original-topic";
+
+    /** 事件在原主題中的分區。 */
+    public static final String ORIGINAL_PARTITION = "x-original-partition";
+
+    /** 事件在原主題中的 offset。 */
+    public static final String ORIGINAL_OFFSET = "x-original-offset";
+
+    /** 最近一次失敗的例外類別。 */
+    public static final String EXCEPTION_CLASS = "x-exception-class";
+
+    /** 最近一次失敗的例外訊息。 */
+    public static final String EXCEPTION_MESSAGE = "x-exception-message";
+
+    /** 第一次失敗的時間（epoch millis）。 */
+    public static final String FIRST_FAILED_AT = "x-first-failed-at";
+
+    /** 最早可以再次處理的時間（epoch millis）。 */
+    public static final String DUE_AT = "x-retry-due-at";
+
+    /** 由死信主題重播而來的標記。 */
+    public static final String REPLAYED_FROM_DLT = "x-replayed-from-dlt";
+
+    private RetryHeaders() {
+    }
+
+    /**
+     * 讀取字串標頭；經過 Kafka header mapper 後可能是 String 或 byte[]。
+     *
+     * @param value 標頭值
+     * @return 字串值，null 時回傳 null
+     */
+    public static String asString(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+        return value.toString();
+    }
+
+    /**
+     * 讀取數值標頭。
+     *
+     * @param value        標頭值
+     * @param defaultValue 缺少或格式錯誤時的預設值
+     * @return 數值
+     */
+    public static long asLong(Object value, long defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        String text = asString(value);
+        if (text == null || text.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責非阻塞重試與死信的外部化組態]
+ *
+ * 每一個 delay 對應一層重試主題，主題名稱為 {@code <原主題>-retry-<毫秒>}；
+ * 所有重試用盡後送往 {@code <原主題>-dlt}。
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   quality:
+ *     retry:
+ *       delays: 1s,10s,1m
+ *       max-replay-records: 10000
+ * </pre>
+ *
+ * 注意：重試層的消費者 binding 固定為三層（productionRetryTier0~2），
+ * 修改 delays 時需同步調整 application.yml 中的 destination；
+ * 兩者不一致時 ProductionRetryConsumer 會在啟動時失敗。
+ */
+@ConfigurationProperties(prefix = "mes.quality.retry")
+public class RetryTopicProperties {
+
+    /**
+     * 各層重試主題的延遲時間，依序套用。
+     */
+    private List<Duration> delays = new ArrayList<>(Arrays.asList(
+            Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(1)));
+
+    /**
+     * 死信主題的後綴。
+     */
+    private String dltSuffix = "-dlt";
+
+    /**
+     * 單次重播 DLT 時最多處理的筆數，避免一次讀取過大的範圍。
+     */
+    private int maxReplayRecords = 10_000;
+
+    /**
+     * 重播時讀取 DLT 的 poll 逾時。
+     */
+    private Duration replayPollTimeout = Duration.ofSeconds(2);
+
+    public List<Duration> getDelays() {
+        return delays;
+    }
+
+    public void setDelays(List<Duration> delays) {
+        this.delays = delays;
+    }
+
+    public String getDltSuffix() {
+        return dltSuffix;
+    }
+
+    public void setDltSuffix(String dltSuffix) {
+        this.dltSuffix = dltSuffix;
+    }
+
+    public int getMaxReplayRecords() {
+        return maxReplayRecords;
+    }
+
+    public void setMaxReplayRecords(int maxReplayRecords) {
+        this.maxReplayRecords = maxReplayRecords;
+    }
+
+    public Duration getReplayPollTimeout() {
+        return replayPollTimeout;
+    }
+
+    public void setReplayPollTimeout(Duration replayPollTimeout) {
+        this.replayPollTimeout = replayPollTimeout;
+    }
+
+    /**
+     * @param originalTopic 原主題
+     * @param attempt       第幾層重試（從 0 開始）
+     * @return 該層重試主題名稱
+     */
+    public String retryTopic(String originalTopic, int attempt) {
+        return originalTopic + "-retry-" + delays.get(attempt).toMillis();
+    }
+
+    /**
+     * @param originalTopic 原主題
+     * @return 死信主題名稱
+     */
+    public String dltTopic(String originalTopic) {
+        return originalTopic + dltSuffix;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryTopicProperties{" +
+                "delays=" + delays +
+                ", dltSuffix='" + dltSuffix + '\'' +
+                ", maxReplayRecords=" + maxReplayRecords +
+                ", replayPollTimeout=" + replayPollTimeout +
+                '}';
+    }
+}
@@ -0,0 +1,153 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.retry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [Infrastructure: Non-Blocking Retry - 失敗事件路由器]
+ * [SOLID: SRP - 只負責決定失敗事件的下一站並轉送]
+ *
+ * 消費失敗時不在原 listener 內阻塞重試（會卡住整個分區），
+ * 而是將事件轉送到分層的重試主題，由各層的消費者等待延遲後再處理：
+ *
+ * <pre>
+ * mes.production.events
+ *   → mes.production.events-retry-1000   (1s)
+ *   → mes.production.events-retry-10000  (10s)
+ *   → mes.production.events-retry-60000  (1min)
+ *   → mes.production.events-dlt
+ * </pre>
+ *
+ * 同一層的延遲相同，因此層內事件依到期時間排序；等待只影響該層，
+ * 主要消費者的吞吐量不受有毒訊息（poison message）影響。
+ * 失敗資訊以 {@link RetryHeaders} 攜帶。
+ */
+@Component
+public class RetryTopicRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryTopicRouter.class);
+
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 512;
+
+    private final StreamBridge streamBridge;
+    private final RetryTopicProperties properties;
+
+    public RetryTopicRouter(StreamBridge streamBridge, RetryTopicProperties properties) {
+        this.streamBridge = streamBridge;
+        this.properties = properties;
+    }
+
+    /**
+     * 將處理失敗的事件轉送到下一層重試主題，重試用盡時轉送到死信主題。
+     *
+     * @param message     處理失敗的訊息
+     * @param sourceTopic 訊息來源主題（第一次失敗時即為原主題）
+     * @param failure     失敗原因
+     * @return 轉送的目的主題
+     * @throws IllegalStateException 轉送失敗時，呼叫端不應確認原紀錄
+     */
+    public String routeFailure(Message<String> message, String sourceTopic, Exception failure) {
+        MessageHeaders headers = message.getHeaders();
+        long now = System.currentTimeMillis();
+        String originalTopic = RetryHeaders.asString(headers.get(RetryHeaders.ORIGINAL_TOPIC));
+        if (originalTopic == null) {
+            originalTopic = sourceTopic;
+        }
+        int attempt = (int) RetryHeaders.asLong(headers.get(RetryHeaders.ATTEMPT), 0);
+        List<Duration> delays = properties.getDelays();
+
+        MessageBuilder<String> builder = MessageBuilder.withPayload(message.getPayload());
+        copyBusinessHeaders(headers, builder);
+        builder.setHeader(RetryHeaders.ORIGINAL_TOPIC, originalTopic)
+                .setHeader(RetryHeaders.EXCEPTION_CLASS, failure.getClass().getName())
+                .setHeader(RetryHeaders.EXCEPTION_MESSAGE, truncate(String.valueOf(failure.getMessage())));
+        if (!headers.containsKey(RetryHeaders.FIRST_FAILED_AT)) {
+            builder.setHeader(RetryHeaders.FIRST_FAILED_AT, String.valueOf(now));
+            Object partition = headers.get(KafkaHeaders.RECEIVED_PARTITION_ID);
+            Object offset = headers.get(KafkaHeaders.OFFSET);
+            if (partition != null) {
+                builder.setHeader(RetryHeaders.ORIGINAL_PARTITION, String.valueOf(partition));
+            }
+            if (offset != null) {
+                builder.setHeader(RetryHeaders.ORIGINAL_OFFSET, String.valueOf(offset));
+            }
+        }
+
+        String destination;
+        if (attempt < delays.size()) {
+            destination = properties.retryTopic(originalTopic, attempt);
+            builder.setHeader(RetryHeaders.ATTEMPT, String.valueOf(attempt + 1))
+                    .setHeader(RetryHeaders.DUE_AT, String.valueOf(now + delays.get(attempt).toMillis()));
+            log.warn("Routing failed event to retry topic: destination={}, attempt={}, eventType={}, cause={}",
+                    destination, attempt + 1, headers.get("eventType"), failure.toString());
+        } else {
+            destination = properties.dltTopic(originalTopic);
+            builder.setHeader(RetryHeaders.ATTEMPT, String.valueOf(attempt));
+            log.error("Retries exhausted, routing event to dead-letter topic: destination={}, eventType={}",
+                    destination, headers.get("eventType"), failure);
+        }
+
+        send(destination, builder.build());
+        return destination;
+    }
+
+    /**
+     * 等待重試訊息到期。同一層重試主題的延遲相同，
+     * 因此只需等待隊首訊息，後續訊息通常已經到期。
+     *
+     * @param message 重試主題中的訊息
+     * @throws InterruptedException 等待被中斷時
+     */
+    public void awaitDue(Message<String> message) throws InterruptedException {
+        long dueAt = RetryHeaders.asLong(message.getHeaders().get(RetryHeaders.DUE_AT), 0);
+        long remaining = dueAt - System.currentTimeMillis();
+        if (remaining > 0) {
+            log.debug("Waiting {} ms before retrying event: eventType={}",
+                    remaining, message.getHeaders().get("eventType"));
+            Thread.sleep(remaining);
+        }
+    }
+
+    /**
+     * 實際送出訊息；獨立成方法以便測試替換。
+     * 送出失敗時拋出例外，讓原紀錄不被確認而重新投遞，避免事件在重試路徑上遺失。
+     *
+     * @throws IllegalStateException 訊息未能送出時
+     */
+    protected void send(String destination, Message<?> message) {
+        boolean sent = streamBridge.send(destination, message);
+        if (!sent) {
+            throw new IllegalStateException("Failed to route event to " + destination);
+        }
+    }
+
+    /**
+     * 只保留業務標頭與重試標頭，Kafka / Stream 的接收端標頭不應帶到下一個主題。
+     */
+    static void copyBusinessHeaders(MessageHeaders headers, MessageBuilder<?> builder) {
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (name.startsWith("kafka_") || name.startsWith("scst_")
+                    || MessageHeaders.ID.equals(name) || MessageHeaders.TIMESTAMP.equals(name)) {
+                continue;
+            }
+            builder.setHeader(name, header.getValue());
+        }
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_EXCEPTION_MESSAGE_LENGTH
+                ? text
+                : text.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH);
+    }
+}
@@ -0,0 +1,116 @@
+package com.mes.kafka.quality.application.query.readmodel;
+
+import com.mes.kafka.quality.application.query.dto.DefectStatisticsView;
+import com.mes.kafka.quality.domain.model.DefectDetail;
+import com.mes.kafka.quality.domain.model.InspectionResult;
+import com.mes.kafka.quality.domain.model.InspectionResultId;
+import com.mes.kafka.quality.domain.model.MeasuredValue;
+import com.mes.kafka.quality.domain.model.QualityStandard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DefectStatisticsReadModel 與 SpaceSavingTopK 單元測試。
+ * 驗證增量計數、依產品篩選與 Top-K 缺陷代碼。
+ */
+@DisplayName("DefectStatisticsReadModel 缺陷統計讀取模型測試")
+class DefectStatisticsReadModelTest {
+
+    private static final QualityStandard STANDARD = new QualityStandard("DIM-001", 9.5, 10.5, "mm");
+
+    private DefectStatisticsReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new DefectStatisticsReadModel();
+    }
+
+    @Test
+    @DisplayName("應依產品累計檢驗數與缺陷數")
+    void shouldAccumulateCountsPerProduct() {
+        readModel.record("PRODUCT-A", passed());
+        readModel.record("PRODUCT-A", failed("DEF-001"));
+        readModel.record("PRODUCT-B", passed());
+
+        DefectStatisticsView productA = readModel.getStatistics("PRODUCT-A");
+        assertThat(productA.getTotalInspections()).isEqualTo(2);
+        assertThat(productA.getTotalDefects()).isEqualTo(1);
+        assertThat(productA.getOverallDefectRate()).isEqualTo(0.5);
+
+        DefectStatisticsView all = readModel.getStatistics(null);
+        assertThat(all.getTotalInspections()).isEqualTo(3);
+        assertThat(all.getTotalDefects()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("未知產品應回傳空統計")
+    void shouldReturnEmptyStatisticsForUnknownProduct() {
+        DefectStatisticsView view = readModel.getStatistics("UNKNOWN");
+
+        assertThat(view.getTotalInspections()).isZero();
+        assertThat(view.getOverallDefectRate()).isEqualTo(0.0);
+        assertThat(view.getTopDefectCodes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("應依出現次數回傳前 5 個缺陷代碼")
+    void shouldReturnTopFiveDefectCodes() {
+        for (int code = 1; code <= 7; code++) {
+            for (int i = 0; i < code; i++) {
+                readModel.record("PRODUCT-A", failed("DEF-00" + code));
+            }
+        }
+
+        assertThat(readModel.getStatistics("PRODUCT-A").getTopDefectCodes())
+                .containsExactly("DEF-007", "DEF-006", "DEF-005", "DEF-004", "DEF-003");
+    }
+
+    @Test
+    @DisplayName("沒有缺陷詳情的不合格結果只計入缺陷數")
+    void shouldCountDefectWithoutDetail() {
+        readModel.record("PRODUCT-A", failed(null));
+
+        DefectStatisticsView view = readModel.getStatistics("PRODUCT-A");
+        assertThat(view.getTotalDefects()).isEqualTo(1);
+        assertThat(view.getTopDefectCodes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Space-Saving 超過容量時應保留高頻項目")
+    void spaceSavingShouldKeepHeavyHitters() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(3);
+        for (int i = 0; i < 100; i++) {
+            topK.offer("HOT");
+            topK.offer("COLD-" + i);
+        }
+
+        assertThat(topK.size()).isEqualTo(3);
+        assertThat(topK.top(1)).containsExactly("HOT");
+        assertThat(topK.estimate("HOT")).isGreaterThanOrEqualTo(100);
+    }
+
+    private InspectionResult passed() {
+        return new InspectionResult(newId(), STANDARD, measure(10.0));
+    }
+
+    private InspectionResult failed(String defectCode) {
+        DefectDetail defect = defectCode == null
+                ? null
+                : new DefectDetail(defectCode, "尺寸偏差", "MAJOR", "超出上限");
+        return new InspectionResult(newId(), STANDARD, measure(11.0), defect);
+    }
+
+    private MeasuredValue measure(double value) {
+        return new MeasuredValue(value, "mm", LocalDateTime.now(), "QC-01");
+    }
+
+    private InspectionResultId newId() {
+        return new InspectionResultId(UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,311 @@
+package com.mes.kafka.quality.benchmark;
+
+import com.mes.common.cqrs.CommandBus;
+import com.mes.kafka.quality.application.command.RecordInspectionResultCommand;
+import com.mes.kafka.quality.infrastructure.messaging.kafka.consumer.ProductionEventConsumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 品質事件管線端對端效能基準。
+ *
+ * 透過 Spring Cloud Stream 測試 Binder（記憶體內的 destination，不需 Kafka broker）
+ * 驅動完整管線：
+ *
+ * <pre>
+ * mes.production.events → productionEventsIn → CreateInspectionCommandHandler
+ *   → InMemoryInspectionOrderRepository → KafkaDomainEventPublisher → mes.quality.events
+ * CommandBus → RecordInspectionResultCommandHandler → ... → mes.quality.events
+ * </pre>
+ *
+ * 以合成的生產完成事件與檢驗結果命令施加負載，輸出吞吐量、p50/p99/p999 延遲、
+ * 每筆事件的配置量（allocation rate）與 GC 次數，作為調整消費端設定前後的比較基準。
+ *
+ * <p>此類別名稱不符合 surefire 預設的 *Test 規則，且需要 {@code -Dbench=true}，
+ * 因此不會在一般建置中執行。執行方式：</p>
+ *
+ * <pre>
+ * mvn -pl kafka -am test -Dtest=QualityPipelineBenchmark -Dbench=true \
+ *     -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dbench.events=50000 -Dbench.warmup=10000 -Dbench.resultsPerOrder=3
+ * </pre>
+ *
+ * 測試 Binder 以呼叫端執行緒同步投遞，因此量測的是單一事件的處理延遲，
+ * 不含網路與 broker 往返；平行模式在此關閉（沒有分區標頭可供追蹤 offset）。
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.cloud.stream.default-binder=integration",
+                "mes.quality.parallel.enabled=false",
+                "mes.quality.idempotency.snapshot-file=",
+                "logging.level.com.mes.kafka=WARN",
+                "logging.level.org.springframework.cloud.stream=WARN"
+        })
+@Import(TestChannelBinderConfiguration.class)
+@DisplayName("品質事件管線端對端效能基準")
+class QualityPipelineBenchmark {
+
+    private static final String QUALITY_TOPIC = "mes.quality.events";
+    private static final String[] PRODUCT_CODES = {"PCB-A100", "PCB-B200", "PCB-C300", "CASE-D400"};
+
+    /** 每 N 筆量測值產生一筆超規結果（觸發 DefectDetectedEvent）。 */
+    private static final int DEFECT_EVERY = 20;
+
+    @Autowired
+    private InputDestination input;
+
+    @Autowired
+    private OutputDestination output;
+
+    @Autowired
+    private CommandBus commandBus;
+
+    @Test
+    @DisplayName("生產完成事件與檢驗結果的吞吐量與延遲")
+    void measurePipeline() {
+        int events = Integer.getInteger("bench.events", 50_000);
+        int warmup = Integer.getInteger("bench.warmup", 10_000);
+        int resultsPerOrder = Integer.getInteger("bench.resultsPerOrder", 3);
+
+        run("warmup", warmup, resultsPerOrder, null, null);
+
+        long[] eventLatencies = new long[events];
+        long[] commandLatencies = new long[events * resultsPerOrder];
+        AllocationProbe allocation = AllocationProbe.start();
+        long startedAt = System.nanoTime();
+
+        int published = run("measure", events, resultsPerOrder, eventLatencies, commandLatencies);
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        AllocationProbe.Result allocated = allocation.stop();
+
+        Report report = new Report(events, resultsPerOrder, published, elapsedNanos, allocated);
+        report.add("production-completed → InspectionOrderCreatedEvent", eventLatencies);
+        report.add("record-result command → publish", commandLatencies);
+        System.out.println(report.render());
+
+        assertThat(published).isGreaterThanOrEqualTo(events);
+    }
+
+    /**
+     * 施加一輪負載。
+     *
+     * @return 輸出到品質主題的事件數
+     */
+    private int run(String phase, int events, int resultsPerOrder,
+                    long[] eventLatencies, long[] commandLatencies) {
+        int published = 0;
+        int commandIndex = 0;
+        for (int i = 0; i < events; i++) {
+            String workOrderId = phase + "-WO-" + i;
+            Message<String> productionCompleted = MessageBuilder
+                    .withPayload("{\"workOrderId\":\"" + workOrderId + "\",\"quantity\":100}")
+                    .setHeader("eventId", UUID.randomUUID().toString())
+                    .setHeader("eventType", "ProductionCompletedEvent")
+                    .setHeader("aggregateId", workOrderId)
+                    .setHeader("productCode", PRODUCT_CODES[i % PRODUCT_CODES.length])
+                    .build();
+
+            long sentAt = System.nanoTime();
+            input.send(productionCompleted, ProductionEventConsumer.SOURCE_TOPIC);
+            Message<byte[]> created = output.receive(1000, QUALITY_TOPIC);
+            if (eventLatencies != null) {
+                eventLatencies[i] = System.nanoTime() - sentAt;
+            }
+            if (created == null) {
+                throw new IllegalStateException("No InspectionOrderCreatedEvent for " + workOrderId);
+            }
+            published++;
+            String inspectionOrderId = (String) created.getHeaders().get("aggregateId");
+
+            for (int r = 0; r < resultsPerOrder; r++) {
+                boolean defect = (i * resultsPerOrder + r) % DEFECT_EVERY == 0;
+                RecordInspectionResultCommand command = new RecordInspectionResultCommand(
+                        inspectionOrderId, "DIM-" + r, 9.95, 10.05, "mm",
+                        defect ? 10.20 : 10.00, "mm", "bench");
+
+                long dispatchedAt = System.nanoTime();
+                commandBus.dispatch(command);
+                published += drain();
+                if (commandLatencies != null) {
+                    commandLatencies[commandIndex++] = System.nanoTime() - dispatchedAt;
+                }
+            }
+        }
+        return published;
+    }
+
+    private int drain() {
+        int count = 0;
+        while (output.receive(0, QUALITY_TOPIC) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 量測期間所有執行緒的配置量與 GC 活動。
+     * 使用 HotSpot 的 {@code com.sun.management.ThreadMXBean}，不支援時回報 -1。
+     */
+    private static final class AllocationProbe {
+
+        private final long allocatedBefore;
+        private final long gcCountBefore;
+        private final long gcTimeBefore;
+
+        private AllocationProbe() {
+            this.allocatedBefore = totalAllocatedBytes();
+            this.gcCountBefore = gcCount();
+            this.gcTimeBefore = gcTimeMillis();
+        }
+
+        static AllocationProbe start() {
+            return new AllocationProbe();
+        }
+
+        Result stop() {
+            long allocatedAfter = totalAllocatedBytes();
+            long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+            return new Result(allocated, gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore);
+        }
+
+        private static long totalAllocatedBytes() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                return -1;
+            }
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) {
+                return -1;
+            }
+            long total = 0;
+            for (long bytes : hotspot.getThreadAllocatedBytes(hotspot.getAllThreadIds())) {
+                if (bytes > 0) {
+                    total += bytes;
+                }
+            }
+            return total;
+        }
+
+        private static long gcCount() {
+            long count = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+            }
+            return count;
+        }
+
+        private static long gcTimeMillis() {
+            long time = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                time += Math.max(0, gc.getCollectionTime());
+            }
+            return time;
+        }
+
+        static final class Result {
+            final long allocatedBytes;
+            final long gcCount;
+            final long gcTimeMillis;
+
+            Result(long allocatedBytes, long gcCount, long gcTimeMillis) {
+                this.allocatedBytes = allocatedBytes;
+                this.gcCount = gcCount;
+                this.gcTimeMillis = gcTimeMillis;
+            }
+        }
+    }
+
+    /**
+     * 彙整量測結果並輸出為純文字報表。
+     */
+    private static final class Report {
+
+        private final StringBuilder body = new StringBuilder();
+        private final int events;
+        private final int resultsPerOrder;
+        private final int published;
+        private final long elapsedNanos;
+        private final AllocationProbe.Result allocation;
+
+        Report(int events, int resultsPerOrder, int published, long elapsedNanos,
+               AllocationProbe.Result allocation) {
+            this.events = events;
+            this.resultsPerOrder = resultsPerOrder;
+            this.published = published;
+            this.elapsedNanos = elapsedNanos;
+            this.allocation = allocation;
+        }
+
+        void add(String name, long[] latencies) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            body.append(String.format(Locale.ROOT,
+                    "  %-52s n=%-8d p50=%8.1fµs  p99=%8.1fµs  p999=%8.1fµs  max=%8.1fµs%n",
+                    name, sorted.length,
+                    micros(percentile(sorted, 0.50)),
+                    micros(percentile(sorted, 0.99)),
+                    micros(percentile(sorted, 0.999)),
+                    micros(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        }
+
+        String render() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            int operations = events * (1 + resultsPerOrder);
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%n=== Quality pipeline benchmark ===%n"));
+            out.append(String.format(Locale.ROOT,
+                    "  events=%d, resultsPerOrder=%d, published=%d, elapsed=%.2fs%n",
+                    events, resultsPerOrder, published, seconds));
+            out.append(String.format(Locale.ROOT,
+                    "  throughput: %.0f production events/s, %.0f operations/s%n",
+                    events / seconds, operations / seconds));
+            out.append(body);
+            if (allocation.allocatedBytes >= 0) {
+                out.append(String.format(Locale.ROOT,
+                        "  allocation: %.1f MB/s, %.1f KB/operation%n",
+                        allocation.allocatedBytes / seconds / (1024 * 1024),
+                        allocation.allocatedBytes / (double) operations / 1024));
+            } else {
+                out.append(String.format("  allocation: not supported by this JVM%n"));
+            }
+            out.append(String.format(Locale.ROOT, "  gc: %d collections, %d ms%n",
+                    allocation.gcCount, allocation.gcTimeMillis));
+            return out.toString();
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double micros(long nanos) {
+            return nanos / 1_000.0;
+        }
+    }
+}
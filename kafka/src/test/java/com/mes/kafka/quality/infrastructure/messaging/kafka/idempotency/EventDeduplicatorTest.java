@@ -0,0 +1,120 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EventDeduplicator 單元測試。
+ * 驗證時間窗口去重、容量上限與快照還原。
+ */
+@DisplayName("EventDeduplicator 事件去重器測試")
+class EventDeduplicatorTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private AtomicLong now;
+    private EventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000);
+        deduplicator = new EventDeduplicator(WINDOW_MILLIS, 1_000, 0.001, now::get);
+    }
+
+    @Test
+    @DisplayName("未處理過的事件不應視為重複")
+    void shouldNotTreatNewEventAsDuplicate() {
+        assertThat(deduplicator.isDuplicate("EVT-001")).isFalse();
+    }
+
+    @Test
+    @DisplayName("已處理的事件在窗口內應視為重複")
+    void shouldDetectDuplicateWithinWindow() {
+        deduplicator.markProcessed("EVT-001");
+        now.addAndGet(WINDOW_MILLIS / 2);
+
+        assertThat(deduplicator.isDuplicate("EVT-001")).isTrue();
+        assertThat(deduplicator.isDuplicate("EVT-002")).isFalse();
+        assertThat(deduplicator.getDuplicateCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("超過窗口的事件不應再視為重複")
+    void shouldForgetEventAfterWindow() {
+        deduplicator.markProcessed("EVT-001");
+        now.addAndGet(WINDOW_MILLIS + 1);
+
+        assertThat(deduplicator.isDuplicate("EVT-001")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Bloom Filter 輪替後窗口內的事件仍應被辨識")
+    void shouldKeepEventsAcrossBloomRotation() {
+        now.addAndGet(WINDOW_MILLIS - 10);
+        deduplicator.markProcessed("EVT-001");
+        now.addAndGet(20);
+        deduplicator.markProcessed("EVT-002");
+
+        assertThat(deduplicator.isDuplicate("EVT-001")).isTrue();
+        assertThat(deduplicator.isDuplicate("EVT-002")).isTrue();
+    }
+
+    @Test
+    @DisplayName("null eventId 無法去重，應一律放行")
+    void shouldIgnoreNullEventId() {
+        deduplicator.markProcessed(null);
+
+        assertThat(deduplicator.isDuplicate(null)).isFalse();
+        assertThat(deduplicator.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("追蹤數量不應超過容量上限")
+    void shouldBoundTrackedEvents() {
+        EventDeduplicator small = new EventDeduplicator(WINDOW_MILLIS, 3, 0.01, now::get);
+        for (int i = 0; i < 10; i++) {
+            small.markProcessed("EVT-" + i);
+        }
+
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.isDuplicate("EVT-9")).isTrue();
+        assertThat(small.isDuplicate("EVT-0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("快照還原後應辨識重啟前已處理的事件")
+    void shouldRestoreWindowFromSnapshot(@TempDir Path tempDir) throws Exception {
+        Path snapshot = tempDir.resolve("dedupe.snapshot");
+        deduplicator.markProcessed("EVT-001");
+        deduplicator.markProcessed("EVT-002");
+        deduplicator.saveSnapshot(snapshot);
+
+        EventDeduplicator restarted = new EventDeduplicator(WINDOW_MILLIS, 1_000, 0.001, now::get);
+        restarted.loadSnapshot(snapshot);
+
+        assertThat(restarted.size()).isEqualTo(2);
+        assertThat(restarted.isDuplicate("EVT-001")).isTrue();
+        assertThat(restarted.isDuplicate("EVT-003")).isFalse();
+    }
+
+    @Test
+    @DisplayName("快照中已過期的事件不應被還原")
+    void shouldSkipExpiredEntriesOnRestore(@TempDir Path tempDir) throws Exception {
+        Path snapshot = tempDir.resolve("dedupe.snapshot");
+        deduplicator.markProcessed("EVT-001");
+        deduplicator.saveSnapshot(snapshot);
+        now.addAndGet(WINDOW_MILLIS + 1);
+
+        EventDeduplicator restarted = new EventDeduplicator(WINDOW_MILLIS, 1_000, 0.001, now::get);
+        restarted.loadSnapshot(snapshot);
+
+        assertThat(restarted.size()).isZero();
+    }
+}
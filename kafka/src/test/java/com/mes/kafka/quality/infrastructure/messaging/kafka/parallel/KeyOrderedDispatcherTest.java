@@ -0,0 +1,240 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * KeyOrderedDispatcher 單元測試。
+ * 驗證同鍵保序、不同鍵平行、offset 只確認到最低的未完成紀錄、失敗工作的退避重試，以及分區收回後不再確認。
+ */
+@DisplayName("KeyOrderedDispatcher 分區內平行分派測試")
+class KeyOrderedDispatcherTest {
+
+    private KeyOrderedDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("同一 aggregateId 的紀錄應依 offset 順序處理")
+    void shouldPreserveOrderPerKey() throws Exception {
+        dispatcher = new KeyOrderedDispatcher(enabledProperties(4));
+        Map<String, List<Long>> processed = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(200);
+
+        for (long offset = 0; offset < 200; offset++) {
+            String key = "WO-" + (offset % 5);
+            long recordOffset = offset;
+            dispatcher.dispatch(record(key, recordOffset, null), () -> {
+                processed.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(recordOffset);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (List<Long> offsets : processed.values()) {
+            assertThat(offsets).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("慢的紀錄完成前不應確認其後的 offset")
+    void shouldAcknowledgeOnlyUpToLowestIncomplete() throws Exception {
+        dispatcher = new KeyOrderedDispatcher(enabledProperties(2));
+        List<Long> acked = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(record("WO-SLOW", 0, () -> acked.add(0L)), () -> await(release));
+        dispatcher.dispatch(record(keyOnOtherLane("WO-SLOW"), 1, () -> acked.add(1L)), fastDone::countDown);
+
+        assertThat(fastDone.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(acked).isEmpty();
+
+        release.countDown();
+        waitUntil(() -> !acked.isEmpty());
+        assertThat(acked).containsExactly(1L);
+        assertThat(dispatcher.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("未啟用時應在呼叫端執行緒處理並立即確認")
+    void shouldRunInlineWhenDisabled() {
+        dispatcher = new KeyOrderedDispatcher(new ParallelConsumerProperties());
+        List<String> events = new ArrayList<>();
+
+        dispatcher.dispatch(record("WO-001", 7, () -> events.add("ack")), () -> events.add("run"));
+
+        assertThat(dispatcher.isEnabled()).isFalse();
+        assertThat(events).containsExactly("run", "ack");
+    }
+
+    @Test
+    @DisplayName("未啟用時工作拋出例外應不確認並交給 binder 重新投遞")
+    void shouldNotAcknowledgeFailedTaskWhenDisabled() {
+        dispatcher = new KeyOrderedDispatcher(new ParallelConsumerProperties());
+        List<String> events = new ArrayList<>();
+
+        assertThatThrownBy(() -> dispatcher.dispatch(record("WO-001", 7, () -> events.add("ack")), () -> {
+            throw new IllegalStateException("route failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("平行模式下工作失敗時應退避重試，其後的紀錄照常處理，成功後提交點越過該紀錄")
+    void shouldRetryFailedTaskWhileLaterOffsetsKeepArriving() throws Exception {
+        dispatcher = new KeyOrderedDispatcher(enabledProperties(2));
+        List<Long> acked = new CopyOnWriteArrayList<>();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch laterDone = new CountDownLatch(3);
+
+        dispatcher.dispatch(record("WO-FAIL", 0, () -> acked.add(0L)), () -> {
+            attempts.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("route failed");
+            }
+        });
+        String otherKey = keyOnOtherLane("WO-FAIL");
+        for (long offset = 1; offset <= 3; offset++) {
+            long recordOffset = offset;
+            dispatcher.dispatch(record(otherKey, recordOffset, () -> acked.add(recordOffset)), laterDone::countDown);
+        }
+
+        assertThat(laterDone.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        waitUntil(() -> attempts.get() >= 2);
+        assertThat(attempts.get()).isGreaterThanOrEqualTo(2);
+        assertThat(acked).isEmpty();
+        assertThat(dispatcher.pendingCount()).isEqualTo(4);
+
+        failing.set(false);
+        waitUntil(() -> !acked.isEmpty());
+        assertThat(acked).containsExactly(3L);
+        assertThat(dispatcher.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("重試中的分區被收回時應放棄重試，通道繼續處理其他紀錄")
+    void shouldStopRetryingWhenPartitionRevoked() throws Exception {
+        dispatcher = new KeyOrderedDispatcher(enabledProperties(2));
+        List<Long> acked = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch nextDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(record("WO-FAIL", 0, () -> acked.add(0L)), () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("route failed");
+        });
+        waitUntil(() -> attempts.get() >= 2);
+        dispatcher.revoke(Collections.singletonList(new TopicPartition("mes.production.events", 0)));
+        dispatcher.dispatch(record("WO-FAIL", 1, () -> acked.add(1L)), nextDone::countDown);
+
+        assertThat(nextDone.await(5, TimeUnit.SECONDS)).isTrue();
+        int attemptsAfterRevoke = attempts.get();
+        Thread.sleep(100);
+        assertThat(attempts.get()).isEqualTo(attemptsAfterRevoke);
+        assertThat(acked).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("分區被收回後，處理中的紀錄完成時不應再確認")
+    void shouldNotAcknowledgeRevokedPartition() throws Exception {
+        dispatcher = new KeyOrderedDispatcher(enabledProperties(2));
+        List<Long> acked = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch(record("WO-001", 0, () -> acked.add(0L)), () -> {
+            await(release);
+            done.countDown();
+        });
+        dispatcher.revoke(Collections.singletonList(new TopicPartition("mes.production.events", 0)));
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(acked).isEmpty();
+        assertThat(dispatcher.pendingCount()).isZero();
+    }
+
+    private ParallelConsumerProperties enabledProperties(int concurrency) {
+        ParallelConsumerProperties properties = new ParallelConsumerProperties();
+        properties.setEnabled(true);
+        properties.setConcurrency(concurrency);
+        properties.setQueueCapacity(100);
+        properties.setRetryBackoffMillis(10);
+        properties.setMaxRetryBackoffMillis(50);
+        return properties;
+    }
+
+    private String keyOnOtherLane(String key) {
+        KeyOrderedExecutor probe = new KeyOrderedExecutor(2, 1, "probe");
+        try {
+            for (int i = 0; ; i++) {
+                String candidate = "WO-" + i;
+                if (probe.laneOf(candidate) != probe.laneOf(key)) {
+                    return candidate;
+                }
+            }
+        } finally {
+            probe.shutdown(100);
+        }
+    }
+
+    private Message<String> record(String key, long offset, Acknowledgment ack) {
+        MessageBuilder<String> builder = MessageBuilder.withPayload("{}")
+                .setHeader("aggregateId", key)
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, "mes.production.events")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION_ID, 0)
+                .setHeader(KafkaHeaders.OFFSET, offset);
+        if (ack != null) {
+            builder.setHeader(KafkaHeaders.ACKNOWLEDGMENT, ack);
+        }
+        return builder.build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.parallel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PartitionOffsetTracker 單元測試。
+ * 驗證只會提交到最低的未完成紀錄之前。
+ */
+@DisplayName("PartitionOffsetTracker 分區 Offset 追蹤器測試")
+class PartitionOffsetTrackerTest {
+
+    private PartitionOffsetTracker<String> tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new PartitionOffsetTracker<>();
+        for (long offset = 10; offset <= 13; offset++) {
+            tracker.register(offset, "ack-" + offset);
+        }
+    }
+
+    @Test
+    @DisplayName("較高 offset 先完成時不應提交")
+    void shouldNotCommitPastIncompleteRecord() {
+        assertThat(tracker.complete(12)).isNull();
+        assertThat(tracker.lowestIncomplete()).isEqualTo(10);
+        assertThat(tracker.pendingCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("最低紀錄完成後應提交到連續完成區段的最後一筆")
+    void shouldCommitContiguousCompletedRange() {
+        tracker.complete(12);
+        assertThat(tracker.complete(10)).isEqualTo("ack-10");
+        assertThat(tracker.complete(11)).isEqualTo("ack-12");
+        assertThat(tracker.lowestIncomplete()).isEqualTo(13);
+        assertThat(tracker.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("全部完成後不應有待提交紀錄")
+    void shouldDrainWhenAllCompleted() {
+        tracker.complete(13);
+        tracker.complete(11);
+        tracker.complete(12);
+
+        assertThat(tracker.complete(10)).isEqualTo("ack-13");
+        assertThat(tracker.lowestIncomplete()).isEqualTo(-1);
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("分區收回後應捨棄待提交紀錄並忽略完成通知")
+    void shouldIgnoreCompletionsAfterRevoke() {
+        tracker.revoke();
+
+        assertThat(tracker.pendingCount()).isZero();
+        assertThat(tracker.complete(10)).isNull();
+    }
+
+    @Test
+    @DisplayName("未登記的 offset 應被忽略")
+    void shouldIgnoreUnknownOffset() {
+        assertThat(tracker.complete(99)).isNull();
+        assertThat(tracker.pendingCount()).isEqualTo(4);
+    }
+}
@@ -71,6 +71,18 @@ class KafkaDomainEventPublisherTest {
         assertThat(message.getHeaders().get("eventType")).isEqualTo("InspectionCompletedEvent");
     }
 
+    @Test
+    @DisplayName("訊息標頭應包含 eventId")
+    void shouldIncludeEventIdHeader() {
+        InspectionCompletedEvent event = new InspectionCompletedEvent("INS-001", "PASSED", 0.0);
+
+        publisher.publish(event);
+
+        assertThat(capturedMessages).hasSize(1);
+        Message<?> message = capturedMessages.get(0).message;
+        assertThat(message.getHeaders().get("eventId")).isEqualTo(event.getEventId());
+    }
+
     @Test
     @DisplayName("訊息標頭應包含 aggregateId")
     void shouldIncludeAggregateIdHeader() {
@@ -131,6 +143,7 @@ class KafkaDomainEventPublisherTest {
             org.springframework.messaging.Message<DomainEvent> message =
                     org.springframework.messaging.support.MessageBuilder
                             .withPayload(event)
+                            .setHeader("eventId", event.getEventId())
                             .setHeader("eventType", event.getClass().getSimpleName())
                             .setHeader("aggregateId", event.getAggregateId())
                             .setHeader("occurredOn", event.getOccurredOn().toString())
@@ -0,0 +1,98 @@
+package com.mes.kafka.quality.infrastructure.messaging.kafka.retry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RetryTopicRouter 單元測試。
+ *
+ * StreamBridge 為 final class 無法 Mock，因此覆寫 send 方法攔截轉送結果。
+ */
+@DisplayName("RetryTopicRouter 重試路由測試")
+class RetryTopicRouterTest {
+
+    private static final String TOPIC = "mes.production.events";
+
+    private List<Message<?>> sent;
+    private List<String> destinations;
+    private RetryTopicRouter router;
+
+    @BeforeEach
+    void setUp() {
+        sent = new ArrayList<>();
+        destinations = new ArrayList<>();
+        router = new RetryTopicRouter(null, new RetryTopicProperties()) {
+            @Override
+            protected void send(String destination, Message<?> message) {
+                destinations.add(destination);
+                sent.add(message);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("第一次失敗應送往第一層重試主題並附加失敗資訊")
+    void shouldRouteFirstFailureToFirstRetryTier() {
+        Message<String> message = MessageBuilder.withPayload("{}")
+                .setHeader("eventType", "ProductionCompletedEvent")
+                .setHeader("aggregateId", "WO-001")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION_ID, 2)
+                .setHeader(KafkaHeaders.OFFSET, 42L)
+                .build();
+
+        String destination = router.routeFailure(message, TOPIC, new IllegalStateException("boom"));
+
+        assertThat(destination).isEqualTo("mes.production.events-retry-1000");
+        Message<?> routed = sent.get(0);
+        assertThat(routed.getHeaders().get(RetryHeaders.ATTEMPT)).isEqualTo("1");
+        assertThat(routed.getHeaders().get(RetryHeaders.ORIGINAL_TOPIC)).isEqualTo(TOPIC);
+        assertThat(routed.getHeaders().get(RetryHeaders.ORIGINAL_PARTITION)).isEqualTo("2");
+        assertThat(routed.getHeaders().get(RetryHeaders.ORIGINAL_OFFSET)).isEqualTo("42");
+        assertThat(routed.getHeaders().get(RetryHeaders.EXCEPTION_CLASS))
+                .isEqualTo(IllegalStateException.class.getName());
+        assertThat(routed.getHeaders().get(RetryHeaders.EXCEPTION_MESSAGE)).isEqualTo("boom");
+        assertThat(routed.getHeaders().get(RetryHeaders.DUE_AT)).isNotNull();
+        assertThat(routed.getHeaders().get("aggregateId")).isEqualTo("WO-001");
+        assertThat(routed.getHeaders().containsKey(KafkaHeaders.OFFSET)).isFalse();
+    }
+
+    @Test
+    @DisplayName("重試層再次失敗應送往下一層，並保留原主題")
+    void shouldRouteRetryFailureToNextTier() {
+        Message<String> message = MessageBuilder.withPayload("{}")
+                .setHeader(RetryHeaders.ATTEMPT, "1")
+                .setHeader(RetryHeaders.ORIGINAL_TOPIC, TOPIC)
+                .setHeader(RetryHeaders.FIRST_FAILED_AT, "1000")
+                .build();
+
+        String destination = router.routeFailure(message, "ignored", new RuntimeException("again"));
+
+        assertThat(destination).isEqualTo("mes.production.events-retry-10000");
+        assertThat(sent.get(0).getHeaders().get(RetryHeaders.ATTEMPT)).isEqualTo("2");
+        assertThat(sent.get(0).getHeaders().get(RetryHeaders.FIRST_FAILED_AT)).isEqualTo("1000");
+    }
+
+    @Test
+    @DisplayName("重試用盡後應送往死信主題")
+    void shouldRouteToDeadLetterTopicWhenRetriesExhausted() {
+        Message<String> message = MessageBuilder.withPayload("{}")
+                .setHeader(RetryHeaders.ATTEMPT, "3")
+                .setHeader(RetryHeaders.ORIGINAL_TOPIC, TOPIC)
+                .build();
+
+        String destination = router.routeFailure(message, TOPIC, new RuntimeException("poison"));
+
+        assertThat(destination).isEqualTo("mes.production.events-dlt");
+        assertThat(destinations).containsExactly("mes.production.events-dlt");
+        assertThat(sent.get(0).getHeaders().get(RetryHeaders.ATTEMPT)).isEqualTo("3");
+    }
+}
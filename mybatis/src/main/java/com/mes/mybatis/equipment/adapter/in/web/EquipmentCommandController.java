@@ -1,6 +1,8 @@
 package com.mes.mybatis.equipment.adapter.in.web;
 
 import com.mes.common.cqrs.CommandBus;
+import com.mes.mybatis.equipment.application.command.ImportEquipmentCommand;
+import com.mes.mybatis.equipment.application.command.RecordTelemetryCommand;
 import com.mes.mybatis.equipment.application.command.RegisterEquipmentCommand;
 import com.mes.mybatis.equipment.application.command.ReportBreakdownCommand;
 import com.mes.mybatis.equipment.application.command.ScheduleMaintenanceCommand;
@@ -13,7 +15,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -53,6 +58,31 @@ public class EquipmentCommandController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * 批次匯入設備（例如新廠區上線時一次匯入整座工廠的設備清單）。
+     * 所有設備在同一個交易中寫入，任一筆失敗則整批不寫入。
+     * POST /api/equipment/import
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importEquipment(
+            @RequestBody List<RegisterEquipmentRequest> requests) {
+        List<RegisterEquipmentCommand> equipments = new ArrayList<>(requests.size());
+        for (RegisterEquipmentRequest request : requests) {
+            equipments.add(new RegisterEquipmentCommand(
+                    request.getName(), request.getType(),
+                    request.getBuilding(), request.getFloor(),
+                    request.getZone(), request.getPosition()));
+        }
+
+        List<String> equipmentIds = commandBus.dispatch(new ImportEquipmentCommand(equipments));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("ids", equipmentIds);
+        response.put("count", equipmentIds.size());
+        response.put("message", "設備匯入成功");
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * 為設備排程維護。
      * POST /api/equipment/{id}/maintenance
@@ -88,6 +118,29 @@ public class EquipmentCommandController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 上傳設備遙測讀數（一次可包含多筆）。讀數先進入寫入緩衝，因此回應 202 Accepted。
+     * POST /api/equipment/{id}/telemetry
+     */
+    @PostMapping("/{id}/telemetry")
+    public ResponseEntity<Map<String, Object>> recordTelemetry(
+            @PathVariable("id") String id,
+            @RequestBody List<TelemetrySampleRequest> requests) {
+        List<RecordTelemetryCommand.Sample> samples = new ArrayList<>(requests.size());
+        for (TelemetrySampleRequest request : requests) {
+            samples.add(new RecordTelemetryCommand.Sample(request.getRecordedAt(),
+                    request.getTemperature(), request.getPressure(),
+                    request.getSpeed(), request.getVibration()));
+        }
+
+        Integer count = commandBus.dispatch(new RecordTelemetryCommand(id, samples));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("count", count);
+        response.put("message", "遙測讀數已接收");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     // ======================== Request DTOs ========================
 
     static class RegisterEquipmentRequest {
@@ -128,4 +181,23 @@ public class EquipmentCommandController {
         public String getDescription() { return description; }
         public void setDescription(String description) { this.description = description; }
     }
+
+    static class TelemetrySampleRequest {
+        private LocalDateTime recordedAt;
+        private double temperature;
+        private double pressure;
+        private double speed;
+        private double vibration;
+
+        public LocalDateTime getRecordedAt() { return recordedAt; }
+        public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+        public double getTemperature() { return temperature; }
+        public void setTemperature(double temperature) { this.temperature = temperature; }
+        public double getPressure() { return pressure; }
+        public void setPressure(double pressure) { this.pressure = pressure; }
+        public double getSpeed() { return speed; }
+        public void setSpeed(double speed) { this.speed = speed; }
+        public double getVibration() { return vibration; }
+        public void setVibration(double vibration) { this.vibration = vibration; }
+    }
 }
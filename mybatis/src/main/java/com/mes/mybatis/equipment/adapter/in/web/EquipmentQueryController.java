@@ -1,19 +1,34 @@
 package com.mes.mybatis.equipment.adapter.in.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mes.common.cqrs.QueryBus;
+import com.mes.mybatis.equipment.application.query.EquipmentCacheStatsQuery;
 import com.mes.mybatis.equipment.application.query.GetEquipmentQuery;
+import com.mes.mybatis.equipment.application.query.LatestTelemetryQuery;
 import com.mes.mybatis.equipment.application.query.ListEquipmentByStatusQuery;
 import com.mes.mybatis.equipment.application.query.MaintenanceHistoryQuery;
+import com.mes.mybatis.equipment.application.query.StreamEquipmentQuery;
+import com.mes.mybatis.equipment.application.query.TelemetryHistoryQuery;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentCacheStatsView;
 import com.mes.mybatis.equipment.application.query.dto.EquipmentDetailView;
-import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryView;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryPage;
 import com.mes.mybatis.equipment.application.query.dto.MaintenanceHistoryView;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryBucketView;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryReadingView;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -28,10 +43,14 @@ import java.util.List;
 @RequestMapping("/api/equipment")
 public class EquipmentQueryController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final QueryBus queryBus;
+    private final ObjectMapper objectMapper;
 
-    public EquipmentQueryController(QueryBus queryBus) {
+    public EquipmentQueryController(QueryBus queryBus, ObjectMapper objectMapper) {
         this.queryBus = queryBus;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -46,17 +65,43 @@ public class EquipmentQueryController {
     }
 
     /**
-     * 依狀態列出設備。
-     * GET /api/equipment?status=IDLE
+     * 依狀態分頁列出設備（keyset 分頁）。
+     * GET /api/equipment?status=IDLE&sort=name&size=50&cursor=...
+     *
+     * sort 為 name（預設）或 createdAt；cursor 為上一頁回應的 nextCursor，第一頁不帶。
      */
     @GetMapping
-    public ResponseEntity<List<EquipmentSummaryView>> listByStatus(
-            @RequestParam("status") String status) {
-        ListEquipmentByStatusQuery query = new ListEquipmentByStatusQuery(status);
-        List<EquipmentSummaryView> result = queryBus.dispatch(query);
+    public ResponseEntity<EquipmentSummaryPage> listByStatus(
+            @RequestParam("status") String status,
+            @RequestParam(value = "sort", defaultValue = ListEquipmentByStatusQuery.SORT_BY_NAME) String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        ListEquipmentByStatusQuery query = new ListEquipmentByStatusQuery(status, sort, cursor, size);
+        EquipmentSummaryPage result = queryBus.dispatch(query);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 串流匯出設備摘要，每行一筆 JSON（NDJSON）；不帶 status 時匯出全部設備。
+     * GET /api/equipment/export?status=IDLE
+     *
+     * 資料以資料庫 Cursor 逐筆讀取並直接寫入回應，不在記憶體中組成完整列表。
+     * 讀取期間會佔用一條資料庫連線與唯讀交易，直到用戶端讀完回應為止（見 StreamEquipmentQueryHandler）。
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "status", required = false) String status) {
+        StreamingResponseBody body = out -> queryBus.dispatch(new StreamEquipmentQuery(status, view -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(view));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     /**
      * 查詢設備的維護歷史。
      * GET /api/equipment/{id}/maintenance
@@ -68,4 +113,39 @@ public class EquipmentQueryController {
         List<MaintenanceHistoryView> result = queryBus.dispatch(query);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * 查詢設備最新的遙測讀數。
+     * GET /api/equipment/{id}/telemetry/latest
+     */
+    @GetMapping("/{id}/telemetry/latest")
+    public ResponseEntity<TelemetryReadingView> getLatestTelemetry(@PathVariable("id") String id) {
+        TelemetryReadingView result = queryBus.dispatch(new LatestTelemetryQuery(id));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 查詢設備在區間內的遙測趨勢，依 bucketSeconds 秒切分時間桶，每個桶回傳最小值、最大值與平均值。
+     * GET /api/equipment/{id}/telemetry?from=2024-01-01T00:00:00&to=2024-01-02T00:00:00&bucketSeconds=300
+     */
+    @GetMapping("/{id}/telemetry")
+    public ResponseEntity<List<TelemetryBucketView>> getTelemetryHistory(
+            @PathVariable("id") String id,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "bucketSeconds", defaultValue = "60") long bucketSeconds) {
+        TelemetryHistoryQuery query = new TelemetryHistoryQuery(id, from, to, Duration.ofSeconds(bucketSeconds));
+        List<TelemetryBucketView> result = queryBus.dispatch(query);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 查詢此節點設備快取的命中統計。
+     * GET /api/equipment/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<EquipmentCacheStatsView> getCacheStats() {
+        EquipmentCacheStatsView result = queryBus.dispatch(new EquipmentCacheStatsQuery());
+        return ResponseEntity.ok(result);
+    }
 }
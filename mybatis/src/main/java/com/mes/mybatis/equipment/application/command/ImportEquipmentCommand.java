@@ -0,0 +1,26 @@
+package com.mes.mybatis.equipment.application.command;
+
+import com.mes.common.cqrs.Command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Command - 批次匯入設備命令]
+ *
+ * 代表「一次註冊多台新設備」的意圖，例如新廠區上線時匯入整座工廠的設備清單。
+ * 每一台設備的欄位與 {@link RegisterEquipmentCommand} 相同。
+ */
+public class ImportEquipmentCommand implements Command {
+
+    private final List<RegisterEquipmentCommand> equipments;
+
+    public ImportEquipmentCommand(List<RegisterEquipmentCommand> equipments) {
+        this.equipments = Collections.unmodifiableList(new ArrayList<>(equipments));
+    }
+
+    public List<RegisterEquipmentCommand> getEquipments() {
+        return equipments;
+    }
+}
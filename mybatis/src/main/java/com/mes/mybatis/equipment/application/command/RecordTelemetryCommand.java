@@ -0,0 +1,74 @@
+package com.mes.mybatis.equipment.application.command;
+
+import com.mes.common.cqrs.Command;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Command - 記錄設備遙測命令]
+ *
+ * 代表「設備回報了一批運行參數讀數」的意圖。感測器通常以固定頻率取樣後成批上傳，
+ * 因此一個命令攜帶同一台設備的多筆讀數。
+ */
+public class RecordTelemetryCommand implements Command {
+
+    private final String equipmentId;
+    private final List<Sample> samples;
+
+    public RecordTelemetryCommand(String equipmentId, List<Sample> samples) {
+        this.equipmentId = equipmentId;
+        this.samples = Collections.unmodifiableList(new ArrayList<>(samples));
+    }
+
+    public String getEquipmentId() {
+        return equipmentId;
+    }
+
+    public List<Sample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * 單筆讀數；recordedAt 為 null 時以接收時間為準。
+     */
+    public static class Sample {
+
+        private final LocalDateTime recordedAt;
+        private final double temperature;
+        private final double pressure;
+        private final double speed;
+        private final double vibration;
+
+        public Sample(LocalDateTime recordedAt, double temperature, double pressure,
+                      double speed, double vibration) {
+            this.recordedAt = recordedAt;
+            this.temperature = temperature;
+            this.pressure = pressure;
+            this.speed = speed;
+            this.vibration = vibration;
+        }
+
+        public LocalDateTime getRecordedAt() {
+            return recordedAt;
+        }
+
+        public double getTemperature() {
+            return temperature;
+        }
+
+        public double getPressure() {
+            return pressure;
+        }
+
+        public double getSpeed() {
+            return speed;
+        }
+
+        public double getVibration() {
+            return vibration;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mes.mybatis.equipment.application.command.handler;
+
+import com.mes.common.cqrs.CommandHandler;
+import com.mes.mybatis.equipment.application.command.ImportEquipmentCommand;
+import com.mes.mybatis.equipment.application.command.RegisterEquipmentCommand;
+import com.mes.mybatis.equipment.domain.factory.EquipmentFactory;
+import com.mes.mybatis.equipment.domain.model.Equipment;
+import com.mes.mybatis.equipment.domain.model.EquipmentType;
+import com.mes.mybatis.equipment.domain.model.Location;
+import com.mes.mybatis.equipment.domain.repository.EquipmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Command Handler - 批次匯入設備]
+ * [SOLID: SRP - 只負責處理 ImportEquipmentCommand]
+ *
+ * 協調 Domain Model 完成批次匯入：
+ * 1. 先將所有設備轉換為領域物件並透過 Factory 建立聚合根（任一筆資料錯誤即整批拒絕）
+ * 2. 透過 Repository 的 saveAll 在同一個交易中以 JDBC batch 寫入
+ */
+@Component
+public class ImportEquipmentCommandHandler implements CommandHandler<ImportEquipmentCommand, List<String>> {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportEquipmentCommandHandler.class);
+
+    private final EquipmentRepository equipmentRepository;
+
+    public ImportEquipmentCommandHandler(EquipmentRepository equipmentRepository) {
+        this.equipmentRepository = equipmentRepository;
+    }
+
+    @Override
+    public List<String> handle(ImportEquipmentCommand command) {
+        log.info("處理批次匯入設備命令: count={}", command.getEquipments().size());
+
+        List<Equipment> equipments = new ArrayList<>(command.getEquipments().size());
+        for (RegisterEquipmentCommand item : command.getEquipments()) {
+            EquipmentType type = EquipmentType.valueOf(item.getType());
+            Location location = new Location(
+                    item.getBuilding(), item.getFloor(),
+                    item.getZone(), item.getPosition());
+            equipments.add(EquipmentFactory.create(item.getName(), type, location));
+        }
+
+        equipmentRepository.saveAll(equipments);
+
+        List<String> equipmentIds = new ArrayList<>(equipments.size());
+        for (Equipment equipment : equipments) {
+            equipmentIds.add(equipment.getId().getValue());
+        }
+        log.info("批次匯入設備完成: count={}", equipmentIds.size());
+        return equipmentIds;
+    }
+
+    @Override
+    public Class<ImportEquipmentCommand> getCommandType() {
+        return ImportEquipmentCommand.class;
+    }
+}
@@ -0,0 +1,62 @@
+package com.mes.mybatis.equipment.application.command.handler;
+
+import com.mes.common.cqrs.CommandHandler;
+import com.mes.mybatis.equipment.application.command.RecordTelemetryCommand;
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.OperatingParameters;
+import com.mes.mybatis.equipment.domain.model.TelemetryReading;
+import com.mes.mybatis.equipment.domain.repository.TelemetryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Command Handler - 記錄設備遙測]
+ * [SOLID: SRP - 只負責處理 RecordTelemetryCommand]
+ *
+ * 遙測讀數直接附加到 TelemetryRepository，不載入也不儲存 Equipment 聚合根，
+ * 因此高頻的感測器上傳不會與設備的狀態變更互相競爭同一列資料。
+ * 回傳接收的讀數數。
+ */
+@Component
+public class RecordTelemetryCommandHandler implements CommandHandler<RecordTelemetryCommand, Integer> {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordTelemetryCommandHandler.class);
+
+    private final TelemetryRepository telemetryRepository;
+
+    public RecordTelemetryCommandHandler(TelemetryRepository telemetryRepository) {
+        this.telemetryRepository = telemetryRepository;
+    }
+
+    @Override
+    public Integer handle(RecordTelemetryCommand command) {
+        if (command.getEquipmentId() == null || command.getEquipmentId().isEmpty()) {
+            throw new IllegalArgumentException("equipmentId must not be empty");
+        }
+        EquipmentId equipmentId = EquipmentId.of(command.getEquipmentId());
+        LocalDateTime receivedAt = LocalDateTime.now();
+
+        List<TelemetryReading> readings = new ArrayList<>(command.getSamples().size());
+        for (RecordTelemetryCommand.Sample sample : command.getSamples()) {
+            readings.add(new TelemetryReading(
+                    equipmentId,
+                    new OperatingParameters(sample.getTemperature(), sample.getPressure(),
+                            sample.getSpeed(), sample.getVibration()),
+                    sample.getRecordedAt() != null ? sample.getRecordedAt() : receivedAt));
+        }
+        telemetryRepository.append(readings);
+
+        log.debug("遙測讀數已接收: equipmentId={}, count={}", command.getEquipmentId(), readings.size());
+        return readings.size();
+    }
+
+    @Override
+    public Class<RecordTelemetryCommand> getCommandType() {
+        return RecordTelemetryCommand.class;
+    }
+}
@@ -0,0 +1,12 @@
+package com.mes.mybatis.equipment.application.query;
+
+import com.mes.common.cqrs.Query;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentCacheStatsView;
+
+/**
+ * [CQRS Pattern: Query - 查詢設備快取命中統計]
+ *
+ * 查詢此節點設備聚合根快取的命中率、容量與失效次數，供監控使用。
+ */
+public class EquipmentCacheStatsQuery implements Query<EquipmentCacheStatsView> {
+}
@@ -0,0 +1,22 @@
+package com.mes.mybatis.equipment.application.query;
+
+import com.mes.common.cqrs.Query;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryReadingView;
+
+/**
+ * [CQRS Pattern: Query - 查詢設備最新遙測讀數]
+ *
+ * 查詢設備最近一次回報的運行參數，由遙測倉儲的最新值快取提供。
+ */
+public class LatestTelemetryQuery implements Query<TelemetryReadingView> {
+
+    private final String equipmentId;
+
+    public LatestTelemetryQuery(String equipmentId) {
+        this.equipmentId = equipmentId;
+    }
+
+    public String getEquipmentId() {
+        return equipmentId;
+    }
+}
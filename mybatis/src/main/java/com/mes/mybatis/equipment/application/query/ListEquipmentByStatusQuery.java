@@ -1,25 +1,56 @@
 package com.mes.mybatis.equipment.application.query;
 
 import com.mes.common.cqrs.Query;
-import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryView;
-
-import java.util.List;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryPage;
 
 /**
  * [CQRS Pattern: Query - 依狀態列出設備摘要]
  *
- * 查詢指定狀態的所有設備，返回摘要資訊。
+ * 以 keyset 分頁查詢指定狀態的設備，返回一頁摘要資訊。
  * 此查詢走 CQRS 讀取路徑，直接使用 MyBatis Mapper 而非通過 Domain Model。
+ *
+ * cursor 為上一頁回傳的 nextCursor（第一頁為 null），必須與 sort 搭配使用。
  */
-public class ListEquipmentByStatusQuery implements Query<List<EquipmentSummaryView>> {
+public class ListEquipmentByStatusQuery implements Query<EquipmentSummaryPage> {
+
+    /** 依名稱排序（預設）。 */
+    public static final String SORT_BY_NAME = "name";
+
+    /** 依建立時間由新到舊排序。 */
+    public static final String SORT_BY_CREATED_AT = "createdAt";
+
+    /** 預設每頁筆數。 */
+    public static final int DEFAULT_SIZE = 50;
 
     private final String status;
+    private final String sort;
+    private final String cursor;
+    private final int size;
 
     public ListEquipmentByStatusQuery(String status) {
+        this(status, SORT_BY_NAME, null, DEFAULT_SIZE);
+    }
+
+    public ListEquipmentByStatusQuery(String status, String sort, String cursor, int size) {
         this.status = status;
+        this.sort = sort;
+        this.cursor = cursor;
+        this.size = size;
     }
 
     public String getStatus() {
         return status;
     }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
 }
@@ -0,0 +1,32 @@
+package com.mes.mybatis.equipment.application.query;
+
+import com.mes.common.cqrs.Query;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryView;
+
+import java.util.function.Consumer;
+
+/**
+ * [CQRS Pattern: Query - 串流設備摘要]
+ *
+ * 逐筆將設備摘要交給 sink（例如直接寫到 HTTP 回應），而非先組成列表，
+ * 用於匯出整個設備清單等大量資料的情境。回傳串流的筆數。
+ * status 為 null 時串流所有設備。
+ */
+public class StreamEquipmentQuery implements Query<Integer> {
+
+    private final String status;
+    private final Consumer<EquipmentSummaryView> sink;
+
+    public StreamEquipmentQuery(String status, Consumer<EquipmentSummaryView> sink) {
+        this.status = status;
+        this.sink = sink;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Consumer<EquipmentSummaryView> getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mes.mybatis.equipment.application.query;
+
+import com.mes.common.cqrs.Query;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryBucketView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Query - 查詢設備遙測歷史（降採樣）]
+ *
+ * 查詢設備在 [from, to) 區間內的運行參數，依 bucket 長度切分時間桶，
+ * 每個桶回傳樣本數與各參數的最小值、最大值、平均值，供維護歷史畫面繪製趨勢圖。
+ * 此查詢走 CQRS 讀取路徑，直接使用 MyBatis Mapper，彙總在資料庫端完成。
+ */
+public class TelemetryHistoryQuery implements Query<List<TelemetryBucketView>> {
+
+    private final String equipmentId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Duration bucket;
+
+    public TelemetryHistoryQuery(String equipmentId, LocalDateTime from, LocalDateTime to, Duration bucket) {
+        this.equipmentId = equipmentId;
+        this.from = from;
+        this.to = to;
+        this.bucket = bucket;
+    }
+
+    public String getEquipmentId() {
+        return equipmentId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+}
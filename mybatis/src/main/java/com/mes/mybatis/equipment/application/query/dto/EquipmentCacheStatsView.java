@@ -0,0 +1,85 @@
+package com.mes.mybatis.equipment.application.query.dto;
+
+/**
+ * [CQRS Pattern: Read Model DTO - 設備快取命中統計視圖]
+ *
+ * 計數皆為此節點啟動後的累計值。
+ */
+public class EquipmentCacheStatsView {
+
+    private boolean enabled;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long evictions;
+    private long invalidations;
+    private int size;
+    private int maxSize;
+
+    public EquipmentCacheStatsView() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public void setInvalidations(long invalidations) {
+        this.invalidations = invalidations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mes.mybatis.equipment.application.query.dto;
+
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Read Model DTO - 設備摘要分頁]
+ *
+ * keyset 分頁的一頁結果。nextCursor 為取得下一頁時要帶回的游標，
+ * 已是最後一頁時為 null。
+ */
+public class EquipmentSummaryPage {
+
+    private List<EquipmentSummaryView> items;
+    private String nextCursor;
+
+    public EquipmentSummaryPage() {
+    }
+
+    public EquipmentSummaryPage(List<EquipmentSummaryView> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EquipmentSummaryView> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EquipmentSummaryView> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
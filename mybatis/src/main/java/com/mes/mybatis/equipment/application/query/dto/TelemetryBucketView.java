@@ -0,0 +1,97 @@
+package com.mes.mybatis.equipment.application.query.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * [CQRS Pattern: Read Model DTO - 遙測時間桶視圖]
+ *
+ * 降採樣後的單一時間桶：起始時間、樣本數，以及各運行參數的最小值、最大值與平均值。
+ */
+public class TelemetryBucketView {
+
+    private LocalDateTime bucketStart;
+    private long sampleCount;
+    private Stats temperature;
+    private Stats pressure;
+    private Stats speed;
+    private Stats vibration;
+
+    public TelemetryBucketView() {
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Stats getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(Stats temperature) {
+        this.temperature = temperature;
+    }
+
+    public Stats getPressure() {
+        return pressure;
+    }
+
+    public void setPressure(Stats pressure) {
+        this.pressure = pressure;
+    }
+
+    public Stats getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(Stats speed) {
+        this.speed = speed;
+    }
+
+    public Stats getVibration() {
+        return vibration;
+    }
+
+    public void setVibration(Stats vibration) {
+        this.vibration = vibration;
+    }
+
+    /**
+     * 單一參數在時間桶內的統計值。
+     */
+    public static class Stats {
+
+        private final double min;
+        private final double max;
+        private final double avg;
+
+        public Stats(double min, double max, double avg) {
+            this.min = min;
+            this.max = max;
+            this.avg = avg;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getAvg() {
+            return avg;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mes.mybatis.equipment.application.query.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * [CQRS Pattern: Read Model DTO - 遙測讀數視圖]
+ *
+ * 單筆遙測讀數的展示用資料結構。
+ */
+public class TelemetryReadingView {
+
+    private String equipmentId;
+    private LocalDateTime recordedAt;
+    private double temperature;
+    private double pressure;
+    private double speed;
+    private double vibration;
+
+    public TelemetryReadingView() {
+    }
+
+    public String getEquipmentId() {
+        return equipmentId;
+    }
+
+    public void setEquipmentId(String equipmentId) {
+        this.equipmentId = equipmentId;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(double temperature) {
+        this.temperature = temperature;
+    }
+
+    public double getPressure() {
+        return pressure;
+    }
+
+    public void setPressure(double pressure) {
+        this.pressure = pressure;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    public double getVibration() {
+        return vibration;
+    }
+
+    public void setVibration(double vibration) {
+        this.vibration = vibration;
+    }
+}
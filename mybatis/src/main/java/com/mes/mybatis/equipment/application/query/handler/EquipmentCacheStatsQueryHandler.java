@@ -0,0 +1,45 @@
+package com.mes.mybatis.equipment.application.query.handler;
+
+import com.mes.common.cqrs.QueryHandler;
+import com.mes.mybatis.equipment.application.query.EquipmentCacheStatsQuery;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentCacheStatsView;
+import com.mes.mybatis.equipment.infrastructure.cache.EquipmentAggregateCache;
+import com.mes.mybatis.equipment.infrastructure.config.EquipmentCacheProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * [CQRS Pattern: Query Handler - 查詢設備快取命中統計]
+ *
+ * 直接讀取快取的計數器，不經過 Domain Model。
+ */
+@Component
+public class EquipmentCacheStatsQueryHandler implements QueryHandler<EquipmentCacheStatsQuery, EquipmentCacheStatsView> {
+
+    private final EquipmentAggregateCache cache;
+    private final EquipmentCacheProperties properties;
+
+    public EquipmentCacheStatsQueryHandler(EquipmentAggregateCache cache, EquipmentCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @Override
+    public EquipmentCacheStatsView handle(EquipmentCacheStatsQuery query) {
+        EquipmentAggregateCache.Stats stats = cache.getStats();
+        EquipmentCacheStatsView view = new EquipmentCacheStatsView();
+        view.setEnabled(properties.isEnabled());
+        view.setHits(stats.getHits());
+        view.setMisses(stats.getMisses());
+        view.setHitRatio(stats.getHitRatio());
+        view.setEvictions(stats.getEvictions());
+        view.setInvalidations(stats.getInvalidations());
+        view.setSize(stats.getSize());
+        view.setMaxSize(properties.getMaxSize());
+        return view;
+    }
+
+    @Override
+    public Class<EquipmentCacheStatsQuery> getQueryType() {
+        return EquipmentCacheStatsQuery.class;
+    }
+}
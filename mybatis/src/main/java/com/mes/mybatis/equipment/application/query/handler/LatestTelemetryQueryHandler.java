@@ -0,0 +1,49 @@
+package com.mes.mybatis.equipment.application.query.handler;
+
+import com.mes.common.cqrs.QueryHandler;
+import com.mes.common.exception.EntityNotFoundException;
+import com.mes.mybatis.equipment.application.query.LatestTelemetryQuery;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryReadingView;
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.OperatingParameters;
+import com.mes.mybatis.equipment.domain.model.TelemetryReading;
+import com.mes.mybatis.equipment.domain.repository.TelemetryRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * [CQRS Pattern: Query Handler - 查詢設備最新遙測讀數]
+ *
+ * 透過 TelemetryRepository 取得最新讀數；倉儲以記憶體快取保存每台設備的最新值，
+ * 儀表板頻繁輪詢時不需要查詢資料庫。
+ */
+@Component
+public class LatestTelemetryQueryHandler implements QueryHandler<LatestTelemetryQuery, TelemetryReadingView> {
+
+    private final TelemetryRepository telemetryRepository;
+
+    public LatestTelemetryQueryHandler(TelemetryRepository telemetryRepository) {
+        this.telemetryRepository = telemetryRepository;
+    }
+
+    @Override
+    public TelemetryReadingView handle(LatestTelemetryQuery query) {
+        TelemetryReading reading = telemetryRepository.findLatest(EquipmentId.of(query.getEquipmentId()))
+                .orElseThrow(() -> new EntityNotFoundException("Telemetry", query.getEquipmentId()));
+
+        OperatingParameters params = reading.getParameters();
+        TelemetryReadingView view = new TelemetryReadingView();
+        view.setEquipmentId(reading.getEquipmentId().getValue());
+        view.setRecordedAt(reading.getRecordedAt());
+        view.setTemperature(params.getTemperature());
+        view.setPressure(params.getPressure());
+        view.setSpeed(params.getSpeed());
+        view.setVibration(params.getVibration());
+        return view;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<LatestTelemetryQuery> getQueryType() {
+        return LatestTelemetryQuery.class;
+    }
+}
@@ -2,6 +2,7 @@ package com.mes.mybatis.equipment.application.query.handler;
 
 import com.mes.common.cqrs.QueryHandler;
 import com.mes.mybatis.equipment.application.query.ListEquipmentByStatusQuery;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryPage;
 import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryView;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.EquipmentDO;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.EquipmentMapper;
@@ -9,7 +10,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -34,13 +39,22 @@ import java.util.List;
  *
  * 這就是 CQRS 的威力：讀寫可以使用不同的路徑和模型，各自優化。
  * ============================================================
+ *
+ * 分頁採用 keyset（seek）方式：以上一頁最後一筆的 (name, id) 或 (created_at, id) 作為 WHERE 條件，
+ * 而非 OFFSET，因此每一頁只讀取 size + 1 筆（多讀一筆判斷是否還有下一頁），
+ * 記憶體用量與設備總數無關。游標是排序鍵的 Base64 編碼，對呼叫端而言是不透明的字串。
  */
 @Component
 public class ListEquipmentByStatusQueryHandler
-        implements QueryHandler<ListEquipmentByStatusQuery, List<EquipmentSummaryView>> {
+        implements QueryHandler<ListEquipmentByStatusQuery, EquipmentSummaryPage> {
 
     private static final Logger log = LoggerFactory.getLogger(ListEquipmentByStatusQueryHandler.class);
 
+    /** 每頁筆數上限。 */
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final char CURSOR_SEPARATOR = '\n';
+
     private final EquipmentMapper equipmentMapper;
 
     public ListEquipmentByStatusQueryHandler(EquipmentMapper equipmentMapper) {
@@ -48,29 +62,43 @@ public class ListEquipmentByStatusQueryHandler
     }
 
     @Override
-    public List<EquipmentSummaryView> handle(ListEquipmentByStatusQuery query) {
-        log.info("查詢設備列表 (CQRS 讀取路徑): status={}", query.getStatus());
+    public EquipmentSummaryPage handle(ListEquipmentByStatusQuery query) {
+        log.info("查詢設備列表 (CQRS 讀取路徑): status={}, sort={}, size={}",
+                query.getStatus(), query.getSort(), query.getSize());
+
+        if (query.getSize() < 1 || query.getSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE + ": " + query.getSize());
+        }
+        String[] position = decodeCursor(query.getCursor(), query.getSort());
+        int limit = query.getSize() + 1;
 
         // 直接使用 MyBatis Mapper 查詢，繞過 Domain Model
-        List<EquipmentDO> dataObjects = equipmentMapper.selectByStatus(query.getStatus());
+        List<EquipmentDO> dataObjects;
+        if (ListEquipmentByStatusQuery.SORT_BY_CREATED_AT.equals(query.getSort())) {
+            LocalDateTime beforeCreatedAt = position == null ? null : parseCreatedAt(position[0]);
+            dataObjects = equipmentMapper.selectByStatusBeforeCreatedAt(query.getStatus(), beforeCreatedAt,
+                    position == null ? null : position[1], limit);
+        } else if (ListEquipmentByStatusQuery.SORT_BY_NAME.equals(query.getSort())) {
+            dataObjects = equipmentMapper.selectByStatusAfterName(query.getStatus(),
+                    position == null ? null : position[0], position == null ? null : position[1], limit);
+        } else {
+            throw new IllegalArgumentException("Unsupported sort: " + query.getSort());
+        }
+
+        boolean hasNext = dataObjects.size() > query.getSize();
+        List<EquipmentDO> pageObjects = hasNext ? dataObjects.subList(0, query.getSize()) : dataObjects;
 
         // 直接將 DO 轉換為展示用 DTO，無需建構 Domain Object
-        List<EquipmentSummaryView> views = new ArrayList<>();
-        for (EquipmentDO dataObject : dataObjects) {
-            EquipmentSummaryView view = new EquipmentSummaryView();
-            view.setId(dataObject.getId());
-            view.setName(dataObject.getName());
-            view.setType(dataObject.getEquipmentType());
-            view.setStatus(dataObject.getStatus());
-            view.setLocationDescription(String.format("%s / %s樓 / %s區 / %s",
-                    dataObject.getLocationBuilding(),
-                    dataObject.getLocationFloor(),
-                    dataObject.getLocationZone(),
-                    dataObject.getLocationPosition()));
-            views.add(view);
+        List<EquipmentSummaryView> views = new ArrayList<>(pageObjects.size());
+        for (EquipmentDO dataObject : pageObjects) {
+            views.add(toSummaryView(dataObject));
         }
 
-        return views;
+        String nextCursor = hasNext
+                ? encodeCursor(pageObjects.get(pageObjects.size() - 1), query.getSort())
+                : null;
+        return new EquipmentSummaryPage(views, nextCursor);
     }
 
     @Override
@@ -78,4 +106,61 @@ public class ListEquipmentByStatusQueryHandler
     public Class<ListEquipmentByStatusQuery> getQueryType() {
         return ListEquipmentByStatusQuery.class;
     }
+
+    /**
+     * 將 DO 轉換為設備摘要視圖（列表與串流共用）。
+     */
+    static EquipmentSummaryView toSummaryView(EquipmentDO dataObject) {
+        EquipmentSummaryView view = new EquipmentSummaryView();
+        view.setId(dataObject.getId());
+        view.setName(dataObject.getName());
+        view.setType(dataObject.getEquipmentType());
+        view.setStatus(dataObject.getStatus());
+        view.setLocationDescription(String.format("%s / %s樓 / %s區 / %s",
+                dataObject.getLocationBuilding(),
+                dataObject.getLocationFloor(),
+                dataObject.getLocationZone(),
+                dataObject.getLocationPosition()));
+        return view;
+    }
+
+    /**
+     * 游標內容為「排序方式、排序鍵、id」，以換行分隔（id 不含換行，因此以最後一個換行切出 id）。
+     */
+    static String encodeCursor(EquipmentDO last, String sort) {
+        String key = ListEquipmentByStatusQuery.SORT_BY_CREATED_AT.equals(sort)
+                ? last.getCreatedAt().toString()
+                : last.getName();
+        String raw = sort + CURSOR_SEPARATOR + key + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {排序鍵, id}；cursor 為 null 時（第一頁）回傳 null
+     */
+    static String[] decodeCursor(String cursor, String sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        int first = raw.indexOf(CURSOR_SEPARATOR);
+        int last = raw.lastIndexOf(CURSOR_SEPARATOR);
+        if (first < 0 || first == last || !raw.substring(0, first).equals(sort)) {
+            throw new IllegalArgumentException("Cursor does not match sort [" + sort + "]: " + cursor);
+        }
+        return new String[]{raw.substring(first + 1, last), raw.substring(last + 1)};
+    }
+
+    private static LocalDateTime parseCreatedAt(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor timestamp: " + value, e);
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package com.mes.mybatis.equipment.application.query.handler;
+
+import com.mes.common.cqrs.QueryHandler;
+import com.mes.mybatis.equipment.application.query.StreamEquipmentQuery;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.EquipmentDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.EquipmentMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * [CQRS Pattern: Query Handler - 串流設備摘要（讀取路徑）]
+ *
+ * 以 MyBatis {@link Cursor} 逐筆讀取設備並立即交給 sink，
+ * 同一時間只有一批（fetch size）資料列在記憶體中，匯出整個設備清單時記憶體用量不隨設備數成長。
+ *
+ * Cursor 只在 SqlSession 開啟期間有效，因此整個讀取過程包在唯讀交易中，
+ * 由 Spring 讓 SqlSession 維持到方法結束。
+ *
+ * <p>fetch size 由 mybatis.configuration.default-fetch-size 設定。MySQL Connector/J 預設會忽略它，
+ * 一次讀入整個結果集；JDBC URL 必須加上 {@code useCursorFetch=true} 才會以伺服器端游標分批取回
+ * （見 application.yml 的 spring.datasource.url 範例）。</p>
+ *
+ * <p>交易與資料庫連線會維持到 sink 消費完最後一筆為止。sink 直接寫入 HTTP 回應時（GET /api/equipment/export），
+ * 慢速的用戶端會讓連線與唯讀交易一直被佔用，大量並行匯出可能耗盡連線池；
+ * 需要時應在閘道層限制匯出的並行數或設定回應逾時。</p>
+ *
+ * @see ListEquipmentByStatusQueryHandler 關於 CQRS 讀取路徑優化的詳細說明
+ */
+@Component
+public class StreamEquipmentQueryHandler implements QueryHandler<StreamEquipmentQuery, Integer> {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamEquipmentQueryHandler.class);
+
+    private final EquipmentMapper equipmentMapper;
+
+    public StreamEquipmentQueryHandler(EquipmentMapper equipmentMapper) {
+        this.equipmentMapper = equipmentMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer handle(StreamEquipmentQuery query) {
+        log.info("串流設備摘要 (CQRS 讀取路徑): status={}", query.getStatus());
+
+        int count = 0;
+        try (Cursor<EquipmentDO> cursor = equipmentMapper.selectAsCursor(query.getStatus())) {
+            for (EquipmentDO dataObject : cursor) {
+                query.getSink().accept(ListEquipmentByStatusQueryHandler.toSummaryView(dataObject));
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close equipment cursor", e);
+        }
+
+        log.info("串流設備摘要完成: status={}, count={}", query.getStatus(), count);
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<StreamEquipmentQuery> getQueryType() {
+        return StreamEquipmentQuery.class;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mes.mybatis.equipment.application.query.handler;
+
+import com.mes.common.cqrs.QueryHandler;
+import com.mes.mybatis.equipment.application.query.TelemetryHistoryQuery;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryBucketView;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.converter.TelemetryConverter;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.TelemetryBucketDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.TelemetryMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Query Handler - 查詢設備遙測歷史（讀取路徑）]
+ *
+ * 直接使用 TelemetryMapper 查詢資料庫，繞過 Domain Model。
+ * 降採樣在資料庫端以 GROUP BY 完成，回傳的列數只取決於區間長度與桶長度，與原始讀數的數量無關；
+ * 因此以 {@value #MAX_BUCKETS} 個桶為上限，避免以過小的桶查詢長區間而退化為逐筆傳回。
+ *
+ * 讀數由遙測倉儲緩衝後批次寫入，最近一個 flush-interval 內的讀數可能尚未出現在結果中。
+ *
+ * @see MaintenanceHistoryQueryHandler 同樣走 CQRS 讀取路徑的維護歷史查詢
+ */
+@Component
+public class TelemetryHistoryQueryHandler
+        implements QueryHandler<TelemetryHistoryQuery, List<TelemetryBucketView>> {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryHistoryQueryHandler.class);
+
+    /**
+     * 單次查詢最多的時間桶數。
+     */
+    static final long MAX_BUCKETS = 1000;
+
+    private final TelemetryMapper telemetryMapper;
+
+    public TelemetryHistoryQueryHandler(TelemetryMapper telemetryMapper) {
+        this.telemetryMapper = telemetryMapper;
+    }
+
+    @Override
+    public List<TelemetryBucketView> handle(TelemetryHistoryQuery query) {
+        if (query.getFrom() == null || query.getTo() == null || !query.getFrom().isBefore(query.getTo())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Duration bucket = query.getBucket();
+        if (bucket == null || bucket.toMillis() < 1000) {
+            throw new IllegalArgumentException("bucket must be at least 1 second");
+        }
+        long fromMs = TelemetryConverter.toEpochMillis(query.getFrom());
+        long toMs = TelemetryConverter.toEpochMillis(query.getTo());
+        long bucketMillis = bucket.toMillis();
+        if ((toMs - fromMs + bucketMillis - 1) / bucketMillis > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Too many buckets, use a larger bucket (max " + MAX_BUCKETS + ")");
+        }
+
+        log.info("查詢遙測歷史 (CQRS 讀取路徑): equipmentId={}, from={}, to={}, bucket={}",
+                query.getEquipmentId(), query.getFrom(), query.getTo(), bucket);
+
+        List<TelemetryBucketDO> buckets = telemetryMapper.selectDownsampled(query.getEquipmentId(),
+                query.getFrom().toLocalDate(), query.getTo().toLocalDate(), fromMs, toMs, bucketMillis);
+
+        List<TelemetryBucketView> views = new ArrayList<>(buckets.size());
+        for (TelemetryBucketDO row : buckets) {
+            TelemetryBucketView view = new TelemetryBucketView();
+            view.setBucketStart(TelemetryConverter.toLocalDateTime(row.getBucketStartMs()));
+            view.setSampleCount(row.getSampleCount());
+            view.setTemperature(new TelemetryBucketView.Stats(
+                    row.getMinTemperature(), row.getMaxTemperature(), row.getAvgTemperature()));
+            view.setPressure(new TelemetryBucketView.Stats(
+                    row.getMinPressure(), row.getMaxPressure(), row.getAvgPressure()));
+            view.setSpeed(new TelemetryBucketView.Stats(
+                    row.getMinSpeed(), row.getMaxSpeed(), row.getAvgSpeed()));
+            view.setVibration(new TelemetryBucketView.Stats(
+                    row.getMinVibration(), row.getMaxVibration(), row.getAvgVibration()));
+            views.add(view);
+        }
+        return views;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<TelemetryHistoryQuery> getQueryType() {
+        return TelemetryHistoryQuery.class;
+    }
+}
@@ -12,8 +12,10 @@ import com.mes.mybatis.equipment.domain.event.MaintenanceScheduledEvent;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * [DDD Pattern: Aggregate Root - 設備]
@@ -25,6 +27,9 @@ import java.util.Objects;
  * 3. 在關鍵業務操作時註冊領域事件
  *
  * 所有狀態變更都必須透過此聚合根的方法進行，確保一致性。
+ *
+ * 聚合根會記錄自上次載入或儲存以來變更過的欄位（{@link #getChangedFields()}），
+ * Repository 據此只寫入變更過的欄位與記錄，沒有任何變更時完全不寫入。
  */
 @AggregateRoot
 public class Equipment extends BaseAggregateRoot<EquipmentId> {
@@ -35,6 +40,8 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
     private Location location;
     private OperatingParameters operatingParameters;
     private final List<MaintenanceRecord> maintenanceRecords;
+    private boolean persisted;
+    private final EnumSet<TrackedField> changedFields = EnumSet.noneOf(TrackedField.class);
 
     /**
      * 供 ORM / Converter 重建使用的無參建構子。
@@ -71,7 +78,7 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
                             getId().getValue(), this.status));
         }
         this.status = EquipmentStatus.RUNNING;
-        touch();
+        changed(TrackedField.STATUS);
     }
 
     /**
@@ -85,7 +92,7 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
                             getId().getValue(), this.status));
         }
         this.status = EquipmentStatus.IDLE;
-        touch();
+        changed(TrackedField.STATUS);
     }
 
     /**
@@ -101,7 +108,7 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
                             getId().getValue()));
         }
         this.status = EquipmentStatus.BREAKDOWN;
-        touch();
+        changed(TrackedField.STATUS);
         registerEvent(new EquipmentBreakdownEvent(getId().getValue(), name, description));
     }
 
@@ -124,7 +131,7 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
                 recordId, getId().getValue(), "PREVENTIVE", description, scheduledDate);
         this.maintenanceRecords.add(record);
         this.status = EquipmentStatus.MAINTENANCE;
-        touch();
+        changed(TrackedField.STATUS);
 
         registerEvent(new MaintenanceScheduledEvent(
                 getId().getValue(), name, recordId.getValue(), scheduledDate));
@@ -141,7 +148,7 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
         MaintenanceRecord record = findMaintenanceRecord(recordId);
         record.complete(technicianName);
         this.status = EquipmentStatus.IDLE;
-        touch();
+        changed(TrackedField.STATUS);
 
         registerEvent(new MaintenanceCompletedEvent(
                 getId().getValue(), name, recordId.getValue(), technicianName));
@@ -157,7 +164,7 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
                     String.format("Equipment [%s] is already decommissioned", getId().getValue()));
         }
         this.status = EquipmentStatus.DECOMMISSIONED;
-        touch();
+        changed(TrackedField.STATUS);
     }
 
     /**
@@ -165,6 +172,11 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
      */
     public void updateParameters(OperatingParameters params) {
         this.operatingParameters = Objects.requireNonNull(params, "Operating parameters must not be null");
+        changed(TrackedField.OPERATING_PARAMETERS);
+    }
+
+    private void changed(TrackedField field) {
+        changedFields.add(field);
         touch();
     }
 
@@ -205,34 +217,82 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
         return Collections.unmodifiableList(maintenanceRecords);
     }
 
+    /**
+     * 此設備是否已存在於持久化儲存中（從資料庫重建或已儲存過）。
+     * Repository 依此直接選擇 UPDATE 或 upsert，不必先查詢資料庫。
+     */
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    /**
+     * 自上次載入或儲存以來變更過的欄位。
+     */
+    public Set<TrackedField> getChangedFields() {
+        return Collections.unmodifiableSet(EnumSet.copyOf(changedFields));
+    }
+
+    /**
+     * 自上次載入或儲存以來是否有任何需要寫入的變更（包含新增或變更過的維護記錄）。
+     */
+    public boolean hasChanges() {
+        if (!persisted || !changedFields.isEmpty()) {
+            return true;
+        }
+        for (MaintenanceRecord record : maintenanceRecords) {
+            if (!record.isPersisted() || record.isChanged()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // ======================== 供 Converter 重建使用 ========================
     // 這些方法設為 public 以允許基礎設施層的 Converter 重建領域物件。
     // 在生產環境中，可考慮使用 Reflection 或 Builder 模式來避免暴露 setter。
 
+    // setter 也會記錄變更；Converter 重建完成後以 markPersisted() 清除。
+
     public void setName(String name) {
         this.name = name;
+        changedFields.add(TrackedField.NAME);
     }
 
     public void setType(EquipmentType type) {
         this.type = type;
+        changedFields.add(TrackedField.TYPE);
     }
 
     public void setStatus(EquipmentStatus status) {
         this.status = status;
+        changedFields.add(TrackedField.STATUS);
     }
 
     public void setLocation(Location location) {
         this.location = location;
+        changedFields.add(TrackedField.LOCATION);
     }
 
     public void setOperatingParameters(OperatingParameters operatingParameters) {
         this.operatingParameters = operatingParameters;
+        changedFields.add(TrackedField.OPERATING_PARAMETERS);
     }
 
     public void addMaintenanceRecord(MaintenanceRecord record) {
         this.maintenanceRecords.add(record);
     }
 
+    /**
+     * 供 Converter / Repository 在載入或儲存後標記為已持久化，並清除聚合根與所有維護記錄的變更追蹤。
+     */
+    public void markPersisted() {
+        this.persisted = true;
+        this.changedFields.clear();
+        for (MaintenanceRecord record : maintenanceRecords) {
+            record.markPersisted();
+        }
+    }
+
     /**
      * 供 Converter 設定建立時間（覆寫 protected 方法提升為 public）。
      */
@@ -248,4 +308,15 @@ public class Equipment extends BaseAggregateRoot<EquipmentId> {
     public void setUpdatedAt(java.time.LocalDateTime updatedAt) {
         super.setUpdatedAt(updatedAt);
     }
+
+    /**
+     * 變更追蹤的欄位群組，每個群組對應 equipment 表中一起寫入的欄位。
+     */
+    public enum TrackedField {
+        NAME,
+        TYPE,
+        STATUS,
+        LOCATION,
+        OPERATING_PARAMETERS
+    }
 }
@@ -20,6 +20,8 @@ public class MaintenanceRecord extends BaseEntity<MaintenanceRecordId> {
     private LocalDate completedDate;
     private String technicianName;
     private String status;
+    private boolean persisted;
+    private boolean changed;
 
     protected MaintenanceRecord() {
         super();
@@ -43,6 +45,7 @@ public class MaintenanceRecord extends BaseEntity<MaintenanceRecordId> {
         this.technicianName = Objects.requireNonNull(technicianName, "Technician name must not be null");
         this.completedDate = LocalDate.now();
         this.status = "COMPLETED";
+        this.changed = true;
         touch();
     }
 
@@ -74,8 +77,23 @@ public class MaintenanceRecord extends BaseEntity<MaintenanceRecordId> {
         return status;
     }
 
+    /**
+     * 此記錄是否已存在於持久化儲存中（從資料庫重建或已儲存過）。
+     */
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    /**
+     * 自上次載入或儲存以來是否被變更過。
+     */
+    public boolean isChanged() {
+        return changed;
+    }
+
     // ---- 供 Converter 重建領域物件使用的 setter ----
-    // 設為 public 以允許基礎設施層的 Converter 跨套件存取
+    // 設為 public 以允許基礎設施層的 Converter 跨套件存取；
+    // setter 也會記錄變更，Converter 重建完成後以 markPersisted() 清除
 
     public void setEquipmentId(String equipmentId) {
         this.equipmentId = equipmentId;
@@ -83,26 +101,40 @@ public class MaintenanceRecord extends BaseEntity<MaintenanceRecordId> {
 
     public void setMaintenanceType(String maintenanceType) {
         this.maintenanceType = maintenanceType;
+        this.changed = true;
     }
 
     public void setDescription(String description) {
         this.description = description;
+        this.changed = true;
     }
 
     public void setScheduledDate(LocalDate scheduledDate) {
         this.scheduledDate = scheduledDate;
+        this.changed = true;
     }
 
     public void setCompletedDate(LocalDate completedDate) {
         this.completedDate = completedDate;
+        this.changed = true;
     }
 
     public void setTechnicianName(String technicianName) {
         this.technicianName = technicianName;
+        this.changed = true;
     }
 
     public void setStatus(String status) {
         this.status = status;
+        this.changed = true;
+    }
+
+    /**
+     * 標記為已持久化並清除變更追蹤。
+     */
+    public void markPersisted() {
+        this.persisted = true;
+        this.changed = false;
     }
 
     /**
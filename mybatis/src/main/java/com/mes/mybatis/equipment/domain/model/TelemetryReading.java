@@ -0,0 +1,60 @@
+package com.mes.mybatis.equipment.domain.model;
+
+import com.mes.common.ddd.annotation.ValueObject;
+import com.mes.common.ddd.model.BaseValueObject;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * [DDD Pattern: Value Object - 設備遙測讀數]
+ *
+ * 某台設備在某個時間點量測到的運行參數。
+ * 與 Equipment 聚合根內的 OperatingParameters 不同，讀數只會新增、不會修改，
+ * 高頻寫入時不需要載入或儲存聚合根。
+ */
+@ValueObject
+public class TelemetryReading extends BaseValueObject {
+
+    private final EquipmentId equipmentId;
+    private final OperatingParameters parameters;
+    private final LocalDateTime recordedAt;
+
+    public TelemetryReading(EquipmentId equipmentId, OperatingParameters parameters, LocalDateTime recordedAt) {
+        this.equipmentId = Objects.requireNonNull(equipmentId, "equipmentId must not be null");
+        this.parameters = Objects.requireNonNull(parameters, "parameters must not be null");
+        this.recordedAt = Objects.requireNonNull(recordedAt, "recordedAt must not be null");
+    }
+
+    public EquipmentId getEquipmentId() {
+        return equipmentId;
+    }
+
+    public OperatingParameters getParameters() {
+        return parameters;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    /**
+     * @return 此讀數是否比 other 更新（other 為 null 時視為更新）
+     */
+    public boolean isNewerThan(TelemetryReading other) {
+        return other == null || recordedAt.isAfter(other.recordedAt);
+    }
+
+    @Override
+    protected List<Object> getEqualityComponents() {
+        return Arrays.<Object>asList(equipmentId, parameters, recordedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetryReading{equipmentId=" + equipmentId.getValue() +
+                ", recordedAt=" + recordedAt + ", " + parameters + '}';
+    }
+}
@@ -6,6 +6,7 @@ import com.mes.mybatis.equipment.domain.model.EquipmentId;
 import com.mes.mybatis.equipment.domain.model.EquipmentStatus;
 import com.mes.mybatis.equipment.domain.model.EquipmentType;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,4 +33,12 @@ public interface EquipmentRepository extends Repository<Equipment, EquipmentId>
      * @return 符合條件的設備列表
      */
     List<Equipment> findByType(EquipmentType type);
+
+    /**
+     * 在同一個交易中儲存多個設備聚合根（新增或更新）。
+     * 用於一次匯入整座工廠的設備清單等大量寫入的情境。
+     *
+     * @param aggregates 要儲存的設備聚合根
+     */
+    void saveAll(Collection<Equipment> aggregates);
 }
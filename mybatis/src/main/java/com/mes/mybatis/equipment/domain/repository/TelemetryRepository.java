@@ -0,0 +1,34 @@
+package com.mes.mybatis.equipment.domain.repository;
+
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.TelemetryReading;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * [DDD Pattern: Repository - 設備遙測倉儲 (Output Port)]
+ * [Hexagonal Architecture: 這是領域層定義的輸出埠，由基礎設施層實作]
+ * [SOLID: ISP - 遙測只需要附加與讀取最新值，不繼承聚合根倉儲的 CRUD 介面]
+ *
+ * 遙測讀數是只新增的時間序列，不屬於 Equipment 聚合根；
+ * 依時間區間的統計查詢走 CQRS 讀取路徑，不經過此介面。
+ */
+public interface TelemetryRepository {
+
+    /**
+     * 附加遙測讀數。實作可以先緩衝再批次寫入，因此呼叫返回時讀數不一定已寫入資料庫，
+     * 但 {@link #findLatest} 會立即反映。
+     *
+     * @param readings 遙測讀數
+     */
+    void append(Collection<TelemetryReading> readings);
+
+    /**
+     * 查詢設備最新的遙測讀數。
+     *
+     * @param equipmentId 設備 ID
+     * @return 最新讀數；沒有任何讀數時為空
+     */
+    Optional<TelemetryReading> findLatest(EquipmentId equipmentId);
+}
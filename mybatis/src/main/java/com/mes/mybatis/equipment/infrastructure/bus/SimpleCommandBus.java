@@ -3,6 +3,7 @@ package com.mes.mybatis.equipment.infrastructure.bus;
 import com.mes.common.cqrs.Command;
 import com.mes.common.cqrs.CommandBus;
 import com.mes.common.cqrs.CommandHandler;
+import com.mes.mybatis.equipment.infrastructure.datasource.DataSourceRouting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -17,6 +18,7 @@ import java.util.Map;
  *
  * 簡單的 CommandBus 實作，透過 Spring 自動注入所有 CommandHandler，
  * 並根據 Command 型別路由到對應的 Handler。
+ * 命令一律在主庫上執行，命令中巢狀的查詢也沿用主庫，才能讀到同一個命令的寫入。
  *
  * 在生產環境中，可替換為支援中介軟體 (Middleware) 的實作，
  * 例如加入日誌、驗證、交易管理等橫切關注點。
@@ -48,6 +50,6 @@ public class SimpleCommandBus implements CommandBus {
         }
         log.debug("派送命令: {} -> {}", command.getClass().getSimpleName(),
                 handler.getClass().getSimpleName());
-        return handler.handle(command);
+        return DataSourceRouting.onPrimary(() -> handler.handle(command));
     }
 }
@@ -3,6 +3,7 @@ package com.mes.mybatis.equipment.infrastructure.bus;
 import com.mes.common.cqrs.Query;
 import com.mes.common.cqrs.QueryBus;
 import com.mes.common.cqrs.QueryHandler;
+import com.mes.mybatis.equipment.infrastructure.datasource.DataSourceRouting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -17,6 +18,7 @@ import java.util.Map;
  *
  * 簡單的 QueryBus 實作，透過 Spring 自動注入所有 QueryHandler，
  * 並根據 Query 型別路由到對應的 Handler。
+ * 查詢在唯讀副本上執行（啟用讀寫分離時），Handler 本身不需要知道資料來源。
  */
 @Component
 public class SimpleQueryBus implements QueryBus {
@@ -45,6 +47,6 @@ public class SimpleQueryBus implements QueryBus {
         }
         log.debug("派送查詢: {} -> {}", query.getClass().getSimpleName(),
                 handler.getClass().getSimpleName());
-        return handler.handle(query);
+        return DataSourceRouting.onReplica(() -> handler.handle(query));
     }
 }
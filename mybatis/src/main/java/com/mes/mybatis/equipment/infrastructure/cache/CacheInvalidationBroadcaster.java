@@ -0,0 +1,173 @@
+package com.mes.mybatis.equipment.infrastructure.cache;
+
+import com.mes.mybatis.equipment.infrastructure.config.EquipmentCacheProperties;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.CacheInvalidationDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.CacheInvalidationMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [Infrastructure: 設備快取的跨節點失效廣播]
+ * [SOLID: SRP - 只負責把其他節點的寫入轉為本機快取的失效]
+ *
+ * 廣播通道是資料庫表 equipment_cache_invalidation，不需要額外的訊息中介：
+ * <ol>
+ *   <li>寫入設備的交易同時為每台設備新增一列（由 Repository 寫入，與設備一起提交或回滾）</li>
+ *   <li>每個節點每隔 invalidation-poll-interval 讀取上次之後的新列，移除其他節點寫入的設備</li>
+ *   <li>超過 invalidation-retention 的列定期刪除</li>
+ * </ol>
+ *
+ * seq 在 INSERT 時配號，但交易的提交順序不一定與配號順序相同：較小的 seq 可能在較大的 seq 之後才可見。
+ * 因此讀取位置只推進到 {@value #SETTLE_MILLIS} 毫秒以前的列，較新的列每次都重新讀取（已處理的以 seq 去重）；
+ * 寫入到提交超過這段時間的交易仍可能漏掉，此時由快取的 ttl 兜底。
+ */
+@Component
+public class CacheInvalidationBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    /**
+     * 讀取位置只推進到這段時間以前的列，等待較慢提交的交易。
+     */
+    static final long SETTLE_MILLIS = 5_000;
+
+    private static final int POLL_LIMIT = 500;
+
+    private final CacheInvalidationMapper invalidationMapper;
+    private final EquipmentAggregateCache cache;
+    private final EquipmentCacheProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long startedAtMs = System.currentTimeMillis();
+
+    private final Object pollLock = new Object();
+    private final Set<Long> appliedSinceCursor = new HashSet<>();
+    private long cursor = -1;
+    private ScheduledExecutorService poller;
+
+    public CacheInvalidationBroadcaster(CacheInvalidationMapper invalidationMapper,
+                                        EquipmentAggregateCache cache,
+                                        EquipmentCacheProperties properties) {
+        this.invalidationMapper = invalidationMapper;
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    /**
+     * @return 是否需要寫入失效紀錄；invalidation-poll-interval 為 0 表示單節點部署，不廣播
+     */
+    public boolean isEnabled() {
+        return !properties.getInvalidationPollInterval().isZero();
+    }
+
+    /**
+     * @return 此節點的識別碼，寫入失效紀錄時一併記錄，讀取時略過自己的紀錄
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 讀取新的失效紀錄並移除其他節點寫入的設備。
+     *
+     * @return 移除的設備數
+     */
+    public int poll() {
+        synchronized (pollLock) {
+            if (cursor < 0) {
+                // 啟動前快取是空的，只需要處理啟動後（以及可能較慢提交）的紀錄
+                cursor = invalidationMapper.selectMaxSeqBefore(startedAtMs - SETTLE_MILLIS);
+            }
+            long settledBefore = System.currentTimeMillis() - SETTLE_MILLIS;
+            List<String> equipmentIds = new ArrayList<>();
+            long readFrom = cursor;
+            List<CacheInvalidationDO> rows;
+            do {
+                rows = invalidationMapper.selectAfter(readFrom, POLL_LIMIT);
+                boolean settled = true;
+                for (CacheInvalidationDO row : rows) {
+                    readFrom = row.getSeq();
+                    settled = settled && row.getCreatedAtMs() < settledBefore;
+                    if (settled) {
+                        cursor = row.getSeq();
+                    }
+                    if (appliedSinceCursor.add(row.getSeq()) && !nodeId.equals(row.getOriginNode())) {
+                        equipmentIds.add(row.getEquipmentId());
+                    }
+                }
+            } while (rows.size() == POLL_LIMIT);
+            for (Iterator<Long> it = appliedSinceCursor.iterator(); it.hasNext(); ) {
+                if (it.next() <= cursor) {
+                    it.remove();
+                }
+            }
+            cache.invalidateAll(equipmentIds);
+            if (!equipmentIds.isEmpty()) {
+                log.debug("套用其他節點的快取失效: count={}", equipmentIds.size());
+            }
+            return equipmentIds.size();
+        }
+    }
+
+    /**
+     * 刪除超過保留時間的失效紀錄。
+     *
+     * @return 刪除的紀錄數
+     */
+    public int purgeExpired() {
+        long beforeMs = System.currentTimeMillis() - properties.getInvalidationRetention().toMillis();
+        return invalidationMapper.deleteBefore(beforeMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equipment-cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getInvalidationPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::pollQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        long purgeMinutes = Math.max(1, properties.getInvalidationRetention().toMinutes());
+        poller.scheduleAtFixedRate(this::purgeQuietly, purgeMinutes, purgeMinutes, TimeUnit.MINUTES);
+        log.info("Equipment cache invalidation started: nodeId={}, {}", nodeId, properties);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("讀取快取失效紀錄失敗: {}", e.getMessage());
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            purgeExpired();
+        } catch (Exception e) {
+            log.warn("清除快取失效紀錄失敗: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.mes.mybatis.equipment.infrastructure.cache;
+
+import com.mes.mybatis.equipment.domain.event.EquipmentBreakdownEvent;
+import com.mes.mybatis.equipment.infrastructure.config.EquipmentCacheProperties;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.EquipmentDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.MaintenanceRecordDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Infrastructure: 設備聚合根快取]
+ * [SOLID: SRP - 只負責 findById 結果的快取與失效，載入與寫入仍由 Repository 負責]
+ *
+ * 快取的是載入時的資料物件快照（設備與其維護記錄），而不是聚合根本身：
+ * 聚合根是可變的，命令會在上面變更狀態後再儲存，因此每次命中都由 Converter 重建一個新的聚合根，
+ * 呼叫端之間不會共用同一個實例，也不會把尚未儲存的變更留在快取裡。
+ *
+ * 容量以 max-size 為上限，超過時移除最久未使用的設備（LRU）；ttl 是失效廣播遺漏時的保險。
+ *
+ * 失效規則：
+ * <ol>
+ *   <li>Repository 在交易中寫入或刪除設備時呼叫 {@link #invalidateOnWrite}：交易結束（提交或回滾）後才移除，
+ *       交易進行中本交易的 findById 不讀也不寫快取，其他交易則繼續讀到已提交的舊版本</li>
+ *   <li>收到 {@link EquipmentBreakdownEvent} 時立即移除該設備（Repository 在交易提交後發佈聚合根的領域事件）</li>
+ *   <li>其他節點的寫入經由 {@link CacheInvalidationBroadcaster} 通知後移除</li>
+ * </ol>
+ * 每次失效都會遞增世代編號；載入前取得的世代編號與放入時不同，表示載入期間發生過失效，
+ * 載入的資料可能已經過期，因此不放入快取。
+ */
+@Component
+public class EquipmentAggregateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentAggregateCache.class);
+
+    private final EquipmentCacheProperties properties;
+    private final Map<String, Entry> entries;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EquipmentAggregateCache(EquipmentCacheProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > Math.max(1, EquipmentAggregateCache.this.properties.getMaxSize())) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return 快取是否啟用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 取得設備的快照；過期的項目視為未命中並移除。
+     * 目前交易已寫入此設備時不讀取快取。
+     *
+     * @return 快照；未命中時為 null
+     */
+    public Snapshot get(String equipmentId) {
+        if (writtenInCurrentTransaction(equipmentId)) {
+            return null;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(equipmentId);
+            if (entry != null && System.nanoTime() - entry.loadedAtNanos < properties.getTtl().toNanos()) {
+                hits.incrementAndGet();
+                return entry.snapshot;
+            }
+            if (entry != null) {
+                entries.remove(equipmentId);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @return 目前的世代編號，載入前取得並在 {@link #put} 時傳回
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * 放入載入的快照。載入期間發生過失效，或目前交易已寫入此設備時不放入。
+     */
+    public void put(String equipmentId, EquipmentDO equipmentDO, List<MaintenanceRecordDO> recordDOs,
+                    long loadedGeneration) {
+        if (writtenInCurrentTransaction(equipmentId)) {
+            return;
+        }
+        Snapshot snapshot = new Snapshot(equipmentDO, recordDOs);
+        synchronized (this) {
+            if (generation != loadedGeneration) {
+                return;
+            }
+            entries.put(equipmentId, new Entry(snapshot, System.nanoTime()));
+        }
+    }
+
+    /**
+     * 立即移除設備。
+     */
+    public void invalidate(String equipmentId) {
+        invalidateAll(Collections.singleton(equipmentId));
+    }
+
+    /**
+     * 立即移除多台設備。
+     */
+    public void invalidateAll(Collection<String> equipmentIds) {
+        if (equipmentIds.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            for (String equipmentId : equipmentIds) {
+                entries.remove(equipmentId);
+            }
+        }
+        invalidations.addAndGet(equipmentIds.size());
+    }
+
+    /**
+     * 記錄設備在目前交易中被寫入：交易結束後才移除快取。沒有交易時立即移除。
+     */
+    public void invalidateOnWrite(Collection<String> equipmentIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll(equipmentIds);
+            return;
+        }
+        writtenSet(true).addAll(equipmentIds);
+    }
+
+    /**
+     * 設備故障時立即移除。故障經由 Repository 儲存時也會在交易結束後再移除一次。
+     */
+    @EventListener
+    public void onEquipmentBreakdown(EquipmentBreakdownEvent event) {
+        log.debug("設備故障，移除快取: equipmentId={}", event.getAggregateId());
+        invalidate(event.getAggregateId());
+    }
+
+    /**
+     * @return 目前的命中統計
+     */
+    public Stats getStats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new Stats(hits.get(), misses.get(), evictions.get(), invalidations.get(), size);
+    }
+
+    private boolean writtenInCurrentTransaction(String equipmentId) {
+        Set<String> written = writtenSet(false);
+        return written != null && written.contains(equipmentId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenSet(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Set<String> written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (written == null && create) {
+            Set<String> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EquipmentAggregateCache.this);
+                    invalidateAll(created);
+                }
+            });
+            written = created;
+        }
+        return written;
+    }
+
+    private static final class Entry {
+
+        private final Snapshot snapshot;
+        private final long loadedAtNanos;
+
+        private Entry(Snapshot snapshot, long loadedAtNanos) {
+            this.snapshot = snapshot;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    /**
+     * 設備與其維護記錄的資料物件快照。放入後不再修改，只供 Converter 重建聚合根。
+     */
+    public static final class Snapshot {
+
+        private final EquipmentDO equipment;
+        private final List<MaintenanceRecordDO> maintenanceRecords;
+
+        private Snapshot(EquipmentDO equipment, List<MaintenanceRecordDO> maintenanceRecords) {
+            this.equipment = equipment;
+            this.maintenanceRecords = Collections.unmodifiableList(new ArrayList<>(maintenanceRecords));
+        }
+
+        public EquipmentDO getEquipment() {
+            return equipment;
+        }
+
+        public List<MaintenanceRecordDO> getMaintenanceRecords() {
+            return maintenanceRecords;
+        }
+    }
+
+    /**
+     * 快取命中統計。
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final int size;
+
+        public Stats(long hits, long misses, long evictions, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return 命中率（0 ~ 1）；尚未有任何查詢時為 0
+         */
+        public double getHitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "hits=" + hits +
+                    ", misses=" + misses +
+                    ", hitRatio=" + String.format("%.3f", getHitRatio()) +
+                    ", evictions=" + evictions +
+                    ", invalidations=" + invalidations +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+}
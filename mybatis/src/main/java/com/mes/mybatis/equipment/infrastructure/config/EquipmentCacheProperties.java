@@ -0,0 +1,101 @@
+package com.mes.mybatis.equipment.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責設備聚合根快取的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   mybatis:
+ *     equipment-cache:
+ *       enabled: true
+ *       max-size: 1000
+ *       ttl: 10m
+ *       invalidation-poll-interval: 1s
+ *       invalidation-retention: 1h
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.mybatis.equipment-cache")
+public class EquipmentCacheProperties {
+
+    /**
+     * 是否快取 findById 載入的設備聚合根。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 快取的設備數上限，超過時移除最久未使用的設備。
+     */
+    private int maxSize = 1000;
+
+    /**
+     * 快取項目的存活時間；失效廣播遺漏時最多延遲這麼久才讀到新資料。
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 讀取其他節點失效廣播的間隔，也是其他節點寫入後本機快取最長的過期時間；0 表示不讀取（單節點部署）。
+     */
+    private Duration invalidationPollInterval = Duration.ofSeconds(1);
+
+    /**
+     * 失效廣播紀錄的保留時間。
+     */
+    private Duration invalidationRetention = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getInvalidationPollInterval() {
+        return invalidationPollInterval;
+    }
+
+    public void setInvalidationPollInterval(Duration invalidationPollInterval) {
+        this.invalidationPollInterval = invalidationPollInterval;
+    }
+
+    public Duration getInvalidationRetention() {
+        return invalidationRetention;
+    }
+
+    public void setInvalidationRetention(Duration invalidationRetention) {
+        this.invalidationRetention = invalidationRetention;
+    }
+
+    @Override
+    public String toString() {
+        return "EquipmentCacheProperties{" +
+                "enabled=" + enabled +
+                ", maxSize=" + maxSize +
+                ", ttl=" + ttl +
+                ", invalidationPollInterval=" + invalidationPollInterval +
+                ", invalidationRetention=" + invalidationRetention +
+                '}';
+    }
+}
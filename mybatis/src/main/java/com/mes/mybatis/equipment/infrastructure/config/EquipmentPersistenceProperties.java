@@ -0,0 +1,39 @@
+package com.mes.mybatis.equipment.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責設備持久化的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   mybatis:
+ *     persistence:
+ *       batch-size: 500
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.mybatis.persistence")
+public class EquipmentPersistenceProperties {
+
+    /**
+     * 批次寫入時每累積多少筆陳述式送出一次 JDBC batch。
+     */
+    private int batchSize = 500;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String toString() {
+        return "EquipmentPersistenceProperties{" +
+                "batchSize=" + batchSize +
+                '}';
+    }
+}
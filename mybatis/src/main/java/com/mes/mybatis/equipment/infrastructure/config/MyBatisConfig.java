@@ -1,8 +1,14 @@
 package com.mes.mybatis.equipment.infrastructure.config;
 
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Properties;
+
 /**
  * [Infrastructure Layer: Configuration - MyBatis 設定]
  *
@@ -12,6 +18,23 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @MapperScan("com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper")
+@EnableConfigurationProperties({EquipmentPersistenceProperties.class, TelemetryProperties.class,
+        ReadReplicaProperties.class, EquipmentCacheProperties.class})
 public class MyBatisConfig {
     // MyBatis 的其他設定（如 TypeHandler, Interceptor）可在此擴充
+
+    /**
+     * 依 JDBC 回報的資料庫產品名稱設定 databaseId，
+     * 讓 XML Mapper 中標註 databaseId 的陳述式（例如 upsert）選用對應的 SQL 方言。
+     * 沒有標註 databaseId 的陳述式適用所有資料庫。
+     */
+    @Bean
+    public DatabaseIdProvider databaseIdProvider() {
+        Properties vendors = new Properties();
+        vendors.setProperty("H2", "h2");
+        vendors.setProperty("MySQL", "mysql");
+        VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+        provider.setProperties(vendors);
+        return provider;
+    }
 }
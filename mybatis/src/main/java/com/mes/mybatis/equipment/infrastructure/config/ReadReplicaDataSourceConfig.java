@@ -0,0 +1,62 @@
+package com.mes.mybatis.equipment.infrastructure.config;
+
+import com.mes.mybatis.equipment.infrastructure.datasource.ReadWriteRoutingDataSource;
+import com.mes.mybatis.equipment.infrastructure.datasource.ReadYourWritesTracker;
+import com.mes.mybatis.equipment.infrastructure.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * [Infrastructure Layer: Configuration - 讀寫分離資料來源]
+ *
+ * 設定 mes.mybatis.datasource.replica.url 時才啟用：
+ * <ul>
+ *   <li>primaryDataSource：依 spring.datasource 建立的主庫連線池</li>
+ *   <li>replicaDataSource：依 mes.mybatis.datasource.replica 建立的副本連線池</li>
+ *   <li>dataSource（@Primary）：{@link ReadWriteRoutingDataSource}，MyBatis、交易管理與 SQL 初始化都使用它</li>
+ * </ul>
+ * 定義了 DataSource 後 Spring Boot 不再自動建立 DataSource；SQL 初始化在沒有路由意圖的啟動執行緒上執行，因此寫入主庫。
+ * 未設定副本時沿用 Spring Boot 自動建立的單一 DataSource，CommandBus / QueryBus 設定的路由意圖沒有作用。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "mes.mybatis.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(ReadReplicaProperties properties) {
+        return DataSourceBuilder.create()
+                .driverClassName(properties.getDriverClassName())
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               ReadReplicaProperties properties) {
+        return new ReplicaLagMonitor(primary, replica, properties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker writesTracker,
+                                 ReplicaLagMonitor lagMonitor) {
+        return new ReadWriteRoutingDataSource(primary, replica, writesTracker, lagMonitor);
+    }
+}
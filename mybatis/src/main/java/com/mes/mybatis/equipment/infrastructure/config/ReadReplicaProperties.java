@@ -0,0 +1,123 @@
+package com.mes.mybatis.equipment.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責唯讀副本與讀寫分離的外部化組態]
+ *
+ * 設定 url 後啟用讀寫分離：查詢走副本，命令走主庫（spring.datasource）。
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   mybatis:
+ *     datasource:
+ *       replica:
+ *         url: jdbc:mysql://replica:3306/mes
+ *         username: mes_ro
+ *         password: secret
+ *         sticky-window: 2s
+ *         max-lag: 2s
+ *         heartbeat-interval: 500ms
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.mybatis.datasource.replica")
+public class ReadReplicaProperties {
+
+    /**
+     * 副本的 JDBC URL；未設定時不啟用讀寫分離。
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * 副本的 JDBC 驅動程式；未設定時依 url 推斷。
+     */
+    private String driverClassName;
+
+    /**
+     * 寫入後多久內的查詢改讀主庫（read-your-writes）。
+     */
+    private Duration stickyWindow = Duration.ofSeconds(2);
+
+    /**
+     * 副本延遲超過此值時查詢改讀主庫；應大於 heartbeat-interval。
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * 量測副本延遲的間隔；0 表示不定期量測。
+     */
+    private Duration heartbeatInterval = Duration.ofMillis(500);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+
+    public void setDriverClassName(String driverClassName) {
+        this.driverClassName = driverClassName;
+    }
+
+    public Duration getStickyWindow() {
+        return stickyWindow;
+    }
+
+    public void setStickyWindow(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadReplicaProperties{" +
+                "url='" + url + '\'' +
+                ", stickyWindow=" + stickyWindow +
+                ", maxLag=" + maxLag +
+                ", heartbeatInterval=" + heartbeatInterval +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package com.mes.mybatis.equipment.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責設備遙測寫入的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   mybatis:
+ *     telemetry:
+ *       batch-size: 500
+ *       flush-interval: 200ms
+ *       max-pending: 50000
+ *       retention-days: 90
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.mybatis.telemetry")
+public class TelemetryProperties {
+
+    /**
+     * 每個多列 INSERT 最多寫入的讀數數；待寫入數達到此值時提早寫入。
+     */
+    private int batchSize = 500;
+
+    /**
+     * 定期寫入的間隔，也是讀數出現在區間查詢結果中的最長延遲；0 表示不定期寫入。
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * 緩衝中允許的最大待寫入讀數數；達到上限時由呼叫端同步寫入（背壓），避免資料庫變慢時記憶體無限成長。
+     */
+    private int maxPending = 50000;
+
+    /**
+     * 讀數保留天數；每日清除更早的分區，0 表示不清除。
+     */
+    private int retentionDays = 90;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetryProperties{" +
+                "batchSize=" + batchSize +
+                ", flushInterval=" + flushInterval +
+                ", maxPending=" + maxPending +
+                ", retentionDays=" + retentionDays +
+                '}';
+    }
+}
@@ -0,0 +1,9 @@
+package com.mes.mybatis.equipment.infrastructure.datasource;
+
+/**
+ * 讀寫分離時連線的目標：主庫（寫入與需要最新資料的讀取）或唯讀副本。
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
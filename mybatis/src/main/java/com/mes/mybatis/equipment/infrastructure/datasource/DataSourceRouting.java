@@ -0,0 +1,62 @@
+package com.mes.mybatis.equipment.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * [Infrastructure: 讀寫分離的路由意圖]
+ *
+ * 以 ThreadLocal 記錄目前執行緒「希望」使用的資料來源，由 CommandBus / QueryBus 在派送時設定，
+ * Handler 不需要知道讀寫分離的存在。實際使用哪個資料來源由 {@link ReadWriteRoutingDataSource} 在取得連線時決定，
+ * 希望讀副本時仍可能因 read-your-writes 或副本延遲而改用主庫。
+ *
+ * <ul>
+ *   <li>沒有設定時（背景執行緒、直接呼叫 Handler 的測試）一律使用主庫</li>
+ *   <li>已在命令中（PRIMARY）時，巢狀的查詢維持使用主庫，才能讀到同一個命令的寫入</li>
+ *   <li>路由只影響取得連線的時機；交易中已綁定的連線不會因此切換</li>
+ * </ul>
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<DataSourceRole> CURRENT = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * @return 目前執行緒希望使用的資料來源；未設定時為 null
+     */
+    public static DataSourceRole current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 以主庫執行（命令路徑）。
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        return run(DataSourceRole.PRIMARY, action);
+    }
+
+    /**
+     * 以唯讀副本執行（查詢路徑）；外層已指定資料來源時沿用外層的設定。
+     */
+    public static <T> T onReplica(Supplier<T> action) {
+        if (CURRENT.get() != null) {
+            return action.get();
+        }
+        return run(DataSourceRole.REPLICA, action);
+    }
+
+    private static <T> T run(DataSourceRole role, Supplier<T> action) {
+        DataSourceRole previous = CURRENT.get();
+        CURRENT.set(role);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mes.mybatis.equipment.infrastructure.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Infrastructure: 讀寫分離的路由資料來源]
+ *
+ * 每次取得連線時依 {@link DataSourceRouting#current()} 決定使用主庫或副本：
+ * <ol>
+ *   <li>未指定或指定 PRIMARY：主庫</li>
+ *   <li>指定 REPLICA 但此節點剛寫入過（{@link ReadYourWritesTracker} 的 sticky-window 內）：主庫</li>
+ *   <li>指定 REPLICA 但副本延遲過大或無法量測（{@link ReplicaLagMonitor}）：主庫</li>
+ *   <li>其餘：副本</li>
+ * </ol>
+ * 取得連線後即固定使用該連線；交易中的所有陳述式都在交易開始時取得的同一條連線上執行。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker writesTracker;
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong stickyFallbacks = new AtomicLong();
+    private final AtomicLong lagFallbacks = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWritesTracker writesTracker, ReplicaLagMonitor lagMonitor) {
+        this.writesTracker = writesTracker;
+        this.lagMonitor = lagMonitor;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRole.PRIMARY, primary);
+        targets.put(DataSourceRole.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (DataSourceRouting.current() != DataSourceRole.REPLICA) {
+            return DataSourceRole.PRIMARY;
+        }
+        if (writesTracker.isWithinStickyWindow()) {
+            stickyFallbacks.incrementAndGet();
+            return DataSourceRole.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallbacks.incrementAndGet();
+            return DataSourceRole.PRIMARY;
+        }
+        replicaReads.incrementAndGet();
+        return DataSourceRole.REPLICA;
+    }
+
+    /**
+     * @return 路由到副本的連線數
+     */
+    public long getReplicaReadCount() {
+        return replicaReads.get();
+    }
+
+    /**
+     * @return 因 read-your-writes 改用主庫的查詢連線數
+     */
+    public long getStickyFallbackCount() {
+        return stickyFallbacks.get();
+    }
+
+    /**
+     * @return 因副本延遲改用主庫的查詢連線數
+     */
+    public long getLagFallbackCount() {
+        return lagFallbacks.get();
+    }
+}
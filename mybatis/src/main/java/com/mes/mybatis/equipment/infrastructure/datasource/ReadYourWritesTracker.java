@@ -0,0 +1,59 @@
+package com.mes.mybatis.equipment.infrastructure.datasource;
+
+import com.mes.mybatis.equipment.infrastructure.config.ReadReplicaProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Infrastructure: read-your-writes 追蹤]
+ * [SOLID: SRP - 只負責記錄最近一次寫入主庫的時間]
+ *
+ * 副本的資料落後主庫，命令剛寫入後緊接著的查詢若讀副本可能看不到自己的寫入。
+ * Repository 寫入後呼叫 {@link #markWritten()}，在 sticky-window 內的查詢一律改讀主庫。
+ *
+ * 記錄的是此節點最近一次寫入的時間，不區分呼叫端：寫入頻率低（設備註冊、維護排程、故障回報）時代價很小；
+ * 多節點部署時，其他節點的查詢仍依副本延遲判斷，不受此節點的寫入影響。
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final ReadReplicaProperties properties;
+    private final AtomicLong lastWriteNanos = new AtomicLong(NEVER);
+
+    public ReadYourWritesTracker(ReadReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 記錄一次寫入。在交易中呼叫時於提交後才開始計算 sticky-window（提交前副本本來就讀不到）。
+     */
+    public void markWritten() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    touch();
+                }
+            });
+        } else {
+            touch();
+        }
+    }
+
+    /**
+     * @return 最近一次寫入是否仍在 sticky-window 內
+     */
+    public boolean isWithinStickyWindow() {
+        long last = lastWriteNanos.get();
+        return last != NEVER && System.nanoTime() - last < properties.getStickyWindow().toNanos();
+    }
+
+    private void touch() {
+        lastWriteNanos.set(System.nanoTime());
+    }
+}
@@ -0,0 +1,120 @@
+package com.mes.mybatis.equipment.infrastructure.datasource;
+
+import com.mes.mybatis.equipment.infrastructure.config.ReadReplicaProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [Infrastructure: 副本延遲監測]
+ * [SOLID: SRP - 只負責量測副本落後主庫的時間]
+ *
+ * 每隔 heartbeat-interval 在主庫的 replication_heartbeat 寫入目前時間，再從副本讀回同一列：
+ * 副本上的時間與現在的差距即為複寫延遲（精度為一個 heartbeat-interval）。
+ *
+ * 以下情況視為副本不可用，查詢改讀主庫：
+ * <ul>
+ *   <li>延遲超過 max-lag</li>
+ *   <li>副本無法連線或尚未複寫到心跳列</li>
+ *   <li>超過三個 heartbeat-interval 沒有成功量測（監測本身停擺時不信任舊的結果）</li>
+ * </ul>
+ *
+ * 直接使用主庫與副本的 DataSource，不經過路由，量測結果不會被自己的回退決策影響。
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at_ms = ? WHERE id = 1";
+    static final String INSERT_HEARTBEAT = "INSERT INTO replication_heartbeat (id, beat_at_ms) VALUES (1, ?)";
+    static final String SELECT_HEARTBEAT = "SELECT beat_at_ms FROM replication_heartbeat WHERE id = 1";
+
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReadReplicaProperties properties;
+
+    private volatile long lagMillis = UNKNOWN;
+    private volatile long checkedAtNanos;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReadReplicaProperties properties) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+    }
+
+    public void start() {
+        long intervalMillis = properties.getHeartbeatInterval().toMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Replica lag monitor started: heartbeatInterval={} ms, maxLag={}",
+                intervalMillis, properties.getMaxLag());
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 寫入一次心跳並量測副本延遲。
+     */
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update(UPDATE_HEARTBEAT, now) == 0) {
+                primary.update(INSERT_HEARTBEAT, now);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to write replication heartbeat: {}", e.getMessage());
+        }
+
+        long measured;
+        try {
+            Long beat = replica.queryForObject(SELECT_HEARTBEAT, Long.class);
+            measured = beat == null ? UNKNOWN : Math.max(0, now - beat);
+        } catch (Exception e) {
+            log.warn("Failed to read replication heartbeat from replica: {}", e.getMessage());
+            measured = UNKNOWN;
+        }
+        if (measured > properties.getMaxLag().toMillis() && lagMillis <= properties.getMaxLag().toMillis()) {
+            log.warn("Replica lag {} ms exceeds {}, routing reads to primary", measured, properties.getMaxLag());
+        }
+        lagMillis = measured;
+        checkedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * @return 副本是否可以承接查詢
+     */
+    public boolean isReplicaUsable() {
+        long lag = lagMillis;
+        if (lag == UNKNOWN || lag > properties.getMaxLag().toMillis()) {
+            return false;
+        }
+        long intervalNanos = properties.getHeartbeatInterval().toNanos();
+        return intervalNanos <= 0 || System.nanoTime() - checkedAtNanos < intervalNanos * 3;
+    }
+
+    /**
+     * @return 最近一次量測的副本延遲（毫秒）；無法量測時為 -1
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mes.mybatis.equipment.infrastructure.event;
+
+import com.mes.common.ddd.event.DomainEvent;
+import com.mes.common.ddd.event.DomainEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * [DDD Pattern: Domain Event Publisher - Adapter (基礎設施層實作)]
+ * [SOLID: DIP - 實作領域層定義的 DomainEventPublisher 介面]
+ * [Hexagonal Architecture: Output Adapter]
+ *
+ * 使用 Spring ApplicationEventPublisher 發佈領域事件，
+ * 事件在同一個 JVM 內以同步方式傳遞給所有 @EventListener（例如 EquipmentAggregateCache）。
+ *
+ * 由 MyBatisEquipmentRepository 在交易提交後呼叫，監聽者不會收到最後被回滾的事件。
+ */
+@Component
+public class SpringEventDomainEventPublisher implements DomainEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(SpringEventDomainEventPublisher.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public SpringEventDomainEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        log.info("發佈領域事件: {}", event);
+        applicationEventPublisher.publishEvent(event);
+    }
+}
@@ -1,27 +1,43 @@
 package com.mes.mybatis.equipment.infrastructure.persistence;
 
+import com.mes.common.ddd.event.DomainEvent;
+import com.mes.common.ddd.event.DomainEventPublisher;
 import com.mes.mybatis.equipment.domain.model.Equipment;
 import com.mes.mybatis.equipment.domain.model.EquipmentId;
 import com.mes.mybatis.equipment.domain.model.EquipmentStatus;
 import com.mes.mybatis.equipment.domain.model.EquipmentType;
 import com.mes.mybatis.equipment.domain.model.MaintenanceRecord;
 import com.mes.mybatis.equipment.domain.repository.EquipmentRepository;
+import com.mes.mybatis.equipment.infrastructure.cache.CacheInvalidationBroadcaster;
+import com.mes.mybatis.equipment.infrastructure.cache.EquipmentAggregateCache;
+import com.mes.mybatis.equipment.infrastructure.config.EquipmentPersistenceProperties;
+import com.mes.mybatis.equipment.infrastructure.datasource.DataSourceRouting;
+import com.mes.mybatis.equipment.infrastructure.datasource.ReadYourWritesTracker;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.converter.EquipmentConverter;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.EquipmentDO;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.MaintenanceRecordDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.CacheInvalidationMapper;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.EquipmentMapper;
 import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.MaintenanceRecordMapper;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * [Hexagonal Architecture: Output Adapter - MyBatis 實作的設備倉儲]
@@ -31,80 +47,227 @@ import java.util.Set;
  * 此類別是六角形架構中的「基礎設施適配器」，負責：
  * 1. 使用 MyBatis Mapper 執行 SQL 操作
  * 2. 透過 Converter 進行 Domain Model <-> Data Object 的轉換
- * 3. 管理聚合根與其子 Entity 的持久化一致性（save 方法中同步維護記錄）
+ * 3. 管理聚合根與其子 Entity 的持久化一致性（save / saveAll 中同步維護記錄，以 JDBC batch 寫入）
+ *
+ * 列表查詢（findAll / findByStatus / findByType）不逐台查詢維護記錄，
+ * 而是以 WHERE equipment_id IN (...) 每 {@value #IN_CLAUSE_CHUNK_SIZE} 台批次取回，
+ * 因此 N 台設備的查詢次數是 1 + ceil(N / {@value #IN_CLAUSE_CHUNK_SIZE})，而非 1 + N。
+ *
+ * findById 先查 {@link EquipmentAggregateCache}，未命中才查詢資料庫；寫入與刪除的設備在交易結束後從快取移除，
+ * 並在同一個交易中寫入失效紀錄，由 {@link CacheInvalidationBroadcaster} 通知其他節點。
+ *
+ * 儲存時聚合根註冊的領域事件在交易提交後經由 {@link DomainEventPublisher} 發佈，回滾時不發佈。
  */
 @Repository
 public class MyBatisEquipmentRepository implements EquipmentRepository {
 
     private static final Logger log = LoggerFactory.getLogger(MyBatisEquipmentRepository.class);
 
+    /**
+     * 批次查詢維護記錄時單一 IN 清單的設備數上限（Oracle 限制 IN 清單最多 1000 個值）。
+     */
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
     private final EquipmentMapper equipmentMapper;
     private final MaintenanceRecordMapper maintenanceRecordMapper;
+    private final CacheInvalidationMapper invalidationMapper;
     private final EquipmentConverter converter;
+    private final SqlSessionTemplate sqlSessionTemplate;
+    private final EquipmentPersistenceProperties properties;
+    private final ReadYourWritesTracker writesTracker;
+    private final EquipmentAggregateCache cache;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final DomainEventPublisher eventPublisher;
 
     public MyBatisEquipmentRepository(EquipmentMapper equipmentMapper,
                                       MaintenanceRecordMapper maintenanceRecordMapper,
-                                      EquipmentConverter converter) {
+                                      CacheInvalidationMapper invalidationMapper,
+                                      EquipmentConverter converter,
+                                      SqlSessionTemplate sqlSessionTemplate,
+                                      EquipmentPersistenceProperties properties,
+                                      ReadYourWritesTracker writesTracker,
+                                      EquipmentAggregateCache cache,
+                                      CacheInvalidationBroadcaster broadcaster,
+                                      DomainEventPublisher eventPublisher) {
         this.equipmentMapper = equipmentMapper;
         this.maintenanceRecordMapper = maintenanceRecordMapper;
+        this.invalidationMapper = invalidationMapper;
         this.converter = converter;
+        this.sqlSessionTemplate = sqlSessionTemplate;
+        this.properties = properties;
+        this.writesTracker = writesTracker;
+        this.cache = cache;
+        this.broadcaster = broadcaster;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * 依 ID 載入設備聚合根。
+     *
+     * 啟用快取時先查快取，命中時由快照重建新的聚合根；未命中時從主庫載入並放入快取，
+     * 即使呼叫端在查詢路徑上也不從副本載入，避免把副本落後的舊資料放進快取。
+     * 不存在的設備不快取。
+     */
     @Override
     public Optional<Equipment> findById(EquipmentId id) {
-        EquipmentDO equipmentDO = equipmentMapper.selectById(id.getValue());
-        if (equipmentDO == null) {
-            return Optional.empty();
+        if (!cache.isEnabled()) {
+            EquipmentDO equipmentDO = equipmentMapper.selectById(id.getValue());
+            if (equipmentDO == null) {
+                return Optional.empty();
+            }
+            List<MaintenanceRecordDO> recordDOs = maintenanceRecordMapper.selectByEquipmentId(id.getValue());
+            return Optional.of(converter.toDomain(equipmentDO, recordDOs));
         }
 
-        List<MaintenanceRecordDO> recordDOs = maintenanceRecordMapper.selectByEquipmentId(id.getValue());
-        Equipment equipment = converter.toDomain(equipmentDO, recordDOs);
-        return Optional.of(equipment);
+        EquipmentAggregateCache.Snapshot snapshot = cache.get(id.getValue());
+        if (snapshot != null) {
+            return Optional.of(converter.toDomain(snapshot.getEquipment(), snapshot.getMaintenanceRecords()));
+        }
+
+        long generation = cache.currentGeneration();
+        return DataSourceRouting.onPrimary(() -> {
+            EquipmentDO equipmentDO = equipmentMapper.selectById(id.getValue());
+            if (equipmentDO == null) {
+                return Optional.<Equipment>empty();
+            }
+            List<MaintenanceRecordDO> recordDOs = maintenanceRecordMapper.selectByEquipmentId(id.getValue());
+            cache.put(id.getValue(), equipmentDO, recordDOs, generation);
+            return Optional.of(converter.toDomain(equipmentDO, recordDOs));
+        });
     }
 
     @Override
     public List<Equipment> findAll() {
         List<EquipmentDO> equipmentDOs = equipmentMapper.selectAll();
-        List<Equipment> equipments = new ArrayList<>();
-        for (EquipmentDO equipmentDO : equipmentDOs) {
-            List<MaintenanceRecordDO> recordDOs =
-                    maintenanceRecordMapper.selectByEquipmentId(equipmentDO.getId());
-            equipments.add(converter.toDomain(equipmentDO, recordDOs));
-        }
-        return equipments;
+        return toAggregates(equipmentDOs);
     }
 
     /**
      * 儲存設備聚合根。
      *
-     * 採用「先判斷是否存在再決定 INSERT / UPDATE」的策略：
-     * 1. 檢查設備是否已存在於資料庫
-     * 2. 如果不存在則 INSERT，如果存在則 UPDATE
-     * 3. 同步維護記錄：比較記憶體中的記錄與資料庫中的記錄，進行新增/更新/刪除
+     * 單筆儲存走與 {@link #saveAll} 相同的路徑，每張表只送出一個陳述式，不先查詢是否存在。
      *
      * 使用 @Transactional 確保聚合根及其子 Entity 的持久化是原子操作。
      */
     @Override
     @Transactional
     public void save(Equipment aggregate) {
-        String equipmentId = aggregate.getId().getValue();
-        EquipmentDO equipmentDO = converter.toDataObject(aggregate);
-
-        // 判斷 INSERT 或 UPDATE
-        EquipmentDO existing = equipmentMapper.selectById(equipmentId);
-        if (existing == null) {
-            log.info("新增設備: id={}", equipmentId);
-            equipmentMapper.insert(equipmentDO);
-        } else {
-            log.info("更新設備: id={}", equipmentId);
-            equipmentMapper.update(equipmentDO);
+        saveAll(Collections.singletonList(aggregate));
+    }
+
+    /**
+     * 在同一個交易中批次儲存多個設備聚合根，不先查詢資料庫：
+     * 1. 依聚合根與記錄的已知狀態選擇陳述式：未持久化的走單一陳述式的 upsert
+     *    （H2 MERGE / MySQL ON DUPLICATE KEY UPDATE），因此同一個 ID 被並行建立時也不會因「先查後寫」的時間差而主鍵衝突；
+     *    已持久化（從資料庫重建或儲存過）的依變更追蹤只寫入變更過的部分：
+     *    設備只 UPDATE 變更過的欄位群組，維護記錄只 UPDATE 變更過的記錄，沒有任何變更的聚合根完全不寫入
+     * 2. 依陳述式分組（相同的變更欄位組合產生相同的 SQL），讓 BATCH Executor 將相同 SQL 的連續執行合併為同一個 JDBC batch
+     * 3. 每累積 batch-size 筆陳述式送出一次，最後在交易內送出剩餘的陳述式；寫入後標記為已持久化並清除變更追蹤
+     * 4. 只有實際寫入的設備會從快取移除，並與寫入放在同一個 batch 中寫入跨節點的失效紀錄
+     * 5. 聚合根註冊的領域事件在交易提交後發佈，之後從聚合根清除
+     *
+     * BATCH 的 SqlSession 另外開啟而非使用 Spring 的 SqlSessionTemplate，
+     * 因為同一個交易中可能已有 SIMPLE Executor 的查詢，mybatis-spring 不允許在交易中切換 ExecutorType；
+     * 手動開啟的 SqlSession 透過 SpringManagedTransaction 取得同一條交易連線，提交仍由外層交易負責；
+     * 寫入後清除交易中 SqlSession 的一級快取，之後的查詢才會看到這次寫入。
+     */
+    @Override
+    @Transactional
+    public void saveAll(Collection<Equipment> aggregates) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+
+        List<EquipmentDO> equipmentUpserts = new ArrayList<>();
+        Map<Set<String>, List<EquipmentDO>> equipmentUpdatesByChanges = new LinkedHashMap<>();
+        List<MaintenanceRecordDO> recordUpserts = new ArrayList<>();
+        List<MaintenanceRecordDO> recordUpdates = new ArrayList<>();
+        List<String> writtenIds = new ArrayList<>();
+        int unchanged = 0;
+        for (Equipment aggregate : aggregates) {
+            if (!aggregate.hasChanges()) {
+                unchanged++;
+                continue;
+            }
+            String equipmentId = aggregate.getId().getValue();
+            writtenIds.add(equipmentId);
+            if (!aggregate.isPersisted()) {
+                equipmentUpserts.add(converter.toDataObject(aggregate));
+            } else if (!aggregate.getChangedFields().isEmpty()) {
+                Set<String> changes = new TreeSet<>();
+                for (Equipment.TrackedField field : aggregate.getChangedFields()) {
+                    changes.add(field.name());
+                }
+                equipmentUpdatesByChanges.computeIfAbsent(changes, k -> new ArrayList<>())
+                        .add(converter.toDataObject(aggregate));
+            }
+            for (MaintenanceRecord record : aggregate.getMaintenanceRecords()) {
+                if (!record.isPersisted()) {
+                    recordUpserts.add(converter.maintenanceRecordToDO(record, equipmentId));
+                } else if (record.isChanged()) {
+                    recordUpdates.add(converter.maintenanceRecordToDO(record, equipmentId));
+                }
+            }
         }
 
-        // 同步維護記錄
-        syncMaintenanceRecords(aggregate);
+        int equipmentUpdates = 0;
+        for (List<EquipmentDO> group : equipmentUpdatesByChanges.values()) {
+            equipmentUpdates += group.size();
+        }
+        if (equipmentUpserts.isEmpty() && equipmentUpdates == 0 && recordUpserts.isEmpty() && recordUpdates.isEmpty()) {
+            log.debug("設備沒有變更，略過寫入: count={}", unchanged);
+            return;
+        }
 
-        // 清除已發佈的領域事件
-        aggregate.clearEvents();
+        try (SqlSession batchSession = sqlSessionTemplate.getSqlSessionFactory().openSession(ExecutorType.BATCH)) {
+            EquipmentMapper batchEquipmentMapper = batchSession.getMapper(EquipmentMapper.class);
+            MaintenanceRecordMapper batchRecordMapper = batchSession.getMapper(MaintenanceRecordMapper.class);
+            int pending = 0;
+            for (EquipmentDO equipmentDO : equipmentUpserts) {
+                batchEquipmentMapper.upsert(equipmentDO);
+                pending = flushIfFull(batchSession, pending + 1);
+            }
+            for (Map.Entry<Set<String>, List<EquipmentDO>> group : equipmentUpdatesByChanges.entrySet()) {
+                for (EquipmentDO equipmentDO : group.getValue()) {
+                    batchEquipmentMapper.updateChanged(equipmentDO, group.getKey());
+                    pending = flushIfFull(batchSession, pending + 1);
+                }
+            }
+            for (MaintenanceRecordDO recordDO : recordUpserts) {
+                batchRecordMapper.upsert(recordDO);
+                pending = flushIfFull(batchSession, pending + 1);
+            }
+            for (MaintenanceRecordDO recordDO : recordUpdates) {
+                batchRecordMapper.update(recordDO);
+                pending = flushIfFull(batchSession, pending + 1);
+            }
+            if (broadcaster.isEnabled()) {
+                CacheInvalidationMapper batchInvalidationMapper = batchSession.getMapper(CacheInvalidationMapper.class);
+                long now = System.currentTimeMillis();
+                for (String equipmentId : writtenIds) {
+                    batchInvalidationMapper.insert(equipmentId, broadcaster.getNodeId(), now);
+                    pending = flushIfFull(batchSession, pending + 1);
+                }
+            }
+            // 在 Spring 管理的交易中 commit() 只會送出剩餘的陳述式，實際提交由外層交易負責
+            batchSession.commit();
+        }
+        // 寫入經由另一個 SqlSession 送出，交易中 SIMPLE SqlSession 的一級快取可能還留著寫入前的查詢結果
+        sqlSessionTemplate.clearCache();
+        // 提交後一段時間內的查詢改讀主庫（read-your-writes），避免讀到尚未複寫到副本的舊資料
+        writesTracker.markWritten();
+        cache.invalidateOnWrite(writtenIds);
+
+        log.info("儲存設備: upserted={}, updated={}, unchanged={}, maintenanceRecords upserted={}, updated={}",
+                equipmentUpserts.size(), equipmentUpdates, unchanged, recordUpserts.size(), recordUpdates.size());
+
+        List<DomainEvent> events = new ArrayList<>();
+        for (Equipment aggregate : aggregates) {
+            aggregate.markPersisted();
+            events.addAll(aggregate.getDomainEvents());
+            aggregate.clearEvents();
+        }
+        publishAfterCommit(events);
     }
 
     @Override
@@ -113,70 +276,70 @@ public class MyBatisEquipmentRepository implements EquipmentRepository {
         log.info("刪除設備: id={}", id.getValue());
         maintenanceRecordMapper.deleteByEquipmentId(id.getValue());
         equipmentMapper.deleteById(id.getValue());
+        if (broadcaster.isEnabled()) {
+            invalidationMapper.insert(id.getValue(), broadcaster.getNodeId(), System.currentTimeMillis());
+        }
+        writesTracker.markWritten();
+        cache.invalidateOnWrite(Collections.singleton(id.getValue()));
     }
 
     @Override
     public List<Equipment> findByStatus(EquipmentStatus status) {
         List<EquipmentDO> equipmentDOs = equipmentMapper.selectByStatus(status.name());
-        List<Equipment> equipments = new ArrayList<>();
-        for (EquipmentDO equipmentDO : equipmentDOs) {
-            List<MaintenanceRecordDO> recordDOs =
-                    maintenanceRecordMapper.selectByEquipmentId(equipmentDO.getId());
-            equipments.add(converter.toDomain(equipmentDO, recordDOs));
-        }
-        return equipments;
+        return toAggregates(equipmentDOs);
     }
 
     @Override
     public List<Equipment> findByType(EquipmentType type) {
         List<EquipmentDO> equipmentDOs = equipmentMapper.selectByType(type.name());
-        List<Equipment> equipments = new ArrayList<>();
-        for (EquipmentDO equipmentDO : equipmentDOs) {
-            List<MaintenanceRecordDO> recordDOs =
-                    maintenanceRecordMapper.selectByEquipmentId(equipmentDO.getId());
-            equipments.add(converter.toDomain(equipmentDO, recordDOs));
-        }
-        return equipments;
+        return toAggregates(equipmentDOs);
     }
 
     /**
-     * 同步維護記錄：比較聚合中的記錄與資料庫中的記錄，
-     * 執行必要的 INSERT / UPDATE / DELETE 操作。
+     * 將設備列表與其維護記錄組裝為聚合根：維護記錄以 IN 清單分批查詢，不逐台查詢。
      */
-    private void syncMaintenanceRecords(Equipment aggregate) {
-        String equipmentId = aggregate.getId().getValue();
-
-        // 取得資料庫中現有的記錄 ID
-        List<MaintenanceRecordDO> existingRecords =
-                maintenanceRecordMapper.selectByEquipmentId(equipmentId);
-        Set<String> existingIds = new HashSet<>();
-        for (MaintenanceRecordDO record : existingRecords) {
-            existingIds.add(record.getId());
+    private List<Equipment> toAggregates(List<EquipmentDO> equipmentDOs) {
+        if (equipmentDOs.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // 取得聚合中的記錄 ID
-        Set<String> currentIds = new HashSet<>();
-        for (MaintenanceRecord record : aggregate.getMaintenanceRecords()) {
-            currentIds.add(record.getId().getValue());
+        List<String> equipmentIds = new ArrayList<>(equipmentDOs.size());
+        for (EquipmentDO equipmentDO : equipmentDOs) {
+            equipmentIds.add(equipmentDO.getId());
         }
 
-        // INSERT 或 UPDATE 聚合中的記錄
-        for (MaintenanceRecord record : aggregate.getMaintenanceRecords()) {
-            MaintenanceRecordDO recordDO = converter.maintenanceRecordToDO(record, equipmentId);
-            if (existingIds.contains(record.getId().getValue())) {
-                maintenanceRecordMapper.update(recordDO);
-            } else {
-                maintenanceRecordMapper.insert(recordDO);
-            }
+        List<MaintenanceRecordDO> recordDOs = new ArrayList<>();
+        for (int from = 0; from < equipmentIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, equipmentIds.size());
+            recordDOs.addAll(maintenanceRecordMapper.selectByEquipmentIds(equipmentIds.subList(from, to)));
         }
+        return converter.toDomainList(equipmentDOs, recordDOs);
+    }
 
-        // DELETE 不再存在的記錄（聚合中已移除的）
-        for (String existingId : existingIds) {
-            if (!currentIds.contains(existingId)) {
-                // 此處只有在聚合從記錄列表中移除了某個記錄時才會觸發
-                // 目前的設計中 MaintenanceRecord 不會被移除，但預留此邏輯
-                log.debug("維護記錄已從聚合中移除: id={}", existingId);
+    /**
+     * 交易提交後才發佈事件，監聽者不會看到最後被回滾的變更；沒有交易時立即發佈。
+     */
+    private void publishAfterCommit(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            events.forEach(eventPublisher::publish);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(eventPublisher::publish);
             }
+        });
+    }
+
+    private int flushIfFull(SqlSession batchSession, int pending) {
+        if (pending < Math.max(1, properties.getBatchSize())) {
+            return pending;
         }
+        batchSession.flushStatements();
+        return 0;
     }
 }
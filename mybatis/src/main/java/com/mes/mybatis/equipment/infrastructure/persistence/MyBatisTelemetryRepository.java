@@ -0,0 +1,244 @@
+package com.mes.mybatis.equipment.infrastructure.persistence;
+
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.TelemetryReading;
+import com.mes.mybatis.equipment.domain.repository.TelemetryRepository;
+import com.mes.mybatis.equipment.infrastructure.config.TelemetryProperties;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.converter.TelemetryConverter;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.TelemetryDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.TelemetryMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Hexagonal Architecture: Output Adapter - MyBatis 實作的設備遙測倉儲]
+ * [SOLID: DIP - 實作 Domain Layer 定義的 TelemetryRepository 介面]
+ *
+ * 遙測讀數的寫入量遠高於設備本身的變更，若每筆讀數都載入並儲存 Equipment 聚合根，
+ * 每秒數千筆讀數就是每秒數千次整列 UPDATE。此倉儲改為只新增：
+ * <ol>
+ *   <li>{@link #append} 只把讀數放入記憶體佇列並更新最新值快取，不碰資料庫</li>
+ *   <li>每隔 flush-interval，或待寫入數達到 batch-size 時，由背景執行緒以多列 INSERT
+ *       每 batch-size 筆寫入一次 equipment_telemetry</li>
+ *   <li>待寫入數達到 max-pending 時由呼叫端同步寫入，資料庫跟不上時把壓力傳回呼叫端，而不是無限佔用記憶體</li>
+ *   <li>{@link #findLatest} 優先讀取最新值快取（每台設備一筆），快取未命中才查詢資料庫</li>
+ *   <li>每日刪除超過 retention-days 的分區資料</li>
+ * </ol>
+ *
+ * 代價是讀數最多延遲一個 flush-interval 才出現在區間查詢中；應用程式關閉時會先寫入所有待處理的讀數，
+ * 但程序異常終止時緩衝中的讀數會遺失，對取樣型的遙測資料是可以接受的。
+ */
+@Repository
+public class MyBatisTelemetryRepository implements TelemetryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MyBatisTelemetryRepository.class);
+
+    private final TelemetryMapper telemetryMapper;
+    private final TelemetryConverter converter;
+    private final TelemetryProperties properties;
+
+    private final Queue<TelemetryDO> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ConcurrentMap<String, TelemetryReading> latest = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService flusher;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    public MyBatisTelemetryRepository(TelemetryMapper telemetryMapper,
+                                      TelemetryConverter converter,
+                                      TelemetryProperties properties) {
+        this.telemetryMapper = telemetryMapper;
+        this.converter = converter;
+        this.properties = properties;
+    }
+
+    @Override
+    public void append(Collection<TelemetryReading> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        for (TelemetryReading reading : readings) {
+            latest.merge(reading.getEquipmentId().getValue(), reading,
+                    (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+            pending.add(converter.toDataObject(reading));
+        }
+        appended.addAndGet(readings.size());
+
+        int size = pendingCount.addAndGet(readings.size());
+        if (size >= properties.getMaxPending()) {
+            // 背壓：緩衝已滿時由呼叫端同步寫入，寫入失敗的例外也傳回呼叫端
+            flush();
+        } else if (size >= properties.getBatchSize()) {
+            requestFlush();
+        }
+    }
+
+    @Override
+    public Optional<TelemetryReading> findLatest(EquipmentId equipmentId) {
+        TelemetryReading cached = latest.get(equipmentId.getValue());
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        TelemetryReading stored = converter.toDomain(telemetryMapper.selectLatest(equipmentId.getValue()));
+        if (stored == null) {
+            return Optional.empty();
+        }
+        return Optional.of(latest.merge(equipmentId.getValue(), stored,
+                (current, candidate) -> candidate.isNewerThan(current) ? candidate : current));
+    }
+
+    /**
+     * 立即寫入目前所有待處理的讀數，每 batch-size 筆一個多列 INSERT。
+     * 寫入失敗的批次會放回佇列等待下一次寫入，例外則傳回呼叫端。
+     *
+     * @return 寫入的讀數數
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            int total = 0;
+            List<TelemetryDO> batch = new ArrayList<>(batchSize);
+            TelemetryDO next;
+            while ((next = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(next);
+                if (batch.size() >= batchSize) {
+                    total += insert(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                total += insert(batch);
+            }
+            if (total > 0) {
+                log.debug("遙測讀數寫入完成: count={}", total);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * 刪除超過保留天數的讀數。
+     *
+     * @return 刪除的讀數數
+     */
+    public int purgeExpired() {
+        if (properties.getRetentionDays() <= 0) {
+            return 0;
+        }
+        LocalDate beforeDay = LocalDate.now().minusDays(properties.getRetentionDays());
+        int deleted = telemetryMapper.deleteBefore(beforeDay);
+        log.info("清除過期遙測讀數: before={}, count={}", beforeDay, deleted);
+        return deleted;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        if (intervalMillis > 0) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        if (properties.getRetentionDays() > 0) {
+            flusher.scheduleAtFixedRate(this::purgeQuietly, 10, TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+        }
+        log.info("Telemetry repository started: {}", properties);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushQuietly();
+    }
+
+    /**
+     * @return 目前待寫入的讀數數
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return 累計接收的讀數數
+     */
+    public long getAppendedCount() {
+        return appended.get();
+    }
+
+    /**
+     * @return 累計寫入資料庫的讀數數
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private int insert(List<TelemetryDO> batch) {
+        try {
+            telemetryMapper.insertBatch(batch);
+        } catch (RuntimeException e) {
+            pending.addAll(batch);
+            pendingCount.addAndGet(batch.size());
+            throw e;
+        }
+        written.addAndGet(batch.size());
+        return batch.size();
+    }
+
+    private void requestFlush() {
+        if (flusher == null || flusher.isShutdown() || !flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        flusher.execute(this::flushQuietly);
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("遙測讀數寫入失敗，保留至下一次寫入: pending={}, error={}", pendingCount.get(), e.getMessage());
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            purgeExpired();
+        } catch (Exception e) {
+            log.warn("清除過期遙測讀數失敗: {}", e.getMessage());
+        }
+    }
+}
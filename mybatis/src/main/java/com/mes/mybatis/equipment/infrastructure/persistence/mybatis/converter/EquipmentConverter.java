@@ -13,7 +13,10 @@ import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.M
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * [Infrastructure Layer: Converter - 設備領域物件轉換器]
@@ -37,6 +40,7 @@ public class EquipmentConverter {
      * 1. 從 DO 的扁平欄位重建 Value Object（EquipmentId, Location, OperatingParameters）
      * 2. 組裝 Equipment 聚合根
      * 3. 載入關聯的 MaintenanceRecord Entity
+     * 重建出的聚合根與記錄都標記為已持久化。
      *
      * @param equipmentDO 設備資料物件
      * @param recordDOs   維護記錄資料物件列表
@@ -67,6 +71,7 @@ public class EquipmentConverter {
         equipment.setOperatingParameters(params);
         equipment.setCreatedAt(equipmentDO.getCreatedAt());
         equipment.setUpdatedAt(equipmentDO.getUpdatedAt());
+        equipment.markPersisted();
 
         // 重建 MaintenanceRecord Entities
         if (recordDOs != null) {
@@ -78,6 +83,33 @@ public class EquipmentConverter {
         return equipment;
     }
 
+    /**
+     * 將多筆 EquipmentDO 與一次批次查出的 MaintenanceRecordDO 組裝為 Equipment 聚合根列表。
+     *
+     * 維護記錄依 equipmentId 分組後掛回各自的設備，每台設備內的記錄維持查詢結果的順序；
+     * 回傳列表的順序與 equipmentDOs 相同。
+     *
+     * @param equipmentDOs 設備資料物件列表
+     * @param recordDOs    這些設備的所有維護記錄
+     * @return Equipment 聚合根列表
+     */
+    public List<Equipment> toDomainList(List<EquipmentDO> equipmentDOs, List<MaintenanceRecordDO> recordDOs) {
+        Map<String, List<MaintenanceRecordDO>> recordsByEquipment = new HashMap<>();
+        if (recordDOs != null) {
+            for (MaintenanceRecordDO recordDO : recordDOs) {
+                recordsByEquipment.computeIfAbsent(recordDO.getEquipmentId(), k -> new ArrayList<>()).add(recordDO);
+            }
+        }
+
+        List<Equipment> equipments = new ArrayList<>(equipmentDOs.size());
+        for (EquipmentDO equipmentDO : equipmentDOs) {
+            List<MaintenanceRecordDO> records = recordsByEquipment.get(equipmentDO.getId());
+            equipments.add(toDomain(equipmentDO,
+                    records != null ? records : Collections.<MaintenanceRecordDO>emptyList()));
+        }
+        return equipments;
+    }
+
     /**
      * 將 Equipment 聚合根轉換為 EquipmentDO。
      *
@@ -148,6 +180,7 @@ public class EquipmentConverter {
         record.setTechnicianName(recordDO.getTechnicianName());
         record.setStatus(recordDO.getStatus());
         record.setCreatedAt(recordDO.getCreatedAt());
+        record.markPersisted();
         return record;
     }
 }
@@ -0,0 +1,55 @@
+package com.mes.mybatis.equipment.infrastructure.persistence.mybatis.converter;
+
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.OperatingParameters;
+import com.mes.mybatis.equipment.domain.model.TelemetryReading;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.TelemetryDO;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * [Infrastructure Layer: Converter - 設備遙測轉換器]
+ * [Hexagonal Architecture: Anti-Corruption Layer 的一部分]
+ *
+ * 負責 TelemetryReading 與 TelemetryDO 之間的雙向轉換。
+ * 系統其他地方的時間都是不帶時區的 LocalDateTime，因此以固定的 UTC 位移換算 epoch 毫秒：
+ * 換算是一對一的，時間桶也對齊到 LocalDateTime 的整點、整分，不受伺服器時區影響。
+ */
+@Component
+public class TelemetryConverter {
+
+    public TelemetryDO toDataObject(TelemetryReading reading) {
+        OperatingParameters params = reading.getParameters();
+        TelemetryDO dataObject = new TelemetryDO();
+        dataObject.setPartitionDay(reading.getRecordedAt().toLocalDate());
+        dataObject.setEquipmentId(reading.getEquipmentId().getValue());
+        dataObject.setRecordedAtMs(toEpochMillis(reading.getRecordedAt()));
+        dataObject.setTemperature(params.getTemperature());
+        dataObject.setPressure(params.getPressure());
+        dataObject.setSpeed(params.getSpeed());
+        dataObject.setVibration(params.getVibration());
+        return dataObject;
+    }
+
+    public TelemetryReading toDomain(TelemetryDO dataObject) {
+        if (dataObject == null) {
+            return null;
+        }
+        return new TelemetryReading(
+                EquipmentId.of(dataObject.getEquipmentId()),
+                new OperatingParameters(dataObject.getTemperature(), dataObject.getPressure(),
+                        dataObject.getSpeed(), dataObject.getVibration()),
+                toLocalDateTime(dataObject.getRecordedAtMs()));
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,17 @@
+package com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject;
+
+import lombok.Data;
+
+/**
+ * [Infrastructure Layer: Data Object - 設備快取失效紀錄]
+ *
+ * 與資料庫表 equipment_cache_invalidation 的欄位一一對應。
+ */
+@Data
+public class CacheInvalidationDO {
+
+    private Long seq;
+    private String equipmentId;
+    private String originNode;
+    private Long createdAtMs;
+}
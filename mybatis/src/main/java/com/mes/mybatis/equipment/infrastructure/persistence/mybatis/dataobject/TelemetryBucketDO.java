@@ -0,0 +1,27 @@
+package com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject;
+
+import lombok.Data;
+
+/**
+ * [Infrastructure Layer: Data Object - 遙測降採樣結果]
+ *
+ * 降採樣查詢的單一時間桶：桶的起始時間（epoch 毫秒）、樣本數，以及各參數的最小值、最大值與平均值。
+ */
+@Data
+public class TelemetryBucketDO {
+
+    private Long bucketStartMs;
+    private Long sampleCount;
+    private Double minTemperature;
+    private Double maxTemperature;
+    private Double avgTemperature;
+    private Double minPressure;
+    private Double maxPressure;
+    private Double avgPressure;
+    private Double minSpeed;
+    private Double maxSpeed;
+    private Double avgSpeed;
+    private Double minVibration;
+    private Double maxVibration;
+    private Double avgVibration;
+}
@@ -0,0 +1,24 @@
+package com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * [Infrastructure Layer: Data Object - 設備遙測資料物件]
+ *
+ * 扁平化的 POJO，與資料庫表 equipment_telemetry 的欄位一一對應。
+ * 時間以 epoch 毫秒儲存，讓降採樣查詢能以整數運算切分時間桶，不依賴資料庫的日期函式；
+ * partitionDay 為讀數所屬的日期，作為分區鍵。
+ */
+@Data
+public class TelemetryDO {
+
+    private LocalDate partitionDay;
+    private String equipmentId;
+    private Long recordedAtMs;
+    private Double temperature;
+    private Double pressure;
+    private Double speed;
+    private Double vibration;
+}
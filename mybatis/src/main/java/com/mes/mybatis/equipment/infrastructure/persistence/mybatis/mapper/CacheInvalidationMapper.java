@@ -0,0 +1,35 @@
+package com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper;
+
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.CacheInvalidationDO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * [Infrastructure Layer: MyBatis Mapper - 設備快取失效廣播 Mapper]
+ *
+ * 只有四個簡單的陳述式，全部使用註解。
+ */
+@Mapper
+public interface CacheInvalidationMapper {
+
+    @Insert("INSERT INTO equipment_cache_invalidation (equipment_id, origin_node, created_at_ms) " +
+            "VALUES (#{equipmentId}, #{originNode}, #{createdAtMs})")
+    void insert(@Param("equipmentId") String equipmentId,
+                @Param("originNode") String originNode,
+                @Param("createdAtMs") long createdAtMs);
+
+    @Select("SELECT seq, equipment_id, origin_node, created_at_ms FROM equipment_cache_invalidation " +
+            "WHERE seq > #{afterSeq} ORDER BY seq LIMIT #{limit}")
+    List<CacheInvalidationDO> selectAfter(@Param("afterSeq") long afterSeq, @Param("limit") int limit);
+
+    @Select("SELECT COALESCE(MAX(seq), 0) FROM equipment_cache_invalidation WHERE created_at_ms < #{beforeMs}")
+    long selectMaxSeqBefore(@Param("beforeMs") long beforeMs);
+
+    @Delete("DELETE FROM equipment_cache_invalidation WHERE created_at_ms < #{beforeMs}")
+    int deleteBefore(@Param("beforeMs") long beforeMs);
+}
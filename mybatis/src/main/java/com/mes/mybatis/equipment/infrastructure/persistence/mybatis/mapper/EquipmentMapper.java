@@ -6,8 +6,11 @@ import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * [Infrastructure Layer: MyBatis Mapper - 設備 Mapper]
@@ -46,6 +49,43 @@ public interface EquipmentMapper {
      */
     List<EquipmentDO> selectByType(@Param("equipmentType") String equipmentType);
 
+    /**
+     * keyset 分頁：依狀態列出，以 (name, id) 排序，取 (afterName, afterId) 之後的 limit 筆。
+     * 第一頁時 afterName 與 afterId 皆為 null。
+     */
+    List<EquipmentDO> selectByStatusAfterName(@Param("status") String status,
+                                              @Param("afterName") String afterName,
+                                              @Param("afterId") String afterId,
+                                              @Param("limit") int limit);
+
+    /**
+     * keyset 分頁：依狀態列出，以 (created_at, id) 由新到舊排序，取 (beforeCreatedAt, beforeId) 之後的 limit 筆。
+     * 第一頁時 beforeCreatedAt 與 beforeId 皆為 null。
+     */
+    List<EquipmentDO> selectByStatusBeforeCreatedAt(@Param("status") String status,
+                                                    @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                    @Param("beforeId") String beforeId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * 以 Cursor 逐筆串流設備（依 name, id 排序）；status 為 null 時串流全部設備。
+     * 須在交易內讀取並關閉 Cursor。
+     */
+    Cursor<EquipmentDO> selectAsCursor(@Param("status") String status);
+
+    /**
+     * 只更新變更過的欄位群組（SQL 定義在 EquipmentMapper.xml）。
+     *
+     * @param equipmentDO 設備資料物件
+     * @param changes     變更過的欄位群組名稱（Equipment.TrackedField 的名稱）
+     */
+    void updateChanged(@Param("equipment") EquipmentDO equipmentDO, @Param("changes") Set<String> changes);
+
+    /**
+     * 新增或更新設備（單一陳述式，依資料庫方言定義在 EquipmentMapper.xml）。
+     */
+    void upsert(EquipmentDO equipmentDO);
+
     // ---- 註解方式（簡單的 CUD 操作） ----
 
     @Insert("INSERT INTO equipment (id, name, equipment_type, status, " +
@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,17 @@ public interface MaintenanceRecordMapper {
      */
     List<MaintenanceRecordDO> selectByEquipmentId(@Param("equipmentId") String equipmentId);
 
+    /**
+     * 批次查詢多台設備的維護記錄（WHERE equipment_id IN (...)）。
+     * 結果依 equipment_id 排序；equipmentIds 不可為空。
+     */
+    List<MaintenanceRecordDO> selectByEquipmentIds(@Param("equipmentIds") Collection<String> equipmentIds);
+
+    /**
+     * 新增或更新維護記錄（單一陳述式，依資料庫方言定義在 MaintenanceRecordMapper.xml）。
+     */
+    void upsert(MaintenanceRecordDO record);
+
     @Insert("INSERT INTO maintenance_record (id, equipment_id, maintenance_type, " +
             "description, scheduled_date, completed_date, technician_name, status, created_at) " +
             "VALUES (#{id}, #{equipmentId}, #{maintenanceType}, #{description}, " +
@@ -0,0 +1,54 @@
+package com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper;
+
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.TelemetryBucketDO;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.dataobject.TelemetryDO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * [Infrastructure Layer: MyBatis Mapper - 設備遙測 Mapper]
+ *
+ * equipment_telemetry 是只新增的時間序列表，沒有 UPDATE。
+ * 多列 INSERT 與降採樣查詢定義在 XML 中（TelemetryMapper.xml），分區清理使用註解。
+ */
+@Mapper
+public interface TelemetryMapper {
+
+    /**
+     * 以單一多列 INSERT（INSERT ... VALUES (...), (...), ...）寫入多筆讀數；readings 不可為空。
+     */
+    void insertBatch(@Param("readings") List<TelemetryDO> readings);
+
+    /**
+     * 查詢設備最新的一筆讀數；沒有讀數時回傳 null。
+     */
+    TelemetryDO selectLatest(@Param("equipmentId") String equipmentId);
+
+    /**
+     * 依固定長度的時間桶降採樣，回傳每個桶的樣本數與各參數的最小值、最大值、平均值，依桶的起始時間排序。
+     * 沒有樣本的桶不會出現在結果中。
+     *
+     * @param equipmentId  設備 ID
+     * @param fromDay      區間起點所在的日期（分區裁剪用）
+     * @param toDay        區間終點所在的日期（分區裁剪用）
+     * @param fromMs       區間起點（含），epoch 毫秒
+     * @param toMs         區間終點（不含），epoch 毫秒
+     * @param bucketMillis 時間桶長度（毫秒）
+     */
+    List<TelemetryBucketDO> selectDownsampled(@Param("equipmentId") String equipmentId,
+                                              @Param("fromDay") LocalDate fromDay,
+                                              @Param("toDay") LocalDate toDay,
+                                              @Param("fromMs") long fromMs,
+                                              @Param("toMs") long toMs,
+                                              @Param("bucketMillis") long bucketMillis);
+
+    /**
+     * 刪除早於指定日期的分區資料（保留期限清理）。
+     */
+    @Delete("DELETE FROM equipment_telemetry WHERE partition_day < #{beforeDay}")
+    int deleteBefore(@Param("beforeDay") LocalDate beforeDay);
+}
@@ -37,4 +37,41 @@ CREATE TABLE IF NOT EXISTS maintenance_record (
 -- 索引
 CREATE INDEX IF NOT EXISTS idx_equipment_status ON equipment(status);
 CREATE INDEX IF NOT EXISTS idx_equipment_type ON equipment(equipment_type);
+-- keyset 分頁：依狀態列出時以 (name, id) 或 (created_at, id) 排序與定位，分頁深度不影響查詢成本
+CREATE INDEX IF NOT EXISTS idx_equipment_status_name_id ON equipment(status, name, id);
+CREATE INDEX IF NOT EXISTS idx_equipment_status_created_at_id ON equipment(status, created_at, id);
 CREATE INDEX IF NOT EXISTS idx_maintenance_equipment_id ON maintenance_record(equipment_id);
+
+-- 設備遙測（只新增的時間序列）
+-- 時間以 epoch 毫秒儲存；partition_day 為分區鍵，保留期限到期時整日刪除。
+-- H2 不支援宣告式分區；MySQL 部署時以
+--   PARTITION BY RANGE COLUMNS(partition_day) (PARTITION p20240101 VALUES LESS THAN ('2024-01-02'), ...)
+-- 建立每日分區，並以 DROP PARTITION 取代 DELETE。表上沒有主鍵與外鍵，附加寫入不需檢查唯一性或設備是否存在。
+CREATE TABLE IF NOT EXISTS equipment_telemetry (
+    partition_day     DATE         NOT NULL,
+    equipment_id      VARCHAR(36)  NOT NULL,
+    recorded_at_ms    BIGINT       NOT NULL,
+    temperature       DOUBLE       NOT NULL,
+    pressure          DOUBLE       NOT NULL,
+    speed             DOUBLE       NOT NULL,
+    vibration         DOUBLE       NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_telemetry_equipment_time ON equipment_telemetry(equipment_id, recorded_at_ms);
+CREATE INDEX IF NOT EXISTS idx_telemetry_partition_day ON equipment_telemetry(partition_day);
+
+-- 複寫心跳（讀寫分離時量測副本延遲）：主庫定期寫入目前時間，從副本讀回的差距即為延遲
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id                INT          PRIMARY KEY,
+    beat_at_ms        BIGINT       NOT NULL
+);
+
+-- 設備快取失效廣播：寫入設備的交易同時寫入一列，其他節點定期讀取新列並清除本機快取
+CREATE TABLE IF NOT EXISTS equipment_cache_invalidation (
+    seq               BIGINT       AUTO_INCREMENT PRIMARY KEY,
+    equipment_id      VARCHAR(36)  NOT NULL,
+    origin_node       VARCHAR(36)  NOT NULL,
+    created_at_ms     BIGINT       NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_cache_invalidation_created_at ON equipment_cache_invalidation(created_at_ms);
@@ -0,0 +1,134 @@
+package com.mes.mybatis.equipment.application.query.handler;
+
+import com.mes.mybatis.equipment.application.query.ListEquipmentByStatusQuery;
+import com.mes.mybatis.equipment.application.query.StreamEquipmentQuery;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryPage;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentSummaryView;
+import com.mes.mybatis.equipment.domain.model.Equipment;
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.EquipmentType;
+import com.mes.mybatis.equipment.domain.model.Location;
+import com.mes.mybatis.equipment.domain.repository.EquipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ListEquipmentByStatusQueryHandler / StreamEquipmentQueryHandler 整合測試。
+ * 驗證 keyset 分頁逐頁走完所有資料且不重複，以及 Cursor 串流的筆數與順序。
+ */
+@SpringBootTest
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("設備列表分頁與串流查詢")
+class ListEquipmentByStatusQueryHandlerTest {
+
+    private static final String STATUS = "DECOMMISSIONED";
+    private static final int EQUIPMENT_COUNT = 23;
+
+    @Autowired
+    private ListEquipmentByStatusQueryHandler listHandler;
+
+    @Autowired
+    private StreamEquipmentQueryHandler streamHandler;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 名稱刻意重複，驗證 (name, id) 的 id 部分能正確區分同名設備
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<Equipment> equipments = new ArrayList<>();
+        for (int i = 0; i < EQUIPMENT_COUNT; i++) {
+            Equipment equipment = new Equipment(EquipmentId.of(UUID.randomUUID().toString()),
+                    "報廢設備-" + (i % 5), EquipmentType.CNC, new Location("A棟", "1", "加工區", "A1-01"));
+            equipment.decommission();
+            equipment.setCreatedAt(createdAt.plusMinutes(i % 4));
+            equipments.add(equipment);
+        }
+        equipmentRepository.saveAll(equipments);
+    }
+
+    @Test
+    @DisplayName("依名稱分頁應逐頁取回所有設備，且順序為 (name, id)")
+    void shouldPageThroughAllByName() {
+        List<EquipmentSummaryView> all = pageThrough(ListEquipmentByStatusQuery.SORT_BY_NAME, 5);
+
+        assertThat(all).hasSize(EQUIPMENT_COUNT);
+        assertThat(all).extracting(EquipmentSummaryView::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < all.size(); i++) {
+            EquipmentSummaryView previous = all.get(i - 1);
+            EquipmentSummaryView current = all.get(i);
+            int byName = previous.getName().compareTo(current.getName());
+            assertThat(byName < 0 || (byName == 0 && previous.getId().compareTo(current.getId()) < 0)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("依建立時間分頁應逐頁取回所有設備且不重複")
+    void shouldPageThroughAllByCreatedAt() {
+        List<EquipmentSummaryView> all = pageThrough(ListEquipmentByStatusQuery.SORT_BY_CREATED_AT, 4);
+
+        assertThat(all).hasSize(EQUIPMENT_COUNT);
+        assertThat(all).extracting(EquipmentSummaryView::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("最後一頁的 nextCursor 應為 null")
+    void lastPageShouldHaveNoCursor() {
+        EquipmentSummaryPage page = listHandler.handle(
+                new ListEquipmentByStatusQuery(STATUS, ListEquipmentByStatusQuery.SORT_BY_NAME, null, 100));
+
+        assertThat(page.getItems()).hasSize(EQUIPMENT_COUNT);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("游標與排序方式不符時應拒絕")
+    void shouldRejectCursorOfOtherSort() {
+        EquipmentSummaryPage page = listHandler.handle(
+                new ListEquipmentByStatusQuery(STATUS, ListEquipmentByStatusQuery.SORT_BY_NAME, null, 5));
+
+        assertThatThrownBy(() -> listHandler.handle(new ListEquipmentByStatusQuery(
+                STATUS, ListEquipmentByStatusQuery.SORT_BY_CREATED_AT, page.getNextCursor(), 5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("串流查詢應逐筆交出所有符合的設備")
+    void shouldStreamAllMatchingEquipment() {
+        List<EquipmentSummaryView> streamed = new ArrayList<>();
+
+        int count = streamHandler.handle(new StreamEquipmentQuery(STATUS, streamed::add));
+
+        assertThat(count).isEqualTo(EQUIPMENT_COUNT);
+        assertThat(streamed).hasSize(EQUIPMENT_COUNT);
+        assertThat(streamed).allMatch(view -> STATUS.equals(view.getStatus()));
+    }
+
+    private List<EquipmentSummaryView> pageThrough(String sort, int size) {
+        List<EquipmentSummaryView> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            EquipmentSummaryPage page = listHandler.handle(new ListEquipmentByStatusQuery(STATUS, sort, cursor, size));
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(size);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+}
@@ -237,4 +237,61 @@ class EquipmentTest {
             assertThat(equipment.getOperatingParameters()).isEqualTo(newParams);
         }
     }
+
+    @Nested
+    @DisplayName("變更追蹤")
+    class ChangeTracking {
+
+        @Test
+        @DisplayName("新建設備應視為有變更")
+        void shouldHaveChangesWhenNew() {
+            assertThat(equipment.isPersisted()).isFalse();
+            assertThat(equipment.hasChanges()).isTrue();
+        }
+
+        @Test
+        @DisplayName("標記已持久化後應清除變更")
+        void shouldClearChangesWhenMarkedPersisted() {
+            equipment.startRunning();
+            equipment.markPersisted();
+
+            assertThat(equipment.getChangedFields()).isEmpty();
+            assertThat(equipment.hasChanges()).isFalse();
+        }
+
+        @Test
+        @DisplayName("狀態轉換應只記錄 STATUS 欄位")
+        void shouldTrackStatusChange() {
+            equipment.markPersisted();
+
+            equipment.startRunning();
+
+            assertThat(equipment.getChangedFields()).containsExactly(Equipment.TrackedField.STATUS);
+        }
+
+        @Test
+        @DisplayName("新增維護記錄應視為有變更，但設備欄位只記錄狀態")
+        void shouldTrackNewMaintenanceRecord() {
+            equipment.markPersisted();
+
+            equipment.scheduleMaintenance("定期保養", LocalDate.now().plusDays(7));
+
+            assertThat(equipment.hasChanges()).isTrue();
+            assertThat(equipment.getChangedFields()).containsExactly(Equipment.TrackedField.STATUS);
+            assertThat(equipment.getMaintenanceRecords().get(0).isPersisted()).isFalse();
+        }
+
+        @Test
+        @DisplayName("完成維護應標記該筆記錄為已變更")
+        void shouldTrackCompletedMaintenanceRecord() {
+            equipment.scheduleMaintenance("定期保養", LocalDate.now());
+            MaintenanceRecord record = equipment.getMaintenanceRecords().get(0);
+            equipment.markPersisted();
+
+            equipment.completeMaintenance(record.getId(), "張技師");
+
+            assertThat(record.isChanged()).isTrue();
+            assertThat(equipment.hasChanges()).isTrue();
+        }
+    }
 }
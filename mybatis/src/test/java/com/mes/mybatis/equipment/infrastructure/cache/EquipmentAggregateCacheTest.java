@@ -0,0 +1,254 @@
+package com.mes.mybatis.equipment.infrastructure.cache;
+
+import com.mes.common.cqrs.QueryBus;
+import com.mes.mybatis.equipment.application.query.EquipmentCacheStatsQuery;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentCacheStatsView;
+import com.mes.mybatis.equipment.domain.event.EquipmentBreakdownEvent;
+import com.mes.mybatis.equipment.domain.model.Equipment;
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.EquipmentStatus;
+import com.mes.mybatis.equipment.domain.repository.EquipmentRepository;
+import com.mes.mybatis.equipment.infrastructure.config.EquipmentCacheProperties;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.CacheInvalidationMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 設備聚合根快取整合測試。
+ * 使用獨立的 H2 記憶體資料庫，測試方法不加 @Transactional：寫入的失效發生在交易結束後，需要真正提交才看得到。
+ * 失效廣播的讀取間隔設為 1h，背景執行緒在測試期間不會執行，由測試直接呼叫 poll()。
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:equipment-cache",
+        "mes.mybatis.equipment-cache.invalidation-poll-interval=1h"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RecordApplicationEvents
+@DisplayName("設備聚合根快取")
+class EquipmentAggregateCacheTest {
+
+    private static final EquipmentId EQUIPMENT_ID = EquipmentId.of("EQ-002");
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private EquipmentAggregateCache cache;
+
+    @Autowired
+    private CacheInvalidationBroadcaster broadcaster;
+
+    @Autowired
+    private CacheInvalidationMapper invalidationMapper;
+
+    @Autowired
+    private EquipmentCacheProperties properties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QueryBus queryBus;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    @DisplayName("第二次 findById 應命中快取，且每次回傳新的聚合根實例")
+    void secondFindShouldHitCache() {
+        // Act
+        Equipment first = load(EQUIPMENT_ID);
+        Equipment second = load(EQUIPMENT_ID);
+
+        // Assert
+        EquipmentAggregateCache.Stats stats = cache.getStats();
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo(first.getName());
+    }
+
+    @Test
+    @DisplayName("命中的聚合根被修改但未儲存時不應影響快取")
+    void unsavedChangesShouldNotLeakIntoCache() {
+        // Arrange
+        load(EQUIPMENT_ID).reportBreakdown("未儲存的故障");
+
+        // Act
+        Equipment reloaded = load(EQUIPMENT_ID);
+
+        // Assert
+        assertThat(reloaded.getStatus()).isEqualTo(EquipmentStatus.IDLE);
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("save 後應移除快取，下一次 findById 讀到新狀態")
+    void saveShouldInvalidate() {
+        // Arrange
+        Equipment equipment = load(EQUIPMENT_ID);
+        equipment.reportBreakdown("主軸異音");
+
+        // Act
+        equipmentRepository.save(equipment);
+        Equipment reloaded = load(EQUIPMENT_ID);
+
+        // Assert
+        assertThat(reloaded.getStatus()).isEqualTo(EquipmentStatus.BREAKDOWN);
+        assertThat(cache.getStats().getMisses()).isEqualTo(2);
+        // 提交後發佈的 EquipmentBreakdownEvent 與交易結束後的寫入失效各移除一次
+        assertThat(cache.getStats().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("沒有變更的聚合根 save 時不應移除快取")
+    void unchangedSaveShouldKeepCache() {
+        // Arrange
+        equipmentRepository.save(load(EQUIPMENT_ID));
+
+        // Act
+        load(EQUIPMENT_ID);
+
+        // Assert
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+        assertThat(cache.getStats().getInvalidations()).isZero();
+    }
+
+    @Test
+    @DisplayName("deleteById 後 findById 應找不到設備")
+    void deleteShouldInvalidate() {
+        // Arrange
+        load(EQUIPMENT_ID);
+
+        // Act
+        equipmentRepository.deleteById(EQUIPMENT_ID);
+
+        // Assert
+        assertThat(equipmentRepository.findById(EQUIPMENT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("收到設備故障事件時應移除快取")
+    void breakdownEventShouldInvalidate() {
+        // Arrange
+        load(EQUIPMENT_ID);
+
+        // Act
+        eventPublisher.publishEvent(new EquipmentBreakdownEvent(EQUIPMENT_ID.getValue(), "主組裝線 B1", "停機"));
+        load(EQUIPMENT_ID);
+
+        // Assert
+        assertThat(cache.getStats().getHits()).isZero();
+        assertThat(cache.getStats().getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("儲存故障時應在交易提交後發佈 EquipmentBreakdownEvent")
+    void savedBreakdownShouldBePublishedAfterCommit() {
+        // Arrange
+        Equipment equipment = load(EQUIPMENT_ID);
+        equipment.reportBreakdown("主軸異音");
+
+        // Act
+        equipmentRepository.save(equipment);
+
+        // Assert
+        assertThat(applicationEvents.stream(EquipmentBreakdownEvent.class))
+                .extracting(EquipmentBreakdownEvent::getAggregateId)
+                .containsExactly(EQUIPMENT_ID.getValue());
+        assertThat(equipment.getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("其他節點寫入的失效紀錄應移除本機快取，自己寫入的紀錄應略過")
+    void broadcastFromOtherNodeShouldInvalidate() {
+        // Arrange
+        load(EQUIPMENT_ID);
+        load(EquipmentId.of("EQ-003"));
+        invalidationMapper.insert(EQUIPMENT_ID.getValue(), "other-node", System.currentTimeMillis());
+        invalidationMapper.insert("EQ-003", broadcaster.getNodeId(), System.currentTimeMillis());
+
+        // Act
+        int invalidated = broadcaster.poll();
+
+        // Assert
+        assertThat(invalidated).isEqualTo(1);
+        assertThat(cache.getStats().getSize()).isEqualTo(1);
+        assertThat(broadcaster.poll()).isZero();
+    }
+
+    @Test
+    @DisplayName("save 應寫入一筆失效紀錄供其他節點讀取")
+    void saveShouldPublishInvalidation() {
+        // Arrange
+        Equipment equipment = load(EQUIPMENT_ID);
+        equipment.startRunning();
+
+        // Act
+        equipmentRepository.save(equipment);
+
+        // Assert
+        assertThat(invalidationMapper.selectAfter(0, 10))
+                .extracting(row -> row.getEquipmentId() + "@" + row.getOriginNode())
+                .containsExactly(EQUIPMENT_ID.getValue() + "@" + broadcaster.getNodeId());
+    }
+
+    @Test
+    @DisplayName("超過 max-size 時應移除最久未使用的設備")
+    void shouldEvictLeastRecentlyUsed() {
+        // Arrange
+        properties.setMaxSize(2);
+
+        // Act：EQ-001 在 EQ-003 放入前被再次使用，因此移除的是 EQ-002
+        load(EquipmentId.of("EQ-001"));
+        load(EQUIPMENT_ID);
+        load(EquipmentId.of("EQ-001"));
+        load(EquipmentId.of("EQ-003"));
+        load(EquipmentId.of("EQ-001"));
+        load(EQUIPMENT_ID);
+
+        // Assert
+        EquipmentAggregateCache.Stats stats = cache.getStats();
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("命中統計查詢應回報命中率")
+    void statsQueryShouldReportHitRatio() {
+        // Arrange
+        load(EQUIPMENT_ID);
+        load(EQUIPMENT_ID);
+        load(EQUIPMENT_ID);
+        load(EQUIPMENT_ID);
+
+        // Act
+        EquipmentCacheStatsView view = queryBus.dispatch(new EquipmentCacheStatsQuery());
+
+        // Assert
+        assertThat(view.isEnabled()).isTrue();
+        assertThat(view.getHits()).isEqualTo(3);
+        assertThat(view.getMisses()).isEqualTo(1);
+        assertThat(view.getHitRatio()).isEqualTo(0.75);
+        assertThat(view.getSize()).isEqualTo(1);
+    }
+
+    // ======================== 測試輔助方法 ========================
+
+    private Equipment load(EquipmentId id) {
+        Optional<Equipment> equipment = equipmentRepository.findById(id);
+        assertThat(equipment).isPresent();
+        return equipment.get();
+    }
+}
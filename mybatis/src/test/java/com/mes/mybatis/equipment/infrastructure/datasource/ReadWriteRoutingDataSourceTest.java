@@ -0,0 +1,169 @@
+package com.mes.mybatis.equipment.infrastructure.datasource;
+
+import com.mes.common.cqrs.CommandBus;
+import com.mes.common.cqrs.QueryBus;
+import com.mes.common.exception.EntityNotFoundException;
+import com.mes.mybatis.equipment.application.command.RegisterEquipmentCommand;
+import com.mes.mybatis.equipment.application.query.GetEquipmentQuery;
+import com.mes.mybatis.equipment.application.query.dto.EquipmentDetailView;
+import com.mes.mybatis.equipment.application.query.handler.GetEquipmentQueryHandler;
+import com.mes.mybatis.equipment.infrastructure.config.ReadReplicaProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 讀寫分離整合測試。
+ * 以兩個獨立的 H2 記憶體資料庫分別作為主庫與副本；兩者之間沒有複寫，
+ * 因此「只存在副本」或「只存在主庫」的資料可以直接看出查詢被路由到哪一邊。
+ * 副本的心跳由測試直接寫入，模擬複寫正常或落後；不定期量測（heartbeat-interval=0），由測試呼叫 check()。
+ *
+ * 關閉設備快取：快取未命中時一律從主庫載入，會讓查詢看不出路由結果。
+ *
+ * 測試方法不加 @Transactional：外層交易會在測試開始時綁定主庫連線，之後的查詢就不會再經過路由。
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "mes.mybatis.datasource.replica.url=jdbc:h2:mem:routing-replica",
+        "mes.mybatis.datasource.replica.username=sa",
+        "mes.mybatis.datasource.replica.heartbeat-interval=0",
+        "mes.mybatis.equipment-cache.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("讀寫分離資料來源路由")
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String REPLICA_ONLY_ID = "EQ-REPLICA-ONLY";
+    private static final String PRIMARY_SEED_ID = "EQ-001";
+
+    @Autowired
+    private CommandBus commandBus;
+
+    @Autowired
+    private QueryBus queryBus;
+
+    @Autowired
+    private GetEquipmentQueryHandler getEquipmentQueryHandler;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private ReadReplicaProperties replicaProperties;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replicaDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO equipment (id, name, equipment_type, status, location_building, "
+                        + "location_floor, location_zone, location_position) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                REPLICA_ONLY_ID, "副本設備", "CNC", "IDLE", "A棟", "1", "加工區", "A1-01");
+        replicateHeartbeat(System.currentTimeMillis());
+        lagMonitor.check();
+    }
+
+    @Test
+    @DisplayName("查詢應路由到副本")
+    void queryShouldReadFromReplica() {
+        EquipmentDetailView view = queryBus.dispatch(new GetEquipmentQuery(REPLICA_ONLY_ID));
+
+        assertThat(view.getName()).isEqualTo("副本設備");
+        assertThat(routing().getReplicaReadCount()).isPositive();
+        assertThatThrownBy(() -> queryBus.dispatch(new GetEquipmentQuery(PRIMARY_SEED_ID)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("沒有經過 QueryBus 的讀取應使用主庫")
+    void readWithoutRoutingIntentShouldUsePrimary() {
+        EquipmentDetailView view = getEquipmentQueryHandler.handle(new GetEquipmentQuery(PRIMARY_SEED_ID));
+
+        assertThat(view.getId()).isEqualTo(PRIMARY_SEED_ID);
+        assertThat(routing().getReplicaReadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("命令寫入後 sticky-window 內的查詢應改讀主庫")
+    void queryAfterCommandShouldReadOwnWrite() {
+        String equipmentId = commandBus.dispatch(new RegisterEquipmentCommand(
+                "新設備", "CNC", "A棟", "1", "加工區", "A1-02"));
+
+        EquipmentDetailView view = queryBus.dispatch(new GetEquipmentQuery(equipmentId));
+
+        assertThat(view.getName()).isEqualTo("新設備");
+        assertThat(routing().getStickyFallbackCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("sticky-window 過後查詢應回到副本")
+    void queryAfterStickyWindowShouldReadFromReplica() {
+        replicaProperties.setStickyWindow(Duration.ZERO);
+        String equipmentId = commandBus.dispatch(new RegisterEquipmentCommand(
+                "新設備", "CNC", "A棟", "1", "加工區", "A1-02"));
+
+        assertThatThrownBy(() -> queryBus.dispatch(new GetEquipmentQuery(equipmentId)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("副本延遲超過 max-lag 時查詢應改讀主庫")
+    void queryShouldFallBackToPrimaryWhenReplicaLags() {
+        replicateHeartbeat(System.currentTimeMillis() - 10_000);
+        lagMonitor.check();
+
+        EquipmentDetailView view = queryBus.dispatch(new GetEquipmentQuery(PRIMARY_SEED_ID));
+
+        assertThat(view.getId()).isEqualTo(PRIMARY_SEED_ID);
+        assertThat(lagMonitor.getLagMillis()).isGreaterThanOrEqualTo(10_000);
+        assertThat(routing().getLagFallbackCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("副本延遲無法量測時查詢應改讀主庫")
+    void queryShouldFallBackToPrimaryWhenLagUnknown() {
+        replica.update("DELETE FROM replication_heartbeat");
+        lagMonitor.check();
+
+        EquipmentDetailView view = queryBus.dispatch(new GetEquipmentQuery(PRIMARY_SEED_ID));
+
+        assertThat(view.getId()).isEqualTo(PRIMARY_SEED_ID);
+        assertThat(lagMonitor.getLagMillis()).isEqualTo(-1);
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+    }
+
+    // ======================== 測試輔助方法 ========================
+
+    private ReadWriteRoutingDataSource routing() {
+        return (ReadWriteRoutingDataSource) dataSource;
+    }
+
+    /**
+     * 模擬複寫：把主庫的心跳時間寫到副本。
+     */
+    private void replicateHeartbeat(long beatAtMs) {
+        replica.update("DELETE FROM replication_heartbeat");
+        replica.update("INSERT INTO replication_heartbeat (id, beat_at_ms) VALUES (1, ?)", beatAtMs);
+    }
+}
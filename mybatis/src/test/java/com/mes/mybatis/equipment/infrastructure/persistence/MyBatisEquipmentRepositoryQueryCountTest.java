@@ -0,0 +1,221 @@
+package com.mes.mybatis.equipment.infrastructure.persistence;
+
+import com.mes.mybatis.equipment.domain.model.Equipment;
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.EquipmentStatus;
+import com.mes.mybatis.equipment.domain.model.EquipmentType;
+import com.mes.mybatis.equipment.domain.model.Location;
+import com.mes.mybatis.equipment.domain.repository.EquipmentRepository;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MyBatisEquipmentRepository 查詢次數回歸測試。
+ * 以 MyBatis Interceptor 計算每個 Mapper 陳述式的執行次數，確保列表查詢不會退化為 N+1，
+ * 且儲存時只寫入有變更的聚合根。
+ */
+@SpringBootTest
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("MyBatisEquipmentRepository 查詢次數")
+class MyBatisEquipmentRepositoryQueryCountTest {
+
+    private static final int EQUIPMENT_COUNT = 30;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < EQUIPMENT_COUNT; i++) {
+            Equipment equipment = createTestEquipment("設備-" + i);
+            equipment.scheduleMaintenance("定期保養", LocalDate.now().plusDays(i));
+            equipmentRepository.save(equipment);
+        }
+        queryCounter.reset();
+    }
+
+    @Test
+    @DisplayName("findAll 應只執行設備查詢與一次批次維護記錄查詢")
+    void findAllShouldNotIssueQueryPerEquipment() {
+        List<Equipment> equipments = equipmentRepository.findAll();
+
+        assertThat(equipments).hasSizeGreaterThanOrEqualTo(EQUIPMENT_COUNT + 5);
+        assertThat(queryCounter.count("EquipmentMapper.selectAll")).isEqualTo(1);
+        assertThat(queryCounter.count("MaintenanceRecordMapper.selectByEquipmentIds")).isEqualTo(1);
+        assertThat(queryCounter.count("MaintenanceRecordMapper.selectByEquipmentId")).isZero();
+    }
+
+    @Test
+    @DisplayName("findByStatus 應只執行兩次查詢，且維護記錄正確掛回各自的設備")
+    void findByStatusShouldAssembleRecordsFromOneQuery() {
+        List<Equipment> equipments = equipmentRepository.findByStatus(EquipmentStatus.MAINTENANCE);
+
+        assertThat(queryCounter.total()).isEqualTo(2);
+        List<Equipment> created = equipments.stream()
+                .filter(eq -> eq.getName().startsWith("設備-"))
+                .collect(Collectors.toList());
+        assertThat(created).hasSize(EQUIPMENT_COUNT);
+        for (Equipment equipment : created) {
+            assertThat(equipment.getMaintenanceRecords()).hasSize(1);
+            assertThat(equipment.getMaintenanceRecords().get(0).getEquipmentId())
+                    .isEqualTo(equipment.getId().getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("沒有符合的設備時不應查詢維護記錄")
+    void shouldSkipRecordQueryWhenNoEquipmentMatches() {
+        List<Equipment> equipments = equipmentRepository.findByStatus(EquipmentStatus.DECOMMISSIONED);
+
+        assertThat(equipments).isEmpty();
+        assertThat(queryCounter.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("saveAll 應依聚合根的已知狀態直接寫入，不先查詢是否存在")
+    void saveAllShouldNotProbeExistence() {
+        List<Equipment> equipments = new ArrayList<>();
+        for (int i = 0; i < EQUIPMENT_COUNT; i++) {
+            Equipment equipment = createTestEquipment("匯入設備-" + i);
+            equipment.scheduleMaintenance("新機檢查", LocalDate.now());
+            equipments.add(equipment);
+        }
+
+        equipmentRepository.saveAll(equipments);
+        // 已持久化的聚合根走更新路徑：完成維護讓設備回到 IDLE，並更新既有的維護記錄
+        Equipment imported = equipments.get(0);
+        imported.completeMaintenance(imported.getMaintenanceRecords().get(0).getId(), "王技師");
+        equipmentRepository.save(imported);
+
+        assertThat(queryCounter.count("EquipmentMapper.upsert")).isEqualTo(EQUIPMENT_COUNT);
+        assertThat(queryCounter.count("EquipmentMapper.updateChanged")).isEqualTo(1);
+        assertThat(queryCounter.count("MaintenanceRecordMapper.update")).isEqualTo(1);
+        assertThat(queryCounter.total()).isZero();
+    }
+
+    @Test
+    @DisplayName("載入後未變更的聚合根儲存時不應寫入任何陳述式")
+    void saveShouldSkipUnchangedAggregate() {
+        List<Equipment> equipments = equipmentRepository.findByStatus(EquipmentStatus.MAINTENANCE);
+        queryCounter.reset();
+
+        equipmentRepository.saveAll(equipments);
+
+        assertThat(queryCounter.writes()).isZero();
+    }
+
+    @Test
+    @DisplayName("只變更狀態時應只更新設備的變更欄位，不更新維護記錄")
+    void saveShouldOnlyUpdateChangedColumns() {
+        Equipment equipment = equipmentRepository.findByStatus(EquipmentStatus.IDLE).get(0);
+        queryCounter.reset();
+
+        equipment.startRunning();
+        equipmentRepository.save(equipment);
+
+        assertThat(queryCounter.count("EquipmentMapper.updateChanged")).isEqualTo(1);
+        assertThat(queryCounter.count("EquipmentMapper.update")).isZero();
+        assertThat(queryCounter.count("MaintenanceRecordMapper.update")).isZero();
+        // 另一個陳述式是給其他節點的快取失效紀錄
+        assertThat(queryCounter.count("CacheInvalidationMapper.insert")).isEqualTo(1);
+        assertThat(queryCounter.writes()).isEqualTo(2);
+        assertThat(equipmentRepository.findById(equipment.getId()).get().getStatus())
+                .isEqualTo(EquipmentStatus.RUNNING);
+    }
+
+    // ======================== 測試輔助方法 ========================
+
+    private Equipment createTestEquipment(String name) {
+        EquipmentId id = EquipmentId.of(UUID.randomUUID().toString());
+        Location location = new Location("A棟", "1", "加工區", "A1-01");
+        return new Equipment(id, name, EquipmentType.CNC, location);
+    }
+
+    @TestConfiguration
+    static class QueryCounterConfig {
+
+        @Bean
+        QueryCounter queryCounter() {
+            return new QueryCounter();
+        }
+    }
+
+    /**
+     * 計算 Mapper 陳述式的執行次數（以「Mapper 名稱.方法名稱」為鍵），查詢與寫入分開累計。
+     * 只計算最後一次 {@link #reset()} 所在執行緒的陳述式，快取失效輪詢等背景執行緒的查詢不列入。
+     */
+    @Intercepts({
+            @Signature(type = Executor.class, method = "query",
+                    args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+            @Signature(type = Executor.class, method = "update",
+                    args = {MappedStatement.class, Object.class})
+    })
+    static class QueryCounter implements Interceptor {
+
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> writeCounts = new ConcurrentHashMap<>();
+        private volatile Thread owner;
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            if (Thread.currentThread() != owner) {
+                return invocation.proceed();
+            }
+            String id = ((MappedStatement) invocation.getArgs()[0]).getId();
+            String key = id.substring(id.lastIndexOf('.', id.lastIndexOf('.') - 1) + 1);
+            Map<String, AtomicInteger> target = "update".equals(invocation.getMethod().getName())
+                    ? writeCounts : counts;
+            target.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            return invocation.proceed();
+        }
+
+        int count(String statement) {
+            AtomicInteger count = counts.containsKey(statement) ? counts.get(statement) : writeCounts.get(statement);
+            return count == null ? 0 : count.get();
+        }
+
+        int total() {
+            return counts.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+
+        int writes() {
+            return writeCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+
+        void reset() {
+            owner = Thread.currentThread();
+            counts.clear();
+            writeCounts.clear();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.mes.mybatis.equipment.domain.model.Location;
 import com.mes.mybatis.equipment.domain.model.MaintenanceRecord;
 import com.mes.mybatis.equipment.domain.model.OperatingParameters;
 import com.mes.mybatis.equipment.domain.repository.EquipmentRepository;
+import com.mes.mybatis.equipment.infrastructure.config.EquipmentPersistenceProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,8 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +38,9 @@ class MyBatisEquipmentRepositoryTest {
     @Autowired
     private EquipmentRepository equipmentRepository;
 
+    @Autowired
+    private EquipmentPersistenceProperties persistenceProperties;
+
     @Test
     @DisplayName("應能儲存並載入設備聚合根")
     void shouldSaveAndFind() {
@@ -161,6 +167,72 @@ class MyBatisEquipmentRepositoryTest {
         assertThat(reloaded.getMaintenanceRecords()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("saveAll 應在同一個交易中新增與更新多台設備及其維護記錄")
+    void shouldSaveAllNewAndExistingEquipment() {
+        // Arrange
+        Equipment existing = createTestEquipment();
+        existing.scheduleMaintenance("第一次保養", LocalDate.now().plusDays(7));
+        equipmentRepository.save(existing);
+        Equipment loaded = equipmentRepository.findById(existing.getId()).get();
+        loaded.completeMaintenance(loaded.getMaintenanceRecords().get(0).getId(), "張技師");
+        Equipment created = createTestEquipment();
+        created.scheduleMaintenance("新機檢查", LocalDate.now().plusDays(1));
+
+        // Act
+        equipmentRepository.saveAll(Arrays.asList(loaded, created));
+
+        // Assert
+        Equipment reloadedExisting = equipmentRepository.findById(existing.getId()).get();
+        assertThat(reloadedExisting.getStatus()).isEqualTo(EquipmentStatus.IDLE);
+        assertThat(reloadedExisting.getMaintenanceRecords()).hasSize(1);
+        assertThat(reloadedExisting.getMaintenanceRecords().get(0).getStatus()).isEqualTo("COMPLETED");
+        Equipment reloadedCreated = equipmentRepository.findById(created.getId()).get();
+        assertThat(reloadedCreated.getMaintenanceRecords()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("陳述式數量超過 batch-size 時應分批送出且全部寫入")
+    void shouldFlushInChunksWhenExceedingBatchSize() {
+        // Arrange
+        persistenceProperties.setBatchSize(7);
+        List<Equipment> equipments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Equipment equipment = createTestEquipment();
+            equipment.scheduleMaintenance("定期保養", LocalDate.now().plusDays(i));
+            equipments.add(equipment);
+        }
+
+        // Act
+        equipmentRepository.saveAll(equipments);
+
+        // Assert
+        for (Equipment equipment : equipments) {
+            Optional<Equipment> found = equipmentRepository.findById(equipment.getId());
+            assertThat(found).isPresent();
+            assertThat(found.get().getMaintenanceRecords()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("以相同 ID 重新建立的設備應覆寫既有資料而非主鍵衝突")
+    void shouldUpsertNewAggregateWithExistingId() {
+        // Arrange
+        Equipment original = createTestEquipment();
+        equipmentRepository.save(original);
+        Equipment recreated = new Equipment(original.getId(), "重新匯入設備", EquipmentType.ROBOT,
+                new Location("B棟", "2", "組裝區", "B2-01"));
+
+        // Act
+        equipmentRepository.save(recreated);
+
+        // Assert
+        Equipment loaded = equipmentRepository.findById(original.getId()).get();
+        assertThat(loaded.getName()).isEqualTo("重新匯入設備");
+        assertThat(loaded.getType()).isEqualTo(EquipmentType.ROBOT);
+        assertThat(recreated.isPersisted()).isTrue();
+    }
+
     // ======================== 測試輔助方法 ========================
 
     private Equipment createTestEquipment() {
@@ -0,0 +1,204 @@
+package com.mes.mybatis.equipment.infrastructure.persistence;
+
+import com.mes.mybatis.equipment.application.query.TelemetryHistoryQuery;
+import com.mes.mybatis.equipment.application.query.dto.TelemetryBucketView;
+import com.mes.mybatis.equipment.application.query.handler.TelemetryHistoryQueryHandler;
+import com.mes.mybatis.equipment.domain.model.EquipmentId;
+import com.mes.mybatis.equipment.domain.model.OperatingParameters;
+import com.mes.mybatis.equipment.domain.model.TelemetryReading;
+import com.mes.mybatis.equipment.infrastructure.config.TelemetryProperties;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.converter.TelemetryConverter;
+import com.mes.mybatis.equipment.infrastructure.persistence.mybatis.mapper.TelemetryMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MyBatisTelemetryRepository 整合測試。
+ * 關閉定期寫入（flush-interval=0），由測試直接呼叫 flush()，讓寫入發生在測試交易中。
+ */
+@SpringBootTest(properties = {
+        "mes.mybatis.telemetry.flush-interval=0",
+        "mes.mybatis.telemetry.retention-days=0"
+})
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("MyBatisTelemetryRepository 遙測倉儲")
+class MyBatisTelemetryRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private MyBatisTelemetryRepository telemetryRepository;
+
+    @Autowired
+    private TelemetryHistoryQueryHandler historyQueryHandler;
+
+    @Autowired
+    private TelemetryMapper telemetryMapper;
+
+    @Autowired
+    private TelemetryConverter telemetryConverter;
+
+    @Autowired
+    private TelemetryProperties telemetryProperties;
+
+    @Test
+    @DisplayName("附加的讀數應先進入緩衝，最新值快取立即反映")
+    void shouldBufferReadingsAndCacheLatest() {
+        // Arrange
+        EquipmentId equipmentId = newEquipmentId();
+
+        // Act：讀數不依時間順序到達
+        telemetryRepository.append(Arrays.asList(
+                reading(equipmentId, START.plusSeconds(20), 30.0),
+                reading(equipmentId, START.plusSeconds(40), 50.0),
+                reading(equipmentId, START, 10.0)));
+
+        // Assert
+        assertThat(telemetryRepository.getPendingCount()).isEqualTo(3);
+        assertThat(telemetryMapper.selectLatest(equipmentId.getValue())).isNull();
+        Optional<TelemetryReading> latest = telemetryRepository.findLatest(equipmentId);
+        assertThat(latest).isPresent();
+        assertThat(latest.get().getRecordedAt()).isEqualTo(START.plusSeconds(40));
+        assertThat(latest.get().getParameters().getTemperature()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("flush 應依 batch-size 分批寫入所有待處理的讀數")
+    void shouldFlushInBatches() {
+        // Arrange
+        EquipmentId equipmentId = newEquipmentId();
+        telemetryRepository.append(readingsEvery10Seconds(equipmentId, 7));
+        telemetryProperties.setBatchSize(3);
+
+        // Act
+        int written = telemetryRepository.flush();
+
+        // Assert
+        assertThat(written).isEqualTo(7);
+        assertThat(telemetryRepository.getPendingCount()).isZero();
+        assertThat(telemetryRepository.getWrittenCount()).isEqualTo(7);
+        List<TelemetryBucketView> buckets = historyQueryHandler.handle(new TelemetryHistoryQuery(
+                equipmentId.getValue(), START, START.plusHours(1), Duration.ofHours(1)));
+        assertThat(buckets).hasSize(1);
+        assertThat(buckets.get(0).getSampleCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("待寫入數達到 max-pending 時應由呼叫端同步寫入")
+    void shouldFlushSynchronouslyWhenMaxPendingReached() {
+        // Arrange
+        telemetryProperties.setMaxPending(5);
+        EquipmentId equipmentId = newEquipmentId();
+
+        // Act
+        telemetryRepository.append(readingsEvery10Seconds(equipmentId, 5));
+
+        // Assert
+        assertThat(telemetryRepository.getPendingCount()).isZero();
+        assertThat(telemetryMapper.selectLatest(equipmentId.getValue())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("降採樣查詢應回傳每個時間桶的樣本數與最小值、最大值、平均值")
+    void shouldDownsampleIntoBuckets() {
+        // Arrange：每 10 秒一筆，共 18 筆（3 分鐘），溫度依序為 0, 1, 2, ...
+        EquipmentId equipmentId = newEquipmentId();
+        telemetryRepository.append(readingsEvery10Seconds(equipmentId, 18));
+        telemetryRepository.flush();
+
+        // Act
+        List<TelemetryBucketView> buckets = historyQueryHandler.handle(new TelemetryHistoryQuery(
+                equipmentId.getValue(), START, START.plusMinutes(3), Duration.ofMinutes(1)));
+
+        // Assert
+        assertThat(buckets).hasSize(3);
+        TelemetryBucketView second = buckets.get(1);
+        assertThat(second.getBucketStart()).isEqualTo(START.plusMinutes(1));
+        assertThat(second.getSampleCount()).isEqualTo(6);
+        assertThat(second.getTemperature().getMin()).isEqualTo(6.0);
+        assertThat(second.getTemperature().getMax()).isEqualTo(11.0);
+        assertThat(second.getTemperature().getAvg()).isEqualTo(8.5);
+    }
+
+    @Test
+    @DisplayName("降採樣查詢應只包含區間內的讀數")
+    void shouldOnlyIncludeReadingsInRange() {
+        // Arrange
+        EquipmentId equipmentId = newEquipmentId();
+        telemetryRepository.append(readingsEvery10Seconds(equipmentId, 18));
+        telemetryRepository.flush();
+
+        // Act：[10:00:30, 10:01:30)
+        List<TelemetryBucketView> buckets = historyQueryHandler.handle(new TelemetryHistoryQuery(
+                equipmentId.getValue(), START.plusSeconds(30), START.plusSeconds(90), Duration.ofMinutes(1)));
+
+        // Assert
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets.get(0).getSampleCount()).isEqualTo(3);
+        assertThat(buckets.get(1).getSampleCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("時間桶數超過上限時應拒絕查詢")
+    void shouldRejectTooManyBuckets() {
+        TelemetryHistoryQuery query = new TelemetryHistoryQuery(
+                "EQ-001", START, START.plusDays(30), Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> historyQueryHandler.handle(query))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("最新值快取未命中時應從資料庫載入")
+    void shouldLoadLatestFromDatabaseOnCacheMiss() {
+        // Arrange
+        EquipmentId equipmentId = newEquipmentId();
+        telemetryRepository.append(readingsEvery10Seconds(equipmentId, 3));
+        telemetryRepository.flush();
+        MyBatisTelemetryRepository coldRepository =
+                new MyBatisTelemetryRepository(telemetryMapper, telemetryConverter, telemetryProperties);
+
+        // Act
+        Optional<TelemetryReading> latest = coldRepository.findLatest(equipmentId);
+
+        // Assert
+        assertThat(latest).isPresent();
+        assertThat(latest.get().getRecordedAt()).isEqualTo(START.plusSeconds(20));
+        assertThat(coldRepository.findLatest(newEquipmentId())).isEmpty();
+    }
+
+    // ======================== 測試輔助方法 ========================
+
+    private EquipmentId newEquipmentId() {
+        return EquipmentId.of(UUID.randomUUID().toString());
+    }
+
+    private List<TelemetryReading> readingsEvery10Seconds(EquipmentId equipmentId, int count) {
+        List<TelemetryReading> readings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            readings.add(reading(equipmentId, START.plusSeconds(i * 10L), i));
+        }
+        return readings;
+    }
+
+    private TelemetryReading reading(EquipmentId equipmentId, LocalDateTime recordedAt, double temperature) {
+        return new TelemetryReading(equipmentId,
+                new OperatingParameters(temperature, 2.5, 1200.0, 0.05), recordedAt);
+    }
+}
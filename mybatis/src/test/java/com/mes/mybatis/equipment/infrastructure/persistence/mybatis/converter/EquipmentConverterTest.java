@@ -51,6 +51,7 @@ class EquipmentConverterTest {
             assertThat(equipment.getName()).isEqualTo("CNC 加工中心");
             assertThat(equipment.getType()).isEqualTo(EquipmentType.CNC);
             assertThat(equipment.getStatus()).isEqualTo(EquipmentStatus.RUNNING);
+            assertThat(equipment.isPersisted()).isTrue();
         }
 
         @Test
@@ -89,6 +90,7 @@ class EquipmentConverterTest {
             MaintenanceRecord record = equipment.getMaintenanceRecords().get(0);
             assertThat(record.getId().getValue()).isEqualTo("MR-001");
             assertThat(record.getDescription()).isEqualTo("主軸定期保養");
+            assertThat(record.isPersisted()).isTrue();
         }
 
         @Test
@@ -99,6 +101,41 @@ class EquipmentConverterTest {
         }
     }
 
+    @Nested
+    @DisplayName("toDomainList - 批次組裝聚合根")
+    class ToDomainList {
+
+        @Test
+        @DisplayName("應依 equipmentId 將維護記錄掛回各自的設備，並維持設備順序")
+        void shouldGroupRecordsByEquipment() {
+            EquipmentDO first = createEquipmentDO();
+            EquipmentDO second = createEquipmentDO();
+            second.setId("EQ-002");
+            MaintenanceRecordDO secondRecord = createMaintenanceRecordDO();
+            secondRecord.setId("MR-002");
+            secondRecord.setEquipmentId("EQ-002");
+
+            List<Equipment> equipments = converter.toDomainList(
+                    Arrays.asList(second, first), Arrays.asList(createMaintenanceRecordDO(), secondRecord));
+
+            assertThat(equipments).extracting(eq -> eq.getId().getValue()).containsExactly("EQ-002", "EQ-001");
+            assertThat(equipments.get(0).getMaintenanceRecords())
+                    .extracting(record -> record.getId().getValue()).containsExactly("MR-002");
+            assertThat(equipments.get(1).getMaintenanceRecords())
+                    .extracting(record -> record.getId().getValue()).containsExactly("MR-001");
+        }
+
+        @Test
+        @DisplayName("沒有維護記錄的設備應得到空列表")
+        void shouldHandleEquipmentWithoutRecords() {
+            List<Equipment> equipments = converter.toDomainList(
+                    Collections.singletonList(createEquipmentDO()), new ArrayList<MaintenanceRecordDO>());
+
+            assertThat(equipments).hasSize(1);
+            assertThat(equipments.get(0).getMaintenanceRecords()).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("toDataObject - Domain Model 轉換為 DO")
     class ToDataObject {
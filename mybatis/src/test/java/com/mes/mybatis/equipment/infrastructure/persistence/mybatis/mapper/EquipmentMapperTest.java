@@ -107,6 +107,42 @@ class EquipmentMapperTest {
         assertThat(updated.getStatus()).isEqualTo("RUNNING");
     }
 
+    @Test
+    @DisplayName("upsert 更新既有設備時不應覆寫 created_at（與 MySQL 方言一致）")
+    void upsertShouldKeepCreatedAt() {
+        String id = UUID.randomUUID().toString();
+        EquipmentDO equipment = createEquipmentDO(id, "原始名稱", "CNC", "IDLE");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+        equipment.setCreatedAt(createdAt);
+        equipmentMapper.upsert(equipment);
+
+        equipment.setCreatedAt(LocalDateTime.of(2024, 6, 1, 8, 0));
+        equipment.setName("更新後名稱");
+        equipmentMapper.upsert(equipment);
+
+        EquipmentDO updated = equipmentMapper.selectById(id);
+        assertThat(updated.getName()).isEqualTo("更新後名稱");
+        assertThat(updated.getCreatedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    @DisplayName("upsert 應在設備不存在時新增、存在時更新")
+    void shouldUpsertEquipment() {
+        String id = UUID.randomUUID().toString();
+        EquipmentDO equipment = createEquipmentDO(id, "原始名稱", "CNC", "IDLE");
+
+        equipmentMapper.upsert(equipment);
+        assertThat(equipmentMapper.selectById(id).getName()).isEqualTo("原始名稱");
+
+        equipment.setName("更新後名稱");
+        equipment.setStatus("RUNNING");
+        equipmentMapper.upsert(equipment);
+
+        EquipmentDO updated = equipmentMapper.selectById(id);
+        assertThat(updated.getName()).isEqualTo("更新後名稱");
+        assertThat(updated.getStatus()).isEqualTo("RUNNING");
+    }
+
     @Test
     @DisplayName("應能刪除設備")
     void shouldDeleteEquipment() {
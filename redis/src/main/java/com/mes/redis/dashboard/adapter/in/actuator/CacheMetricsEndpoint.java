@@ -0,0 +1,47 @@
+package com.mes.redis.dashboard.adapter.in.actuator;
+
+import com.mes.redis.dashboard.infrastructure.cache.CacheMetrics;
+import com.mes.redis.dashboard.infrastructure.cache.SerializationMetrics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * [Hexagonal Architecture: Input Adapter - Actuator 快取量測端點]
+ * [SOLID: SRP - 只負責把快取量測整理為維運用的唯讀視圖]
+ *
+ * {@code GET /actuator/rediscache}：各鍵前綴的命中率、各操作延遲（p50 / p95 / p99）與被吞下的失敗次數，
+ * 以及各快取名稱的序列化大小與耗時。
+ * {@code GET /actuator/rediscache/{prefix}}：單一前綴（例如 {@code dashboard:}）。
+ *
+ * 同一份資料也以 {@code mes.cache.*} 發佈到 Micrometer，供 {@code /actuator/prometheus} 抓取。
+ */
+@Component
+@Endpoint(id = "rediscache")
+public class CacheMetricsEndpoint {
+
+    private final CacheMetrics cacheMetrics;
+    private final SerializationMetrics serializationMetrics;
+
+    public CacheMetricsEndpoint(CacheMetrics cacheMetrics, SerializationMetrics serializationMetrics) {
+        this.cacheMetrics = cacheMetrics;
+        this.serializationMetrics = serializationMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cacheMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("prefixes", cacheMetrics.snapshot());
+        result.put("serialization", serializationMetrics.snapshot());
+        return result;
+    }
+
+    @ReadOperation
+    public CacheMetrics.PrefixSnapshot prefix(@Selector String prefix) {
+        return cacheMetrics.snapshot().get(prefix);
+    }
+}
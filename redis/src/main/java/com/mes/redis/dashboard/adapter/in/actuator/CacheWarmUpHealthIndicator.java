@@ -0,0 +1,38 @@
+package com.mes.redis.dashboard.adapter.in.actuator;
+
+import com.mes.redis.dashboard.application.service.DashboardCacheWarmer;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * [Hexagonal Architecture: Input Adapter - 快取預熱健康指標]
+ * [SOLID: SRP - 只負責把預熱狀態轉換為健康狀態]
+ *
+ * 健康指標名稱為 {@code cacheWarmUp}，加入 readiness 群組後（{@code /actuator/health/readiness}），
+ * 預熱完成前回報 OUT_OF_SERVICE，負載平衡器不會把流量導到快取仍是冷的節點。
+ * 預熱完成後（即使部分產線載入失敗）回報 UP，並附上預熱結果。
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final DashboardCacheWarmer cacheWarmer;
+
+    public CacheWarmUpHealthIndicator(DashboardCacheWarmer cacheWarmer) {
+        this.cacheWarmer = cacheWarmer;
+    }
+
+    @Override
+    public Health health() {
+        DashboardCacheWarmer.State state = cacheWarmer.getState();
+        boolean ready = state == DashboardCacheWarmer.State.COMPLETED || state == DashboardCacheWarmer.State.DISABLED;
+        Health.Builder builder = ready ? Health.up() : Health.outOfService();
+        builder.withDetail("state", state);
+        cacheWarmer.getLastWarmUp().ifPresent(result -> builder
+                .withDetail("lines", result.getLines())
+                .withDetail("warmed", result.getWarmed())
+                .withDetail("failed", result.getFailed())
+                .withDetail("durationMillis", result.getDurationMillis()));
+        return builder.build();
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
@@ -96,6 +97,34 @@ public class DashboardCommandController {
         return ResponseEntity.ok(ApiResponse.<Void>success("Cache invalidated", null));
     }
 
+    /**
+     * 依標籤清除快取，例如 tag=dashboard 清除所有產線看板、tag=line:LINE-A 清除單一產線。
+     *
+     * @param tag 快取標籤
+     * @return 操作結果
+     */
+    @DeleteMapping("/cache/tags/{tag}")
+    public ResponseEntity<ApiResponse<Void>> invalidateCacheByTag(@PathVariable String tag) {
+        log.info("DELETE /api/v1/dashboard/cache/tags/{} - Invalidating cache by tag", tag);
+
+        commandBus.dispatch(InvalidateCacheCommand.forTag(tag));
+        return ResponseEntity.ok(ApiResponse.<Void>success("Cache tag invalidated", null));
+    }
+
+    /**
+     * 依鍵樣式清除快取（SCAN 漸進清除）。
+     *
+     * @param pattern 鍵樣式（glob 格式，如 dashboard:*）
+     * @return 操作結果
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<ApiResponse<Void>> invalidateCacheByPattern(@RequestParam String pattern) {
+        log.info("DELETE /api/v1/dashboard/cache?pattern={} - Invalidating cache by pattern", pattern);
+
+        commandBus.dispatch(InvalidateCacheCommand.forPattern(pattern));
+        return ResponseEntity.ok(ApiResponse.<Void>success("Cache pattern invalidated", null));
+    }
+
     private int toInt(Object value) {
         if (value instanceof Number) {
             return ((Number) value).intValue();
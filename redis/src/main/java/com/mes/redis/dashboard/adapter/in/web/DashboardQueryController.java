@@ -2,17 +2,22 @@ package com.mes.redis.dashboard.adapter.in.web;
 
 import com.mes.common.cqrs.QueryBus;
 import com.mes.redis.dashboard.application.query.GetAllLinesOverviewQuery;
+import com.mes.redis.dashboard.application.query.GetDashboardHistoryQuery;
 import com.mes.redis.dashboard.application.query.GetDashboardQuery;
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
 import com.mes.redis.dashboard.application.query.dto.LineOverviewView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -64,4 +69,28 @@ public class DashboardQueryController {
         List<LineOverviewView> overview = queryBus.dispatch(query);
         return ResponseEntity.ok(ApiResponse.success(overview));
     }
+
+    /**
+     * 查詢指定產線在時間範圍內的趨勢。
+     * 系統會選擇仍能提供至少 points 個資料點的最粗解析度（raw、1m、15m、1h）。
+     *
+     * @param lineId 產線 ID
+     * @param from   起點（含），ISO 格式，例如 2024-01-01T08:00:00
+     * @param to     終點（不含）
+     * @param points 期望的資料點數，預設 60
+     * @return 看板歷史趨勢視圖
+     */
+    @GetMapping("/{lineId}/history")
+    public ResponseEntity<ApiResponse<DashboardHistoryView>> getDashboardHistory(
+            @PathVariable String lineId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "60") int points) {
+        log.info("GET /api/v1/dashboard/{}/history - Querying history from={}, to={}, points={}",
+                lineId, from, to, points);
+
+        GetDashboardHistoryQuery query = new GetDashboardHistoryQuery(lineId, from, to, points);
+        DashboardHistoryView history = queryBus.dispatch(query);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
 }
@@ -10,6 +10,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.TimeoutException;
+
 /**
  * [Hexagonal Architecture: 全域例外處理器]
  * [SOLID: SRP - 只負責將領域例外轉換為適當的 HTTP 回應]
@@ -63,6 +65,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.<Void>error(ex.getMessage()));
     }
 
+    /**
+     * 處理非阻塞查詢逾時 -> HTTP 504。
+     */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTimeout(TimeoutException ex) {
+        log.warn("Query timed out: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ApiResponse.<Void>error(ex.getMessage()));
+    }
+
     /**
      * 處理其他未預期的例外 -> HTTP 500。
      */
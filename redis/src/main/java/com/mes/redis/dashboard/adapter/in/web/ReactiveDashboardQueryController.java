@@ -0,0 +1,49 @@
+package com.mes.redis.dashboard.adapter.in.web;
+
+import com.mes.redis.dashboard.application.query.GetDashboardQuery;
+import com.mes.redis.dashboard.application.query.ReactiveGetDashboardQueryHandler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * [Hexagonal Architecture: Input Adapter - 非阻塞 REST Query Controller]
+ * [SOLID: SRP - 只負責以非阻塞方式提供看板查詢]
+ * [CQRS Pattern: Query 端的 HTTP 入口]
+ *
+ * 回傳 {@link Mono}，Spring MVC 以非同步請求處理：Servlet 執行緒在等待 Redis 回應期間即被釋放，
+ * 結果由 Lettuce 事件迴圈或 boundedElastic 執行緒完成後再寫出回應。
+ * QueryBus 只支援同步處理器，因此直接依賴 {@link ReactiveGetDashboardQueryHandler}。
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard/reactive")
+public class ReactiveDashboardQueryController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveDashboardQueryController.class);
+
+    private final ReactiveGetDashboardQueryHandler queryHandler;
+
+    public ReactiveDashboardQueryController(ReactiveGetDashboardQueryHandler queryHandler) {
+        this.queryHandler = queryHandler;
+    }
+
+    /**
+     * 以非阻塞方式查詢指定產線的看板指標。
+     *
+     * @param lineId 產線 ID
+     * @return 看板指標視圖
+     */
+    @GetMapping("/{lineId}")
+    public Mono<ResponseEntity<ApiResponse<DashboardView>>> getDashboard(@PathVariable String lineId) {
+        log.info("GET /api/v1/dashboard/reactive/{} - Querying dashboard", lineId);
+
+        return queryHandler.handle(new GetDashboardQuery(lineId))
+                .map(view -> ResponseEntity.ok(ApiResponse.success(view)));
+    }
+}
@@ -1,9 +1,13 @@
 package com.mes.redis.dashboard.application.assembler;
 
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
 import com.mes.redis.dashboard.application.query.dto.LineOverviewView;
+import com.mes.redis.dashboard.domain.model.DashboardHistoryPoint;
 import com.mes.redis.dashboard.domain.model.DashboardMetrics;
 import com.mes.redis.dashboard.domain.model.EquipmentStatusSnapshot;
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+import com.mes.redis.dashboard.domain.model.MetricsTimeRange;
 import com.mes.redis.dashboard.domain.model.ProductionSummary;
 
 import java.math.BigDecimal;
@@ -60,40 +64,49 @@ public final class DashboardAssembler {
     }
 
     /**
-     * 將多個 DashboardMetrics 轉換為產線概覽列表。
+     * 將看板指標視圖轉換為產線概覽，供已快取的 DashboardView 直接彙總，不需回到 Repository。
      *
-     * @param metricsList 看板指標聚合根列表
-     * @return 產線概覽視圖列表
+     * @param view 看板指標視圖
+     * @return 產線概覽視圖
      */
-    public static List<LineOverviewView> toOverviewList(List<DashboardMetrics> metricsList) {
-        List<LineOverviewView> overviews = new ArrayList<>();
-        for (DashboardMetrics metrics : metricsList) {
-            overviews.add(toOverview(metrics));
-        }
-        return overviews;
-    }
-
-    private static LineOverviewView toOverview(DashboardMetrics metrics) {
-        LineOverviewView overview = new LineOverviewView();
-        overview.setLineId(metrics.getLineId());
-
-        ProductionSummary summary = metrics.getProductionSummary();
-        if (summary != null) {
-            overview.setCurrentOutput(summary.getTotalOutput());
-            overview.setYieldRate(summary.getYieldRate());
-        } else {
-            overview.setYieldRate(BigDecimal.ZERO.setScale(4, RoundingMode.HALF_UP));
-        }
-
+    public static LineOverviewView toOverview(DashboardView view) {
         int runningCount = 0;
-        for (EquipmentStatusSnapshot status : metrics.getEquipmentStatuses()) {
-            if ("RUNNING".equals(status.getStatus())) {
-                runningCount++;
+        int totalCount = 0;
+        if (view.getEquipmentStatuses() != null) {
+            for (DashboardView.EquipmentStatusView status : view.getEquipmentStatuses()) {
+                if ("RUNNING".equals(status.getStatus())) {
+                    runningCount++;
+                }
             }
+            totalCount = view.getEquipmentStatuses().size();
         }
-        overview.setRunningEquipmentCount(runningCount);
-        overview.setTotalEquipmentCount(metrics.getEquipmentStatuses().size());
+        return new LineOverviewView(view.getLineId(), view.getTotalOutput(), view.getYieldRate(),
+                runningCount, totalCount);
+    }
 
-        return overview;
+    /**
+     * 將歷史資料點轉換為趨勢視圖。
+     *
+     * @param lineId     產線 ID
+     * @param resolution 實際使用的解析度
+     * @param range      查詢的時間範圍
+     * @param points     資料點，依時間遞增排序
+     * @return 看板歷史趨勢視圖
+     */
+    public static DashboardHistoryView toHistoryView(String lineId, HistoryResolution resolution,
+                                                     MetricsTimeRange range, List<DashboardHistoryPoint> points) {
+        List<DashboardHistoryView.PointView> pointViews = new ArrayList<>(points.size());
+        for (DashboardHistoryPoint point : points) {
+            pointViews.add(new DashboardHistoryView.PointView(
+                    point.getTimestamp(),
+                    point.getSampleCount(),
+                    point.getTotalOutput(),
+                    point.getGoodCount(),
+                    point.getDefectCount(),
+                    point.getYieldRate(),
+                    point.getAverageThroughput(),
+                    point.getMaxThroughput()));
+        }
+        return new DashboardHistoryView(lineId, resolution.getCode(), range.getFrom(), range.getTo(), pointViews);
     }
 }
@@ -4,19 +4,56 @@ import com.mes.common.cqrs.Command;
 
 /**
  * [CQRS Pattern: Command - 清除快取]
- * [SOLID: SRP - 只負責攜帶清除快取所需的鍵]
+ * [SOLID: SRP - 只負責攜帶清除快取所需的目標]
  *
- * 用於手動清除指定的快取鍵。
+ * 用於手動清除快取，支援三種範圍：
+ * <ul>
+ *   <li>單一鍵 - {@link #InvalidateCacheCommand(String)}</li>
+ *   <li>標籤 - {@link #forTag(String)}，清除登記在該標籤下的所有鍵（如整廠看板）</li>
+ *   <li>鍵樣式 - {@link #forPattern(String)}，以 SCAN 漸進清除，適用於臨時性的清除</li>
+ * </ul>
  */
 public class InvalidateCacheCommand implements Command {
 
     private final String cacheKey;
+    private final String tag;
+    private final String pattern;
 
     public InvalidateCacheCommand(String cacheKey) {
+        this(cacheKey, null, null);
+    }
+
+    private InvalidateCacheCommand(String cacheKey, String tag, String pattern) {
         this.cacheKey = cacheKey;
+        this.tag = tag;
+        this.pattern = pattern;
+    }
+
+    /**
+     * @param tag 快取標籤
+     * @return 依標籤清除的命令
+     */
+    public static InvalidateCacheCommand forTag(String tag) {
+        return new InvalidateCacheCommand(null, tag, null);
+    }
+
+    /**
+     * @param pattern 鍵樣式（glob 格式）
+     * @return 依樣式清除的命令
+     */
+    public static InvalidateCacheCommand forPattern(String pattern) {
+        return new InvalidateCacheCommand(null, null, pattern);
     }
 
     public String getCacheKey() {
         return cacheKey;
     }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
 }
@@ -1,6 +1,7 @@
 package com.mes.redis.dashboard.application.command;
 
 import com.mes.common.cqrs.CommandHandler;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
 import com.mes.redis.dashboard.domain.port.out.CachePort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,11 +9,17 @@ import org.springframework.stereotype.Component;
 
 /**
  * [CQRS Pattern: Command Handler - 處理清除快取命令]
- * [SOLID: SRP - 只負責清除指定的快取鍵]
+ * [SOLID: SRP - 只負責清除指定的快取鍵、標籤或樣式]
  * [SOLID: DIP - 依賴 CachePort 抽象，不依賴具體 Redis 實作]
  *
  * 透過 CachePort 清除指定的快取鍵。
  * 展示領域層如何透過 Port 操作快取。
+ *
+ * 批次清除優先使用標籤（寫入時已登記成員，只刪除實際存在的鍵）；
+ * 樣式清除以 SCAN 漸進走訪鍵空間，兩者都不使用會阻塞 Redis 的 KEYS。
+ *
+ * 清除後一併丟棄 {@link SingleFlightCacheLoader} 保留的舊值，
+ * stale-while-revalidate 不會在明確失效後繼續回傳舊資料。
  */
 @Component
 public class InvalidateCacheCommandHandler implements CommandHandler<InvalidateCacheCommand, Void> {
@@ -20,16 +27,31 @@ public class InvalidateCacheCommandHandler implements CommandHandler<InvalidateC
     private static final Logger log = LoggerFactory.getLogger(InvalidateCacheCommandHandler.class);
 
     private final CachePort cachePort;
+    private final SingleFlightCacheLoader cacheLoader;
 
-    public InvalidateCacheCommandHandler(CachePort cachePort) {
+    public InvalidateCacheCommandHandler(CachePort cachePort, SingleFlightCacheLoader cacheLoader) {
         this.cachePort = cachePort;
+        this.cacheLoader = cacheLoader;
     }
 
     @Override
     public Void handle(InvalidateCacheCommand command) {
-        log.debug("Handling InvalidateCacheCommand for key={}", command.getCacheKey());
-        cachePort.evict(command.getCacheKey());
-        log.info("Cache invalidated for key={}", command.getCacheKey());
+        if (command.getTag() != null) {
+            log.debug("Handling InvalidateCacheCommand for tag={}", command.getTag());
+            int evicted = cachePort.evictByTag(command.getTag());
+            cacheLoader.invalidateAll();
+            log.info("Cache invalidated for tag={}, keysEvicted={}", command.getTag(), evicted);
+        } else if (command.getPattern() != null) {
+            log.debug("Handling InvalidateCacheCommand for pattern={}", command.getPattern());
+            cachePort.evictByPattern(command.getPattern());
+            cacheLoader.invalidateAll();
+            log.info("Cache invalidated for pattern={}", command.getPattern());
+        } else {
+            log.debug("Handling InvalidateCacheCommand for key={}", command.getCacheKey());
+            cachePort.evict(command.getCacheKey());
+            cacheLoader.invalidate(command.getCacheKey());
+            log.info("Cache invalidated for key={}", command.getCacheKey());
+        }
         return null;
     }
 
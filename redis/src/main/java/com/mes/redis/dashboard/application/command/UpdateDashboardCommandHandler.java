@@ -1,8 +1,13 @@
 package com.mes.redis.dashboard.application.command;
 
 import com.mes.common.cqrs.CommandHandler;
+import com.mes.common.ddd.event.DomainEvent;
 import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.service.DashboardCacheKeys;
+import com.mes.redis.dashboard.application.service.DashboardHistoryService;
+import com.mes.redis.dashboard.application.service.DashboardLineLocks;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
 import com.mes.redis.dashboard.domain.model.CacheExpiry;
 import com.mes.redis.dashboard.domain.model.DashboardMetrics;
 import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
@@ -15,6 +20,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,11 +31,13 @@ import java.util.Optional;
  *
  * 使用 Write-Through 快取策略：
  * 同時寫入 Repository（主儲存）和 CachePort（快取層），
- * 確保快取與主儲存的一致性。
+ * 確保快取與主儲存的一致性。寫入快取後通知 {@link SingleFlightCacheLoader} 更新本節點的載入紀錄。
  *
  * 教學重點：Write-Through Pattern
  * - 寫入時同時更新快取，避免讀取時 cache miss
  * - 適合寫入頻率不高但讀取頻繁的場景
+ *
+ * 儲存後只把本次更新註冊的 DashboardUpdatedEvent 交給 DashboardHistoryService 記錄為趨勢資料。
  */
 @Component
 public class UpdateDashboardCommandHandler implements CommandHandler<UpdateDashboardCommand, Void> {
@@ -36,20 +45,38 @@ public class UpdateDashboardCommandHandler implements CommandHandler<UpdateDashb
     private static final Logger log = LoggerFactory.getLogger(UpdateDashboardCommandHandler.class);
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
     private static final int DEFAULT_TTL_SECONDS = 1800;
-    private static final String CACHE_KEY_PREFIX = "dashboard:";
 
     private final DashboardMetricsRepository repository;
     private final CachePort cachePort;
+    private final DashboardHistoryService historyService;
+    private final DashboardLineLocks lineLocks;
+    private final SingleFlightCacheLoader cacheLoader;
 
-    public UpdateDashboardCommandHandler(DashboardMetricsRepository repository, CachePort cachePort) {
+    public UpdateDashboardCommandHandler(DashboardMetricsRepository repository, CachePort cachePort,
+                                         DashboardHistoryService historyService, DashboardLineLocks lineLocks,
+                                         SingleFlightCacheLoader cacheLoader) {
         this.repository = repository;
         this.cachePort = cachePort;
+        this.historyService = historyService;
+        this.lineLocks = lineLocks;
+        this.cacheLoader = cacheLoader;
     }
 
     @Override
     public Void handle(UpdateDashboardCommand command) {
         log.debug("Handling UpdateDashboardCommand for lineId={}", command.getLineId());
 
+        // 與設備狀態寫入緩衝共用產線鎖：聚合根是共用實例，載入到清除事件必須在鎖內完成
+        lineLocks.withLock(command.getLineId(), () -> {
+            update(command);
+            return null;
+        });
+
+        log.info("Dashboard updated and cached for lineId={}", command.getLineId());
+        return null;
+    }
+
+    private void update(UpdateDashboardCommand command) {
         String dateStr = LocalDateTime.now().format(DATE_FORMAT);
         DashboardMetricsId metricsId = DashboardMetricsId.of(command.getLineId(), dateStr);
 
@@ -71,16 +98,22 @@ public class UpdateDashboardCommandHandler implements CommandHandler<UpdateDashb
                 command.getGoodCount(),
                 command.getDefectCount(),
                 command.getThroughputPerHour());
+        int registeredBefore = metrics.getDomainEvents().size();
         metrics.updateProductionSummary(summary);
 
         // Write-Through: 同時寫入 Repository 與快取
         repository.save(metrics);
 
         DashboardView view = DashboardAssembler.toView(metrics);
-        cachePort.put(CACHE_KEY_PREFIX + command.getLineId(), view, DEFAULT_TTL_SECONDS);
+        String key = DashboardCacheKeys.dashboardKey(command.getLineId());
+        cachePort.put(key, view, DEFAULT_TTL_SECONDS, DashboardCacheKeys.dashboardTags(command.getLineId()));
+        cacheLoader.recordWrite(key, view, DEFAULT_TTL_SECONDS);
 
-        log.info("Dashboard updated and cached for lineId={}", command.getLineId());
-        return null;
+        // 只記錄並清除本次更新註冊的事件，其他流程註冊但尚未處理的事件保留給它們自己處理
+        List<DomainEvent> registered = new ArrayList<>(metrics.getDomainEvents()
+                .subList(registeredBefore, metrics.getDomainEvents().size()));
+        historyService.record(registered);
+        metrics.clearEvents(registered);
     }
 
     @Override
@@ -2,38 +2,95 @@ package com.mes.redis.dashboard.application.query;
 
 import com.mes.common.cqrs.QueryHandler;
 import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
 import com.mes.redis.dashboard.application.query.dto.LineOverviewView;
+import com.mes.redis.dashboard.application.service.DashboardCacheKeys;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
 import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
 import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * [CQRS Pattern: Query Handler - 處理查詢所有產線概覽]
  * [SOLID: SRP - 只負責查詢所有產線概覽的流程]
+ * [SOLID: DIP - 依賴 CachePort 抽象與 Repository 抽象]
  *
- * 從 Repository 載入所有看板指標，彙總為產線概覽列表。
+ * 產線概覽由各產線的看板快取（{@code dashboard:<lineId>}）彙總而成：
+ * 1. 從 Repository 取得所有產線 ID
+ * 2. 以 CachePort.getAll 一次取回所有產線的 DashboardView（單一網路往返）
+ * 3. 只對未命中的產線從 Repository 載入，並以 CachePort.putAll 一次回填（同時更新 SingleFlightCacheLoader 的載入紀錄）
+ * 4. 每條產線彙總為一筆 LineOverviewView（取最新的指標）
+ *
+ * 教學重點：批次 Cache-Aside
+ * - 逐條產線查快取需要 N 次往返，產線越多越慢
+ * - MGET / 管線化 SET 讓往返次數與產線數無關
+ * - 與單一產線查詢共用同一組快取鍵與標籤，失效規則一致
  */
 @Component
 public class GetAllLinesOverviewQueryHandler
         implements QueryHandler<GetAllLinesOverviewQuery, List<LineOverviewView>> {
 
     private static final Logger log = LoggerFactory.getLogger(GetAllLinesOverviewQueryHandler.class);
+    private static final long CACHE_TTL_SECONDS = 1800;
 
     private final DashboardMetricsRepository repository;
+    private final CachePort cachePort;
+    private final SingleFlightCacheLoader cacheLoader;
 
-    public GetAllLinesOverviewQueryHandler(DashboardMetricsRepository repository) {
+    public GetAllLinesOverviewQueryHandler(DashboardMetricsRepository repository, CachePort cachePort,
+                                           SingleFlightCacheLoader cacheLoader) {
         this.repository = repository;
+        this.cachePort = cachePort;
+        this.cacheLoader = cacheLoader;
     }
 
     @Override
     public List<LineOverviewView> handle(GetAllLinesOverviewQuery query) {
         log.debug("Handling GetAllLinesOverviewQuery");
-        List<DashboardMetrics> allMetrics = repository.findAll();
-        return DashboardAssembler.toOverviewList(allMetrics);
+        List<String> lineIds = repository.findAllLineIds();
+        Map<String, String> lineIdByKey = new LinkedHashMap<>();
+        for (String lineId : lineIds) {
+            lineIdByKey.put(DashboardCacheKeys.dashboardKey(lineId), lineId);
+        }
+
+        // Step 1: 一次取回所有產線的看板快取
+        Map<String, DashboardView> cached = cachePort.getAll(lineIdByKey.keySet(), DashboardView.class);
+
+        // Step 2: 未命中的產線從 Repository 載入
+        List<LineOverviewView> overviews = new ArrayList<>(lineIds.size());
+        Map<String, DashboardView> loaded = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : lineIdByKey.entrySet()) {
+            DashboardView view = cached.get(entry.getKey());
+            if (view == null) {
+                Optional<DashboardMetrics> metrics = repository.findLatestByLineId(entry.getValue());
+                if (!metrics.isPresent()) {
+                    continue;
+                }
+                view = DashboardAssembler.toView(metrics.get());
+                loaded.put(entry.getKey(), view);
+            }
+            overviews.add(DashboardAssembler.toOverview(view));
+        }
+
+        // Step 3: 一次回填未命中的產線
+        if (!loaded.isEmpty()) {
+            cachePort.putAll(loaded, CACHE_TTL_SECONDS,
+                    key -> DashboardCacheKeys.dashboardTags(lineIdByKey.get(key)));
+            cacheLoader.recordWrites(loaded, CACHE_TTL_SECONDS);
+        }
+
+        log.debug("Lines overview built: lines={}, cacheHits={}, loaded={}",
+                lineIds.size(), cached.size(), loaded.size());
+        return overviews;
     }
 
     @Override
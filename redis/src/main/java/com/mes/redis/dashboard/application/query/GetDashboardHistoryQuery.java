@@ -0,0 +1,41 @@
+package com.mes.redis.dashboard.application.query;
+
+import com.mes.common.cqrs.Query;
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
+import com.mes.redis.dashboard.domain.model.MetricsTimeRange;
+
+import java.time.LocalDateTime;
+
+/**
+ * [CQRS Pattern: Query - 查詢看板歷史趨勢]
+ * [SOLID: SRP - 只負責攜帶查詢趨勢所需的產線、時間範圍與期望點數]
+ *
+ * 用於查詢指定產線在時間範圍內的趨勢；解析度由期望點數自動決定。
+ */
+public class GetDashboardHistoryQuery implements Query<DashboardHistoryView> {
+
+    private final String lineId;
+    private final MetricsTimeRange range;
+    private final int points;
+
+    public GetDashboardHistoryQuery(String lineId, LocalDateTime from, LocalDateTime to, int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("Points must be positive");
+        }
+        this.lineId = lineId;
+        this.range = new MetricsTimeRange(from, to);
+        this.points = points;
+    }
+
+    public String getLineId() {
+        return lineId;
+    }
+
+    public MetricsTimeRange getRange() {
+        return range;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+}
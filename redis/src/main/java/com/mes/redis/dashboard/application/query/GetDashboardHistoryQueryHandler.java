@@ -0,0 +1,39 @@
+package com.mes.redis.dashboard.application.query;
+
+import com.mes.common.cqrs.QueryHandler;
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
+import com.mes.redis.dashboard.application.service.DashboardHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * [CQRS Pattern: Query Handler - 處理查詢看板歷史趨勢]
+ * [SOLID: SRP - 只負責把查詢交給歷史服務]
+ * [SOLID: DIP - 依賴 DashboardHistoryService，不直接接觸 Redis]
+ *
+ * 歷史資料本身已是降採樣後的序列，不再經過看板快取。
+ */
+@Component
+public class GetDashboardHistoryQueryHandler
+        implements QueryHandler<GetDashboardHistoryQuery, DashboardHistoryView> {
+
+    private static final Logger log = LoggerFactory.getLogger(GetDashboardHistoryQueryHandler.class);
+
+    private final DashboardHistoryService historyService;
+
+    public GetDashboardHistoryQueryHandler(DashboardHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    @Override
+    public DashboardHistoryView handle(GetDashboardHistoryQuery query) {
+        log.debug("Handling GetDashboardHistoryQuery for lineId={}", query.getLineId());
+        return historyService.query(query.getLineId(), query.getRange(), query.getPoints());
+    }
+
+    @Override
+    public Class<GetDashboardHistoryQuery> getQueryType() {
+        return GetDashboardHistoryQuery.class;
+    }
+}
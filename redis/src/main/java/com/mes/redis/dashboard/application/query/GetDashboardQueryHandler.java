@@ -4,8 +4,10 @@ import com.mes.common.cqrs.QueryHandler;
 import com.mes.common.exception.EntityNotFoundException;
 import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.service.DashboardAccessTracker;
+import com.mes.redis.dashboard.application.service.DashboardCacheKeys;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
 import com.mes.redis.dashboard.domain.model.DashboardMetrics;
-import com.mes.redis.dashboard.domain.port.out.CachePort;
 import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,10 +18,10 @@ import java.util.Optional;
 /**
  * [CQRS Pattern: Query Handler - 處理查詢看板指標]
  * [SOLID: SRP - 只負責查詢看板指標的流程]
- * [SOLID: DIP - 依賴 CachePort 抽象與 Repository 抽象]
+ * [SOLID: DIP - 依賴 SingleFlightCacheLoader 與 Repository 抽象]
  *
  * 使用 Cache-Aside（旁路快取）模式：
- * 1. 先從 CachePort 查詢快取
+ * 1. 先從快取查詢
  * 2. 若 cache hit，直接回傳快取的 DashboardView
  * 3. 若 cache miss，從 Repository 載入，轉換為 View，寫入快取，再回傳
  *
@@ -27,50 +29,54 @@ import java.util.Optional;
  * - 讀取時才載入快取，寫入時不主動更新快取
  * - 適合讀取頻繁但寫入不一定需要即時反映的場景
  * - 與 Write-Through 互補使用
+ *
+ * 教學重點：快取雪崩（Cache Stampede）
+ * - 熱門產線的看板在 TTL 到期瞬間會有大量同時 miss
+ * - 透過 SingleFlightCacheLoader：同節點單飛、跨節點短鎖、機率式提前刷新，
+ *   讓每次過期只有一個載入打到 Repository
+ * - 每次查詢記錄到 DashboardAccessTracker，熱門產線由 DashboardCacheWarmer 在過期前主動刷新
  */
 @Component
 public class GetDashboardQueryHandler implements QueryHandler<GetDashboardQuery, DashboardView> {
 
     private static final Logger log = LoggerFactory.getLogger(GetDashboardQueryHandler.class);
-    private static final String CACHE_KEY_PREFIX = "dashboard:";
     private static final long CACHE_TTL_SECONDS = 1800;
 
     private final DashboardMetricsRepository repository;
-    private final CachePort cachePort;
+    private final SingleFlightCacheLoader cacheLoader;
+    private final DashboardAccessTracker accessTracker;
 
-    public GetDashboardQueryHandler(DashboardMetricsRepository repository, CachePort cachePort) {
+    public GetDashboardQueryHandler(DashboardMetricsRepository repository, SingleFlightCacheLoader cacheLoader,
+                                    DashboardAccessTracker accessTracker) {
         this.repository = repository;
-        this.cachePort = cachePort;
+        this.cacheLoader = cacheLoader;
+        this.accessTracker = accessTracker;
     }
 
     @Override
     public DashboardView handle(GetDashboardQuery query) {
-        String cacheKey = CACHE_KEY_PREFIX + query.getLineId();
-
-        // Step 1: 嘗試從快取取得（Cache-Aside 模式）
-        DashboardView cached = cachePort.get(cacheKey, DashboardView.class);
-        if (cached != null) {
-            log.debug("Cache HIT for lineId={}", query.getLineId());
-            return cached;
-        }
-
-        // Step 2: Cache Miss - 從 Repository 載入
-        log.debug("Cache MISS for lineId={}, loading from repository", query.getLineId());
-        Optional<DashboardMetrics> metricsOpt = repository.findLatestByLineId(query.getLineId());
-        if (!metricsOpt.isPresent()) {
-            throw new EntityNotFoundException("DashboardMetrics", query.getLineId());
-        }
-
-        // Step 3: 轉換為 View 並寫入快取
-        DashboardView view = DashboardAssembler.toView(metricsOpt.get());
-        cachePort.put(cacheKey, view, CACHE_TTL_SECONDS);
-
-        log.debug("Dashboard loaded and cached for lineId={}", query.getLineId());
-        return view;
+        String lineId = query.getLineId();
+        accessTracker.record(lineId);
+        return cacheLoader.get(
+                DashboardCacheKeys.dashboardKey(lineId),
+                DashboardView.class,
+                CACHE_TTL_SECONDS,
+                DashboardCacheKeys.dashboardTags(lineId),
+                () -> load(lineId));
     }
 
     @Override
     public Class<GetDashboardQuery> getQueryType() {
         return GetDashboardQuery.class;
     }
+
+    private DashboardView load(String lineId) {
+        // Cache Miss（或提前刷新）- 從 Repository 載入並轉換為 View
+        log.debug("Loading dashboard from repository for lineId={}", lineId);
+        Optional<DashboardMetrics> metricsOpt = repository.findLatestByLineId(lineId);
+        if (!metricsOpt.isPresent()) {
+            throw new EntityNotFoundException("DashboardMetrics", lineId);
+        }
+        return DashboardAssembler.toView(metricsOpt.get());
+    }
 }
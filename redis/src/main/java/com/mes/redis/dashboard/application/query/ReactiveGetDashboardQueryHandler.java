@@ -0,0 +1,104 @@
+package com.mes.redis.dashboard.application.query;
+
+import com.mes.common.exception.EntityNotFoundException;
+import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.service.DashboardAccessTracker;
+import com.mes.redis.dashboard.application.service.DashboardCacheKeys;
+import com.mes.redis.dashboard.application.service.ReactiveQueryProperties;
+import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.port.out.ReactiveCachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * [CQRS Pattern: Query Handler - 以非阻塞方式處理查詢看板指標]
+ * [SOLID: SRP - 只負責非阻塞查詢看板指標的流程]
+ * [SOLID: DIP - 依賴 ReactiveCachePort 與 Repository 抽象]
+ *
+ * {@link GetDashboardQueryHandler} 的非阻塞版本，回傳 {@link Mono}，供需要組合多個看板查詢的呼叫端使用：
+ * <ol>
+ *   <li>以 {@link ReactiveCachePort} 讀取快取；逾時（cache-timeout）或失敗都視為未命中</li>
+ *   <li>未命中時在 boundedElastic 排程器上呼叫阻塞的 Repository，事件迴圈執行緒不會被佔用</li>
+ *   <li>寫回快取（含標籤），寫回逾時或失敗不影響回傳結果</li>
+ *   <li>整個查詢受 load-timeout 限制，逾時以 {@link java.util.concurrent.TimeoutException} 結束</li>
+ * </ol>
+ *
+ * 同一節點同一產線同時未命中時只會有一個 Repository 載入，其餘訂閱者共用結果。
+ * 此路徑不經過 L1 近端快取，也不參與跨節點載入鎖與提前刷新。
+ */
+@Component
+public class ReactiveGetDashboardQueryHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGetDashboardQueryHandler.class);
+    private static final long CACHE_TTL_SECONDS = 1800;
+
+    private final DashboardMetricsRepository repository;
+    private final ReactiveCachePort cachePort;
+    private final ReactiveQueryProperties properties;
+    private final DashboardAccessTracker accessTracker;
+    private final ConcurrentMap<String, Mono<DashboardView>> inFlight = new ConcurrentHashMap<>();
+
+    public ReactiveGetDashboardQueryHandler(DashboardMetricsRepository repository, ReactiveCachePort cachePort,
+                                            ReactiveQueryProperties properties, DashboardAccessTracker accessTracker) {
+        this.repository = repository;
+        this.cachePort = cachePort;
+        this.properties = properties;
+        this.accessTracker = accessTracker;
+    }
+
+    /**
+     * @param query 查詢看板指標
+     * @return 看板指標視圖；找不到產線時以 {@link EntityNotFoundException} 結束
+     */
+    public Mono<DashboardView> handle(GetDashboardQuery query) {
+        String lineId = query.getLineId();
+        String key = DashboardCacheKeys.dashboardKey(lineId);
+        accessTracker.record(lineId);
+        return cachePort.get(key, DashboardView.class)
+                .timeout(properties.getCacheTimeout())
+                .onErrorResume(e -> {
+                    log.warn("Reactive cache read failed, loading from repository: key={}, error={}",
+                            key, e.toString());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loadOnce(lineId, key)))
+                .timeout(properties.getLoadTimeout());
+    }
+
+    /**
+     * 同一個鍵只保留一個進行中的載入；載入結束（成功或失敗）後移除，下一次未命中重新載入。
+     */
+    private Mono<DashboardView> loadOnce(String lineId, String key) {
+        return inFlight.computeIfAbsent(key, k -> loadAndCache(lineId, k)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    private Mono<DashboardView> loadAndCache(String lineId, String key) {
+        return Mono.fromCallable(() -> load(lineId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(view -> cachePort.put(key, view, CACHE_TTL_SECONDS, DashboardCacheKeys.dashboardTags(lineId))
+                        .timeout(properties.getCacheTimeout())
+                        .onErrorReturn(false)
+                        .thenReturn(view));
+    }
+
+    private DashboardView load(String lineId) {
+        // Cache Miss - 從 Repository 載入並轉換為 View（在 boundedElastic 執行緒上執行）
+        log.debug("Loading dashboard from repository (reactive) for lineId={}", lineId);
+        Optional<DashboardMetrics> metricsOpt = repository.findLatestByLineId(lineId);
+        if (!metricsOpt.isPresent()) {
+            throw new EntityNotFoundException("DashboardMetrics", lineId);
+        }
+        return DashboardAssembler.toView(metricsOpt.get());
+    }
+}
@@ -0,0 +1,168 @@
+package com.mes.redis.dashboard.application.query.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * [CQRS Pattern: Read Model DTO - 看板歷史趨勢視圖]
+ * [SOLID: SRP - 只負責承載看板歷史趨勢的展示資料]
+ *
+ * 用於 Query 端回傳某條產線在時間範圍內的趨勢資料。
+ * resolution 表示實際使用的解析度（raw、1m、15m、1h）。
+ */
+public class DashboardHistoryView {
+
+    private String lineId;
+    private String resolution;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<PointView> points;
+
+    public DashboardHistoryView() {
+    }
+
+    public DashboardHistoryView(String lineId, String resolution, LocalDateTime from, LocalDateTime to,
+                                List<PointView> points) {
+        this.lineId = lineId;
+        this.resolution = resolution;
+        this.from = from;
+        this.to = to;
+        this.points = points;
+    }
+
+    public String getLineId() {
+        return lineId;
+    }
+
+    public void setLineId(String lineId) {
+        this.lineId = lineId;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public List<PointView> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<PointView> points) {
+        this.points = points;
+    }
+
+    /**
+     * 趨勢資料點視圖（巢狀 DTO）。
+     */
+    public static class PointView {
+
+        private LocalDateTime timestamp;
+        private int sampleCount;
+        private int totalOutput;
+        private int goodCount;
+        private int defectCount;
+        private BigDecimal yieldRate;
+        private double averageThroughput;
+        private double maxThroughput;
+
+        public PointView() {
+        }
+
+        public PointView(LocalDateTime timestamp, int sampleCount, int totalOutput, int goodCount,
+                         int defectCount, BigDecimal yieldRate, double averageThroughput,
+                         double maxThroughput) {
+            this.timestamp = timestamp;
+            this.sampleCount = sampleCount;
+            this.totalOutput = totalOutput;
+            this.goodCount = goodCount;
+            this.defectCount = defectCount;
+            this.yieldRate = yieldRate;
+            this.averageThroughput = averageThroughput;
+            this.maxThroughput = maxThroughput;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(LocalDateTime timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        public void setSampleCount(int sampleCount) {
+            this.sampleCount = sampleCount;
+        }
+
+        public int getTotalOutput() {
+            return totalOutput;
+        }
+
+        public void setTotalOutput(int totalOutput) {
+            this.totalOutput = totalOutput;
+        }
+
+        public int getGoodCount() {
+            return goodCount;
+        }
+
+        public void setGoodCount(int goodCount) {
+            this.goodCount = goodCount;
+        }
+
+        public int getDefectCount() {
+            return defectCount;
+        }
+
+        public void setDefectCount(int defectCount) {
+            this.defectCount = defectCount;
+        }
+
+        public BigDecimal getYieldRate() {
+            return yieldRate;
+        }
+
+        public void setYieldRate(BigDecimal yieldRate) {
+            this.yieldRate = yieldRate;
+        }
+
+        public double getAverageThroughput() {
+            return averageThroughput;
+        }
+
+        public void setAverageThroughput(double averageThroughput) {
+            this.averageThroughput = averageThroughput;
+        }
+
+        public double getMaxThroughput() {
+            return maxThroughput;
+        }
+
+        public void setMaxThroughput(double maxThroughput) {
+            this.maxThroughput = maxThroughput;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責看板快取預熱與熱門產線刷新的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     warm-up:
+ *       enabled: true
+ *       concurrency: 8
+ *       batch-size: 200
+ *       timeout: 60s
+ *       refresh-interval: 5m
+ *       hot-lines: 50
+ *       max-tracked-lines: 10000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.warm-up")
+public class CacheWarmUpProperties {
+
+    /**
+     * 是否在啟動時預熱並定期刷新熱門產線；關閉時快取只在查詢未命中時載入。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 同時從 Repository 載入的產線數上限。
+     */
+    private int concurrency = 8;
+
+    /**
+     * 每次管線寫入快取的看板數。
+     */
+    private int batchSize = 200;
+
+    /**
+     * 啟動預熱的最長時間；逾時後未完成的產線留待查詢時載入，應用程式照常就緒。
+     */
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /**
+     * 熱門產線的刷新間隔，應小於看板快取的 TTL（30 分鐘）；0 表示不刷新。
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * 每次刷新的熱門產線數（依存取次數排序）。
+     */
+    private int hotLines = 50;
+
+    /**
+     * 存取次數最多追蹤的產線數，超過後新的產線不再計數。
+     */
+    private int maxTrackedLines = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getHotLines() {
+        return hotLines;
+    }
+
+    public void setHotLines(int hotLines) {
+        this.hotLines = hotLines;
+    }
+
+    public int getMaxTrackedLines() {
+        return maxTrackedLines;
+    }
+
+    public void setMaxTrackedLines(int maxTrackedLines) {
+        this.maxTrackedLines = maxTrackedLines;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheWarmUpProperties{" +
+                "enabled=" + enabled +
+                ", concurrency=" + concurrency +
+                ", batchSize=" + batchSize +
+                ", timeout=" + timeout +
+                ", refreshInterval=" + refreshInterval +
+                ", hotLines=" + hotLines +
+                ", maxTrackedLines=" + maxTrackedLines +
+                '}';
+    }
+}
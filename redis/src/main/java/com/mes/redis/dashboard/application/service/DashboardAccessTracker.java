@@ -0,0 +1,90 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * [DDD Pattern: Application Service - 看板存取頻率追蹤]
+ * [SOLID: SRP - 只負責累計各產線看板的查詢次數]
+ *
+ * 查詢處理器每次查詢看板時呼叫 {@link #record(String)}；{@link DashboardCacheWarmer} 定期取出最熱門的產線刷新快取，
+ * 之後呼叫 {@link #decay()} 將所有計數減半，讓計數反映近期的存取而非啟動以來的總量。
+ *
+ * <p>計數器使用 {@link LongAdder}，熱路徑上只有一次 Map 查詢與一次遞增。
+ * 追蹤的產線數達到 max-tracked-lines 後，新的產線不再計數。</p>
+ */
+@Component
+public class DashboardAccessTracker {
+
+    private final CacheWarmUpProperties properties;
+    private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public DashboardAccessTracker(CacheWarmUpProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 記錄一次看板查詢。
+     *
+     * @param lineId 產線 ID
+     */
+    public void record(String lineId) {
+        LongAdder count = counts.get(lineId);
+        if (count == null) {
+            if (counts.size() >= properties.getMaxTrackedLines()) {
+                return;
+            }
+            count = counts.computeIfAbsent(lineId, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * @param limit 最多回傳的產線數
+     * @return 存取次數最多的產線 ID，由多到少
+     */
+    public List<String> hottest(int limit) {
+        List<Map.Entry<String, Long>> snapshot = new ArrayList<>(counts.size());
+        counts.forEach((lineId, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                snapshot.add(new AbstractMap.SimpleImmutableEntry<>(lineId, sum));
+            }
+        });
+        return snapshot.stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(Math.max(0, limit))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 所有計數減半；減到 0 的產線不再追蹤。
+     */
+    public void decay() {
+        counts.forEach((lineId, count) -> {
+            long half = count.sumThenReset() / 2;
+            if (half == 0) {
+                counts.remove(lineId, count);
+            } else {
+                count.add(half);
+            }
+        });
+    }
+
+    /**
+     * @return 目前追蹤的產線數
+     */
+    public int getTrackedCount() {
+        return counts.size();
+    }
+}
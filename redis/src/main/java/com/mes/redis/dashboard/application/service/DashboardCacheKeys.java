@@ -0,0 +1,53 @@
+package com.mes.redis.dashboard.application.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [DDD Pattern: Application Layer - 看板快取鍵與標籤]
+ * [SOLID: SRP - 集中定義看板快取的鍵格式與失效標籤]
+ *
+ * 看板相關的 Command / Query Handler 共用同一組鍵與標籤，
+ * 讓寫入端登記的標籤與失效端使用的標籤保持一致：
+ * <pre>
+ * 鍵：   dashboard:&lt;lineId&gt;
+ * 標籤： dashboard            （所有產線看板，一次清除全廠）
+ *        line:&lt;lineId&gt;       （單一產線相關的所有快取）
+ * </pre>
+ */
+public final class DashboardCacheKeys {
+
+    /** 所有看板共用的標籤。 */
+    public static final String ALL_DASHBOARDS_TAG = "dashboard";
+
+    private static final String DASHBOARD_KEY_PREFIX = "dashboard:";
+    private static final String LINE_TAG_PREFIX = "line:";
+
+    private DashboardCacheKeys() {
+    }
+
+    /**
+     * @param lineId 產線 ID
+     * @return 看板快取鍵
+     */
+    public static String dashboardKey(String lineId) {
+        return DASHBOARD_KEY_PREFIX + lineId;
+    }
+
+    /**
+     * @param lineId 產線 ID
+     * @return 看板快取應登記的標籤
+     */
+    public static List<String> dashboardTags(String lineId) {
+        return Collections.unmodifiableList(Arrays.asList(ALL_DASHBOARDS_TAG, lineTag(lineId)));
+    }
+
+    /**
+     * @param lineId 產線 ID
+     * @return 單一產線的標籤
+     */
+    public static String lineTag(String lineId) {
+        return LINE_TAG_PREFIX + lineId;
+    }
+}
@@ -0,0 +1,302 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [DDD Pattern: Application Service - 看板快取預熱與熱門產線刷新]
+ * [SOLID: SRP - 只負責在快取冷啟動前預先載入看板，並保持熱門看板常駐]
+ * [SOLID: DIP - 依賴 Repository 與 CachePort 抽象]
+ *
+ * 部署或 Redis 清空後所有 {@code dashboard:<lineId>} 都是冷的，第一波查詢會同時打到 Repository。
+ * 此服務：
+ * <ol>
+ *   <li>啟動時（{@link ApplicationRunner}，在應用程式回報就緒之前）從 Repository 列出所有產線，
+ *       以最多 concurrency 個執行緒並行建立看板視圖，再以 {@link CachePort#putAll} 每 batch-size 筆一次管線寫入</li>
+ *   <li>預熱完成前 {@link #getState()} 不是 COMPLETED，就緒探針（cacheWarmUp 健康指標）回報 OUT_OF_SERVICE</li>
+ *   <li>每隔 refresh-interval 依 {@link DashboardAccessTracker} 的存取次數刷新最熱門的 hot-lines 條產線，
+ *       讓熱門看板在 TTL 到期前就被重寫，不會因過期而集中未命中</li>
+ * </ol>
+ * 寫入快取後同時更新 {@link SingleFlightCacheLoader} 在本節點的載入紀錄。
+ *
+ * 單一產線載入失敗只記錄並略過，該產線留待查詢時載入；超過 timeout 仍未完成的產線亦同。
+ * 存取次數是各節點各自累計，因此每個節點刷新的是自己的熱門產線。
+ */
+@Component
+public class DashboardCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCacheWarmer.class);
+    private static final long CACHE_TTL_SECONDS = 1800;
+
+    private final DashboardMetricsRepository repository;
+    private final CachePort cachePort;
+    private final DashboardAccessTracker accessTracker;
+    private final CacheWarmUpProperties properties;
+    private final SingleFlightCacheLoader cacheLoader;
+
+    private volatile State state = State.NOT_STARTED;
+    private volatile WarmUpResult lastWarmUp;
+    private ExecutorService loaders;
+    private ScheduledExecutorService refresher;
+
+    public DashboardCacheWarmer(DashboardMetricsRepository repository, CachePort cachePort,
+                                DashboardAccessTracker accessTracker, CacheWarmUpProperties properties,
+                                SingleFlightCacheLoader cacheLoader) {
+        this.repository = repository;
+        this.cachePort = cachePort;
+        this.accessTracker = accessTracker;
+        this.properties = properties;
+        this.cacheLoader = cacheLoader;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            state = State.DISABLED;
+            return;
+        }
+        long intervalMillis = properties.getRefreshInterval().toMillis();
+        if (intervalMillis > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-hot-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Dashboard cache warmer started: {}", properties);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        if (loaders != null) {
+            loaders.shutdownNow();
+        }
+    }
+
+    /**
+     * 啟動預熱。Spring Boot 在所有 {@link ApplicationRunner} 執行完畢後才將就緒狀態設為 ACCEPTING_TRAFFIC。
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * 預熱所有產線的看板快取。
+     *
+     * @return 預熱結果
+     */
+    public WarmUpResult warmUp() {
+        state = State.RUNNING;
+        long start = System.currentTimeMillis();
+        try {
+            List<String> lineIds = repository.findAllLineIds();
+            LoadResult loaded = loadViews(lineIds);
+            writeViews(loaded.views);
+            WarmUpResult result = new WarmUpResult(lineIds.size(), loaded.views.size(), loaded.failed,
+                    System.currentTimeMillis() - start);
+            lastWarmUp = result;
+            log.info("Dashboard cache warm-up completed: lines={}, warmed={}, failed={}, took={} ms",
+                    result.getLines(), result.getWarmed(), result.getFailed(), result.getDurationMillis());
+            return result;
+        } catch (Exception e) {
+            log.warn("Dashboard cache warm-up failed, dashboards will be loaded on demand: {}", e.getMessage());
+            lastWarmUp = new WarmUpResult(0, 0, 0, System.currentTimeMillis() - start);
+            return lastWarmUp;
+        } finally {
+            // 預熱失敗也視為完成：快取仍可在查詢時載入，不應讓節點永遠無法就緒
+            state = State.COMPLETED;
+        }
+    }
+
+    /**
+     * 重新載入並寫入存取次數最多的產線，之後將存取計數減半。
+     *
+     * @return 刷新的產線數
+     */
+    public int refreshHotLines() {
+        List<String> hottest = accessTracker.hottest(properties.getHotLines());
+        accessTracker.decay();
+        if (hottest.isEmpty()) {
+            return 0;
+        }
+        LoadResult loaded = loadViews(hottest);
+        writeViews(loaded.views);
+        log.debug("Refreshed hot dashboards: requested={}, refreshed={}", hottest.size(), loaded.views.size());
+        return loaded.views.size();
+    }
+
+    /**
+     * @return 預熱狀態
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return 最近一次預熱的結果；尚未預熱時為空
+     */
+    public Optional<WarmUpResult> getLastWarmUp() {
+        return Optional.ofNullable(lastWarmUp);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refreshHotLines();
+        } catch (Exception e) {
+            log.warn("Hot dashboard refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 並行載入看板視圖；並行度由執行緒池大小限制，所有產線共用 timeout 期限。
+     */
+    private LoadResult loadViews(List<String> lineIds) {
+        Map<String, Future<Optional<DashboardView>>> futures = new LinkedHashMap<>();
+        for (String lineId : lineIds) {
+            futures.put(lineId, loaderPool().submit(() -> repository.findLatestByLineId(lineId)
+                    .map(DashboardAssembler::toView)));
+        }
+
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        Map<String, DashboardView> views = new LinkedHashMap<>();
+        int failed = 0;
+        for (Map.Entry<String, Future<Optional<DashboardView>>> entry : futures.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                Optional<DashboardView> view = entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                view.ifPresent(v -> views.put(DashboardCacheKeys.dashboardKey(entry.getKey()), v));
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                failed++;
+            } catch (ExecutionException e) {
+                log.warn("Failed to load dashboard for warm-up: lineId={}, error={}",
+                        entry.getKey(), e.getCause().getMessage());
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(true);
+                failed++;
+            }
+        }
+        return new LoadResult(views, failed);
+    }
+
+    private void writeViews(Map<String, DashboardView> views) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        Map<String, DashboardView> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, DashboardView> entry : views.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                putBatch(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            putBatch(batch);
+        }
+    }
+
+    private void putBatch(Map<String, DashboardView> batch) {
+        cachePort.putAll(batch, CACHE_TTL_SECONDS,
+                key -> DashboardCacheKeys.dashboardTags(batch.get(key).getLineId()));
+        cacheLoader.recordWrites(batch, CACHE_TTL_SECONDS);
+    }
+
+    /**
+     * 載入用的執行緒池在第一次預熱或刷新時建立，執行緒數即為並行度上限。
+     */
+    private synchronized ExecutorService loaderPool() {
+        if (loaders == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            loaders = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-warm-up-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return loaders;
+    }
+
+    private static final class LoadResult {
+        private final Map<String, DashboardView> views;
+        private final int failed;
+
+        private LoadResult(Map<String, DashboardView> views, int failed) {
+            this.views = views;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * 預熱狀態。
+     */
+    public enum State {
+        NOT_STARTED,
+        RUNNING,
+        COMPLETED,
+        DISABLED
+    }
+
+    /**
+     * 單次預熱的結果。
+     */
+    public static final class WarmUpResult {
+        private final int lines;
+        private final int warmed;
+        private final int failed;
+        private final long durationMillis;
+
+        WarmUpResult(int lines, int warmed, int failed, long durationMillis) {
+            this.lines = lines;
+            this.warmed = warmed;
+            this.failed = failed;
+            this.durationMillis = durationMillis;
+        }
+
+        public int getLines() {
+            return lines;
+        }
+
+        public int getWarmed() {
+            return warmed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+    }
+}
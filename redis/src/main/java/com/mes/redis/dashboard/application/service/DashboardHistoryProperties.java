@@ -0,0 +1,134 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責看板歷史的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     history:
+ *       enabled: true
+ *       roll-up-interval: 30s
+ *       raw-retention: 6h
+ *       minute-retention: 2d
+ *       fifteen-minute-retention: 14d
+ *       hour-retention: 90d
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.history")
+public class DashboardHistoryProperties {
+
+    /**
+     * 是否記錄看板歷史並定期彙總。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 背景彙總與保留期清理的執行間隔。
+     */
+    private Duration rollUpInterval = Duration.ofSeconds(30);
+
+    /**
+     * 原始資料點的保留時間；需大於彙總間隔，否則尚未彙總的資料會先被清除。
+     */
+    private Duration rawRetention = Duration.ofHours(6);
+
+    /**
+     * 1 分鐘彙總的保留時間。
+     */
+    private Duration minuteRetention = Duration.ofDays(2);
+
+    /**
+     * 15 分鐘彙總的保留時間。
+     */
+    private Duration fifteenMinuteRetention = Duration.ofDays(14);
+
+    /**
+     * 1 小時彙總的保留時間。
+     */
+    private Duration hourRetention = Duration.ofDays(90);
+
+    /**
+     * @param resolution 解析度
+     * @return 該解析度的保留時間
+     */
+    public Duration getRetention(HistoryResolution resolution) {
+        switch (resolution) {
+            case MINUTE:
+                return minuteRetention;
+            case FIFTEEN_MINUTES:
+                return fifteenMinuteRetention;
+            case HOUR:
+                return hourRetention;
+            default:
+                return rawRetention;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRollUpInterval() {
+        return rollUpInterval;
+    }
+
+    public void setRollUpInterval(Duration rollUpInterval) {
+        this.rollUpInterval = rollUpInterval;
+    }
+
+    public Duration getRawRetention() {
+        return rawRetention;
+    }
+
+    public void setRawRetention(Duration rawRetention) {
+        this.rawRetention = rawRetention;
+    }
+
+    public Duration getMinuteRetention() {
+        return minuteRetention;
+    }
+
+    public void setMinuteRetention(Duration minuteRetention) {
+        this.minuteRetention = minuteRetention;
+    }
+
+    public Duration getFifteenMinuteRetention() {
+        return fifteenMinuteRetention;
+    }
+
+    public void setFifteenMinuteRetention(Duration fifteenMinuteRetention) {
+        this.fifteenMinuteRetention = fifteenMinuteRetention;
+    }
+
+    public Duration getHourRetention() {
+        return hourRetention;
+    }
+
+    public void setHourRetention(Duration hourRetention) {
+        this.hourRetention = hourRetention;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardHistoryProperties{" +
+                "enabled=" + enabled +
+                ", rollUpInterval=" + rollUpInterval +
+                ", rawRetention=" + rawRetention +
+                ", minuteRetention=" + minuteRetention +
+                ", fifteenMinuteRetention=" + fifteenMinuteRetention +
+                ", hourRetention=" + hourRetention +
+                '}';
+    }
+}
@@ -0,0 +1,272 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.common.ddd.event.DomainEvent;
+import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
+import com.mes.redis.dashboard.domain.event.DashboardUpdatedEvent;
+import com.mes.redis.dashboard.domain.model.DashboardHistoryPoint;
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+import com.mes.redis.dashboard.domain.model.MetricsTimeRange;
+import com.mes.redis.dashboard.domain.port.out.DashboardHistoryPort;
+import com.mes.redis.dashboard.domain.port.out.DistributedLockPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [DDD Pattern: Application Service - 看板歷史紀錄與降採樣]
+ * [SOLID: SRP - 只負責歷史資料的記錄、彙總排程與解析度選擇]
+ * [SOLID: DIP - 依賴 DashboardHistoryPort 與 DistributedLockPort 抽象]
+ *
+ * 看板目前只保留最新的生產摘要；此服務把每次 {@link DashboardUpdatedEvent} 的快照
+ * 附加到產線的歷史序列，並在背景逐層彙總：
+ * <pre>
+ * RAW ──(每分鐘)──▶ 1m ──(每 15 分鐘)──▶ 15m ──(每小時)──▶ 1h
+ * </pre>
+ *
+ * 教學重點：
+ * <ul>
+ *   <li>只彙總已結束的時間桶，彙總結果寫入後不再變動；進度（rolled-up-until）與結果一起寫入</li>
+ *   <li>每種解析度有各自的保留期，越粗的資料保留越久，總資料量有上限</li>
+ *   <li>查詢時選擇「仍能提供足夠資料點」的最粗解析度，長時間範圍不必讀取大量原始資料</li>
+ *   <li>彙總以跨節點鎖確保同一時間只有一個節點執行；即使重複執行，同一時間桶也只會被取代</li>
+ * </ul>
+ *
+ * <p>最新一個尚未結束的時間桶不會出現在彙總解析度中，需要即時值時請讀取看板本身。</p>
+ *
+ * <p>彙總結果寫入後不再變動，因此時間戳早於 1m 彙總進度的遲到資料點會被明確拒絕（記錄並計數），
+ * 而不是寫入一個永遠不會被彙總的原始資料點。</p>
+ */
+@Component
+public class DashboardHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardHistoryService.class);
+    private static final String ROLL_UP_LOCK_KEY = "lock:history:roll-up";
+
+    private final DashboardHistoryPort historyPort;
+    private final DistributedLockPort lockPort;
+    private final DashboardHistoryProperties properties;
+    private final Clock clock;
+    private final AtomicLong rejectedLatePoints = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public DashboardHistoryService(DashboardHistoryPort historyPort, DistributedLockPort lockPort,
+                                   DashboardHistoryProperties properties) {
+        this(historyPort, lockPort, properties, Clock.systemDefaultZone());
+    }
+
+    DashboardHistoryService(DashboardHistoryPort historyPort, DistributedLockPort lockPort,
+                            DashboardHistoryProperties properties, Clock clock) {
+        this.historyPort = historyPort;
+        this.lockPort = lockPort;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 把帶有生產摘要的 {@link DashboardUpdatedEvent} 記錄為原始資料點。
+     * 歷史紀錄失敗不影響寫入流程，只記錄警告。
+     *
+     * @param events 聚合根註冊的領域事件
+     */
+    public void record(List<DomainEvent> events) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (DomainEvent event : events) {
+            if (!(event instanceof DashboardUpdatedEvent)) {
+                continue;
+            }
+            DashboardUpdatedEvent updated = (DashboardUpdatedEvent) event;
+            if (updated.getProductionSummary() == null) {
+                continue;
+            }
+            try {
+                if (isAlreadyRolledUp(updated.getLineId(), updated.getSnapshotTime())) {
+                    rejectedLatePoints.incrementAndGet();
+                    log.debug("Rejected late dashboard history point: lineId={}, snapshotTime={}",
+                            updated.getLineId(), updated.getSnapshotTime());
+                    continue;
+                }
+                historyPort.append(updated.getLineId(),
+                        DashboardHistoryPoint.of(updated.getSnapshotTime(), updated.getProductionSummary()));
+            } catch (Exception e) {
+                log.warn("Failed to record dashboard history: lineId={}, error={}",
+                        updated.getLineId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return 因時間戳早於彙總進度而被拒絕的遲到資料點數
+     */
+    public long getRejectedLatePoints() {
+        return rejectedLatePoints.get();
+    }
+
+    /**
+     * 查詢產線在時間範圍內的趨勢，自動選擇解析度。
+     *
+     * @param lineId 產線 ID
+     * @param range  時間範圍
+     * @param points 期望的資料點數
+     * @return 看板歷史趨勢視圖
+     */
+    public DashboardHistoryView query(String lineId, MetricsTimeRange range, int points) {
+        HistoryResolution resolution = selectResolution(range, points);
+        List<DashboardHistoryPoint> history = historyPort.findRange(
+                lineId, resolution, range.getFrom(), range.getTo());
+        log.debug("Dashboard history queried: lineId={}, resolution={}, points={}",
+                lineId, resolution.getCode(), history.size());
+        return DashboardAssembler.toHistoryView(lineId, resolution, range, history);
+    }
+
+    /**
+     * 選擇能提供至少 {@code points} 個資料點、且保留期涵蓋整個範圍的最粗解析度。
+     * 沒有任何解析度能提供足夠的點數時，退而使用保留期涵蓋範圍的最細解析度；
+     * 範圍早於所有保留期時，使用保留期最長的解析度。
+     *
+     * @param range  時間範圍
+     * @param points 期望的資料點數
+     * @return 解析度
+     */
+    public HistoryResolution selectResolution(MetricsTimeRange range, int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("Points must be positive");
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        HistoryResolution[] resolutions = HistoryResolution.values();
+        HistoryResolution finestRetained = null;
+        HistoryResolution longestRetained = resolutions[0];
+        for (int i = resolutions.length - 1; i >= 0; i--) {
+            HistoryResolution resolution = resolutions[i];
+            if (properties.getRetention(resolution).compareTo(properties.getRetention(longestRetained)) > 0) {
+                longestRetained = resolution;
+            }
+            if (range.getFrom().isBefore(now.minus(properties.getRetention(resolution)))) {
+                continue;
+            }
+            if (resolution.pointsIn(range) >= points) {
+                return resolution;
+            }
+            finestRetained = resolution;
+        }
+        return finestRetained != null ? finestRetained : longestRetained;
+    }
+
+    /**
+     * 對所有產線執行一次彙總與保留期清理。其他節點正在執行時直接略過。
+     *
+     * @return 本次寫入的彙總資料點數
+     */
+    public int rollUp() {
+        String token = lockPort.tryLock(ROLL_UP_LOCK_KEY, properties.getRollUpInterval().toMillis());
+        if (token == null) {
+            log.debug("Dashboard history roll-up is running on another node, skipping");
+            return 0;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            int written = 0;
+            for (String lineId : historyPort.findLineIds()) {
+                for (HistoryResolution resolution : HistoryResolution.values()) {
+                    if (resolution.isRollUp()) {
+                        written += rollUp(lineId, resolution, now);
+                    }
+                }
+                for (HistoryResolution resolution : HistoryResolution.values()) {
+                    historyPort.trim(lineId, resolution, now.minus(properties.getRetention(resolution)));
+                }
+            }
+            if (written > 0) {
+                log.debug("Dashboard history rolled up: buckets={}", written);
+            }
+            return written;
+        } finally {
+            lockPort.unlock(ROLL_UP_LOCK_KEY, token);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalMillis = properties.getRollUpInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-history-roll-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rollUpQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Dashboard history roll-up scheduled every {} ms", intervalMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 彙總單一產線、單一解析度自上次進度起到目前為止已結束的時間桶。
+     */
+    private int rollUp(String lineId, HistoryResolution resolution, LocalDateTime now) {
+        HistoryResolution source = resolution.getSource();
+        LocalDateTime until = resolution.bucketStart(now);
+        LocalDateTime from = historyPort.findRolledUpUntil(lineId, resolution)
+                .orElseGet(() -> resolution.bucketStart(now.minus(properties.getRetention(source))));
+        if (!from.isBefore(until)) {
+            return 0;
+        }
+
+        Map<LocalDateTime, List<DashboardHistoryPoint>> byBucket = new TreeMap<>();
+        for (DashboardHistoryPoint point : historyPort.findRange(lineId, source, from, until)) {
+            byBucket.computeIfAbsent(resolution.bucketStart(point.getTimestamp()), k -> new ArrayList<>())
+                    .add(point);
+        }
+        List<DashboardHistoryPoint> buckets = new ArrayList<>(byBucket.size());
+        for (Map.Entry<LocalDateTime, List<DashboardHistoryPoint>> entry : byBucket.entrySet()) {
+            buckets.add(DashboardHistoryPoint.rollUp(entry.getKey(), entry.getValue()));
+        }
+        historyPort.saveRollUps(lineId, resolution, buckets, until);
+        return buckets.size();
+    }
+
+    /**
+     * 判斷資料點所屬的 1m 時間桶是否已經彙總。仍在目前時間桶內的資料點不必查詢進度。
+     */
+    private boolean isAlreadyRolledUp(String lineId, LocalDateTime timestamp) {
+        if (!timestamp.isBefore(HistoryResolution.MINUTE.bucketStart(LocalDateTime.now(clock)))) {
+            return false;
+        }
+        return historyPort.findRolledUpUntil(lineId, HistoryResolution.MINUTE)
+                .map(timestamp::isBefore)
+                .orElse(false);
+    }
+
+    private void rollUpQuietly() {
+        try {
+            rollUp();
+        } catch (Exception e) {
+            log.warn("Dashboard history roll-up failed: {}", e.getMessage());
+        }
+    }
+}
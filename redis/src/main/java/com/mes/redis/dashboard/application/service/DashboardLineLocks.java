@@ -0,0 +1,38 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * [DDD Pattern: Application Service - 產線看板的單機寫入鎖]
+ * [SOLID: SRP - 只負責序列化同一條產線的「載入 → 修改 → 儲存」]
+ *
+ * {@code InMemoryDashboardRepository} 回傳的是共用的聚合根實例，
+ * 而 {@code DashboardMetrics} 內的設備索引、狀態列表與領域事件列表都不是執行緒安全的。
+ * 命令處理器（請求執行緒）與設備狀態寫入緩衝（背景執行緒）修改同一條產線前都必須取得此鎖，
+ * 不同產線之間互不阻塞。
+ *
+ * <p>鎖物件每條產線一個，產線數有限，不需要回收。</p>
+ */
+@Component
+public class DashboardLineLocks {
+
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 在持有產線鎖的情況下執行。
+     *
+     * @param lineId 產線 ID
+     * @param action 修改看板的動作
+     * @return 動作的回傳值
+     */
+    public <T> T withLock(String lineId, Supplier<T> action) {
+        Object lock = locks.computeIfAbsent(lineId, k -> new Object());
+        synchronized (lock) {
+            return action.get();
+        }
+    }
+}
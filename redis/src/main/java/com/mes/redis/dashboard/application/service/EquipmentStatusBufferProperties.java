@@ -0,0 +1,71 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責設備狀態寫入緩衝的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     equipment-buffer:
+ *       enabled: true
+ *       flush-interval: 200ms
+ *       max-pending: 1000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.equipment-buffer")
+public class EquipmentStatusBufferProperties {
+
+    /**
+     * 是否合併設備狀態變更後批次寫回；關閉時每個命令直接寫回。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 定期寫回的間隔，也是狀態變更反映到看板的最長延遲。
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * 待寫回的設備數達到此值時立即寫回，不等待下一個間隔。
+     */
+    private int maxPending = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    public String toString() {
+        return "EquipmentStatusBufferProperties{" +
+                "enabled=" + enabled +
+                ", flushInterval=" + flushInterval +
+                ", maxPending=" + maxPending +
+                '}';
+    }
+}
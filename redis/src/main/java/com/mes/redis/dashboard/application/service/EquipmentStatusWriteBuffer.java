@@ -0,0 +1,322 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.common.ddd.event.DomainEvent;
+import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.domain.model.CacheExpiry;
+import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
+import com.mes.redis.dashboard.domain.model.EquipmentStatusSnapshot;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [DDD Pattern: Application Service - 設備狀態合併寫入緩衝]
+ * [SOLID: SRP - 只負責合併高頻設備狀態變更並批次寫回]
+ * [SOLID: DIP - 依賴 Repository 與 CachePort 抽象]
+ *
+ * 設備狀態可能在一秒內跳動多次；若每次變更都走一次「載入 → 修改 → 儲存 → 序列化 → 寫入快取」，
+ * Redis 的寫入量會跟著狀態跳動的次數成長。此緩衝：
+ * <ol>
+ *   <li>以 (lineId, equipmentId) 為鍵只保留最新狀態，同一台設備在一個間隔內的多次變更合併為一次</li>
+ *   <li>每隔 flush-interval，或待寫回的設備數達到 max-pending 時，依產線分組寫回：
+ *       每條產線載入一次聚合根、一次套用所有設備、儲存一次</li>
+ *   <li>所有產線的看板視圖以一次 {@link CachePort#putAll} 寫入快取，並更新 {@link SingleFlightCacheLoader} 的載入紀錄</li>
+ * </ol>
+ * 因此寫入量只與「有變更的設備數」有關，與狀態跳動的頻率無關。
+ * 寫回在背景執行緒進行，每條產線的修改都在 {@link DashboardLineLocks} 內完成，與命令處理器互斥。
+ *
+ * <p>代價是狀態變更最多延遲一個 flush-interval 才反映到看板；
+ * 關閉緩衝（enabled=false）時每個命令立即寫回。應用程式關閉時會先寫回所有待處理的變更。</p>
+ */
+@Component
+public class EquipmentStatusWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentStatusWriteBuffer.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int DEFAULT_TTL_SECONDS = 1800;
+
+    private final DashboardMetricsRepository repository;
+    private final CachePort cachePort;
+    private final EquipmentStatusBufferProperties properties;
+    private final DashboardLineLocks lineLocks;
+    private final SingleFlightCacheLoader cacheLoader;
+
+    private final ConcurrentMap<PendingKey, EquipmentStatusSnapshot> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService flusher;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong flushedEquipment = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    public EquipmentStatusWriteBuffer(DashboardMetricsRepository repository, CachePort cachePort,
+                                      EquipmentStatusBufferProperties properties, DashboardLineLocks lineLocks,
+                                      SingleFlightCacheLoader cacheLoader) {
+        this.repository = repository;
+        this.cachePort = cachePort;
+        this.properties = properties;
+        this.lineLocks = lineLocks;
+        this.cacheLoader = cacheLoader;
+    }
+
+    /**
+     * 接收一次設備狀態變更。啟用緩衝時只記錄最新狀態，由背景寫回；否則立即寫回。
+     *
+     * @param lineId   產線 ID
+     * @param snapshot 設備狀態快照（時間為狀態變更的時間，而非寫回的時間）
+     */
+    public void submit(String lineId, EquipmentStatusSnapshot snapshot) {
+        submitted.incrementAndGet();
+
+        if (!properties.isEnabled()) {
+            write(Collections.singletonMap(lineId, Collections.singletonList(snapshot)));
+            return;
+        }
+
+        if (pending.put(new PendingKey(lineId, snapshot.getEquipmentId()), snapshot) != null) {
+            coalesced.incrementAndGet();
+        }
+        if (pending.size() >= properties.getMaxPending()) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * 立即寫回目前所有待處理的設備狀態。
+     *
+     * @return 寫回的設備數
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            Map<String, List<EquipmentStatusSnapshot>> byLine = drain();
+            if (byLine.isEmpty()) {
+                return 0;
+            }
+            int written = write(byLine);
+            flushes.incrementAndGet();
+            log.debug("Equipment status buffer flushed: lines={}, equipment={}", byLine.size(), written);
+            return written;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equipment-status-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Equipment status write buffer started: flushInterval={} ms, maxPending={}",
+                intervalMillis, properties.getMaxPending());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(properties.getFlushInterval().toMillis() * 5, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushQuietly();
+    }
+
+    /**
+     * @return 目前待寫回的設備數
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return 累計接收的狀態變更數
+     */
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    /**
+     * @return 累計被後續變更取代、不需寫回的狀態變更數
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return 累計寫回的設備數
+     */
+    public long getFlushedCount() {
+        return flushedEquipment.get();
+    }
+
+    /**
+     * @return 累計寫回次數
+     */
+    public long getFlushCount() {
+        return flushes.get();
+    }
+
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        if (flusher != null) {
+            flusher.execute(this::flushQuietly);
+        } else {
+            flushQuietly();
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Equipment status buffer flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 逐一移除待處理的鍵並依產線分組。移除是逐鍵原子操作，
+     * 寫回期間到達的新變更會留在緩衝中，由下一次寫回處理。
+     */
+    private Map<String, List<EquipmentStatusSnapshot>> drain() {
+        Map<String, List<EquipmentStatusSnapshot>> byLine = new LinkedHashMap<>();
+        for (PendingKey key : pending.keySet()) {
+            EquipmentStatusSnapshot snapshot = pending.remove(key);
+            if (snapshot != null) {
+                byLine.computeIfAbsent(key.lineId, k -> new ArrayList<>()).add(snapshot);
+            }
+        }
+        return byLine;
+    }
+
+    private int write(Map<String, List<EquipmentStatusSnapshot>> byLine) {
+        Map<String, DashboardView> views = new LinkedHashMap<>();
+        Map<String, String> lineIdByKey = new HashMap<>();
+        int written = 0;
+        for (Map.Entry<String, List<EquipmentStatusSnapshot>> entry : byLine.entrySet()) {
+            String lineId = entry.getKey();
+            try {
+                // 與命令處理器共用產線鎖：聚合根是共用實例，修改與讀取視圖都必須在鎖內完成
+                DashboardView view = lineLocks.withLock(lineId, () -> {
+                    DashboardMetrics metrics = loadOrCreate(lineId);
+                    int registeredBefore = metrics.getDomainEvents().size();
+                    metrics.applyEquipmentStatuses(entry.getValue());
+                    repository.save(metrics);
+                    // 只清除這次套用註冊的事件，其他流程註冊的事件留給它們自己處理
+                    List<DomainEvent> registered = new ArrayList<>(metrics.getDomainEvents()
+                            .subList(registeredBefore, metrics.getDomainEvents().size()));
+                    metrics.clearEvents(registered);
+                    return DashboardAssembler.toView(metrics);
+                });
+
+                String key = DashboardCacheKeys.dashboardKey(lineId);
+                views.put(key, view);
+                lineIdByKey.put(key, lineId);
+                written += entry.getValue().size();
+            } catch (Exception e) {
+                log.warn("Failed to write equipment statuses, keeping them for the next flush: lineId={}, error={}",
+                        lineId, e.getMessage());
+                requeue(lineId, entry.getValue());
+            }
+        }
+        if (!views.isEmpty()) {
+            cachePort.putAll(views, DEFAULT_TTL_SECONDS,
+                    key -> DashboardCacheKeys.dashboardTags(lineIdByKey.get(key)));
+            cacheLoader.recordWrites(views, DEFAULT_TTL_SECONDS);
+        }
+        flushedEquipment.addAndGet(written);
+        return written;
+    }
+
+    /**
+     * 寫回失敗時放回緩衝；若期間已有較新的狀態則保留較新的。
+     */
+    private void requeue(String lineId, List<EquipmentStatusSnapshot> snapshots) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (EquipmentStatusSnapshot snapshot : snapshots) {
+            pending.putIfAbsent(new PendingKey(lineId, snapshot.getEquipmentId()), snapshot);
+        }
+    }
+
+    private DashboardMetrics loadOrCreate(String lineId) {
+        String dateStr = LocalDateTime.now().format(DATE_FORMAT);
+        DashboardMetricsId metricsId = DashboardMetricsId.of(lineId, dateStr);
+
+        Optional<DashboardMetrics> existing = repository.findById(metricsId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        return new DashboardMetrics(
+                metricsId,
+                lineId,
+                new CacheExpiry(DEFAULT_TTL_SECONDS, LocalDateTime.now()));
+    }
+
+    /**
+     * 緩衝鍵：(lineId, equipmentId)。
+     */
+    private static final class PendingKey {
+
+        private final String lineId;
+        private final String equipmentId;
+
+        private PendingKey(String lineId, String equipmentId) {
+            this.lineId = lineId;
+            this.equipmentId = equipmentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PendingKey)) {
+                return false;
+            }
+            PendingKey that = (PendingKey) o;
+            return lineId.equals(that.lineId) && equipmentId.equals(that.equipmentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lineId, equipmentId);
+        }
+    }
+}
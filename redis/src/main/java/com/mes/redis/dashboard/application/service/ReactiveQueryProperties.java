@@ -0,0 +1,56 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責非阻塞查詢路徑的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     reactive:
+ *       cache-timeout: 200ms
+ *       load-timeout: 2s
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.reactive")
+public class ReactiveQueryProperties {
+
+    /**
+     * 單次快取讀寫的逾時；讀取逾時視為未命中並改由 Repository 載入，寫回逾時則直接回傳已載入的結果。
+     */
+    private Duration cacheTimeout = Duration.ofMillis(200);
+
+    /**
+     * 整個查詢（含快取讀取與 Repository 載入）的逾時，逾時後以錯誤結束。
+     */
+    private Duration loadTimeout = Duration.ofSeconds(2);
+
+    public Duration getCacheTimeout() {
+        return cacheTimeout;
+    }
+
+    public void setCacheTimeout(Duration cacheTimeout) {
+        this.cacheTimeout = cacheTimeout;
+    }
+
+    public Duration getLoadTimeout() {
+        return loadTimeout;
+    }
+
+    public void setLoadTimeout(Duration loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "ReactiveQueryProperties{" +
+                "cacheTimeout=" + cacheTimeout +
+                ", loadTimeout=" + loadTimeout +
+                '}';
+    }
+}
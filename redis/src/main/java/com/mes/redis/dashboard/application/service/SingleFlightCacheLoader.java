@@ -0,0 +1,376 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.port.out.DistributedLockPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * [DDD Pattern: Application Service - 具雪崩防護的快取載入器]
+ * [SOLID: SRP - 只負責「何時、由誰」重新載入快取]
+ * [SOLID: DIP - 依賴 CachePort 與 DistributedLockPort 抽象]
+ *
+ * 在 Cache-Aside 的讀取路徑上加入三層防護，避免熱門鍵過期的瞬間大量請求同時打到資料來源：
+ * <ol>
+ *   <li>單飛（single-flight）：同一節點上同一個鍵同時只有一個載入，其他執行緒等待同一個結果。</li>
+ *   <li>跨節點短鎖：載入前以 {@link DistributedLockPort} 取得短期鎖；未取得鎖的節點輪詢快取，
+ *       直到持鎖節點寫入或等待逾時（逾時後自行載入，寧可重複載入也不讓讀取卡住）。</li>
+ *   <li>機率式提前刷新（XFetch）：本節點記錄每個鍵的載入耗時與到期時間，
+ *       命中時以 {@code now - delta * beta * ln(rand) >= expiry} 判斷是否在背景提前刷新；
+ *       越接近到期、載入越慢，越可能提前刷新，讓快取在過期前就被替換。</li>
+ * </ol>
+ *
+ * <p>啟用 stale-while-revalidate 時，快取過期後會先回傳本節點保留的舊值並在背景重新載入，
+ * 讀取端不必等待載入完成。舊值只在 TTL 到期後使用：明確失效時呼叫 {@link #invalidate(String)}
+ * 一併丟棄舊值；在本節點記錄的到期時間之前就未命中，表示鍵是被刪除（例如其他節點失效）而非到期，
+ * 同樣不回傳舊值而改為同步載入。</p>
+ *
+ * <p>提前刷新所需的載入耗時與到期時間只記錄在本節點（由本節點載入的鍵），
+ * 快取中的值仍是原本的型別，不影響寫入端與其他讀取者。
+ * 不經過載入器的寫入（Write-Through、寫入緩衝寫回、預熱）寫入後呼叫 {@link #recordWrite}，
+ * 以寫入的值與到期時間更新紀錄，舊值與提前刷新的判斷才不會停留在寫入前的載入結果。</p>
+ */
+@Component
+public class SingleFlightCacheLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightCacheLoader.class);
+    private static final String LOCK_KEY_PREFIX = "lock:";
+    private static final int REFRESH_QUEUE_CAPACITY = 100;
+
+    private final CachePort cachePort;
+    private final DistributedLockPort lockPort;
+    private final StampedeProtectionProperties properties;
+    private final Executor refreshExecutor;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, LoadRecord> loadRecords;
+
+    @Autowired
+    public SingleFlightCacheLoader(CachePort cachePort, DistributedLockPort lockPort,
+                                   StampedeProtectionProperties properties) {
+        this(cachePort, lockPort, properties, newRefreshExecutor(properties.getRefreshThreads()),
+                System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    SingleFlightCacheLoader(CachePort cachePort, DistributedLockPort lockPort,
+                            StampedeProtectionProperties properties, Executor refreshExecutor,
+                            LongSupplier clock, DoubleSupplier random) {
+        this.cachePort = cachePort;
+        this.lockPort = lockPort;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.random = random;
+        final int maxTrackedKeys = properties.getMaxTrackedKeys();
+        this.loadRecords = new LinkedHashMap<String, LoadRecord>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LoadRecord> eldest) {
+                return size() > maxTrackedKeys;
+            }
+        };
+    }
+
+    /**
+     * 讀取快取，未命中時以雪崩防護的方式載入並寫入快取。
+     *
+     * @param key        快取鍵
+     * @param type       值的型別
+     * @param ttlSeconds 寫入快取的存活時間（秒）
+     * @param tags       寫入快取時登記的標籤
+     * @param loader     從資料來源載入值；拋出的 RuntimeException 會原樣傳給所有等待者
+     * @return 快取值或新載入的值
+     */
+    public <T> T get(String key, Class<T> type, long ttlSeconds, Collection<String> tags, Supplier<T> loader) {
+        T cached = cachePort.get(key, type);
+        if (cached != null) {
+            if (shouldRefreshEarly(key)) {
+                log.debug("Early refresh triggered: key={}", key);
+                refreshInBackground(key, type, ttlSeconds, tags, loader);
+            }
+            return cached;
+        }
+
+        if (properties.isStaleWhileRevalidate()) {
+            T stale = staleValue(key, type);
+            if (stale != null) {
+                log.debug("Serving stale value while revalidating: key={}", key);
+                refreshInBackground(key, type, ttlSeconds, tags, loader);
+                return stale;
+            }
+        }
+
+        return type.cast(loadOnce(key, type, ttlSeconds, tags, loader, false));
+    }
+
+    /**
+     * 明確失效單一鍵時丟棄本節點保留的舊值，之後的未命中會同步載入而不回傳舊值。
+     *
+     * @param key 快取鍵
+     */
+    public void invalidate(String key) {
+        synchronized (loadRecords) {
+            loadRecords.remove(key);
+        }
+    }
+
+    /**
+     * 不經過載入器寫入快取後呼叫：以寫入的值與新的到期時間取代本節點的載入紀錄，沿用上次量測的載入耗時。
+     * 本節點沒有載入過的鍵沒有紀錄，不需更新。
+     *
+     * @param key        快取鍵
+     * @param value      寫入的值
+     * @param ttlSeconds 寫入時的存活時間（秒）
+     */
+    public void recordWrite(String key, Object value, long ttlSeconds) {
+        long expiresAt = clock.getAsLong() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        synchronized (loadRecords) {
+            LoadRecord previous = loadRecords.get(key);
+            if (previous != null) {
+                loadRecords.put(key, new LoadRecord(value, expiresAt, previous.computeMillis));
+            }
+        }
+    }
+
+    /**
+     * 批次寫入快取後呼叫，逐鍵套用 {@link #recordWrite(String, Object, long)}。
+     *
+     * @param values     寫入的鍵值
+     * @param ttlSeconds 寫入時的存活時間（秒）
+     */
+    public void recordWrites(Map<String, ?> values, long ttlSeconds) {
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            recordWrite(entry.getKey(), entry.getValue(), ttlSeconds);
+        }
+    }
+
+    /**
+     * 依標籤或樣式失效時無法得知實際被刪除的鍵，丟棄本節點保留的所有舊值。
+     */
+    public void invalidateAll() {
+        synchronized (loadRecords) {
+            loadRecords.clear();
+        }
+    }
+
+    /**
+     * @return 目前本節點正在載入中的鍵數
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService) {
+            ((ExecutorService) refreshExecutor).shutdownNow();
+        }
+    }
+
+    private <T> Object loadOnce(String key, Class<T> type, long ttlSeconds, Collection<String> tags,
+                                Supplier<T> loader, boolean refresh) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("Joining in-flight load: key={}", key);
+            Object joined = await(existing);
+            if (joined != null || refresh) {
+                return joined;
+            }
+            // 加入的是被其他節點搶先的背景刷新，沒有帶回值
+            return loadWithLock(key, type, ttlSeconds, tags, loader, false);
+        }
+        try {
+            T value = loadWithLock(key, type, ttlSeconds, tags, loader, refresh);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> T loadWithLock(String key, Class<T> type, long ttlSeconds, Collection<String> tags,
+                               Supplier<T> loader, boolean refresh) {
+        String lockKey = LOCK_KEY_PREFIX + key;
+        String token = lockPort.tryLock(lockKey, properties.getLockTtl().toMillis());
+        try {
+            if (token == null) {
+                if (refresh) {
+                    // 其他節點正在刷新，本節點的舊值仍可用
+                    return null;
+                }
+                T loadedElsewhere = awaitOtherNode(key, type);
+                if (loadedElsewhere != null) {
+                    return loadedElsewhere;
+                }
+                log.debug("Lock wait timed out, loading without lock: key={}", key);
+            } else if (!refresh) {
+                // 取得鎖前其他節點可能剛寫入
+                T cached = cachePort.get(key, type);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            long start = clock.getAsLong();
+            T value = loader.get();
+            long end = clock.getAsLong();
+            cachePort.put(key, value, ttlSeconds, tags);
+            record(key, new LoadRecord(value, end + TimeUnit.SECONDS.toMillis(ttlSeconds), end - start));
+            log.debug("Loaded and cached: key={}, computeMillis={}", key, end - start);
+            return value;
+        } finally {
+            if (token != null) {
+                lockPort.unlock(lockKey, token);
+            }
+        }
+    }
+
+    private <T> T awaitOtherNode(String key, Class<T> type) {
+        long pollMillis = Math.max(1, properties.getPollInterval().toMillis());
+        long deadline = clock.getAsLong() + properties.getLockWait().toMillis();
+        while (clock.getAsLong() < deadline) {
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            T cached = cachePort.get(key, type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private <T> void refreshInBackground(String key, Class<T> type, long ttlSeconds, Collection<String> tags,
+                                         Supplier<T> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    loadOnce(key, type, ttlSeconds, tags, loader, true);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh failed: key={}, error={}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Background refresh skipped, executor saturated: key={}", key);
+        }
+    }
+
+    private boolean shouldRefreshEarly(String key) {
+        double beta = properties.getEarlyRefreshBeta();
+        if (beta <= 0) {
+            return false;
+        }
+        LoadRecord record = record(key);
+        if (record == null) {
+            return false;
+        }
+        // XFetch：-ln(rand) 服從指數分佈，載入越慢（delta 越大）越早觸發
+        double gap = -record.computeMillis * beta * Math.log(random.getAsDouble());
+        return clock.getAsLong() + gap >= record.expiresAt;
+    }
+
+    private <T> T staleValue(String key, Class<T> type) {
+        LoadRecord record = record(key);
+        if (record == null || !type.isInstance(record.value)) {
+            return null;
+        }
+        if (clock.getAsLong() < record.expiresAt) {
+            // 尚未到期就未命中：鍵是被明確刪除的，舊值不可再使用
+            invalidate(key);
+            return null;
+        }
+        if (clock.getAsLong() > record.expiresAt + properties.getStaleTtl().toMillis()) {
+            return null;
+        }
+        return type.cast(record.value);
+    }
+
+    private LoadRecord record(String key) {
+        synchronized (loadRecords) {
+            return loadRecords.get(key);
+        }
+    }
+
+    private void record(String key, LoadRecord record) {
+        synchronized (loadRecords) {
+            loadRecords.put(key, record);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cache load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static ExecutorService newRefreshExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 本節點載入某個鍵的紀錄：值、邏輯到期時間與載入耗時。
+     */
+    private static final class LoadRecord {
+        private final Object value;
+        private final long expiresAt;
+        private final long computeMillis;
+
+        private LoadRecord(Object value, long expiresAt, long computeMillis) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.computeMillis = computeMillis;
+        }
+    }
+}
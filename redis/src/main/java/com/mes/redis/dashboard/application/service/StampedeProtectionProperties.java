@@ -0,0 +1,146 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責快取雪崩防護的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     stampede:
+ *       lock-ttl: 5s
+ *       lock-wait: 3s
+ *       poll-interval: 50ms
+ *       early-refresh-beta: 1.0
+ *       stale-while-revalidate: false
+ *       stale-ttl: 5m
+ *       refresh-threads: 2
+ *       max-tracked-keys: 10000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.stampede")
+public class StampedeProtectionProperties {
+
+    /**
+     * 跨節點載入鎖的存活時間，需大於一次載入的最長時間。
+     */
+    private Duration lockTtl = Duration.ofSeconds(5);
+
+    /**
+     * 未取得鎖的節點等待其他節點寫入快取的最長時間，逾時後自行載入。
+     */
+    private Duration lockWait = Duration.ofSeconds(3);
+
+    /**
+     * 等待期間輪詢快取的間隔。
+     */
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    /**
+     * 提前刷新的積極程度（XFetch 演算法的 beta）；大於 1 更早刷新，0 表示關閉提前刷新。
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /**
+     * 快取過期後是否先回傳本節點保留的舊值，並在背景重新載入。
+     */
+    private boolean staleWhileRevalidate = false;
+
+    /**
+     * 過期後舊值仍可被回傳的最長時間。
+     */
+    private Duration staleTtl = Duration.ofMinutes(5);
+
+    /**
+     * 背景刷新的執行緒數。
+     */
+    private int refreshThreads = 2;
+
+    /**
+     * 本節點最多追蹤的鍵數（載入時間、到期時間與舊值）。
+     */
+    private int maxTrackedKeys = 10_000;
+
+    public Duration getLockTtl() {
+        return lockTtl;
+    }
+
+    public void setLockTtl(Duration lockTtl) {
+        this.lockTtl = lockTtl;
+    }
+
+    public Duration getLockWait() {
+        return lockWait;
+    }
+
+    public void setLockWait(Duration lockWait) {
+        this.lockWait = lockWait;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public double getEarlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    public boolean isStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Duration getStaleTtl() {
+        return staleTtl;
+    }
+
+    public void setStaleTtl(Duration staleTtl) {
+        this.staleTtl = staleTtl;
+    }
+
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    public void setRefreshThreads(int refreshThreads) {
+        this.refreshThreads = refreshThreads;
+    }
+
+    public int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @Override
+    public String toString() {
+        return "StampedeProtectionProperties{" +
+                "lockTtl=" + lockTtl +
+                ", lockWait=" + lockWait +
+                ", pollInterval=" + pollInterval +
+                ", earlyRefreshBeta=" + earlyRefreshBeta +
+                ", staleWhileRevalidate=" + staleWhileRevalidate +
+                ", staleTtl=" + staleTtl +
+                ", refreshThreads=" + refreshThreads +
+                ", maxTrackedKeys=" + maxTrackedKeys +
+                '}';
+    }
+}
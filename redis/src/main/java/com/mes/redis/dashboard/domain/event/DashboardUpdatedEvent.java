@@ -1,6 +1,7 @@
 package com.mes.redis.dashboard.domain.event;
 
 import com.mes.common.ddd.event.BaseDomainEvent;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
 
 import java.time.LocalDateTime;
 
@@ -10,16 +11,26 @@ import java.time.LocalDateTime;
  *
  * 當看板指標的生產摘要或設備狀態被更新時觸發。
  * 不可變：事件一旦建立就不能修改。
+ *
+ * 事件攜帶當下的生產摘要快照（尚未設定摘要時為 null），
+ * 讓歷史紀錄等下游不必回頭查詢聚合根即可取得當時的數值。
  */
 public class DashboardUpdatedEvent extends BaseDomainEvent {
 
     private final String lineId;
     private final LocalDateTime snapshotTime;
+    private final ProductionSummary productionSummary;
 
     public DashboardUpdatedEvent(String aggregateId, String lineId, LocalDateTime snapshotTime) {
+        this(aggregateId, lineId, snapshotTime, null);
+    }
+
+    public DashboardUpdatedEvent(String aggregateId, String lineId, LocalDateTime snapshotTime,
+                                 ProductionSummary productionSummary) {
         super(aggregateId);
         this.lineId = lineId;
         this.snapshotTime = snapshotTime;
+        this.productionSummary = productionSummary;
     }
 
     public String getLineId() {
@@ -30,6 +41,13 @@ public class DashboardUpdatedEvent extends BaseDomainEvent {
         return snapshotTime;
     }
 
+    /**
+     * @return 事件發生當下的生產摘要；尚未設定摘要時為 null
+     */
+    public ProductionSummary getProductionSummary() {
+        return productionSummary;
+    }
+
     @Override
     public String toString() {
         return "DashboardUpdatedEvent{" +
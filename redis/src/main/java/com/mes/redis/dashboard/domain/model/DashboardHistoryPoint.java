@@ -0,0 +1,139 @@
+package com.mes.redis.dashboard.domain.model;
+
+import com.mes.common.ddd.annotation.ValueObject;
+import com.mes.common.ddd.model.BaseValueObject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * [DDD Pattern: Value Object - 看板歷史資料點]
+ * [SOLID: SRP - 只負責封裝單一時間點（或時間桶）的生產數值與彙總規則]
+ *
+ * 原始資料點對應一次看板更新；彙總資料點代表一個時間桶：
+ * <ul>
+ *   <li>總產出、良品數、不良品數是當日累計值，取時間桶內最後一筆</li>
+ *   <li>每小時產量取平均（依樣本數加權）與最大值</li>
+ *   <li>sampleCount 記錄時間桶內的原始資料筆數，逐層彙總時用於加權</li>
+ * </ul>
+ */
+@ValueObject
+public class DashboardHistoryPoint extends BaseValueObject {
+
+    private final LocalDateTime timestamp;
+    private final int sampleCount;
+    private final int totalOutput;
+    private final int goodCount;
+    private final int defectCount;
+    private final double averageThroughput;
+    private final double maxThroughput;
+
+    public DashboardHistoryPoint(LocalDateTime timestamp, int sampleCount, int totalOutput, int goodCount,
+                                 int defectCount, double averageThroughput, double maxThroughput) {
+        this.timestamp = Objects.requireNonNull(timestamp, "Timestamp must not be null");
+        if (sampleCount <= 0) {
+            throw new IllegalArgumentException("Sample count must be positive");
+        }
+        this.sampleCount = sampleCount;
+        this.totalOutput = totalOutput;
+        this.goodCount = goodCount;
+        this.defectCount = defectCount;
+        this.averageThroughput = averageThroughput;
+        this.maxThroughput = maxThroughput;
+    }
+
+    /**
+     * 由一次看板更新建立原始資料點。
+     *
+     * @param timestamp 快照時間
+     * @param summary   當下的生產摘要
+     * @return 原始資料點
+     */
+    public static DashboardHistoryPoint of(LocalDateTime timestamp, ProductionSummary summary) {
+        Objects.requireNonNull(summary, "Production summary must not be null");
+        return new DashboardHistoryPoint(timestamp, 1,
+                summary.getTotalOutput(), summary.getGoodCount(), summary.getDefectCount(),
+                summary.getThroughputPerHour(), summary.getThroughputPerHour());
+    }
+
+    /**
+     * 將同一個時間桶內的資料點彙總為一筆。
+     *
+     * @param bucketStart 時間桶起點，作為彙總資料點的時間戳記
+     * @param points      時間桶內的資料點（原始或較細的彙總），不可為空
+     * @return 彙總資料點
+     */
+    public static DashboardHistoryPoint rollUp(LocalDateTime bucketStart, List<DashboardHistoryPoint> points) {
+        if (points == null || points.isEmpty()) {
+            throw new IllegalArgumentException("Points to roll up must not be empty");
+        }
+        List<DashboardHistoryPoint> ordered = new ArrayList<>(points);
+        ordered.sort(Comparator.comparing(DashboardHistoryPoint::getTimestamp));
+
+        int samples = 0;
+        double weightedThroughput = 0;
+        double maxThroughput = 0;
+        for (DashboardHistoryPoint point : ordered) {
+            samples += point.sampleCount;
+            weightedThroughput += point.averageThroughput * point.sampleCount;
+            maxThroughput = Math.max(maxThroughput, point.maxThroughput);
+        }
+        DashboardHistoryPoint last = ordered.get(ordered.size() - 1);
+        return new DashboardHistoryPoint(bucketStart, samples,
+                last.totalOutput, last.goodCount, last.defectCount,
+                weightedThroughput / samples, maxThroughput);
+    }
+
+    /**
+     * 計算良率（良品數 / 總產出），規則與 {@link ProductionSummary#getYieldRate()} 相同。
+     *
+     * @return 良率（scale=4）
+     */
+    public BigDecimal getYieldRate() {
+        if (totalOutput == 0) {
+            return BigDecimal.ZERO.setScale(4, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(goodCount)
+                .divide(BigDecimal.valueOf(totalOutput), 4, RoundingMode.HALF_UP);
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public int getTotalOutput() {
+        return totalOutput;
+    }
+
+    public int getGoodCount() {
+        return goodCount;
+    }
+
+    public int getDefectCount() {
+        return defectCount;
+    }
+
+    public double getAverageThroughput() {
+        return averageThroughput;
+    }
+
+    public double getMaxThroughput() {
+        return maxThroughput;
+    }
+
+    @Override
+    protected List<Object> getEqualityComponents() {
+        return Arrays.asList(timestamp, sampleCount, totalOutput, goodCount, defectCount,
+                averageThroughput, maxThroughput);
+    }
+}
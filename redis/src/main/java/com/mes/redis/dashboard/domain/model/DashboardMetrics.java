@@ -6,8 +6,11 @@ import com.mes.redis.dashboard.domain.event.DashboardUpdatedEvent;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -25,6 +28,9 @@ import java.util.Objects;
  *
  * 所有狀態變更都透過此聚合根的方法進行，
  * 並在適當時機註冊 {@link DashboardUpdatedEvent}。
+ *
+ * 每台設備只保留一筆快照；以設備 ID 到列表位置的索引查找，
+ * 更新單一設備狀態是 O(1)，不隨產線設備數增加。
  */
 @AggregateRoot
 public class DashboardMetrics extends BaseAggregateRoot<DashboardMetricsId> {
@@ -33,6 +39,7 @@ public class DashboardMetrics extends BaseAggregateRoot<DashboardMetricsId> {
     private LocalDateTime snapshotTime;
     private ProductionSummary productionSummary;
     private final List<EquipmentStatusSnapshot> equipmentStatuses;
+    private final Map<String, Integer> equipmentIndex;
     private CacheExpiry cacheExpiry;
 
     public DashboardMetrics(DashboardMetricsId id, String lineId, CacheExpiry cacheExpiry) {
@@ -40,6 +47,7 @@ public class DashboardMetrics extends BaseAggregateRoot<DashboardMetricsId> {
         this.lineId = Objects.requireNonNull(lineId, "Line ID must not be null");
         this.snapshotTime = LocalDateTime.now();
         this.equipmentStatuses = new ArrayList<>();
+        this.equipmentIndex = new HashMap<>();
         this.cacheExpiry = Objects.requireNonNull(cacheExpiry, "Cache expiry must not be null");
     }
 
@@ -53,20 +61,39 @@ public class DashboardMetrics extends BaseAggregateRoot<DashboardMetricsId> {
         this.productionSummary = Objects.requireNonNull(summary, "Production summary must not be null");
         this.snapshotTime = LocalDateTime.now();
         touch();
-        registerEvent(new DashboardUpdatedEvent(getId().getValue(), lineId, snapshotTime));
+        registerUpdatedEvent();
     }
 
     /**
-     * 新增設備狀態快照。
+     * 新增設備狀態快照；設備已存在時以新快照取代。
      *
      * @param snapshot 設備狀態快照
      */
     public void addEquipmentStatus(EquipmentStatusSnapshot snapshot) {
         Objects.requireNonNull(snapshot, "Equipment status snapshot must not be null");
-        this.equipmentStatuses.add(snapshot);
+        upsertEquipmentStatus(snapshot);
         this.snapshotTime = LocalDateTime.now();
         touch();
-        registerEvent(new DashboardUpdatedEvent(getId().getValue(), lineId, snapshotTime));
+        registerUpdatedEvent();
+    }
+
+    /**
+     * 一次套用多台設備的狀態快照（新增或取代），只註冊一個 {@link DashboardUpdatedEvent}。
+     * 供寫入緩衝合併高頻狀態變更後批次寫回使用。
+     *
+     * @param snapshots 設備狀態快照；為空時不做任何事
+     */
+    public void applyEquipmentStatuses(Collection<EquipmentStatusSnapshot> snapshots) {
+        Objects.requireNonNull(snapshots, "Equipment status snapshots must not be null");
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        for (EquipmentStatusSnapshot snapshot : snapshots) {
+            upsertEquipmentStatus(Objects.requireNonNull(snapshot, "Equipment status snapshot must not be null"));
+        }
+        this.snapshotTime = LocalDateTime.now();
+        touch();
+        registerUpdatedEvent();
     }
 
     /**
@@ -77,21 +104,19 @@ public class DashboardMetrics extends BaseAggregateRoot<DashboardMetricsId> {
      * @param newStatus   新狀態
      */
     public void updateEquipmentStatus(String equipmentId, String newStatus) {
-        for (int i = 0; i < equipmentStatuses.size(); i++) {
-            EquipmentStatusSnapshot existing = equipmentStatuses.get(i);
-            if (existing.getEquipmentId().equals(equipmentId)) {
-                EquipmentStatusSnapshot updated = new EquipmentStatusSnapshot(
-                        existing.getEquipmentId(),
-                        existing.getEquipmentName(),
-                        newStatus,
-                        LocalDateTime.now());
-                equipmentStatuses.set(i, updated);
-                this.snapshotTime = LocalDateTime.now();
-                touch();
-                registerEvent(new DashboardUpdatedEvent(getId().getValue(), lineId, snapshotTime));
-                return;
-            }
+        Integer index = equipmentIndex.get(equipmentId);
+        if (index == null) {
+            return;
         }
+        EquipmentStatusSnapshot existing = equipmentStatuses.get(index);
+        equipmentStatuses.set(index, new EquipmentStatusSnapshot(
+                existing.getEquipmentId(),
+                existing.getEquipmentName(),
+                newStatus,
+                LocalDateTime.now()));
+        this.snapshotTime = LocalDateTime.now();
+        touch();
+        registerUpdatedEvent();
     }
 
     /**
@@ -122,4 +147,18 @@ public class DashboardMetrics extends BaseAggregateRoot<DashboardMetricsId> {
     public CacheExpiry getCacheExpiry() {
         return cacheExpiry;
     }
+
+    private void upsertEquipmentStatus(EquipmentStatusSnapshot snapshot) {
+        Integer index = equipmentIndex.get(snapshot.getEquipmentId());
+        if (index != null) {
+            equipmentStatuses.set(index, snapshot);
+        } else {
+            equipmentIndex.put(snapshot.getEquipmentId(), equipmentStatuses.size());
+            equipmentStatuses.add(snapshot);
+        }
+    }
+
+    private void registerUpdatedEvent() {
+        registerEvent(new DashboardUpdatedEvent(getId().getValue(), lineId, snapshotTime, productionSummary));
+    }
 }
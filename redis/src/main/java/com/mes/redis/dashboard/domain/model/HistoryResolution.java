@@ -0,0 +1,93 @@
+package com.mes.redis.dashboard.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * [DDD Pattern: Value Object - 歷史資料的時間解析度]
+ * [SOLID: SRP - 只負責定義各解析度的時間桶大小與彙總來源]
+ *
+ * 看板歷史以多種解析度保存，較粗的解析度由較細的一層彙總而成：
+ * <pre>
+ * RAW              每次看板更新一筆
+ * MINUTE           由 RAW 彙總，每分鐘一筆
+ * FIFTEEN_MINUTES  由 MINUTE 彙總，每 15 分鐘一筆
+ * HOUR             由 FIFTEEN_MINUTES 彙總，每小時一筆
+ * </pre>
+ * 時間桶以本地時間對齊（例如 08:15、08:30），桶的時間戳記為桶的起點。
+ */
+public enum HistoryResolution {
+
+    RAW("raw", Duration.ZERO, null),
+    MINUTE("1m", Duration.ofMinutes(1), RAW),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(15), MINUTE),
+    HOUR("1h", Duration.ofHours(1), FIFTEEN_MINUTES);
+
+    private final String code;
+    private final Duration bucketSize;
+    private final HistoryResolution source;
+
+    HistoryResolution(String code, Duration bucketSize, HistoryResolution source) {
+        this.code = code;
+        this.bucketSize = bucketSize;
+        this.source = source;
+    }
+
+    /**
+     * @return 簡短代碼，用於儲存鍵與 API 回應（例如 "15m"）
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return 時間桶大小；RAW 為 {@link Duration#ZERO}
+     */
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * @return 彙總來源的解析度；RAW 沒有來源，回傳 null
+     */
+    public HistoryResolution getSource() {
+        return source;
+    }
+
+    /**
+     * @return 是否為由其他解析度彙總而成
+     */
+    public boolean isRollUp() {
+        return source != null;
+    }
+
+    /**
+     * 計算指定時間所屬時間桶的起點。RAW 不分桶，原樣回傳。
+     *
+     * @param time 時間
+     * @return 時間桶起點
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        if (!isRollUp()) {
+            return time;
+        }
+        long bucketMinutes = bucketSize.toMinutes();
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        long minutesOfDay = ChronoUnit.MINUTES.between(day, time);
+        return day.plusMinutes(minutesOfDay - minutesOfDay % bucketMinutes);
+    }
+
+    /**
+     * 計算時間範圍在此解析度下最多可產生的資料點數。RAW 沒有固定間隔，視為不受限。
+     *
+     * @param range 時間範圍
+     * @return 資料點數上限
+     */
+    public long pointsIn(MetricsTimeRange range) {
+        if (!isRollUp()) {
+            return Long.MAX_VALUE;
+        }
+        return Duration.between(range.getFrom(), range.getTo()).toMillis() / bucketSize.toMillis();
+    }
+}
@@ -0,0 +1,109 @@
+package com.mes.redis.dashboard.domain.port.out;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * [Hexagonal Architecture: Output Port - 快取埠]
+ * [SOLID: DIP - 領域層定義介面，基礎設施層實作]
+ * [SOLID: ISP - 只定義快取相關的最小操作]
+ *
+ * 快取的出站埠。應用層透過此介面讀寫快取，
+ * 而不需要知道底層使用的具體快取技術（如 Redis、本機記憶體或多層快取）。
+ *
+ * <p>快取失敗不應影響業務流程：實作應吞下底層錯誤，讀取失敗時視為未命中。</p>
+ */
+public interface CachePort {
+
+    /**
+     * 寫入快取。
+     *
+     * @param key        快取鍵
+     * @param value      快取值
+     * @param ttlSeconds 存活時間（秒）
+     * @param <T>        值的型別
+     */
+    <T> void put(String key, T value, long ttlSeconds);
+
+    /**
+     * 寫入快取並登記標籤，之後可透過 {@link #evictByTag(String)} 一次清除同標籤的所有鍵。
+     *
+     * @param key        快取鍵
+     * @param value      快取值
+     * @param ttlSeconds 存活時間（秒）
+     * @param tags       標籤（如 dashboard、line:LINE-A）
+     * @param <T>        值的型別
+     */
+    <T> void put(String key, T value, long ttlSeconds, Collection<String> tags);
+
+    /**
+     * 讀取快取。
+     *
+     * @param key  快取鍵
+     * @param type 期望的值型別
+     * @param <T>  值的型別
+     * @return 快取值；未命中或讀取失敗時回傳 null
+     */
+    <T> T get(String key, Class<T> type);
+
+    /**
+     * 批次讀取快取，不論鍵數多寡只需一次網路往返。
+     *
+     * @param keys 快取鍵
+     * @param type 期望的值型別
+     * @param <T>  值的型別
+     * @return 命中的鍵與值（依 keys 的順序）；未命中的鍵不會出現在結果中，讀取失敗時回傳空 Map
+     */
+    <T> Map<String, T> getAll(Collection<String> keys, Class<T> type);
+
+    /**
+     * 批次寫入快取，不論筆數多寡只需一次網路往返。
+     *
+     * @param entries    快取鍵與值
+     * @param ttlSeconds 存活時間（秒）
+     * @param <T>        值的型別
+     */
+    <T> void putAll(Map<String, T> entries, long ttlSeconds);
+
+    /**
+     * 批次寫入快取並登記各鍵的標籤，一次網路往返。
+     *
+     * @param entries    快取鍵與值
+     * @param ttlSeconds 存活時間（秒）
+     * @param tagsByKey  由快取鍵求出要登記的標籤
+     * @param <T>        值的型別
+     */
+    <T> void putAll(Map<String, T> entries, long ttlSeconds, Function<String, Collection<String>> tagsByKey);
+
+    /**
+     * 清除指定的快取鍵。
+     *
+     * @param key 快取鍵
+     */
+    void evict(String key);
+
+    /**
+     * 清除登記在指定標籤下的所有快取鍵。
+     *
+     * @param tag 標籤
+     * @return 清除的鍵數
+     */
+    int evictByTag(String tag);
+
+    /**
+     * 清除符合樣式的所有快取鍵（如 {@code dashboard:*}）。
+     * 需要掃描鍵空間，已知範圍的批次失效應優先使用 {@link #evictByTag(String)}。
+     *
+     * @param pattern 鍵樣式（glob 格式）
+     */
+    void evictByPattern(String pattern);
+
+    /**
+     * 判斷快取鍵是否存在。
+     *
+     * @param key 快取鍵
+     * @return true 表示存在
+     */
+    boolean exists(String key);
+}
@@ -0,0 +1,73 @@
+package com.mes.redis.dashboard.domain.port.out;
+
+import com.mes.redis.dashboard.domain.model.DashboardHistoryPoint;
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * [Hexagonal Architecture: Output Port - 看板歷史儲存埠]
+ * [SOLID: DIP - 應用層依賴此抽象，基礎設施層以 Redis Sorted Set 實作]
+ * [SOLID: ISP - 只定義時間序列的附加、範圍查詢、彙總寫入與保留期清理]
+ *
+ * 每條產線、每種解析度各是一條依時間排序的序列。
+ * 彙總的計算由應用層負責，此埠只負責儲存。
+ */
+public interface DashboardHistoryPort {
+
+    /**
+     * 附加一筆原始資料點，並登記此產線有歷史資料。
+     *
+     * @param lineId 產線 ID
+     * @param point  原始資料點
+     */
+    void append(String lineId, DashboardHistoryPoint point);
+
+    /**
+     * 查詢時間範圍內的資料點，依時間遞增排序。
+     *
+     * @param lineId     產線 ID
+     * @param resolution 解析度
+     * @param from       起點（含）
+     * @param to         終點（不含）
+     * @return 資料點列表；沒有資料時回傳空列表
+     */
+    List<DashboardHistoryPoint> findRange(String lineId, HistoryResolution resolution,
+                                          LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 寫入彙總資料點並推進彙總進度。同一個時間桶重複寫入時以新值取代，
+     * 因此多個節點重複執行同一次彙總不會產生重複資料。
+     *
+     * @param lineId        產線 ID
+     * @param resolution    彙總解析度（不可為 RAW）
+     * @param buckets       彙總資料點，時間戳記為時間桶起點
+     * @param rolledUpUntil 此時間（不含）之前的時間桶都已彙總完成
+     */
+    void saveRollUps(String lineId, HistoryResolution resolution, List<DashboardHistoryPoint> buckets,
+                     LocalDateTime rolledUpUntil);
+
+    /**
+     * @param lineId     產線 ID
+     * @param resolution 彙總解析度
+     * @return 已彙總完成的時間點（不含）；尚未彙總過時為 empty
+     */
+    Optional<LocalDateTime> findRolledUpUntil(String lineId, HistoryResolution resolution);
+
+    /**
+     * 刪除指定時間之前的資料點。
+     *
+     * @param lineId     產線 ID
+     * @param resolution 解析度
+     * @param before     此時間（不含）之前的資料點會被刪除
+     * @return 刪除筆數
+     */
+    long trim(String lineId, HistoryResolution resolution, LocalDateTime before);
+
+    /**
+     * @return 所有有歷史資料的產線 ID
+     */
+    List<String> findLineIds();
+}
@@ -0,0 +1,29 @@
+package com.mes.redis.dashboard.domain.port.out;
+
+/**
+ * [Hexagonal Architecture: Output Port - 分散式鎖埠]
+ * [SOLID: DIP - 應用層依賴此抽象，基礎設施層以 Redis 實作]
+ * [SOLID: ISP - 只定義短期互斥所需的最小操作]
+ *
+ * 跨節點的短期互斥鎖，用於讓多個節點中只有一個執行昂貴的載入。
+ * 鎖必須設定存活時間，持有者當機時鎖會自動釋放。
+ */
+public interface DistributedLockPort {
+
+    /**
+     * 嘗試取得鎖，不等待。
+     *
+     * @param key       鎖的鍵
+     * @param ttlMillis 鎖的存活時間（毫秒）
+     * @return 持有者權杖；鎖已被其他持有者取得時回傳 null
+     */
+    String tryLock(String key, long ttlMillis);
+
+    /**
+     * 釋放鎖。只有權杖相符時才會刪除，避免誤刪已過期後被他人取得的鎖。
+     *
+     * @param key   鎖的鍵
+     * @param token {@link #tryLock(String, long)} 回傳的權杖
+     */
+    void unlock(String key, String token);
+}
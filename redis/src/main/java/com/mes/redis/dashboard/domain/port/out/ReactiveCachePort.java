@@ -0,0 +1,50 @@
+package com.mes.redis.dashboard.domain.port.out;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * [Hexagonal Architecture: Output Port - 非阻塞快取埠]
+ * [SOLID: DIP - 領域層定義介面，基礎設施層實作]
+ * [SOLID: ISP - 只定義非阻塞查詢路徑需要的操作]
+ *
+ * {@link CachePort} 的非阻塞版本：每個操作回傳 {@link Mono}，呼叫端組合後才訂閱，
+ * 等待網路回應時不佔用任何執行緒。
+ *
+ * <p>與 {@link CachePort} 相同，快取失敗不應影響業務流程：
+ * 實作應吞下底層錯誤，讀取失敗時回傳空的 Mono（視為未命中），寫入失敗時回傳 false。</p>
+ */
+public interface ReactiveCachePort {
+
+    /**
+     * 讀取快取。
+     *
+     * @param key  快取鍵
+     * @param type 值的型別
+     * @param <T>  值的型別
+     * @return 快取值；未命中或讀取失敗時為空
+     */
+    <T> Mono<T> get(String key, Class<T> type);
+
+    /**
+     * 寫入快取並登記標籤，與 {@link CachePort#put(String, Object, long, Collection)} 寫入相同的鍵與標籤集合，
+     * 因此 {@link CachePort#evictByTag(String)} 也會清除由此寫入的鍵。
+     *
+     * @param key        快取鍵
+     * @param value      快取值
+     * @param ttlSeconds 存活時間（秒）
+     * @param tags       標籤（如 dashboard、line:LINE-A）
+     * @param <T>        值的型別
+     * @return 是否寫入成功
+     */
+    <T> Mono<Boolean> put(String key, T value, long ttlSeconds, Collection<String> tags);
+
+    /**
+     * 清除快取。
+     *
+     * @param key 快取鍵
+     * @return 是否有鍵被清除
+     */
+    Mono<Boolean> evict(String key);
+}
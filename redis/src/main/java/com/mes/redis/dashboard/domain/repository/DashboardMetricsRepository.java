@@ -33,4 +33,11 @@ public interface DashboardMetricsRepository extends Repository<DashboardMetrics,
      * @return 最新的看板指標（如果存在）
      */
     Optional<DashboardMetrics> findLatestByLineId(String lineId);
+
+    /**
+     * 查詢所有有看板指標的產線 ID。
+     *
+     * @return 產線 ID（不重複、依字母排序）
+     */
+    List<String> findAllLineIds();
 }
@@ -0,0 +1,275 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [Infrastructure: 快取操作量測]
+ * [SOLID: SRP - 只負責依鍵前綴累計快取命中率、延遲與被吞下的失敗]
+ *
+ * 以鍵前綴（第一個 ':' 之前，含 ':'，例如 {@code dashboard:}）分組，寫入 Micrometer：
+ * <ul>
+ *   <li>{@code mes.cache.requests}：命中/未命中次數（tag: prefix, result）</li>
+ *   <li>{@code mes.cache.latency}：各操作的延遲分佈（tag: prefix, operation）</li>
+ *   <li>{@code mes.cache.failures}：配接器記錄警告後吞下的失敗次數（tag: prefix, operation）</li>
+ * </ul>
+ *
+ * <p>熱路徑只做一次前綴擷取與一次 {@link ConcurrentHashMap} 查詢，Meter 在前綴第一次出現時建立並快取，
+ * 之後不再經過 {@link MeterRegistry} 查找。前綴數量超過 metrics-max-prefixes 後一律歸入
+ * {@value #OTHER_PREFIX}，避免鍵設計不當時 Meter 數量無限成長。</p>
+ */
+@Component
+public class CacheMetrics {
+
+    /** 沒有 ':' 的鍵所使用的前綴。 */
+    static final String NO_PREFIX = "(none)";
+
+    /** 超過前綴上限後使用的前綴。 */
+    static final String OTHER_PREFIX = "(other)";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final RedisCacheProperties properties;
+    private final ConcurrentMap<String, PrefixMeters> meters = new ConcurrentHashMap<>();
+
+    public CacheMetrics(MeterRegistry registry, RedisCacheProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    /**
+     * 取得鍵所屬前綴的 Meter；呼叫端在同一次操作中重複使用回傳值。
+     *
+     * @param key 快取鍵（或 SCAN 樣式）
+     * @return 前綴的 Meter
+     */
+    public PrefixMeters forKey(String key) {
+        String prefix = prefixOf(key);
+        PrefixMeters existing = meters.get(prefix);
+        if (existing != null) {
+            return existing;
+        }
+        if (meters.size() >= properties.getMetricsMaxPrefixes()) {
+            prefix = OTHER_PREFIX;
+        }
+        return meters.computeIfAbsent(prefix, this::register);
+    }
+
+    /**
+     * @return 依前綴排序的統計快照
+     */
+    public Map<String, PrefixSnapshot> snapshot() {
+        Map<String, PrefixSnapshot> result = new TreeMap<>();
+        meters.forEach((prefix, m) -> result.put(prefix, m.snapshot()));
+        return result;
+    }
+
+    static String prefixOf(String key) {
+        if (key == null) {
+            return NO_PREFIX;
+        }
+        int index = key.indexOf(':');
+        return index < 0 ? NO_PREFIX : key.substring(0, index + 1);
+    }
+
+    private PrefixMeters register(String prefix) {
+        boolean histogram = properties.isMetricsPercentileHistogram();
+        Map<Operation, Timer> latency = new EnumMap<>(Operation.class);
+        Map<Operation, Counter> failures = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latency.put(operation, Timer.builder("mes.cache.latency")
+                    .description("Redis cache operation latency")
+                    .tag("prefix", prefix)
+                    .tag("operation", operation.getCode())
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram(histogram)
+                    .register(registry));
+            failures.put(operation, Counter.builder("mes.cache.failures")
+                    .description("Redis cache failures swallowed by the adapter")
+                    .tag("prefix", prefix)
+                    .tag("operation", operation.getCode())
+                    .register(registry));
+        }
+        return new PrefixMeters(
+                requestCounter(prefix, "hit"),
+                requestCounter(prefix, "miss"),
+                latency,
+                failures);
+    }
+
+    private Counter requestCounter(String prefix, String result) {
+        return Counter.builder("mes.cache.requests")
+                .description("Redis cache lookups")
+                .tag("prefix", prefix)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 被量測的快取操作。
+     */
+    public enum Operation {
+        GET("get"),
+        GET_ALL("get-all"),
+        PUT("put"),
+        PUT_ALL("put-all"),
+        EVICT("evict"),
+        EVICT_BY_TAG("evict-by-tag"),
+        EVICT_BY_PATTERN("evict-by-pattern"),
+        EXISTS("exists");
+
+        private final String code;
+
+        Operation(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    /**
+     * 單一前綴的 Meter。建立後不可變，可在多執行緒間共用。
+     */
+    public static final class PrefixMeters {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Map<Operation, Timer> latency;
+        private final Map<Operation, Counter> failures;
+
+        private PrefixMeters(Counter hits, Counter misses,
+                             Map<Operation, Timer> latency, Map<Operation, Counter> failures) {
+            this.hits = hits;
+            this.misses = misses;
+            this.latency = latency;
+            this.failures = failures;
+        }
+
+        public void hit() {
+            hits.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        public void failure(Operation operation) {
+            failures.get(operation).increment();
+        }
+
+        public void latency(Operation operation, long nanos) {
+            latency.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private PrefixSnapshot snapshot() {
+            Map<String, LatencySnapshot> latencies = new LinkedHashMap<>();
+            Map<String, Long> failureCounts = new LinkedHashMap<>();
+            for (Operation operation : Operation.values()) {
+                Timer timer = latency.get(operation);
+                if (timer.count() > 0) {
+                    latencies.put(operation.getCode(), LatencySnapshot.of(timer.takeSnapshot()));
+                }
+                long failed = (long) failures.get(operation).count();
+                if (failed > 0) {
+                    failureCounts.put(operation.getCode(), failed);
+                }
+            }
+            return new PrefixSnapshot((long) hits.count(), (long) misses.count(), latencies, failureCounts);
+        }
+    }
+
+    /**
+     * 單一前綴的統計快照（回應 JSON 用）。
+     */
+    public static final class PrefixSnapshot {
+        private final long hits;
+        private final long misses;
+        private final Map<String, LatencySnapshot> latency;
+        private final Map<String, Long> failures;
+
+        PrefixSnapshot(long hits, long misses, Map<String, LatencySnapshot> latency, Map<String, Long> failures) {
+            this.hits = hits;
+            this.misses = misses;
+            this.latency = latency;
+            this.failures = failures;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        public Map<String, LatencySnapshot> getLatency() {
+            return latency;
+        }
+
+        public Map<String, Long> getFailures() {
+            return failures;
+        }
+    }
+
+    /**
+     * 單一操作的延遲快照（微秒）。次數與平均為累計值；最大值與百分位數取自 Micrometer 的滑動時間窗。
+     */
+    public static final class LatencySnapshot {
+        private final long count;
+        private final double meanMicros;
+        private final double maxMicros;
+        private final Map<String, Double> percentileMicros;
+
+        LatencySnapshot(long count, double meanMicros, double maxMicros, Map<String, Double> percentileMicros) {
+            this.count = count;
+            this.meanMicros = meanMicros;
+            this.maxMicros = maxMicros;
+            this.percentileMicros = percentileMicros;
+        }
+
+        static LatencySnapshot of(HistogramSnapshot snapshot) {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MICROSECONDS));
+            }
+            return new LatencySnapshot(snapshot.count(), snapshot.mean(TimeUnit.MICROSECONDS),
+                    snapshot.max(TimeUnit.MICROSECONDS), percentiles);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMicros() {
+            return meanMicros;
+        }
+
+        public double getMaxMicros() {
+            return maxMicros;
+        }
+
+        public Map<String, Double> getPercentileMicros() {
+            return percentileMicros;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * [Infrastructure: 精簡二進位的 Redis 值序列化器]
+ * [SOLID: OCP - 以設定切換寫入格式，讀取端同時相容新舊格式]
+ *
+ * compact 格式的位元組配置：
+ * <pre>
+ * +-------+-------+---------------------------------------+
+ * | 0xC7  | flags | Smile 內容（flags & 0x01 時為 Deflate 壓縮） |
+ * +-------+-------+---------------------------------------+
+ * </pre>
+ * 0xC7 不可能是 JSON 的第一個位元組，因此讀取時以第一個位元組判斷格式，
+ * 其餘一律交給 JSON 序列化器處理，既有的 JSON 值在遷移期間仍可讀取。
+ *
+ * <p>兩種格式使用相同的型別策略（{@code @class} 屬性），Smile 會把重複的屬性名稱與字串
+ * （例如每筆設備狀態的類別名稱）以回參照編碼，比 JSON 小得多。
+ * 壓縮只套用於 compact 格式，JSON 保持原樣以便直接閱讀。</p>
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC7;
+    static final byte FLAG_DEFLATE = 0x01;
+    private static final int HEADER_LENGTH = 2;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ObjectMapper smileMapper;
+    private final RedisSerializer<Object> jsonSerializer;
+    private final boolean writeCompact;
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(ObjectMapper smileMapper, RedisSerializer<Object> jsonSerializer,
+                                  boolean writeCompact, int compressionThreshold) {
+        this.smileMapper = smileMapper;
+        this.jsonSerializer = jsonSerializer;
+        this.writeCompact = writeCompact;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * 依設定建立序列化器。兩種格式共用相同的 ObjectMapper 設定（Java 8 日期時間、{@code @class} 型別資訊）。
+     *
+     * @param properties 序列化設定
+     * @return 序列化器
+     */
+    public static CompactRedisSerializer create(RedisSerializerProperties properties) {
+        return new CompactRedisSerializer(
+                typedMapper(new SmileFactory()),
+                new GenericJackson2JsonRedisSerializer(typedMapper(new JsonFactory())),
+                properties.getFormat() == RedisSerializerProperties.Format.COMPACT,
+                properties.getCompressionThreshold());
+    }
+
+    static ObjectMapper typedMapper(JsonFactory factory) {
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        if (!writeCompact) {
+            return jsonSerializer.serialize(value);
+        }
+        byte[] payload;
+        try {
+            payload = smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write compact value: " + e.getMessage(), e);
+        }
+        byte flags = 0;
+        if (compressionThreshold > 0 && payload.length >= compressionThreshold) {
+            payload = deflate(payload);
+            flags |= FLAG_DEFLATE;
+        }
+        byte[] framed = new byte[HEADER_LENGTH + payload.length];
+        framed[0] = MAGIC;
+        framed[1] = flags;
+        System.arraycopy(payload, 0, framed, HEADER_LENGTH, payload.length);
+        return framed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Truncated compact value");
+        }
+        byte[] payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        if ((bytes[1] & FLAG_DEFLATE) != 0) {
+            payload = inflate(payload);
+        }
+        try {
+            return smileMapper.readValue(payload, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read compact value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return 是否以 compact 格式寫入
+     */
+    public boolean isWriteCompact() {
+        return writeCompact;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Truncated compressed value");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed value: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
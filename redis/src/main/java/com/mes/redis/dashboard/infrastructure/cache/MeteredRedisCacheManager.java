@@ -0,0 +1,39 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * [Infrastructure: 依快取名稱量測的 RedisCacheManager]
+ * [SOLID: OCP - 擴充 RedisCacheManager 建立快取的流程，不改變快取行為]
+ *
+ * 建立每個 Spring Cache 時，把值序列化器包成 {@link MeteredRedisSerializer}，
+ * 讓 {@link SerializationMetrics} 能依快取名稱（例如 {@code dashboards}）分別統計位元組數與耗時。
+ */
+public class MeteredRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheConfiguration defaultCacheConfiguration;
+    private final RedisSerializer<Object> valueSerializer;
+    private final SerializationMetrics metrics;
+
+    public MeteredRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                    RedisSerializer<Object> valueSerializer, SerializationMetrics metrics) {
+        super(cacheWriter, defaultCacheConfiguration);
+        this.defaultCacheConfiguration = defaultCacheConfiguration;
+        this.valueSerializer = valueSerializer;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfig) {
+        RedisCacheConfiguration base = cacheConfig != null ? cacheConfig : defaultCacheConfiguration;
+        RedisCacheConfiguration metered = base.serializeValuesWith(
+                RedisSerializationContext.SerializationPair.fromSerializer(
+                        new MeteredRedisSerializer(name, valueSerializer, metrics)));
+        return super.createRedisCache(name, metered);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * [Design Pattern: Decorator - 量測序列化大小與耗時]
+ * [SOLID: OCP - 不修改實際的序列化器即可加上量測]
+ *
+ * 包裝實際的序列化器，將每次序列化/反序列化的位元組數與耗時記錄到 {@link SerializationMetrics}，
+ * 以建構時指定的快取名稱分組。
+ */
+public class MeteredRedisSerializer implements RedisSerializer<Object> {
+
+    private final String cacheName;
+    private final RedisSerializer<Object> delegate;
+    private final SerializationMetrics metrics;
+
+    public MeteredRedisSerializer(String cacheName, RedisSerializer<Object> delegate, SerializationMetrics metrics) {
+        this.cacheName = cacheName;
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        long start = System.nanoTime();
+        byte[] bytes = delegate.serialize(value);
+        metrics.recordSerialize(cacheName, bytes == null ? 0 : bytes.length, System.nanoTime() - start);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        long start = System.nanoTime();
+        Object value = delegate.deserialize(bytes);
+        metrics.recordDeserialize(cacheName, bytes == null ? 0 : bytes.length, System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * @return 被包裝的序列化器
+     */
+    public RedisSerializer<Object> getDelegate() {
+        return delegate;
+    }
+}
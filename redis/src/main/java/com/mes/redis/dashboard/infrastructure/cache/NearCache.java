@@ -0,0 +1,191 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * [Infrastructure: 程序內近端快取（L1）]
+ * [SOLID: SRP - 只負責有上限、可過期的本機快取儲存]
+ *
+ * 以存取順序的 LinkedHashMap 實作 LRU，同時限制筆數與總權重（約略位元組數），
+ * 任一上限超過時從最久未使用的項目開始淘汰。每個項目有各自的到期時間，
+ * 讀取到已過期的項目時視為未命中並移除。
+ *
+ * <p>存放的是已反序列化的物件，命中時不需再經過 Redis 往返與 JSON 轉換。</p>
+ */
+class NearCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    /**
+     * @param maxEntries 最多項目數
+     * @param maxWeight  總權重上限（位元組）
+     */
+    NearCache(int maxEntries, long maxWeight) {
+        this(maxEntries, maxWeight, System::currentTimeMillis);
+    }
+
+    NearCache(int maxEntries, long maxWeight, LongSupplier clock) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Near cache limits must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.clock = clock;
+    }
+
+    /**
+     * @param key 快取鍵
+     * @return 快取值；不存在或已過期時回傳 null
+     */
+    synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 寫入項目。單一項目權重超過總上限時不快取（並移除舊值）。
+     *
+     * @param key       快取鍵
+     * @param value     快取值
+     * @param weight    項目權重（位元組）
+     * @param ttlMillis 存活時間（毫秒）
+     * @return true 表示已寫入
+     */
+    synchronized boolean put(String key, Object value, long weight, long ttlMillis) {
+        remove(key);
+        if (weight > maxWeight || ttlMillis <= 0) {
+            return false;
+        }
+        entries.put(key, new Entry(value, weight, clock.getAsLong() + ttlMillis));
+        totalWeight += weight;
+        evictOverflow();
+        return true;
+    }
+
+    synchronized boolean invalidate(String key) {
+        return remove(key);
+    }
+
+    /**
+     * 移除符合 Redis glob 樣式（{@code * ? [abc]}）的所有項目。
+     *
+     * @param globPattern 鍵樣式
+     * @return 移除的項目數
+     */
+    synchronized int invalidateMatching(String globPattern) {
+        Pattern regex = globToRegex(globPattern);
+        int removed = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (regex.matcher(entry.getKey()).matches()) {
+                totalWeight -= entry.getValue().weight;
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return totalWeight;
+    }
+
+    private boolean remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        totalWeight -= removed.weight;
+        return true;
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalWeight > maxWeight) && eldest.hasNext()) {
+            totalWeight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        boolean inClass = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                } else if (c == '\\') {
+                    regex.append('\\');
+                }
+                regex.append(c);
+                continue;
+            }
+            if (c == '\\' && i + 1 < glob.length()) {
+                literal.append(glob.charAt(++i));
+                continue;
+            }
+            if (c != '*' && c != '?' && c != '[') {
+                literal.append(c);
+                continue;
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                inClass = true;
+                regex.append('[');
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        if (inClass) {
+            regex.append(']');
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long weight;
+        private final long expiresAt;
+
+        private Entry(Object value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
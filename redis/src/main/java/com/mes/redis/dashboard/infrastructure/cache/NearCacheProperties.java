@@ -0,0 +1,102 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責兩層快取中 L1 近端快取的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     near-cache:
+ *       enabled: true
+ *       max-entries: 1000
+ *       max-weight-bytes: 16777216
+ *       ttl: 30s
+ *       invalidation-channel: mes:cache:invalidation
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.near-cache")
+public class NearCacheProperties {
+
+    /**
+     * 是否啟用 L1 近端快取；關閉時所有操作直接交給 Redis。
+     */
+    private boolean enabled = true;
+
+    /**
+     * L1 最多項目數。
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * L1 總權重上限（以 JSON 位元組數估算）。
+     */
+    private long maxWeightBytes = 16L * 1024 * 1024;
+
+    /**
+     * L1 存活時間；實際 TTL 取此值與 L2 TTL 的較小者，
+     * 即使漏收失效通知，過期資料也只會存在這段時間。
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 跨節點 L1 失效通知的 Redis Pub/Sub 頻道。
+     */
+    private String invalidationChannel = "mes:cache:invalidation";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    public void setMaxWeightBytes(long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheProperties{" +
+                "enabled=" + enabled +
+                ", maxEntries=" + maxEntries +
+                ", maxWeightBytes=" + maxWeightBytes +
+                ", ttl=" + ttl +
+                ", invalidationChannel='" + invalidationChannel + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mes.redis.dashboard.domain.port.out.ReactiveCachePort;
+import com.mes.redis.dashboard.infrastructure.cache.CacheMetrics.Operation;
+import com.mes.redis.dashboard.infrastructure.cache.CacheMetrics.PrefixMeters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * [DDD Pattern: Adapter - 非阻塞 Redis 快取配接器]
+ * [SOLID: DIP - 實作領域層定義的 ReactiveCachePort 介面]
+ * [Hexagonal Architecture: Output Adapter - 使用 Lettuce reactive API 作為快取出站機制]
+ *
+ * 使用 {@link ReactiveRedisTemplate}（底層為 Lettuce 的 reactive 連線）實作 {@link ReactiveCachePort}。
+ * 指令送出後立即返回，回應由 Lettuce 的事件迴圈完成 {@link Mono}，等待期間不佔用呼叫端執行緒。
+ *
+ * <p>與 {@link RedisCacheAdapter} 寫入相同格式：值使用相同的序列化器，
+ * 標籤集合使用相同的鍵（{@code <tag-key-prefix><tag>}）與 UTF-8 成員，
+ * 因此兩條路徑可以互相讀取，標籤失效也會涵蓋由此寫入的鍵。量測同樣記錄到 {@link CacheMetrics}。</p>
+ *
+ * <p>指令本身也在 {@link Mono#defer} 中建立，建立指令時同步拋出的例外（例如連線已關閉）
+ * 與非同步失敗一樣走降級路徑：get 視為未命中，put 與 evict 回傳 false。</p>
+ *
+ * <p>此配接器只寫入 Redis，不通知其他節點的 L1 近端快取；非阻塞路徑只在未命中時寫回由 Repository
+ * 載入的同一份資料，L1 最多在其 TTL 內保留舊值。</p>
+ */
+@Component
+public class ReactiveRedisCacheAdapter implements ReactiveCachePort {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRedisCacheAdapter.class);
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisCacheProperties properties;
+    private final CacheMetrics metrics;
+
+    public ReactiveRedisCacheAdapter(ReactiveRedisTemplate<String, Object> redisTemplate,
+                                     ReactiveStringRedisTemplate stringRedisTemplate,
+                                     ObjectMapper objectMapper, RedisCacheProperties properties,
+                                     CacheMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> Mono<T> get(String key, Class<T> type) {
+        return Mono.defer(() -> {
+            PrefixMeters meters = metrics.forKey(key);
+            long start = System.nanoTime();
+            return Mono.defer(() -> redisTemplate.opsForValue().get(key))
+                    .map(value -> convert(value, type))
+                    .doOnSuccess(value -> {
+                        if (value == null) {
+                            meters.miss();
+                            log.debug("Reactive cache GET: key={}, result=MISS", key);
+                        } else {
+                            meters.hit();
+                            log.debug("Reactive cache GET: key={}, result=HIT", key);
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        meters.failure(Operation.GET);
+                        log.warn("Failed to get cache (reactive): key={}, error={}", key, e.getMessage());
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> meters.latency(Operation.GET, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * SET EX 之後，各標籤以 SADD 登記鍵並以 EXPIRE 刷新為「快取 TTL + tag-ttl-grace」。
+     */
+    @Override
+    public <T> Mono<Boolean> put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        Collection<String> tagList = tags == null ? Collections.<String>emptyList() : tags;
+        long tagTtlSeconds = ttlSeconds + properties.getTagTtlGrace().getSeconds();
+        return Mono.defer(() -> {
+            PrefixMeters meters = metrics.forKey(key);
+            long start = System.nanoTime();
+            return Mono.defer(() -> redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(ttlSeconds)))
+                    .flatMap(written -> Flux.fromIterable(tagList)
+                            .concatMap(tag -> registerTag(tag, key, tagTtlSeconds))
+                            .then(Mono.just(Boolean.TRUE.equals(written))))
+                    .doOnSuccess(written -> log.debug("Reactive cache PUT: key={}, ttl={}s, tags={}",
+                            key, ttlSeconds, tagList))
+                    .onErrorResume(e -> {
+                        meters.failure(Operation.PUT);
+                        log.warn("Failed to put cache (reactive): key={}, error={}", key, e.getMessage());
+                        return Mono.just(false);
+                    })
+                    .doFinally(signal -> meters.latency(Operation.PUT, System.nanoTime() - start));
+        });
+    }
+
+    @Override
+    public Mono<Boolean> evict(String key) {
+        return Mono.defer(() -> {
+            PrefixMeters meters = metrics.forKey(key);
+            long start = System.nanoTime();
+            return Mono.defer(() -> redisTemplate.opsForValue().delete(key))
+                    .map(Boolean.TRUE::equals)
+                    .doOnSuccess(removed -> log.debug("Reactive cache EVICT: key={}", key))
+                    .onErrorResume(e -> {
+                        meters.failure(Operation.EVICT);
+                        log.warn("Failed to evict cache (reactive): key={}, error={}", key, e.getMessage());
+                        return Mono.just(false);
+                    })
+                    .doFinally(signal -> meters.latency(Operation.EVICT, System.nanoTime() - start));
+        });
+    }
+
+    private Mono<Boolean> registerTag(String tag, String key, long tagTtlSeconds) {
+        String tagKey = properties.getTagKeyPrefix() + tag;
+        return stringRedisTemplate.opsForSet().add(tagKey, key)
+                .then(stringRedisTemplate.expire(tagKey, Duration.ofSeconds(tagTtlSeconds)));
+    }
+
+    /**
+     * 若 value 已是目標型別（序列化器已依型別資訊反序列化），直接回傳；否則透過 ObjectMapper 轉換。
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T convert(Object value, Class<T> type) {
+        if (type.isInstance(value)) {
+            return (T) value;
+        }
+        return objectMapper.convertValue(value, type);
+    }
+}
@@ -2,13 +2,30 @@ package com.mes.redis.dashboard.infrastructure.cache;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.infrastructure.cache.CacheMetrics.Operation;
+import com.mes.redis.dashboard.infrastructure.cache.CacheMetrics.PrefixMeters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * [DDD Pattern: Adapter - Redis 快取配接器]
@@ -46,6 +63,25 @@ import java.util.concurrent.TimeUnit;
  *    - range(key, start, end)
  *    - rangeByScore(key, min, max)
  * </pre>
+ *
+ * 教學重點：批次讀寫只需一次往返
+ * <ul>
+ *   <li>getAll 使用 MGET，一個指令取回所有鍵</li>
+ *   <li>putAll 以管線（pipeline）送出多個 SET EX（Redis 沒有帶 TTL 的 MSET），
+ *       指令一次寫出、回應一次讀回，往返次數與筆數無關</li>
+ * </ul>
+ *
+ * 教學重點：批次失效不使用 KEYS
+ * <ul>
+ *   <li>KEYS 會一次走訪整個鍵空間，執行期間 Redis 無法服務其他客戶端</li>
+ *   <li>標籤失效：寫入時把鍵登記到標籤 Set（SADD），失效時以 SSCAN 取出成員，
+ *       再以管線化（pipeline）的 UNLINK 分批刪除</li>
+ *   <li>樣式失效：以 SCAN 漸進走訪，每批最多 invalidation-chunk-size 個鍵就 UNLINK 一次</li>
+ *   <li>UNLINK 在背景釋放記憶體，不會因大型值阻塞主執行緒</li>
+ * </ul>
+ *
+ * 每個操作依鍵前綴記錄延遲、命中/未命中與被吞下的失敗到 {@link CacheMetrics}；
+ * 失敗仍只記錄警告並回傳預設值，呼叫端不受 Redis 故障影響。
  */
 @Component
 public class RedisCacheAdapter implements CachePort {
@@ -54,76 +90,342 @@ public class RedisCacheAdapter implements CachePort {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RedisCacheProperties properties;
+    private final CacheMetrics metrics;
 
-    public RedisCacheAdapter(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+    public RedisCacheAdapter(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+                             RedisCacheProperties properties, CacheMetrics metrics) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.metrics = metrics;
     }
 
     @Override
     public <T> void put(String key, T value, long ttlSeconds) {
+        PrefixMeters meters = metrics.forKey(key);
+        long start = System.nanoTime();
         try {
             // 使用 opsForValue (String) 搭配 JSON 序列化
             redisTemplate.opsForValue().set(key, value, ttlSeconds, TimeUnit.SECONDS);
             log.debug("Cache PUT: key={}, ttl={}s", key, ttlSeconds);
         } catch (Exception e) {
+            meters.failure(Operation.PUT);
             log.warn("Failed to put cache: key={}, error={}", key, e.getMessage());
+        } finally {
+            meters.latency(Operation.PUT, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 以單一管線送出 SET EX、各標籤的 SADD 與 EXPIRE，只需一次網路往返。
+     */
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            put(key, value, ttlSeconds);
+            return;
+        }
+        PrefixMeters meters = metrics.forKey(key);
+        long start = System.nanoTime();
+        try {
+            writePipelined(Collections.singletonMap(key, value), ttlSeconds, k -> tags);
+            log.debug("Cache PUT: key={}, ttl={}s, tags={}", key, ttlSeconds, tags);
+        } catch (Exception e) {
+            meters.failure(Operation.PUT);
+            log.warn("Failed to put cache: key={}, error={}", key, e.getMessage());
+        } finally {
+            meters.latency(Operation.PUT, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public <T> void putAll(Map<String, T> entries, long ttlSeconds) {
+        putAll(entries, ttlSeconds, k -> Collections.emptyList());
+    }
+
+    /**
+     * 以單一管線送出所有 SET EX 與標籤登記，只需一次網路往返。
+     * 延遲與失敗記錄在第一個鍵的前綴下（同一批通常屬於同一前綴）。
+     */
+    @Override
+    public <T> void putAll(Map<String, T> entries, long ttlSeconds,
+                           Function<String, Collection<String>> tagsByKey) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        PrefixMeters meters = metrics.forKey(entries.keySet().iterator().next());
+        long start = System.nanoTime();
+        try {
+            writePipelined(entries, ttlSeconds, tagsByKey);
+            log.debug("Cache PUT ALL: keys={}, ttl={}s", entries.size(), ttlSeconds);
+        } catch (Exception e) {
+            meters.failure(Operation.PUT_ALL);
+            log.warn("Failed to put cache batch: keys={}, error={}", entries.size(), e.getMessage());
+        } finally {
+            meters.latency(Operation.PUT_ALL, System.nanoTime() - start);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> type) {
+        PrefixMeters meters = metrics.forKey(key);
+        long start = System.nanoTime();
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
+                meters.miss();
                 log.debug("Cache GET: key={}, result=MISS", key);
                 return null;
             }
+            meters.hit();
             log.debug("Cache GET: key={}, result=HIT", key);
-            // 若 value 已是目標型別（GenericJackson2JsonRedisSerializer 會自動反序列化），直接回傳
-            if (type.isInstance(value)) {
-                return (T) value;
-            }
-            // 否則透過 ObjectMapper 手動轉換
-            return objectMapper.convertValue(value, type);
+            return convert(value, type);
         } catch (Exception e) {
+            meters.failure(Operation.GET);
             log.warn("Failed to get cache: key={}, error={}", key, e.getMessage());
             return null;
+        } finally {
+            meters.latency(Operation.GET, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 以 MGET 一次取回所有鍵。命中/未命中依各鍵的前綴記錄，延遲記錄在第一個鍵的前綴下。
+     */
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> keyList = new ArrayList<>(new LinkedHashSet<>(keys));
+        PrefixMeters meters = metrics.forKey(keyList.get(0));
+        long start = System.nanoTime();
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keyList);
+            Map<String, T> result = new LinkedHashMap<>();
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < keyList.size(); i++) {
+                String key = keyList.get(i);
+                Object value = i < values.size() ? values.get(i) : null;
+                if (value == null) {
+                    metrics.forKey(key).miss();
+                    continue;
+                }
+                try {
+                    result.put(key, convert(value, type));
+                    metrics.forKey(key).hit();
+                } catch (Exception e) {
+                    metrics.forKey(key).failure(Operation.GET_ALL);
+                    log.warn("Failed to convert cache value: key={}, error={}", key, e.getMessage());
+                }
+            }
+            log.debug("Cache GET ALL: keys={}, hits={}", keyList.size(), result.size());
+            return result;
+        } catch (Exception e) {
+            meters.failure(Operation.GET_ALL);
+            log.warn("Failed to get cache batch: keys={}, error={}", keyList.size(), e.getMessage());
+            return Collections.emptyMap();
+        } finally {
+            meters.latency(Operation.GET_ALL, System.nanoTime() - start);
         }
     }
 
     @Override
     public void evict(String key) {
+        PrefixMeters meters = metrics.forKey(key);
+        long start = System.nanoTime();
         try {
             redisTemplate.delete(key);
             log.debug("Cache EVICT: key={}", key);
         } catch (Exception e) {
+            meters.failure(Operation.EVICT);
             log.warn("Failed to evict cache: key={}, error={}", key, e.getMessage());
+        } finally {
+            meters.latency(Operation.EVICT, System.nanoTime() - start);
         }
     }
 
     @Override
-    public void evictByPattern(String pattern) {
+    public int evictByTag(String tag) {
+        return evictTagMembers(tag).size();
+    }
+
+    /**
+     * 清除標籤下的所有鍵，並從標籤集合移除這些成員。
+     * 以 SSCAN 分批取出成員，再以單一管線送出多個 UNLINK 與 SREM，每個命令最多 chunk-size 個鍵。
+     * 不直接刪除標籤集合：掃描期間其他節點 SADD 的新成員沒有被清除，必須留在集合中，
+     * 下一次依標籤清除時才找得到；集合的成員全部移除後 Redis 會自動刪除該鍵。
+     * 量測記錄在標籤集合鍵的前綴下。
+     *
+     * @param tag 標籤
+     * @return 被清除的鍵（供上層快取同步失效）
+     */
+    public List<String> evictTagMembers(String tag) {
+        int chunkSize = chunkSize();
+        String tagKeyName = tagKey(tag);
+        byte[] tagKey = rawKey(tagKeyName);
+        PrefixMeters meters = metrics.forKey(tagKeyName);
+        long start = System.nanoTime();
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Cache EVICT BY PATTERN: pattern={}, keysEvicted={}", pattern, keys.size());
+            List<byte[]> members = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> {
+                List<byte[]> found = new ArrayList<>();
+                try (Cursor<byte[]> cursor = connection.sScan(tagKey,
+                        ScanOptions.scanOptions().count(chunkSize).build())) {
+                    while (cursor.hasNext()) {
+                        found.add(cursor.next());
+                    }
+                }
+                return found;
+            });
+            if (members == null) {
+                return Collections.emptyList();
+            }
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int from = 0; from < members.size(); from += chunkSize) {
+                    byte[][] chunk = members.subList(from, Math.min(from + chunkSize, members.size()))
+                            .toArray(new byte[0][]);
+                    connection.unlink(chunk);
+                    connection.sRem(tagKey, chunk);
+                }
+                return null;
+            });
+
+            List<String> keys = new ArrayList<>(members.size());
+            for (byte[] member : members) {
+                keys.add(new String(member, StandardCharsets.UTF_8));
             }
+            log.debug("Cache EVICT BY TAG: tag={}, keysEvicted={}", tag, keys.size());
+            return keys;
         } catch (Exception e) {
+            meters.failure(Operation.EVICT_BY_TAG);
+            log.warn("Failed to evict cache by tag: tag={}, error={}", tag, e.getMessage());
+            return Collections.emptyList();
+        } finally {
+            meters.latency(Operation.EVICT_BY_TAG, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 以 SCAN 漸進走訪符合樣式的鍵，每累積 chunk-size 個鍵就 UNLINK 一次。
+     * 每次 SCAN 只處理少量鍵，期間 Redis 仍可服務其他客戶端。
+     */
+    @Override
+    public void evictByPattern(String pattern) {
+        int chunkSize = chunkSize();
+        PrefixMeters meters = metrics.forKey(pattern);
+        long start = System.nanoTime();
+        try {
+            Long evicted = redisTemplate.execute((RedisCallback<Long>) connection -> {
+                long count = 0;
+                List<byte[]> chunk = new ArrayList<>(chunkSize);
+                try (Cursor<byte[]> cursor = connection.scan(
+                        ScanOptions.scanOptions().match(pattern).count(chunkSize).build())) {
+                    while (cursor.hasNext()) {
+                        chunk.add(cursor.next());
+                        if (chunk.size() >= chunkSize) {
+                            count += unlink(connection, chunk);
+                            chunk.clear();
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    count += unlink(connection, chunk);
+                }
+                return count;
+            });
+            log.debug("Cache EVICT BY PATTERN: pattern={}, keysEvicted={}", pattern, evicted);
+        } catch (Exception e) {
+            meters.failure(Operation.EVICT_BY_PATTERN);
             log.warn("Failed to evict cache by pattern: pattern={}, error={}", pattern, e.getMessage());
+        } finally {
+            meters.latency(Operation.EVICT_BY_PATTERN, System.nanoTime() - start);
         }
     }
 
     @Override
     public boolean exists(String key) {
+        PrefixMeters meters = metrics.forKey(key);
+        long start = System.nanoTime();
         try {
             Boolean exists = redisTemplate.hasKey(key);
             return Boolean.TRUE.equals(exists);
         } catch (Exception e) {
+            meters.failure(Operation.EXISTS);
             log.warn("Failed to check cache existence: key={}, error={}", key, e.getMessage());
             return false;
+        } finally {
+            meters.latency(Operation.EXISTS, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 以單一管線送出每筆的 SET EX，以及各標籤的 SADD 與 EXPIRE。
+     * 值在進入管線前先序列化，序列化失敗時整批都不會送出。
+     */
+    private <T> void writePipelined(Map<String, T> entries, long ttlSeconds,
+                                    Function<String, Collection<String>> tagsByKey) {
+        RedisSerializer<Object> serializer = valueSerializer();
+        Map<byte[], byte[]> rawEntries = new LinkedHashMap<>();
+        Map<byte[], Collection<String>> tagsByRawKey = new LinkedHashMap<>();
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            byte[] rawKey = rawKey(entry.getKey());
+            rawEntries.put(rawKey, serializer.serialize(entry.getValue()));
+            Collection<String> tags = tagsByKey.apply(entry.getKey());
+            if (tags != null && !tags.isEmpty()) {
+                tagsByRawKey.put(rawKey, tags);
+            }
+        }
+        long tagTtlSeconds = ttlSeconds + properties.getTagTtlGrace().getSeconds();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<byte[], byte[]> entry : rawEntries.entrySet()) {
+                connection.set(entry.getKey(), entry.getValue(), Expiration.seconds(ttlSeconds),
+                        RedisStringCommands.SetOption.upsert());
+            }
+            for (Map.Entry<byte[], Collection<String>> entry : tagsByRawKey.entrySet()) {
+                for (String tag : entry.getValue()) {
+                    byte[] tagKey = rawKey(tagKey(tag));
+                    connection.sAdd(tagKey, entry.getKey());
+                    connection.expire(tagKey, tagTtlSeconds);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 若 value 已是目標型別（序列化器已依型別資訊反序列化），直接回傳；否則透過 ObjectMapper 轉換。
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T convert(Object value, Class<T> type) {
+        if (type.isInstance(value)) {
+            return (T) value;
         }
+        return objectMapper.convertValue(value, type);
+    }
+
+    private static long unlink(RedisConnection connection, List<byte[]> keys) {
+        Long removed = connection.unlink(keys.toArray(new byte[0][]));
+        return removed != null ? removed : keys.size();
+    }
+
+    private String tagKey(String tag) {
+        return properties.getTagKeyPrefix() + tag;
+    }
+
+    private int chunkSize() {
+        return Math.max(1, properties.getInvalidationChunkSize());
+    }
+
+    private byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
     }
 }
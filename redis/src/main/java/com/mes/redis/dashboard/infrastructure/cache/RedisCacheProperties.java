@@ -0,0 +1,103 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責 Redis 快取配接器的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     cache:
+ *       tag-key-prefix: "cache:tag:"
+ *       tag-ttl-grace: 5m
+ *       invalidation-chunk-size: 500
+ *       metrics-max-prefixes: 32
+ *       metrics-percentile-histogram: false
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "mes.redis.cache")
+public class RedisCacheProperties {
+
+    /**
+     * 標籤集合（Redis Set）的鍵前綴，完整鍵為 {@code <prefix><tag>}。
+     */
+    private String tagKeyPrefix = "cache:tag:";
+
+    /**
+     * 標籤集合比成員多保留的時間；每次寫入都會以「快取 TTL + 此值」刷新標籤集合的 TTL。
+     */
+    private Duration tagTtlGrace = Duration.ofMinutes(5);
+
+    /**
+     * 失效時每批 SCAN / SSCAN 的 COUNT 與每個 UNLINK 指令的鍵數上限，
+     * 避免單一指令佔用 Redis 過久。
+     */
+    private int invalidationChunkSize = 500;
+
+    /**
+     * 量測時最多分組的鍵前綴數，超過後的前綴一律歸入 (other)，避免 Meter 數量隨鍵設計失控。
+     */
+    private int metricsMaxPrefixes = 32;
+
+    /**
+     * 是否為延遲量測發佈直方圖桶（Prometheus 可跨節點彙總百分位數）；
+     * 關閉時只發佈本機計算的 p50 / p95 / p99。
+     */
+    private boolean metricsPercentileHistogram = false;
+
+    public String getTagKeyPrefix() {
+        return tagKeyPrefix;
+    }
+
+    public void setTagKeyPrefix(String tagKeyPrefix) {
+        this.tagKeyPrefix = tagKeyPrefix;
+    }
+
+    public Duration getTagTtlGrace() {
+        return tagTtlGrace;
+    }
+
+    public void setTagTtlGrace(Duration tagTtlGrace) {
+        this.tagTtlGrace = tagTtlGrace;
+    }
+
+    public int getInvalidationChunkSize() {
+        return invalidationChunkSize;
+    }
+
+    public void setInvalidationChunkSize(int invalidationChunkSize) {
+        this.invalidationChunkSize = invalidationChunkSize;
+    }
+
+    public int getMetricsMaxPrefixes() {
+        return metricsMaxPrefixes;
+    }
+
+    public void setMetricsMaxPrefixes(int metricsMaxPrefixes) {
+        this.metricsMaxPrefixes = metricsMaxPrefixes;
+    }
+
+    public boolean isMetricsPercentileHistogram() {
+        return metricsPercentileHistogram;
+    }
+
+    public void setMetricsPercentileHistogram(boolean metricsPercentileHistogram) {
+        this.metricsPercentileHistogram = metricsPercentileHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCacheProperties{" +
+                "tagKeyPrefix='" + tagKeyPrefix + '\'' +
+                ", tagTtlGrace=" + tagTtlGrace +
+                ", invalidationChunkSize=" + invalidationChunkSize +
+                ", metricsMaxPrefixes=" + metricsMaxPrefixes +
+                ", metricsPercentileHistogram=" + metricsPercentileHistogram +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.mes.redis.dashboard.domain.port.out.DistributedLockPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [DDD Pattern: Adapter - Redis 分散式鎖配接器]
+ * [SOLID: LSP - 完整實作 DistributedLockPort 介面的契約]
+ * [Hexagonal Architecture: Output Adapter]
+ *
+ * 以 {@code SET key token NX PX ttl} 取得鎖，以 Lua 腳本「比對權杖後刪除」釋放鎖，
+ * 確保持有者只會刪除自己的鎖。
+ *
+ * <p>鎖只用於減少重複載入，不保證正確性；Redis 無法使用時視為取得鎖，
+ * 讓呼叫端照常載入（此時快取本身也無法使用，不會有雪崩的問題）。</p>
+ */
+@Component
+public class RedisDistributedLockAdapter implements DistributedLockPort {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisDistributedLockAdapter.class);
+
+    private static final String UNAVAILABLE_TOKEN = "redis-unavailable";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public RedisDistributedLockAdapter(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    public String tryLock(String key, long ttlMillis) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(key, token, ttlMillis, TimeUnit.MILLISECONDS);
+            log.debug("Lock {}: key={}", Boolean.TRUE.equals(acquired) ? "ACQUIRED" : "BUSY", key);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            log.warn("Failed to acquire lock, proceeding without it: key={}, error={}", key, e.getMessage());
+            return UNAVAILABLE_TOKEN;
+        }
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        if (token == null || UNAVAILABLE_TOKEN.equals(token)) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(key), token);
+        } catch (Exception e) {
+            log.warn("Failed to release lock, it will expire on its own: key={}, error={}", key, e.getMessage());
+        }
+    }
+}
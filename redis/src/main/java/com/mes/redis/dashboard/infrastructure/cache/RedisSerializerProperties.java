@@ -0,0 +1,67 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * [Spring Boot: @ConfigurationProperties 型別安全的組態綁定]
+ * [SOLID: SRP - 只負責 Redis 值序列化格式的外部化組態]
+ *
+ * 組態範例（application.yml）：
+ * <pre>
+ * mes:
+ *   redis:
+ *     serializer:
+ *       format: compact
+ *       compression-threshold: 1024
+ * </pre>
+ *
+ * 讀取端永遠同時支援 JSON 與 compact 兩種格式，因此遷移時只需要切換寫入格式：
+ * 先讓所有節點升級到此版本（仍寫 JSON），再把 {@code format} 改為 {@code compact}。
+ */
+@ConfigurationProperties(prefix = "mes.redis.serializer")
+public class RedisSerializerProperties {
+
+    /**
+     * 寫入格式。
+     */
+    public enum Format {
+        /** 含型別資訊的 JSON，可直接以 redis-cli 閱讀。 */
+        JSON,
+        /** Smile 二進位 JSON，屬性名稱與重複字串只編碼一次。 */
+        COMPACT
+    }
+
+    /**
+     * 寫入 Redis 的值格式；預設 JSON 以維持既有資料可讀。
+     */
+    private Format format = Format.JSON;
+
+    /**
+     * compact 格式超過此位元組數時以 Deflate 壓縮；0 表示不壓縮。
+     */
+    private int compressionThreshold = 1024;
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisSerializerProperties{" +
+                "format=" + format +
+                ", compressionThreshold=" + compressionThreshold +
+                '}';
+    }
+}
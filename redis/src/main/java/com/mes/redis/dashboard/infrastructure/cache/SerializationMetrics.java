@@ -0,0 +1,198 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [Infrastructure: 序列化量測]
+ * [SOLID: SRP - 只負責累計各快取名稱的序列化位元組數與耗時]
+ *
+ * 以快取名稱分組累計：寫入/讀取次數、總位元組數、最大值大小與序列化耗時。
+ * 計數器使用 {@link LongAdder}，在高併發的序列化路徑上不會互相競爭。
+ *
+ * <p>提供 {@link MeterRegistry} 時另外發佈到 Micrometer（tag: cache, direction=write/read）：
+ * {@code mes.cache.serialization.payload} 為值大小分佈（bytes），
+ * {@code mes.cache.serialization.time} 為序列化耗時分佈。Meter 隨快取名稱第一次出現時建立一次。</p>
+ */
+public class SerializationMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 只累計於本機、不發佈到 Micrometer。
+     */
+    public SerializationMetrics() {
+        this(null);
+    }
+
+    /**
+     * @param registry Micrometer 註冊表；null 時不發佈
+     */
+    public SerializationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 記錄一次序列化（寫入）。
+     */
+    public void recordSerialize(String cacheName, int bytes, long nanos) {
+        Counters c = counters(cacheName);
+        c.serializeCount.increment();
+        c.serializedBytes.add(bytes);
+        c.serializeNanos.add(nanos);
+        c.maxBytes.accumulate(bytes);
+        if (c.meters != null) {
+            c.meters.record(c.meters.writeBytes, c.meters.writeTime, bytes, nanos);
+        }
+    }
+
+    /**
+     * 記錄一次反序列化（讀取）。
+     */
+    public void recordDeserialize(String cacheName, int bytes, long nanos) {
+        Counters c = counters(cacheName);
+        c.deserializeCount.increment();
+        c.deserializedBytes.add(bytes);
+        c.deserializeNanos.add(nanos);
+        if (c.meters != null) {
+            c.meters.record(c.meters.readBytes, c.meters.readTime, bytes, nanos);
+        }
+    }
+
+    /**
+     * @return 依快取名稱排序的統計快照
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        counters.forEach((name, c) -> result.put(name, new Snapshot(
+                c.serializeCount.sum(), c.serializedBytes.sum(), c.serializeNanos.sum(), c.maxBytes.get(),
+                c.deserializeCount.sum(), c.deserializedBytes.sum(), c.deserializeNanos.sum())));
+        return result;
+    }
+
+    private Counters counters(String cacheName) {
+        return counters.computeIfAbsent(cacheName,
+                k -> new Counters(registry == null ? null : new Meters(registry, k)));
+    }
+
+    private static final class Counters {
+        private final LongAdder serializeCount = new LongAdder();
+        private final LongAdder serializedBytes = new LongAdder();
+        private final LongAdder serializeNanos = new LongAdder();
+        private final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder deserializeCount = new LongAdder();
+        private final LongAdder deserializedBytes = new LongAdder();
+        private final LongAdder deserializeNanos = new LongAdder();
+        private final Meters meters;
+
+        private Counters(Meters meters) {
+            this.meters = meters;
+        }
+    }
+
+    private static final class Meters {
+        private final DistributionSummary writeBytes;
+        private final DistributionSummary readBytes;
+        private final Timer writeTime;
+        private final Timer readTime;
+
+        private Meters(MeterRegistry registry, String cacheName) {
+            this.writeBytes = payload(registry, cacheName, "write");
+            this.readBytes = payload(registry, cacheName, "read");
+            this.writeTime = time(registry, cacheName, "write");
+            this.readTime = time(registry, cacheName, "read");
+        }
+
+        private void record(DistributionSummary payload, Timer time, int bytes, long nanos) {
+            payload.record(bytes);
+            time.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private static DistributionSummary payload(MeterRegistry registry, String cacheName, String direction) {
+            return DistributionSummary.builder("mes.cache.serialization.payload")
+                    .description("Serialized cache value size")
+                    .baseUnit("bytes")
+                    .tag("cache", cacheName)
+                    .tag("direction", direction)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+        }
+
+        private static Timer time(MeterRegistry registry, String cacheName, String direction) {
+            return Timer.builder("mes.cache.serialization.time")
+                    .description("Cache value (de)serialization time")
+                    .tag("cache", cacheName)
+                    .tag("direction", direction)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 單一快取名稱的統計快照（回應 JSON 用）。
+     */
+    public static final class Snapshot {
+        private final long serializeCount;
+        private final long serializedBytes;
+        private final long serializeNanos;
+        private final long maxBytes;
+        private final long deserializeCount;
+        private final long deserializedBytes;
+        private final long deserializeNanos;
+
+        Snapshot(long serializeCount, long serializedBytes, long serializeNanos, long maxBytes,
+                 long deserializeCount, long deserializedBytes, long deserializeNanos) {
+            this.serializeCount = serializeCount;
+            this.serializedBytes = serializedBytes;
+            this.serializeNanos = serializeNanos;
+            this.maxBytes = maxBytes;
+            this.deserializeCount = deserializeCount;
+            this.deserializedBytes = deserializedBytes;
+            this.deserializeNanos = deserializeNanos;
+        }
+
+        public long getSerializeCount() {
+            return serializeCount;
+        }
+
+        public long getSerializedBytes() {
+            return serializedBytes;
+        }
+
+        public long getAverageSerializedBytes() {
+            return serializeCount == 0 ? 0 : serializedBytes / serializeCount;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public double getAverageSerializeMicros() {
+            return serializeCount == 0 ? 0 : serializeNanos / 1000.0 / serializeCount;
+        }
+
+        public long getDeserializeCount() {
+            return deserializeCount;
+        }
+
+        public long getDeserializedBytes() {
+            return deserializedBytes;
+        }
+
+        public double getAverageDeserializeMicros() {
+            return deserializeCount == 0 ? 0 : deserializeNanos / 1000.0 / deserializeCount;
+        }
+    }
+}
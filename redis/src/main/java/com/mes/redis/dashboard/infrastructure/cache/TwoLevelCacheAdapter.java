@@ -0,0 +1,330 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * [DDD Pattern: Adapter - 兩層快取配接器]
+ * [SOLID: LSP - 完整實作 CachePort 介面的契約，可直接替換 RedisCacheAdapter]
+ * [SOLID: OCP - 以裝飾方式在 RedisCacheAdapter 前加上 L1，不修改既有實作]
+ * [Hexagonal Architecture: Output Adapter]
+ *
+ * 兩層快取（Near Cache）：
+ * <pre>
+ * get:  L1（程序內） → 未命中 → L2（Redis） → 命中則回填 L1
+ * getAll: 先查 L1，只把 L1 未命中的鍵以一次 MGET 查 L2 → 命中則回填 L1
+ * put:  寫入 L2 → 寫入 L1 → 發佈失效通知
+ * putAll: 以一次管線寫入 L2 → 寫入 L1 → 以批次訊息發佈失效通知
+ * evict: 清除 L2 → 清除 L1 → 發佈失效通知
+ * evictByTag: L2 依標籤清除並回傳被清除的鍵 → 清除 L1 中的這些鍵 → 發佈失效通知
+ * </pre>
+ *
+ * 教學重點：
+ * <ul>
+ *   <li>熱門鍵（如 dashboard:&lt;lineId&gt;）命中 L1 時不需 Redis 往返，也不需 JSON 反序列化</li>
+ *   <li>L1 的 TTL 短於 L2，漏收失效通知時過期資料的存活時間有上限</li>
+ *   <li>各節點透過 Redis Pub/Sub 互相通知失效，收到自己發出的通知時忽略</li>
+ *   <li>L1 有筆數與權重（JSON 位元組數）上限，不會因大型物件耗盡堆積記憶體</li>
+ * </ul>
+ *
+ * 注意：L1 回傳的是共用的物件實例，呼叫端不應修改快取值。
+ */
+@Primary
+@Component
+public class TwoLevelCacheAdapter implements CachePort, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheAdapter.class);
+
+    private static final char SEPARATOR = '|';
+    private static final char KEY = 'K';
+    private static final char PATTERN = 'P';
+    private static final char KEYS = 'M';
+    private static final char KEY_DELIMITER = '\n';
+    private static final int MAX_KEYS_PER_MESSAGE = 500;
+
+    private final RedisCacheAdapter redisCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NearCacheProperties properties;
+    private final NearCache nearCache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong l1Misses = new AtomicLong();
+    private final AtomicLong l2Hits = new AtomicLong();
+    private final AtomicLong l2Misses = new AtomicLong();
+    private final AtomicLong invalidationsReceived = new AtomicLong();
+
+    public TwoLevelCacheAdapter(RedisCacheAdapter redisCache,
+                                StringRedisTemplate stringRedisTemplate,
+                                ObjectMapper objectMapper,
+                                NearCacheProperties properties) {
+        this.redisCache = redisCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.nearCache = new NearCache(properties.getMaxEntries(), properties.getMaxWeightBytes());
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds) {
+        redisCache.put(key, value, ttlSeconds);
+        if (properties.isEnabled()) {
+            putLocal(key, value, ttlSeconds * 1000);
+            publish(KEY, key);
+        }
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        redisCache.put(key, value, ttlSeconds, tags);
+        if (properties.isEnabled()) {
+            putLocal(key, value, ttlSeconds * 1000);
+            publish(KEY, key);
+        }
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        if (!properties.isEnabled()) {
+            return countL2(redisCache.get(key, type));
+        }
+
+        Object local = nearCache.get(key);
+        if (type.isInstance(local)) {
+            l1Hits.incrementAndGet();
+            return type.cast(local);
+        }
+        l1Misses.incrementAndGet();
+
+        T value = countL2(redisCache.get(key, type));
+        if (value != null) {
+            putLocal(key, value, properties.getTtl().toMillis());
+        }
+        return value;
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        if (!properties.isEnabled()) {
+            Map<String, T> values = redisCache.getAll(keys, type);
+            l2Hits.addAndGet(values.size());
+            l2Misses.addAndGet(keys.size() - values.size());
+            return values;
+        }
+
+        Map<String, T> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            Object local = nearCache.get(key);
+            if (type.isInstance(local)) {
+                result.put(key, type.cast(local));
+            } else {
+                result.put(key, null);
+                missing.add(key);
+            }
+        }
+        l1Hits.addAndGet(keys.size() - missing.size());
+        l1Misses.addAndGet(missing.size());
+
+        if (!missing.isEmpty()) {
+            Map<String, T> remote = redisCache.getAll(missing, type);
+            l2Hits.addAndGet(remote.size());
+            l2Misses.addAndGet(missing.size() - remote.size());
+            for (Map.Entry<String, T> entry : remote.entrySet()) {
+                result.put(entry.getKey(), entry.getValue());
+                putLocal(entry.getKey(), entry.getValue(), properties.getTtl().toMillis());
+            }
+        }
+        result.values().removeIf(value -> value == null);
+        return result;
+    }
+
+    @Override
+    public <T> void putAll(Map<String, T> entries, long ttlSeconds) {
+        redisCache.putAll(entries, ttlSeconds);
+        putAllLocal(entries, ttlSeconds);
+    }
+
+    @Override
+    public <T> void putAll(Map<String, T> entries, long ttlSeconds,
+                           Function<String, Collection<String>> tagsByKey) {
+        redisCache.putAll(entries, ttlSeconds, tagsByKey);
+        putAllLocal(entries, ttlSeconds);
+    }
+
+    @Override
+    public void evict(String key) {
+        redisCache.evict(key);
+        if (properties.isEnabled()) {
+            nearCache.invalidate(key);
+            publish(KEY, key);
+        }
+    }
+
+    @Override
+    public int evictByTag(String tag) {
+        List<String> keys = redisCache.evictTagMembers(tag);
+        if (properties.isEnabled() && !keys.isEmpty()) {
+            for (String key : keys) {
+                nearCache.invalidate(key);
+            }
+            publishKeys(keys);
+        }
+        return keys.size();
+    }
+
+    @Override
+    public void evictByPattern(String pattern) {
+        redisCache.evictByPattern(pattern);
+        if (properties.isEnabled()) {
+            nearCache.invalidateMatching(pattern);
+            publish(PATTERN, pattern);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        if (properties.isEnabled() && nearCache.get(key) != null) {
+            return true;
+        }
+        return redisCache.exists(key);
+    }
+
+    /**
+     * 接收其他節點發出的失效通知，清除本機 L1。
+     * 訊息格式：{@code <nodeId>|<K|P|M>|<key、pattern 或以換行分隔的多個 key>}
+     */
+    @Override
+    public void onMessage(Message message, byte[] channelPattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        if (first < 0 || first + 3 > body.length() || body.charAt(first + 2) != SEPARATOR) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+        if (first == nodeId.length() && body.startsWith(nodeId)) {
+            return;
+        }
+        invalidationsReceived.incrementAndGet();
+        char kind = body.charAt(first + 1);
+        String target = body.substring(first + 3);
+        if (kind == PATTERN) {
+            int removed = nearCache.invalidateMatching(target);
+            log.debug("L1 invalidated by remote pattern: pattern={}, removed={}", target, removed);
+        } else if (kind == KEYS) {
+            int start = 0;
+            while (start <= target.length()) {
+                int end = target.indexOf(KEY_DELIMITER, start);
+                if (end < 0) {
+                    end = target.length();
+                }
+                nearCache.invalidate(target.substring(start, end));
+                start = end + 1;
+            }
+            log.debug("L1 invalidated by remote key batch");
+        } else {
+            nearCache.invalidate(target);
+            log.debug("L1 invalidated by remote key: key={}", target);
+        }
+    }
+
+    public long getL1HitCount() {
+        return l1Hits.get();
+    }
+
+    public long getL1MissCount() {
+        return l1Misses.get();
+    }
+
+    public long getL2HitCount() {
+        return l2Hits.get();
+    }
+
+    public long getL2MissCount() {
+        return l2Misses.get();
+    }
+
+    public long getInvalidationsReceived() {
+        return invalidationsReceived.get();
+    }
+
+    public int getL1Size() {
+        return nearCache.size();
+    }
+
+    public long getL1WeightBytes() {
+        return nearCache.weight();
+    }
+
+    private <T> T countL2(T value) {
+        if (value != null) {
+            l2Hits.incrementAndGet();
+        } else {
+            l2Misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    private <T> void putAllLocal(Map<String, T> entries, long ttlSeconds) {
+        if (!properties.isEnabled() || entries.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            putLocal(entry.getKey(), entry.getValue(), ttlSeconds * 1000);
+        }
+        publishKeys(new ArrayList<>(entries.keySet()));
+    }
+
+    private void putLocal(String key, Object value, long l2TtlMillis) {
+        long ttlMillis = Math.min(properties.getTtl().toMillis(), l2TtlMillis);
+        if (!nearCache.put(key, value, weigh(value), ttlMillis)) {
+            log.debug("Value not kept in L1 (too large or no TTL): key={}", key);
+        }
+    }
+
+    /**
+     * 以 JSON 位元組數估算物件大小；只在回填 L1 時計算一次，命中時不需再計算。
+     */
+    private long weigh(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (Exception e) {
+            log.debug("Failed to weigh cache value, excluding it from L1: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void publishKeys(List<String> keys) {
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_MESSAGE) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_KEYS_PER_MESSAGE, keys.size()));
+            publish(KEYS, String.join(String.valueOf(KEY_DELIMITER), chunk));
+        }
+    }
+
+    private void publish(char kind, String target) {
+        try {
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(),
+                    nodeId + SEPARATOR + kind + SEPARATOR + target);
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation: target={}, error={}", target, e.getMessage());
+        }
+    }
+}
@@ -3,18 +3,40 @@ package com.mes.redis.dashboard.infrastructure.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mes.redis.dashboard.application.service.CacheWarmUpProperties;
+import com.mes.redis.dashboard.application.service.DashboardHistoryProperties;
+import com.mes.redis.dashboard.application.service.EquipmentStatusBufferProperties;
+import com.mes.redis.dashboard.application.service.ReactiveQueryProperties;
+import com.mes.redis.dashboard.application.service.StampedeProtectionProperties;
+import com.mes.redis.dashboard.infrastructure.cache.CompactRedisSerializer;
+import com.mes.redis.dashboard.infrastructure.cache.MeteredRedisCacheManager;
+import com.mes.redis.dashboard.infrastructure.cache.MeteredRedisSerializer;
+import com.mes.redis.dashboard.infrastructure.cache.NearCacheProperties;
+import com.mes.redis.dashboard.infrastructure.cache.RedisCacheProperties;
+import com.mes.redis.dashboard.infrastructure.cache.RedisSerializerProperties;
+import com.mes.redis.dashboard.infrastructure.cache.SerializationMetrics;
+import com.mes.redis.dashboard.infrastructure.cache.TwoLevelCacheAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -25,24 +47,36 @@ import java.time.Duration;
  *
  * Redis 設定類別，配置：
  * <ul>
- *   <li>RedisTemplate - 自訂序列化器（Key 用 String，Value 用 JSON）</li>
+ *   <li>RedisTemplate - 自訂序列化器（Key 用 String，Value 用 JSON 或 compact 二進位）</li>
  *   <li>RedisCacheManager - Spring Cache 與 Redis 的整合</li>
  *   <li>StringRedisTemplate - 簡單字串操作的便利模板</li>
+ *   <li>RedisMessageListenerContainer - 訂閱兩層快取的跨節點 L1 失效通知</li>
  * </ul>
  *
  * 教學重點：序列化器配置
  * <ul>
  *   <li>StringRedisSerializer - Key 使用字串格式，人類可讀</li>
- *   <li>GenericJackson2JsonRedisSerializer - Value 使用 JSON 格式，包含型別資訊</li>
+ *   <li>CompactRedisSerializer - Value 預設使用 JSON 格式（包含型別資訊），
+ *       可切換為 Smile 二進位並在超過門檻時壓縮；讀取時兩種格式都相容</li>
+ *   <li>MeteredRedisSerializer - 依快取名稱記錄序列化位元組數與耗時</li>
  *   <li>避免使用 JDK 序列化（預設），因為不可讀且跨語言不相容</li>
  * </ul>
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({NearCacheProperties.class, RedisCacheProperties.class,
+        RedisSerializerProperties.class, StampedeProtectionProperties.class, DashboardHistoryProperties.class,
+        EquipmentStatusBufferProperties.class, ReactiveQueryProperties.class, CacheWarmUpProperties.class})
 public class RedisConfig {
 
     private static final Logger log = LoggerFactory.getLogger(RedisConfig.class);
 
+    /** RedisTemplate（CachePort 路徑）在序列化量測中的名稱。 */
+    public static final String TEMPLATE_METRICS_NAME = "redisTemplate";
+
+    /** ReactiveRedisTemplate（ReactiveCachePort 路徑）在序列化量測中的名稱。 */
+    public static final String REACTIVE_TEMPLATE_METRICS_NAME = "reactiveRedisTemplate";
+
     /**
      * 配置 Jackson ObjectMapper，支援 Java 8 日期時間序列化。
      *
@@ -57,19 +91,46 @@ public class RedisConfig {
         return mapper;
     }
 
+    /**
+     * 序列化量測，依快取名稱累計位元組數與耗時，並發佈到 Micrometer。
+     *
+     * @param meterRegistry Micrometer 註冊表
+     * @return SerializationMetrics
+     */
+    @Bean
+    public SerializationMetrics serializationMetrics(MeterRegistry meterRegistry) {
+        return new SerializationMetrics(meterRegistry);
+    }
+
+    /**
+     * Redis 值序列化器，由 {@code mes.redis.serializer.format} 決定寫入 JSON 或 compact 二進位。
+     *
+     * @param properties 序列化設定
+     * @return 值序列化器
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(RedisSerializerProperties properties) {
+        log.info("Configured Redis value serializer: {}", properties);
+        return CompactRedisSerializer.create(properties);
+    }
+
     /**
      * 配置 RedisTemplate，自訂 Key/Value 序列化器。
      *
      * 教學重點：
      * - Key Serializer: StringRedisSerializer，讓 Redis 中的 Key 為人類可讀字串
-     * - Value Serializer: GenericJackson2JsonRedisSerializer，將 Value 序列化為 JSON
+     * - Value Serializer: 可切換格式的值序列化器，外層包上量測
      * - Hash Key/Value 也使用相同策略
      *
-     * @param connectionFactory Redis 連線工廠
+     * @param connectionFactory    Redis 連線工廠
+     * @param redisValueSerializer 值序列化器
+     * @param serializationMetrics 序列化量測
      * @return 已配置的 RedisTemplate
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer,
+                                                       SerializationMetrics serializationMetrics) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -78,13 +139,14 @@ public class RedisConfig {
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
-        // Value 序列化：使用 JSON（包含型別資訊，支援自動反序列化）
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        // Value 序列化：JSON 或 compact（包含型別資訊，支援自動反序列化），並量測大小與耗時
+        MeteredRedisSerializer valueSerializer =
+                new MeteredRedisSerializer(TEMPLATE_METRICS_NAME, redisValueSerializer, serializationMetrics);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
-        log.info("Configured RedisTemplate with StringRedisSerializer (key) + GenericJackson2JsonRedisSerializer (value)");
+        log.info("Configured RedisTemplate with StringRedisSerializer (key) + metered value serializer");
         return template;
     }
 
@@ -95,26 +157,30 @@ public class RedisConfig {
      * - TTL (Time-To-Live): 快取存活時間 30 分鐘
      * - Key Prefix: 所有快取鍵加上 "mes:" 前綴，避免命名衝突
      * - Null Values: 不快取 null 值，避免佔用記憶體
+     * - 每個快取名稱各自量測序列化位元組數與耗時
      *
-     * @param connectionFactory Redis 連線工廠
+     * @param connectionFactory    Redis 連線工廠
+     * @param redisValueSerializer 值序列化器
+     * @param serializationMetrics 序列化量測
      * @return 已配置的 RedisCacheManager
      */
     @Bean
-    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                               RedisSerializer<Object> redisValueSerializer,
+                                               SerializationMetrics serializationMetrics) {
         RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .prefixCacheNameWith("mes:")
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()))
+                        RedisSerializationContext.SerializationPair.fromSerializer(redisValueSerializer))
                 .disableCachingNullValues();
 
         log.info("Configured RedisCacheManager with TTL=30min, prefix='mes:', no null values");
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(cacheConfig)
-                .build();
+        return new MeteredRedisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                cacheConfig, redisValueSerializer, serializationMetrics);
     }
 
     /**
@@ -128,4 +194,64 @@ public class RedisConfig {
     public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
         return new StringRedisTemplate(connectionFactory);
     }
+
+    /**
+     * 配置 ReactiveRedisTemplate（ReactiveCachePort 路徑），底層為 Lettuce 的 reactive 連線。
+     * 鍵與值的序列化與 {@link #redisTemplate} 相同，兩條路徑寫入的資料可以互相讀取。
+     *
+     * @param connectionFactory    Reactive Redis 連線工廠（LettuceConnectionFactory 同時實作兩種介面）
+     * @param redisValueSerializer 值序列化器
+     * @param serializationMetrics 序列化量測
+     * @return 已配置的 ReactiveRedisTemplate
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory,
+            RedisSerializer<Object> redisValueSerializer,
+            SerializationMetrics serializationMetrics) {
+        MeteredRedisSerializer valueSerializer =
+                new MeteredRedisSerializer(REACTIVE_TEMPLATE_METRICS_NAME, redisValueSerializer, serializationMetrics);
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(valueSerializer)
+                .hashValue(valueSerializer)
+                .build();
+        log.info("Configured ReactiveRedisTemplate with StringRedisSerializer (key) + metered value serializer");
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    /**
+     * ReactiveStringRedisTemplate 便利 Bean，供非阻塞路徑登記標籤集合。
+     *
+     * @param connectionFactory Reactive Redis 連線工廠
+     * @return ReactiveStringRedisTemplate
+     */
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * 訂閱 L1 失效通知頻道。
+     * 任一節點寫入或清除快取時會發佈通知，其他節點據此清除本機 L1，
+     * 避免各節點的近端快取在 L1 TTL 內回傳不一致的資料。
+     * 關閉 L1（mes.redis.near-cache.enabled=false）時不需要訂閱。
+     *
+     * @param connectionFactory    Redis 連線工廠
+     * @param twoLevelCacheAdapter 兩層快取配接器（通知接收者）
+     * @param properties           近端快取設定
+     * @return 已配置的 RedisMessageListenerContainer
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mes.redis.near-cache", name = "enabled", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheAdapter twoLevelCacheAdapter,
+            NearCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(twoLevelCacheAdapter, new ChannelTopic(properties.getInvalidationChannel()));
+        log.info("Subscribed near-cache invalidation channel '{}'", properties.getInvalidationChannel());
+        return container;
+    }
 }
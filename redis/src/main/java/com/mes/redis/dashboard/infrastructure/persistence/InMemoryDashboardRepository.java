@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -74,4 +75,13 @@ public class InMemoryDashboardRepository implements DashboardMetricsRepository {
         }
         return Optional.ofNullable(latest);
     }
+
+    @Override
+    public List<String> findAllLineIds() {
+        TreeSet<String> lineIds = new TreeSet<>();
+        for (DashboardMetrics metrics : store.values()) {
+            lineIds.add(metrics.getLineId());
+        }
+        return new ArrayList<>(lineIds);
+    }
 }
@@ -0,0 +1,206 @@
+package com.mes.redis.dashboard.infrastructure.persistence;
+
+import com.mes.redis.dashboard.domain.model.DashboardHistoryPoint;
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+import com.mes.redis.dashboard.domain.port.out.DashboardHistoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * [DDD Pattern: Adapter - Redis 看板歷史配接器]
+ * [SOLID: LSP - 完整實作 DashboardHistoryPort 介面的契約]
+ * [SOLID: DIP - 實作領域層定義的 DashboardHistoryPort 介面]
+ * [Hexagonal Architecture: Output Adapter - 使用 Redis Sorted Set 保存時間序列]
+ *
+ * 資料結構：
+ * <pre>
+ * history:&lt;lineId&gt;:raw|1m|15m|1h   Sorted Set，score = 時間戳記（epoch 毫秒）
+ *                                     member = "毫秒|樣本數|總產出|良品|不良品|平均產量|最大產量"
+ * history:&lt;lineId&gt;:rolled-up        Hash，各解析度已彙總完成的時間點（epoch 毫秒）
+ * history:lines                       Set，所有有歷史資料的產線
+ * </pre>
+ *
+ * 教學重點：以 Sorted Set 儲存時間序列
+ * <ul>
+ *   <li>ZADD 附加資料點、ZRANGEBYSCORE 依時間範圍查詢、ZREMRANGEBYSCORE 依保留期刪除，
+ *       三者都是 O(log N + M)，不需掃描整條序列</li>
+ *   <li>member 必須唯一，因此把時間戳記也放進 member；
+ *       彙總時先刪除同一個時間桶再寫入，重複執行只會取代而不會累加</li>
+ *   <li>以純文字編碼 member，redis-cli 可直接閱讀，不依賴值序列化器的格式</li>
+ * </ul>
+ */
+@Component
+public class RedisDashboardHistoryAdapter implements DashboardHistoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisDashboardHistoryAdapter.class);
+
+    static final String KEY_PREFIX = "history:";
+    static final String LINES_KEY = KEY_PREFIX + "lines";
+    private static final String ROLLED_UP_SUFFIX = ":rolled-up";
+    private static final char FIELD_SEPARATOR = '|';
+    private static final int FIELD_COUNT = 7;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ZoneId zone;
+
+    @Autowired
+    public RedisDashboardHistoryAdapter(StringRedisTemplate stringRedisTemplate) {
+        this(stringRedisTemplate, ZoneId.systemDefault());
+    }
+
+    RedisDashboardHistoryAdapter(StringRedisTemplate stringRedisTemplate, ZoneId zone) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.zone = zone;
+    }
+
+    @Override
+    public void append(String lineId, DashboardHistoryPoint point) {
+        byte[] seriesKey = raw(seriesKey(lineId, HistoryResolution.RAW));
+        byte[] member = raw(encode(point));
+        double score = toMillis(point.getTimestamp());
+        byte[] linesKey = raw(LINES_KEY);
+        byte[] line = raw(lineId);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zAdd(seriesKey, score, member);
+            connection.sAdd(linesKey, line);
+            return null;
+        });
+    }
+
+    @Override
+    public List<DashboardHistoryPoint> findRange(String lineId, HistoryResolution resolution,
+                                                 LocalDateTime from, LocalDateTime to) {
+        Set<String> members = stringRedisTemplate.opsForZSet().rangeByScore(
+                seriesKey(lineId, resolution), toMillis(from), toMillis(to) - 1);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<DashboardHistoryPoint> points = new ArrayList<>(members.size());
+        for (String member : members) {
+            DashboardHistoryPoint point = decode(member);
+            if (point != null) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public void saveRollUps(String lineId, HistoryResolution resolution, List<DashboardHistoryPoint> buckets,
+                            LocalDateTime rolledUpUntil) {
+        if (!resolution.isRollUp()) {
+            throw new IllegalArgumentException("Raw history cannot be written as roll-ups");
+        }
+        byte[] seriesKey = raw(seriesKey(lineId, resolution));
+        byte[] progressKey = raw(progressKey(lineId));
+        byte[] field = raw(resolution.getCode());
+        byte[] until = raw(Long.toString(toMillis(rolledUpUntil)));
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (DashboardHistoryPoint bucket : buckets) {
+                double score = toMillis(bucket.getTimestamp());
+                connection.zRemRangeByScore(seriesKey, score, score);
+                connection.zAdd(seriesKey, score, raw(encode(bucket)));
+            }
+            connection.hSet(progressKey, field, until);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<LocalDateTime> findRolledUpUntil(String lineId, HistoryResolution resolution) {
+        Object value = stringRedisTemplate.opsForHash().get(progressKey(lineId), resolution.getCode());
+        if (value == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toLocalDateTime(Long.parseLong(value.toString())));
+    }
+
+    @Override
+    public long trim(String lineId, HistoryResolution resolution, LocalDateTime before) {
+        Long removed = stringRedisTemplate.opsForZSet().removeRangeByScore(
+                seriesKey(lineId, resolution), Double.NEGATIVE_INFINITY, toMillis(before) - 1);
+        long count = removed != null ? removed : 0;
+        if (count > 0) {
+            log.debug("History trimmed: lineId={}, resolution={}, removed={}",
+                    lineId, resolution.getCode(), count);
+        }
+        return count;
+    }
+
+    @Override
+    public List<String> findLineIds() {
+        Set<String> lineIds = stringRedisTemplate.opsForSet().members(LINES_KEY);
+        if (lineIds == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(new TreeSet<>(lineIds));
+    }
+
+    static String seriesKey(String lineId, HistoryResolution resolution) {
+        return KEY_PREFIX + lineId + ":" + resolution.getCode();
+    }
+
+    static String progressKey(String lineId) {
+        return KEY_PREFIX + lineId + ROLLED_UP_SUFFIX;
+    }
+
+    String encode(DashboardHistoryPoint point) {
+        return new StringBuilder()
+                .append(toMillis(point.getTimestamp())).append(FIELD_SEPARATOR)
+                .append(point.getSampleCount()).append(FIELD_SEPARATOR)
+                .append(point.getTotalOutput()).append(FIELD_SEPARATOR)
+                .append(point.getGoodCount()).append(FIELD_SEPARATOR)
+                .append(point.getDefectCount()).append(FIELD_SEPARATOR)
+                .append(point.getAverageThroughput()).append(FIELD_SEPARATOR)
+                .append(point.getMaxThroughput())
+                .toString();
+    }
+
+    DashboardHistoryPoint decode(String member) {
+        String[] fields = member.split("\\|");
+        if (fields.length < FIELD_COUNT) {
+            log.warn("Ignoring malformed history member: {}", member);
+            return null;
+        }
+        try {
+            return new DashboardHistoryPoint(
+                    toLocalDateTime(Long.parseLong(fields[0])),
+                    Integer.parseInt(fields[1]),
+                    Integer.parseInt(fields[2]),
+                    Integer.parseInt(fields[3]),
+                    Integer.parseInt(fields[4]),
+                    Double.parseDouble(fields[5]),
+                    Double.parseDouble(fields[6]));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed history member: {}", member);
+            return null;
+        }
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
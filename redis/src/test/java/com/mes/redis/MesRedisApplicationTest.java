@@ -11,6 +11,8 @@ import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfig
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
@@ -23,11 +25,17 @@ import static org.assertj.core.api.Assertions.assertThat;
  *
  * 使用 @MockBean 模擬 Redis 連線，避免測試時需要實際的 Redis 伺服器。
  * 排除 Redis 自動配置，防止嘗試建立真實的 Redis 連線。
+ * 關閉 L1 近端快取，避免 Pub/Sub 訂閱容器以模擬的連線工廠訂閱頻道。
+ * 關閉看板歷史，避免背景彙總排程對模擬的 RedisTemplate 執行指令。
+ * 關閉快取預熱，避免啟動時對模擬的 RedisTemplate 寫入。
  * 驗證 Spring 應用上下文可正確載入。
  */
 @DisplayName("MesRedisApplication 模組驗證測試")
 @SpringBootTest(properties = {
         "spring.cache.type=simple",
+        "mes.redis.near-cache.enabled=false",
+        "mes.redis.history.enabled=false",
+        "mes.redis.warm-up.enabled=false",
         "spring.autoconfigure.exclude=" +
                 "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration," +
                 "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration," +
@@ -44,6 +52,12 @@ class MesRedisApplicationTest {
     @MockBean
     private StringRedisTemplate stringRedisTemplate;
 
+    @MockBean
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @MockBean
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
     @Test
     @DisplayName("應用上下文應可正確載入")
     void contextLoads() {
@@ -2,6 +2,7 @@ package com.mes.redis.dashboard.adapter.in.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mes.common.cqrs.CommandBus;
+import com.mes.redis.dashboard.application.command.InvalidateCacheCommand;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -87,6 +89,18 @@ class DashboardCommandControllerTest {
         verify(commandBus).dispatch(any());
     }
 
+    @Test
+    @DisplayName("DELETE /api/v1/dashboard/cache/tags/{tag} 應依標籤清除快取")
+    void shouldInvalidateCacheByTag() throws Exception {
+        mockMvc.perform(delete("/api/v1/dashboard/cache/tags/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Cache tag invalidated"));
+
+        verify(commandBus).dispatch(argThat(command -> command instanceof InvalidateCacheCommand
+                && "dashboard".equals(((InvalidateCacheCommand) command).getTag())));
+    }
+
     @Test
     @DisplayName("CommandBus 拋出例外時應回傳錯誤回應")
     void shouldHandleExceptionFromCommandBus() throws Exception {
@@ -2,10 +2,13 @@ package com.mes.redis.dashboard.adapter.in.web;
 
 import com.mes.common.cqrs.QueryBus;
 import com.mes.common.exception.EntityNotFoundException;
+import com.mes.redis.dashboard.application.query.GetDashboardHistoryQuery;
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
 import com.mes.redis.dashboard.application.query.dto.LineOverviewView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -17,7 +20,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -92,4 +97,39 @@ class DashboardQueryControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data.length()").value(0));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/{lineId}/history 應依時間範圍與點數查詢趨勢")
+    void shouldReturnDashboardHistory() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 8, 0);
+        DashboardHistoryView history = new DashboardHistoryView("LINE-A", "15m", from, from.plusHours(1),
+                Collections.singletonList(new DashboardHistoryView.PointView(
+                        from, 15, 1000, 950, 50, new BigDecimal("0.9500"), 120.0, 130.0)));
+        when(queryBus.dispatch(any())).thenReturn(history);
+
+        mockMvc.perform(get("/api/v1/dashboard/LINE-A/history")
+                        .param("from", "2024-01-01T08:00:00")
+                        .param("to", "2024-01-01T09:00:00")
+                        .param("points", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.resolution").value("15m"))
+                .andExpect(jsonPath("$.data.points.length()").value(1))
+                .andExpect(jsonPath("$.data.points[0].totalOutput").value(1000));
+
+        ArgumentCaptor<GetDashboardHistoryQuery> captor = ArgumentCaptor.forClass(GetDashboardHistoryQuery.class);
+        verify(queryBus).dispatch(captor.capture());
+        assertThat(captor.getValue().getLineId()).isEqualTo("LINE-A");
+        assertThat(captor.getValue().getRange().getFrom()).isEqualTo(from);
+        assertThat(captor.getValue().getPoints()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/{lineId}/history 起點不早於終點時應回傳 400")
+    void shouldRejectInvalidHistoryRange() throws Exception {
+        mockMvc.perform(get("/api/v1/dashboard/LINE-A/history")
+                        .param("from", "2024-01-01T09:00:00")
+                        .param("to", "2024-01-01T08:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
 }
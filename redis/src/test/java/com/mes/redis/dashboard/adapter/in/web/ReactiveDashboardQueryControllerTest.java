@@ -0,0 +1,85 @@
+package com.mes.redis.dashboard.adapter.in.web;
+
+import com.mes.common.exception.EntityNotFoundException;
+import com.mes.redis.dashboard.application.query.ReactiveGetDashboardQueryHandler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ReactiveDashboardQueryController 非阻塞查詢控制器測試。
+ * 使用 @WebMvcTest 只載入 Web 層，mock ReactiveGetDashboardQueryHandler，以 asyncDispatch 取得非同步結果。
+ */
+@DisplayName("ReactiveDashboardQueryController 非阻塞查詢控制器測試")
+@WebMvcTest(ReactiveDashboardQueryController.class)
+class ReactiveDashboardQueryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveGetDashboardQueryHandler queryHandler;
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/reactive/{lineId} 應以非同步方式回傳 200 與看板資料")
+    void shouldReturnDashboardAsynchronously() throws Exception {
+        DashboardView view = new DashboardView();
+        view.setLineId("LINE-A");
+        view.setTotalOutput(1000);
+        when(queryHandler.handle(any())).thenReturn(Mono.just(view));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/dashboard/reactive/LINE-A"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.lineId").value("LINE-A"))
+                .andExpect(jsonPath("$.data.totalOutput").value(1000));
+    }
+
+    @Test
+    @DisplayName("產線不存在時應回傳 404")
+    void shouldReturn404WhenNotFound() throws Exception {
+        when(queryHandler.handle(any()))
+                .thenReturn(Mono.error(new EntityNotFoundException("DashboardMetrics", "LINE-X")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/dashboard/reactive/LINE-X"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("查詢逾時時應回傳 504")
+    void shouldReturn504OnTimeout() throws Exception {
+        when(queryHandler.handle(any())).thenReturn(Mono.error(new TimeoutException("Did not observe any item")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/dashboard/reactive/LINE-A"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout());
+    }
+}
@@ -1,9 +1,15 @@
 package com.mes.redis.dashboard.application.command;
 
+import com.mes.common.ddd.event.DomainEvent;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.service.DashboardHistoryService;
+import com.mes.redis.dashboard.application.service.DashboardLineLocks;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
+import com.mes.redis.dashboard.domain.event.DashboardUpdatedEvent;
 import com.mes.redis.dashboard.domain.model.CacheExpiry;
 import com.mes.redis.dashboard.domain.model.DashboardMetrics;
 import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
 import com.mes.redis.dashboard.domain.port.out.CachePort;
 import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +18,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,13 +42,18 @@ class UpdateDashboardCommandHandlerTest {
 
     private DashboardMetricsRepository repository;
     private CachePort cachePort;
+    private DashboardHistoryService historyService;
+    private SingleFlightCacheLoader cacheLoader;
     private UpdateDashboardCommandHandler handler;
 
     @BeforeEach
     void setUp() {
         repository = mock(DashboardMetricsRepository.class);
         cachePort = mock(CachePort.class);
-        handler = new UpdateDashboardCommandHandler(repository, cachePort);
+        historyService = mock(DashboardHistoryService.class);
+        cacheLoader = mock(SingleFlightCacheLoader.class);
+        handler = new UpdateDashboardCommandHandler(repository, cachePort, historyService, new DashboardLineLocks(),
+                cacheLoader);
     }
 
     @Test
@@ -52,7 +67,9 @@ class UpdateDashboardCommandHandlerTest {
 
         // 驗證 Write-Through: 同時寫入 Repository 與快取
         verify(repository).save(any(DashboardMetrics.class));
-        verify(cachePort).put(eq("dashboard:LINE-A"), any(DashboardView.class), anyLong());
+        verify(cachePort).put(eq("dashboard:LINE-A"), any(DashboardView.class), anyLong(), anyCollection());
+        // 繞過載入器的寫入也要更新本節點的載入紀錄
+        verify(cacheLoader).recordWrite(eq("dashboard:LINE-A"), any(DashboardView.class), eq(1800L));
     }
 
     @Test
@@ -69,7 +86,7 @@ class UpdateDashboardCommandHandlerTest {
         handler.handle(command);
 
         verify(repository).save(any(DashboardMetrics.class));
-        verify(cachePort).put(anyString(), any(DashboardView.class), anyLong());
+        verify(cachePort).put(anyString(), any(DashboardView.class), anyLong(), anyCollection());
     }
 
     @Test
@@ -82,11 +99,53 @@ class UpdateDashboardCommandHandlerTest {
         handler.handle(command);
 
         ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
-        verify(cachePort).put(keyCaptor.capture(), any(), anyLong());
+        verify(cachePort).put(keyCaptor.capture(), any(), anyLong(), anyCollection());
 
         assertThat(keyCaptor.getValue()).isEqualTo("dashboard:LINE-B");
     }
 
+    @Test
+    @DisplayName("應把 DashboardUpdatedEvent 交給歷史服務記錄，並清除已處理的事件")
+    void shouldRecordHistoryAndClearEvents() {
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        List<DomainEvent> recorded = new ArrayList<>();
+        doAnswer(invocation -> recorded.addAll(invocation.getArgument(0)))
+                .when(historyService).record(any());
+
+        handler.handle(new UpdateDashboardCommand("LINE-A", 1000, 950, 50, 120.0));
+
+        assertThat(recorded).hasSize(1);
+        DashboardUpdatedEvent event = (DashboardUpdatedEvent) recorded.get(0);
+        assertThat(event.getLineId()).isEqualTo("LINE-A");
+        assertThat(event.getProductionSummary().getTotalOutput()).isEqualTo(1000);
+
+        ArgumentCaptor<DashboardMetrics> metricsCaptor = ArgumentCaptor.forClass(DashboardMetrics.class);
+        verify(repository).save(metricsCaptor.capture());
+        assertThat(metricsCaptor.getValue().getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("只應記錄並清除本次更新註冊的事件，保留其他流程尚未處理的事件")
+    void shouldOnlyRecordAndClearOwnEvents() {
+        DashboardMetrics existing = new DashboardMetrics(
+                DashboardMetricsId.of("LINE-A", "20240101"),
+                "LINE-A",
+                new CacheExpiry(1800, LocalDateTime.now()));
+        existing.updateProductionSummary(new ProductionSummary(10, 10, 0, 5.0));
+        DomainEvent pending = existing.getDomainEvents().get(0);
+        when(repository.findById(any())).thenReturn(Optional.of(existing));
+        List<DomainEvent> recorded = new ArrayList<>();
+        doAnswer(invocation -> recorded.addAll(invocation.getArgument(0)))
+                .when(historyService).record(any());
+
+        handler.handle(new UpdateDashboardCommand("LINE-A", 2000, 1900, 100, 200.0));
+
+        assertThat(recorded).hasSize(1);
+        assertThat(((DashboardUpdatedEvent) recorded.get(0)).getProductionSummary().getTotalOutput())
+                .isEqualTo(2000);
+        assertThat(existing.getDomainEvents()).containsExactly(pending);
+    }
+
     @Test
     @DisplayName("getCommandType 應回傳 UpdateDashboardCommand.class")
     void shouldReturnCorrectCommandType() {
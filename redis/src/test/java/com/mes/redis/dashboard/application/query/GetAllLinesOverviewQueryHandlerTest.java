@@ -0,0 +1,130 @@
+package com.mes.redis.dashboard.application.query;
+
+import com.mes.redis.dashboard.application.assembler.DashboardAssembler;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.query.dto.LineOverviewView;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
+import com.mes.redis.dashboard.domain.model.CacheExpiry;
+import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
+import com.mes.redis.dashboard.domain.model.EquipmentStatusSnapshot;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GetAllLinesOverviewQueryHandler 查詢處理器測試。
+ * 驗證批次 Cache-Aside：一次 getAll、只載入未命中的產線、一次 putAll 回填。
+ */
+@DisplayName("GetAllLinesOverviewQueryHandler 查詢處理器測試")
+class GetAllLinesOverviewQueryHandlerTest {
+
+    private DashboardMetricsRepository repository;
+    private CachePort cachePort;
+    private GetAllLinesOverviewQueryHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DashboardMetricsRepository.class);
+        cachePort = mock(CachePort.class);
+        handler = new GetAllLinesOverviewQueryHandler(repository, cachePort, mock(SingleFlightCacheLoader.class));
+    }
+
+    @Test
+    @DisplayName("全部命中時應只呼叫一次 getAll，不查 Repository 也不回填")
+    void shouldServeAllLinesFromSingleGetAll() {
+        when(repository.findAllLineIds()).thenReturn(Arrays.asList("LINE-A", "LINE-B"));
+        Map<String, DashboardView> cached = new HashMap<>();
+        cached.put("dashboard:LINE-A", DashboardAssembler.toView(createMetrics("LINE-A", 100)));
+        cached.put("dashboard:LINE-B", DashboardAssembler.toView(createMetrics("LINE-B", 200)));
+        when(cachePort.getAll(any(), eq(DashboardView.class))).thenReturn(cached);
+
+        List<LineOverviewView> result = handler.handle(new GetAllLinesOverviewQuery());
+
+        assertThat(result).extracting(LineOverviewView::getLineId).containsExactly("LINE-A", "LINE-B");
+        assertThat(result.get(1).getCurrentOutput()).isEqualTo(200);
+        assertThat(result.get(0).getRunningEquipmentCount()).isEqualTo(1);
+        assertThat(result.get(0).getTotalEquipmentCount()).isEqualTo(2);
+        verify(cachePort, times(1)).getAll(any(), eq(DashboardView.class));
+        verify(cachePort, never()).get(anyString(), any());
+        verify(repository, never()).findLatestByLineId(anyString());
+        verify(cachePort, never()).putAll(anyMap(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("部分未命中時應只載入未命中的產線並以一次 putAll 回填")
+    @SuppressWarnings("unchecked")
+    void shouldFillPartialMissesFromRepository() {
+        when(repository.findAllLineIds()).thenReturn(Arrays.asList("LINE-A", "LINE-B", "LINE-C"));
+        when(cachePort.getAll(any(), eq(DashboardView.class))).thenReturn(Collections.singletonMap(
+                "dashboard:LINE-A", DashboardAssembler.toView(createMetrics("LINE-A", 100))));
+        when(repository.findLatestByLineId("LINE-B")).thenReturn(Optional.of(createMetrics("LINE-B", 200)));
+        when(repository.findLatestByLineId("LINE-C")).thenReturn(Optional.of(createMetrics("LINE-C", 300)));
+
+        List<LineOverviewView> result = handler.handle(new GetAllLinesOverviewQuery());
+
+        assertThat(result).extracting(LineOverviewView::getCurrentOutput).containsExactly(100, 200, 300);
+        verify(repository, never()).findLatestByLineId("LINE-A");
+
+        ArgumentCaptor<Map<String, DashboardView>> entries = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Function<String, Collection<String>>> tags = ArgumentCaptor.forClass(Function.class);
+        verify(cachePort, times(1)).putAll(entries.capture(), eq(1800L), tags.capture());
+        assertThat(entries.getValue()).containsOnlyKeys("dashboard:LINE-B", "dashboard:LINE-C");
+        assertThat(tags.getValue().apply("dashboard:LINE-B")).containsExactly("dashboard", "line:LINE-B");
+    }
+
+    @Test
+    @DisplayName("沒有任何產線時應回傳空列表")
+    void shouldReturnEmptyListWhenNoLines() {
+        when(repository.findAllLineIds()).thenReturn(Collections.<String>emptyList());
+        when(cachePort.getAll(any(), eq(DashboardView.class)))
+                .thenReturn(Collections.<String, DashboardView>emptyMap());
+
+        List<LineOverviewView> result = handler.handle(new GetAllLinesOverviewQuery());
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("getQueryType 應回傳 GetAllLinesOverviewQuery.class")
+    void shouldReturnCorrectQueryType() {
+        assertThat(handler.getQueryType()).isEqualTo(GetAllLinesOverviewQuery.class);
+    }
+
+    private DashboardMetrics createMetrics(String lineId, int totalOutput) {
+        DashboardMetrics metrics = new DashboardMetrics(
+                DashboardMetricsId.of(lineId, "20240101"),
+                lineId,
+                new CacheExpiry(1800, LocalDateTime.now()));
+        metrics.updateProductionSummary(new ProductionSummary(totalOutput, totalOutput - 5, 5, 60.0));
+        metrics.addEquipmentStatus(new EquipmentStatusSnapshot("EQ-1", "CNC-1", "RUNNING", LocalDateTime.now()));
+        metrics.addEquipmentStatus(new EquipmentStatusSnapshot("EQ-2", "CNC-2", "IDLE", LocalDateTime.now()));
+        return metrics;
+    }
+}
@@ -2,11 +2,17 @@ package com.mes.redis.dashboard.application.query;
 
 import com.mes.common.exception.EntityNotFoundException;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.service.CacheWarmUpProperties;
+import com.mes.redis.dashboard.application.service.DashboardAccessTracker;
+import com.mes.redis.dashboard.application.service.DashboardCacheKeys;
+import com.mes.redis.dashboard.application.service.SingleFlightCacheLoader;
+import com.mes.redis.dashboard.application.service.StampedeProtectionProperties;
 import com.mes.redis.dashboard.domain.model.CacheExpiry;
 import com.mes.redis.dashboard.domain.model.DashboardMetrics;
 import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
 import com.mes.redis.dashboard.domain.model.ProductionSummary;
 import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.port.out.DistributedLockPort;
 import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -41,7 +47,11 @@ class GetDashboardQueryHandlerTest {
     void setUp() {
         repository = mock(DashboardMetricsRepository.class);
         cachePort = mock(CachePort.class);
-        handler = new GetDashboardQueryHandler(repository, cachePort);
+        DistributedLockPort lockPort = mock(DistributedLockPort.class);
+        when(lockPort.tryLock(anyString(), anyLong())).thenReturn("token");
+        handler = new GetDashboardQueryHandler(repository,
+                new SingleFlightCacheLoader(cachePort, lockPort, new StampedeProtectionProperties()),
+                new DashboardAccessTracker(new CacheWarmUpProperties()));
     }
 
     @Test
@@ -80,8 +90,9 @@ class GetDashboardQueryHandlerTest {
         assertThat(result.getLineId()).isEqualTo("LINE-A");
         assertThat(result.getTotalOutput()).isEqualTo(500);
 
-        // 驗證寫入快取
-        verify(cachePort).put(eq("dashboard:LINE-A"), any(DashboardView.class), anyLong());
+        // 驗證寫入快取並登記看板標籤
+        verify(cachePort).put(eq("dashboard:LINE-A"), any(DashboardView.class), anyLong(),
+                eq(DashboardCacheKeys.dashboardTags("LINE-A")));
     }
 
     @Test
@@ -0,0 +1,168 @@
+package com.mes.redis.dashboard.application.query;
+
+import com.mes.common.exception.EntityNotFoundException;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.application.service.CacheWarmUpProperties;
+import com.mes.redis.dashboard.application.service.DashboardAccessTracker;
+import com.mes.redis.dashboard.application.service.DashboardCacheKeys;
+import com.mes.redis.dashboard.application.service.ReactiveQueryProperties;
+import com.mes.redis.dashboard.domain.model.CacheExpiry;
+import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
+import com.mes.redis.dashboard.domain.port.out.ReactiveCachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ReactiveGetDashboardQueryHandler 非阻塞查詢處理器測試。
+ * 以 Mock ReactiveCachePort 模擬命中、未命中、逾時與失敗，驗證退回 Repository 載入的路徑。
+ */
+@DisplayName("ReactiveGetDashboardQueryHandler 非阻塞查詢處理器測試")
+class ReactiveGetDashboardQueryHandlerTest {
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    private DashboardMetricsRepository repository;
+    private ReactiveCachePort cachePort;
+    private ReactiveQueryProperties properties;
+    private ReactiveGetDashboardQueryHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DashboardMetricsRepository.class);
+        cachePort = mock(ReactiveCachePort.class);
+        properties = new ReactiveQueryProperties();
+        properties.setCacheTimeout(Duration.ofMillis(100));
+        when(cachePort.put(anyString(), any(), anyLong(), any())).thenReturn(Mono.just(true));
+        handler = new ReactiveGetDashboardQueryHandler(repository, cachePort, properties,
+                new DashboardAccessTracker(new CacheWarmUpProperties()));
+    }
+
+    @Test
+    @DisplayName("Cache Hit 時應直接回傳快取值，不查 Repository")
+    void shouldReturnCachedValueOnCacheHit() {
+        DashboardView cachedView = new DashboardView();
+        cachedView.setLineId("LINE-A");
+        when(cachePort.get("dashboard:LINE-A", DashboardView.class)).thenReturn(Mono.just(cachedView));
+
+        DashboardView result = handler.handle(new GetDashboardQuery("LINE-A")).block(BLOCK_TIMEOUT);
+
+        assertThat(result).isSameAs(cachedView);
+        verify(repository, never()).findLatestByLineId(anyString());
+    }
+
+    @Test
+    @DisplayName("Cache Miss 時應在 boundedElastic 執行緒載入 Repository 並寫回快取與標籤")
+    void shouldLoadOffCallerThreadAndWriteBackOnMiss() {
+        when(cachePort.get("dashboard:LINE-A", DashboardView.class)).thenReturn(Mono.empty());
+        AtomicReference<String> loadThread = new AtomicReference<>();
+        when(repository.findLatestByLineId("LINE-A")).thenAnswer(invocation -> {
+            loadThread.set(Thread.currentThread().getName());
+            return Optional.of(createMetrics("LINE-A"));
+        });
+
+        DashboardView result = handler.handle(new GetDashboardQuery("LINE-A")).block(BLOCK_TIMEOUT);
+
+        assertThat(result.getLineId()).isEqualTo("LINE-A");
+        assertThat(result.getTotalOutput()).isEqualTo(1000);
+        assertThat(loadThread.get()).startsWith("boundedElastic");
+        verify(cachePort).put(eq("dashboard:LINE-A"), any(DashboardView.class), eq(1800L),
+                eq(DashboardCacheKeys.dashboardTags("LINE-A")));
+    }
+
+    @Test
+    @DisplayName("快取讀取逾時應退回 Repository 載入")
+    void shouldFallBackToRepositoryOnCacheTimeout() {
+        when(cachePort.get("dashboard:LINE-A", DashboardView.class)).thenReturn(Mono.never());
+        when(repository.findLatestByLineId("LINE-A")).thenReturn(Optional.of(createMetrics("LINE-A")));
+
+        DashboardView result = handler.handle(new GetDashboardQuery("LINE-A")).block(BLOCK_TIMEOUT);
+
+        assertThat(result.getLineId()).isEqualTo("LINE-A");
+    }
+
+    @Test
+    @DisplayName("快取讀取失敗應退回 Repository 載入；寫回失敗不影響結果")
+    void shouldFallBackToRepositoryOnCacheError() {
+        when(cachePort.get("dashboard:LINE-A", DashboardView.class))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(cachePort.put(anyString(), any(), anyLong(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(repository.findLatestByLineId("LINE-A")).thenReturn(Optional.of(createMetrics("LINE-A")));
+
+        DashboardView result = handler.handle(new GetDashboardQuery("LINE-A")).block(BLOCK_TIMEOUT);
+
+        assertThat(result.getLineId()).isEqualTo("LINE-A");
+    }
+
+    @Test
+    @DisplayName("產線不存在時應以 EntityNotFoundException 結束")
+    void shouldFailWhenLineNotFound() {
+        when(cachePort.get("dashboard:LINE-X", DashboardView.class)).thenReturn(Mono.empty());
+        when(repository.findLatestByLineId("LINE-X")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> handler.handle(new GetDashboardQuery("LINE-X")).block(BLOCK_TIMEOUT))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(cachePort, never()).put(anyString(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("整個查詢超過 load-timeout 時應以 TimeoutException 結束")
+    void shouldTimeOutWhenLoadIsTooSlow() {
+        properties.setLoadTimeout(Duration.ofMillis(200));
+        when(cachePort.get("dashboard:LINE-A", DashboardView.class)).thenReturn(Mono.empty());
+        when(repository.findLatestByLineId("LINE-A")).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return Optional.of(createMetrics("LINE-A"));
+        });
+
+        assertThatThrownBy(() -> handler.handle(new GetDashboardQuery("LINE-A")).block(BLOCK_TIMEOUT))
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("同一產線同時未命中時只應載入一次 Repository")
+    void shouldShareConcurrentLoads() {
+        when(cachePort.get("dashboard:LINE-A", DashboardView.class)).thenReturn(Mono.empty());
+        when(repository.findLatestByLineId("LINE-A")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(createMetrics("LINE-A"));
+        });
+
+        Mono<DashboardView> first = handler.handle(new GetDashboardQuery("LINE-A"));
+        Mono<DashboardView> second = handler.handle(new GetDashboardQuery("LINE-A"));
+        Mono.zip(first, second).block(BLOCK_TIMEOUT);
+
+        verify(repository, times(1)).findLatestByLineId("LINE-A");
+    }
+
+    private DashboardMetrics createMetrics(String lineId) {
+        DashboardMetrics metrics = new DashboardMetrics(
+                DashboardMetricsId.of(lineId, "20240101"), lineId,
+                new CacheExpiry(1800, LocalDateTime.now()));
+        metrics.updateProductionSummary(new ProductionSummary(1000, 950, 50, 120.0));
+        return metrics;
+    }
+}
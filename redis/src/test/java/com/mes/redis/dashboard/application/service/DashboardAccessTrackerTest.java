@@ -0,0 +1,65 @@
+package com.mes.redis.dashboard.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DashboardAccessTracker 看板存取頻率追蹤測試。
+ */
+@DisplayName("DashboardAccessTracker 看板存取頻率追蹤測試")
+class DashboardAccessTrackerTest {
+
+    private CacheWarmUpProperties properties;
+    private DashboardAccessTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheWarmUpProperties();
+        tracker = new DashboardAccessTracker(properties);
+    }
+
+    @Test
+    @DisplayName("應依存取次數由多到少回傳熱門產線")
+    void shouldReturnHottestLinesInOrder() {
+        record("LINE-A", 1);
+        record("LINE-B", 5);
+        record("LINE-C", 3);
+
+        assertThat(tracker.hottest(2)).containsExactly("LINE-B", "LINE-C");
+    }
+
+    @Test
+    @DisplayName("衰減應將計數減半，並移除減到 0 的產線")
+    void decayShouldHalveCounts() {
+        record("LINE-A", 1);
+        record("LINE-B", 4);
+
+        tracker.decay();
+
+        assertThat(tracker.getTrackedCount()).isEqualTo(1);
+        record("LINE-C", 3);
+        assertThat(tracker.hottest(10)).containsExactly("LINE-C", "LINE-B");
+    }
+
+    @Test
+    @DisplayName("追蹤的產線數達到上限後不應再追蹤新產線")
+    void shouldCapTrackedLines() {
+        properties.setMaxTrackedLines(2);
+
+        record("LINE-A", 1);
+        record("LINE-B", 1);
+        record("LINE-C", 10);
+
+        assertThat(tracker.getTrackedCount()).isEqualTo(2);
+        assertThat(tracker.hottest(10)).doesNotContain("LINE-C");
+    }
+
+    private void record(String lineId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(lineId);
+        }
+    }
+}
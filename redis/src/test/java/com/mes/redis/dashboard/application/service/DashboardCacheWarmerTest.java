@@ -0,0 +1,180 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.domain.model.CacheExpiry;
+import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import com.mes.redis.dashboard.infrastructure.persistence.InMemoryDashboardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * DashboardCacheWarmer 看板快取預熱測試。
+ * 使用記憶體 Repository 與 Mock CachePort，直接呼叫 warmUp() / refreshHotLines() 驗證批次寫入與狀態。
+ */
+@DisplayName("DashboardCacheWarmer 看板快取預熱測試")
+class DashboardCacheWarmerTest {
+
+    private DashboardMetricsRepository repository;
+    private CachePort cachePort;
+    private CacheWarmUpProperties properties;
+    private DashboardAccessTracker accessTracker;
+    private SingleFlightCacheLoader cacheLoader;
+    private DashboardCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new InMemoryDashboardRepository());
+        cachePort = mock(CachePort.class);
+        properties = new CacheWarmUpProperties();
+        accessTracker = new DashboardAccessTracker(properties);
+        cacheLoader = mock(SingleFlightCacheLoader.class);
+        warmer = new DashboardCacheWarmer(repository, cachePort, accessTracker, properties, cacheLoader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        warmer.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("預熱應載入所有產線，並依 batch-size 分批以 putAll 寫入看板與標籤")
+    void warmUpShouldLoadAllLinesAndPutInBatches() {
+        for (int i = 1; i <= 5; i++) {
+            repository.save(createMetrics("LINE-" + i));
+        }
+        properties.setBatchSize(2);
+        Set<String> written = new HashSet<>();
+        doAnswer(invocation -> {
+            written.addAll(invocation.<Map<String, DashboardView>>getArgument(0).keySet());
+            return null;
+        }).when(cachePort).putAll(anyMap(), anyLong(), any());
+
+        assertThat(warmer.getState()).isEqualTo(DashboardCacheWarmer.State.NOT_STARTED);
+        DashboardCacheWarmer.WarmUpResult result = warmer.warmUp();
+
+        assertThat(result.getLines()).isEqualTo(5);
+        assertThat(result.getWarmed()).isEqualTo(5);
+        assertThat(result.getFailed()).isZero();
+        assertThat(warmer.getState()).isEqualTo(DashboardCacheWarmer.State.COMPLETED);
+        assertThat(written).hasSize(5).contains("dashboard:LINE-1", "dashboard:LINE-5");
+
+        ArgumentCaptor<Function<String, Collection<String>>> tagsCaptor = ArgumentCaptor.forClass(Function.class);
+        verify(cachePort, times(3)).putAll(anyMap(), eq(1800L), tagsCaptor.capture());
+        assertThat(tagsCaptor.getAllValues().get(0).apply("dashboard:LINE-1"))
+                .containsExactly("dashboard", "line:LINE-1");
+    }
+
+    @Test
+    @DisplayName("單一產線載入失敗應略過並計入失敗數，其餘產線照常預熱")
+    void warmUpShouldSkipFailedLines() {
+        repository.save(createMetrics("LINE-A"));
+        repository.save(createMetrics("LINE-B"));
+        doThrow(new IllegalStateException("boom")).when(repository).findLatestByLineId("LINE-B");
+
+        DashboardCacheWarmer.WarmUpResult result = warmer.warmUp();
+
+        assertThat(result.getWarmed()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(warmer.getState()).isEqualTo(DashboardCacheWarmer.State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("超過 timeout 仍未載入的產線應視為失敗，預熱仍應完成")
+    void warmUpShouldGiveUpAfterTimeout() {
+        repository.save(createMetrics("LINE-A"));
+        properties.setTimeout(Duration.ofMillis(100));
+        doAnswer(invocation -> {
+            Thread.sleep(2000);
+            return Optional.empty();
+        }).when(repository).findLatestByLineId("LINE-A");
+
+        DashboardCacheWarmer.WarmUpResult result = warmer.warmUp();
+
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getDurationMillis()).isLessThan(2000);
+        verify(cachePort, never()).putAll(anyMap(), anyLong(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("刷新應只重寫存取次數最多的產線")
+    void refreshShouldRewriteHottestLines() {
+        repository.save(createMetrics("LINE-A"));
+        repository.save(createMetrics("LINE-B"));
+        repository.save(createMetrics("LINE-C"));
+        properties.setHotLines(2);
+        for (int i = 0; i < 5; i++) {
+            accessTracker.record("LINE-B");
+        }
+        for (int i = 0; i < 3; i++) {
+            accessTracker.record("LINE-C");
+        }
+        accessTracker.record("LINE-A");
+
+        assertThat(warmer.refreshHotLines()).isEqualTo(2);
+
+        ArgumentCaptor<Map<String, DashboardView>> viewsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(cachePort).putAll(viewsCaptor.capture(), eq(1800L), any());
+        assertThat(viewsCaptor.getValue()).containsOnlyKeys("dashboard:LINE-B", "dashboard:LINE-C");
+        verify(cacheLoader).recordWrites(viewsCaptor.getValue(), 1800L);
+    }
+
+    @Test
+    @DisplayName("沒有存取紀錄時刷新不應寫入")
+    void refreshShouldDoNothingWithoutAccesses() {
+        assertThat(warmer.refreshHotLines()).isZero();
+
+        verify(cachePort, never()).putAll(anyMap(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("關閉預熱時狀態應為 DISABLED，且不應載入")
+    void shouldNotWarmUpWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+
+        warmer.start();
+        warmer.run(null);
+
+        assertThat(warmer.getState()).isEqualTo(DashboardCacheWarmer.State.DISABLED);
+        verify(repository, never()).findAllLineIds();
+    }
+
+    private static DashboardMetrics createMetrics(String lineId) {
+        DashboardMetrics metrics = new DashboardMetrics(
+                DashboardMetricsId.of(lineId, "20240101"), lineId,
+                new CacheExpiry(1800, LocalDateTime.now()));
+        metrics.updateProductionSummary(new ProductionSummary(1000, 950, 50, 120.0));
+        return metrics;
+    }
+}
@@ -0,0 +1,209 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.common.ddd.event.DomainEvent;
+import com.mes.redis.dashboard.application.query.dto.DashboardHistoryView;
+import com.mes.redis.dashboard.domain.event.DashboardUpdatedEvent;
+import com.mes.redis.dashboard.domain.model.DashboardHistoryPoint;
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+import com.mes.redis.dashboard.domain.model.MetricsTimeRange;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
+import com.mes.redis.dashboard.domain.port.out.DashboardHistoryPort;
+import com.mes.redis.dashboard.domain.port.out.DistributedLockPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DashboardHistoryService 看板歷史服務測試。
+ * 以固定時鐘與 Mock 埠驗證記錄、解析度選擇與逐層彙總。
+ */
+@DisplayName("DashboardHistoryService 看板歷史服務測試")
+class DashboardHistoryServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Taipei");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 10, 9, 0, 30);
+
+    private DashboardHistoryPort historyPort;
+    private DistributedLockPort lockPort;
+    private DashboardHistoryProperties properties;
+    private DashboardHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        historyPort = mock(DashboardHistoryPort.class);
+        lockPort = mock(DistributedLockPort.class);
+        properties = new DashboardHistoryProperties();
+        when(lockPort.tryLock(anyString(), anyLong())).thenReturn("token");
+        service = new DashboardHistoryService(historyPort, lockPort, properties,
+                Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE));
+    }
+
+    @Test
+    @DisplayName("record 應只記錄帶有生產摘要的 DashboardUpdatedEvent")
+    void recordShouldAppendEventsWithSummary() {
+        LocalDateTime snapshotTime = NOW.minusSeconds(5);
+        List<DomainEvent> events = Arrays.asList(
+                new DashboardUpdatedEvent("LINE-A-20240110", "LINE-A", snapshotTime,
+                        new ProductionSummary(1000, 950, 50, 120.0)),
+                new DashboardUpdatedEvent("LINE-A-20240110", "LINE-A", snapshotTime));
+
+        service.record(events);
+
+        ArgumentCaptor<DashboardHistoryPoint> captor = ArgumentCaptor.forClass(DashboardHistoryPoint.class);
+        verify(historyPort).append(eq("LINE-A"), captor.capture());
+        assertThat(captor.getValue().getTimestamp()).isEqualTo(snapshotTime);
+        assertThat(captor.getValue().getTotalOutput()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("record 在儲存失敗時不應拋出例外")
+    void recordShouldSwallowStorageFailure() {
+        doThrow(new RuntimeException("Redis down")).when(historyPort).append(anyString(), any());
+
+        service.record(Collections.singletonList(new DashboardUpdatedEvent("id", "LINE-A", NOW,
+                new ProductionSummary(1, 1, 0, 1.0))));
+
+        verify(historyPort).append(eq("LINE-A"), any());
+    }
+
+    @Test
+    @DisplayName("record 應拒絕時間戳早於 1m 彙總進度的遲到資料點")
+    void recordShouldRejectPointsOlderThanRollUpProgress() {
+        when(historyPort.findRolledUpUntil("LINE-A", HistoryResolution.MINUTE))
+                .thenReturn(Optional.of(NOW.withSecond(0)));
+
+        service.record(Collections.singletonList(new DashboardUpdatedEvent("id", "LINE-A", NOW.minusMinutes(3),
+                new ProductionSummary(1, 1, 0, 1.0))));
+
+        verify(historyPort, never()).append(anyString(), any());
+        assertThat(service.getRejectedLatePoints()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("record 對尚未彙總時間桶的遲到資料點仍應記錄")
+    void recordShouldAppendLatePointsNotYetRolledUp() {
+        when(historyPort.findRolledUpUntil("LINE-A", HistoryResolution.MINUTE))
+                .thenReturn(Optional.of(NOW.minusMinutes(5).withSecond(0)));
+
+        service.record(Collections.singletonList(new DashboardUpdatedEvent("id", "LINE-A", NOW.minusMinutes(3),
+                new ProductionSummary(1, 1, 0, 1.0))));
+
+        verify(historyPort).append(eq("LINE-A"), any());
+        assertThat(service.getRejectedLatePoints()).isZero();
+    }
+
+    @Test
+    @DisplayName("應選擇仍能提供足夠資料點的最粗解析度")
+    void shouldSelectCoarsestResolutionWithEnoughPoints() {
+        assertThat(service.selectResolution(range(NOW.minusDays(7)), 100)).isEqualTo(HistoryResolution.HOUR);
+        assertThat(service.selectResolution(range(NOW.minusDays(1)), 60))
+                .isEqualTo(HistoryResolution.FIFTEEN_MINUTES);
+        assertThat(service.selectResolution(range(NOW.minusHours(1)), 60)).isEqualTo(HistoryResolution.MINUTE);
+        assertThat(service.selectResolution(range(NOW.minusMinutes(10)), 60)).isEqualTo(HistoryResolution.RAW);
+    }
+
+    @Test
+    @DisplayName("細解析度的保留期不涵蓋範圍時，應退而使用仍保留資料的解析度")
+    void shouldFallBackToRetainedResolution() {
+        // 10 天前：1m 與 raw 已被清除，15m 只有 960 點不足 2000，使用仍涵蓋範圍的最細解析度 15m
+        assertThat(service.selectResolution(range(NOW.minusDays(10)), 2000))
+                .isEqualTo(HistoryResolution.FIFTEEN_MINUTES);
+        // 超過所有保留期：使用保留期最長的 1h
+        assertThat(service.selectResolution(range(NOW.minusDays(365)), 10)).isEqualTo(HistoryResolution.HOUR);
+    }
+
+    @Test
+    @DisplayName("query 應以選出的解析度查詢並轉換為視圖")
+    void queryShouldReadSelectedResolution() {
+        MetricsTimeRange range = range(NOW.minusHours(1));
+        DashboardHistoryPoint point = new DashboardHistoryPoint(NOW.minusMinutes(30), 3, 100, 95, 5, 120.0, 130.0);
+        when(historyPort.findRange("LINE-A", HistoryResolution.MINUTE, range.getFrom(), range.getTo()))
+                .thenReturn(Collections.singletonList(point));
+
+        DashboardHistoryView view = service.query("LINE-A", range, 60);
+
+        assertThat(view.getResolution()).isEqualTo("1m");
+        assertThat(view.getPoints()).hasSize(1);
+        assertThat(view.getPoints().get(0).getYieldRate()).isEqualByComparingTo("0.9500");
+    }
+
+    @Test
+    @DisplayName("rollUp 應把已結束的時間桶由較細的一層彙總，並推進進度與清理保留期")
+    void rollUpShouldAggregateCompletedBuckets() {
+        LocalDateTime minuteStart = LocalDateTime.of(2024, 1, 10, 8, 58);
+        when(historyPort.findLineIds()).thenReturn(Collections.singletonList("LINE-A"));
+        when(historyPort.findRolledUpUntil("LINE-A", HistoryResolution.MINUTE))
+                .thenReturn(Optional.of(minuteStart));
+        when(historyPort.findRolledUpUntil("LINE-A", HistoryResolution.FIFTEEN_MINUTES))
+                .thenReturn(Optional.of(LocalDateTime.of(2024, 1, 10, 9, 0)));
+        when(historyPort.findRolledUpUntil("LINE-A", HistoryResolution.HOUR))
+                .thenReturn(Optional.of(LocalDateTime.of(2024, 1, 10, 9, 0)));
+        when(historyPort.findRange("LINE-A", HistoryResolution.RAW, minuteStart, NOW.withSecond(0)))
+                .thenReturn(Arrays.asList(
+                        DashboardHistoryPoint.of(minuteStart.plusSeconds(5), new ProductionSummary(10, 10, 0, 60.0)),
+                        DashboardHistoryPoint.of(minuteStart.plusSeconds(50), new ProductionSummary(20, 19, 1, 80.0)),
+                        DashboardHistoryPoint.of(minuteStart.plusSeconds(70), new ProductionSummary(30, 29, 1, 90.0))));
+
+        int written = service.rollUp();
+
+        assertThat(written).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DashboardHistoryPoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(historyPort).saveRollUps(eq("LINE-A"), eq(HistoryResolution.MINUTE), captor.capture(),
+                eq(NOW.withSecond(0)));
+        List<DashboardHistoryPoint> buckets = captor.getValue();
+        assertThat(buckets).extracting(DashboardHistoryPoint::getTimestamp)
+                .containsExactly(minuteStart, minuteStart.plusMinutes(1));
+        assertThat(buckets.get(0).getSampleCount()).isEqualTo(2);
+        assertThat(buckets.get(0).getTotalOutput()).isEqualTo(20);
+        assertThat(buckets.get(0).getAverageThroughput()).isEqualTo(70.0);
+
+        // 15m 與 1h 沒有新的已結束時間桶，不應寫入
+        verify(historyPort, never()).saveRollUps(eq("LINE-A"), eq(HistoryResolution.HOUR), any(), any());
+        verify(historyPort).trim("LINE-A", HistoryResolution.RAW, NOW.minusHours(6));
+        verify(historyPort).trim("LINE-A", HistoryResolution.HOUR, NOW.minusDays(90));
+        verify(lockPort).unlock(anyString(), eq("token"));
+    }
+
+    @Test
+    @DisplayName("其他節點正在彙總時應略過")
+    void rollUpShouldSkipWhenLockIsHeld() {
+        when(lockPort.tryLock(anyString(), anyLong())).thenReturn(null);
+
+        assertThat(service.rollUp()).isZero();
+
+        verify(historyPort, never()).findLineIds();
+    }
+
+    @Test
+    @DisplayName("期望點數必須為正數")
+    void shouldRejectNonPositivePoints() {
+        assertThatThrownBy(() -> service.selectResolution(range(NOW.minusHours(1)), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MetricsTimeRange range(LocalDateTime from) {
+        return new MetricsTimeRange(from, NOW);
+    }
+}
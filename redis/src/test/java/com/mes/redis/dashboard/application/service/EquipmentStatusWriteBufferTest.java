@@ -0,0 +1,155 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.common.ddd.event.DomainEvent;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.domain.model.CacheExpiry;
+import com.mes.redis.dashboard.domain.model.DashboardMetrics;
+import com.mes.redis.dashboard.domain.model.DashboardMetricsId;
+import com.mes.redis.dashboard.domain.model.EquipmentStatusSnapshot;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.repository.DashboardMetricsRepository;
+import com.mes.redis.dashboard.infrastructure.persistence.InMemoryDashboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * EquipmentStatusWriteBuffer 設備狀態寫入緩衝測試。
+ * 使用記憶體 Repository 與 Mock CachePort，直接呼叫 flush() 驗證合併與批次寫回。
+ */
+@DisplayName("EquipmentStatusWriteBuffer 設備狀態寫入緩衝測試")
+class EquipmentStatusWriteBufferTest {
+
+    private DashboardMetricsRepository repository;
+    private CachePort cachePort;
+    private EquipmentStatusBufferProperties properties;
+    private SingleFlightCacheLoader cacheLoader;
+    private EquipmentStatusWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new InMemoryDashboardRepository());
+        cachePort = mock(CachePort.class);
+        properties = new EquipmentStatusBufferProperties();
+        cacheLoader = mock(SingleFlightCacheLoader.class);
+        buffer = new EquipmentStatusWriteBuffer(repository, cachePort, properties, new DashboardLineLocks(),
+                cacheLoader);
+    }
+
+    @Test
+    @DisplayName("同一台設備的多次變更應合併，只寫回最新狀態")
+    void shouldCoalesceUpdatesForSameEquipment() {
+        buffer.submit("LINE-A", snapshot("EQ-001", "RUNNING"));
+        buffer.submit("LINE-A", snapshot("EQ-001", "IDLE"));
+        buffer.submit("LINE-A", snapshot("EQ-001", "BREAKDOWN"));
+
+        assertThat(buffer.getPendingCount()).isEqualTo(1);
+        assertThat(buffer.getCoalescedCount()).isEqualTo(2);
+        verify(repository, never()).save(any());
+
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        DashboardMetrics metrics = repository.findLatestByLineId("LINE-A").get();
+        assertThat(metrics.getEquipmentStatuses()).hasSize(1);
+        assertThat(metrics.getEquipmentStatuses().get(0).getStatus()).isEqualTo("BREAKDOWN");
+        assertThat(metrics.getDomainEvents()).isEmpty();
+        assertThat(buffer.getPendingCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("寫回應每條產線儲存一次，並以一次 putAll 寫入所有看板")
+    void shouldSaveOncePerLineAndPutAllViews() {
+        buffer.submit("LINE-A", snapshot("EQ-001", "RUNNING"));
+        buffer.submit("LINE-A", snapshot("EQ-002", "IDLE"));
+        buffer.submit("LINE-B", snapshot("EQ-101", "RUNNING"));
+
+        assertThat(buffer.flush()).isEqualTo(3);
+
+        verify(repository, times(2)).save(any(DashboardMetrics.class));
+        ArgumentCaptor<Map<String, DashboardView>> viewsCaptor = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Function<String, Collection<String>>> tagsCaptor = ArgumentCaptor.forClass(Function.class);
+        verify(cachePort).putAll(viewsCaptor.capture(), eq(1800L), tagsCaptor.capture());
+        assertThat(viewsCaptor.getValue()).containsOnlyKeys("dashboard:LINE-A", "dashboard:LINE-B");
+        assertThat(viewsCaptor.getValue().get("dashboard:LINE-A").getEquipmentStatuses()).hasSize(2);
+        assertThat(tagsCaptor.getValue().apply("dashboard:LINE-B")).containsExactly("dashboard", "line:LINE-B");
+        verify(cacheLoader).recordWrites(viewsCaptor.getValue(), 1800L);
+    }
+
+    @Test
+    @DisplayName("沒有待寫回的變更時不應寫入")
+    void shouldNotWriteWhenEmpty() {
+        assertThat(buffer.flush()).isZero();
+
+        verify(repository, never()).save(any());
+        verify(cachePort, never()).putAll(anyMap(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("待寫回的設備數達到上限時應立即寫回")
+    void shouldFlushWhenMaxPendingReached() {
+        properties.setMaxPending(2);
+
+        buffer.submit("LINE-A", snapshot("EQ-001", "RUNNING"));
+        verify(repository, never()).save(any());
+
+        buffer.submit("LINE-A", snapshot("EQ-002", "RUNNING"));
+
+        verify(repository).save(any(DashboardMetrics.class));
+        assertThat(buffer.getPendingCount()).isZero();
+        assertThat(buffer.getFlushedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("關閉緩衝時每次變更應立即寫回")
+    void shouldWriteThroughWhenDisabled() {
+        properties.setEnabled(false);
+
+        buffer.submit("LINE-A", snapshot("EQ-001", "RUNNING"));
+        buffer.submit("LINE-A", snapshot("EQ-001", "IDLE"));
+
+        verify(repository, times(2)).save(any(DashboardMetrics.class));
+        assertThat(buffer.getPendingCount()).isZero();
+        assertThat(repository.findLatestByLineId("LINE-A").get().getEquipmentStatuses()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("寫回只應清除自己註冊的事件，保留其他流程尚未處理的事件")
+    void shouldOnlyClearEventsItRegistered() {
+        DashboardMetrics metrics = new DashboardMetrics(
+                DashboardMetricsId.of("LINE-A", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"))),
+                "LINE-A", new CacheExpiry(1800, LocalDateTime.now()));
+        metrics.updateProductionSummary(new ProductionSummary(1000, 950, 50, 120.0));
+        repository.save(metrics);
+        DomainEvent pending = metrics.getDomainEvents().get(0);
+
+        buffer.submit("LINE-A", snapshot("EQ-001", "RUNNING"));
+        buffer.flush();
+
+        assertThat(metrics.getEquipmentStatuses()).hasSize(1);
+        assertThat(metrics.getDomainEvents()).containsExactly(pending);
+    }
+
+    private static EquipmentStatusSnapshot snapshot(String equipmentId, String status) {
+        return new EquipmentStatusSnapshot(equipmentId, "Equipment " + equipmentId, status, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,268 @@
+package com.mes.redis.dashboard.application.service;
+
+import com.mes.common.exception.EntityNotFoundException;
+import com.mes.redis.dashboard.domain.port.out.CachePort;
+import com.mes.redis.dashboard.domain.port.out.DistributedLockPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SingleFlightCacheLoader 雪崩防護載入器測試。
+ * 以可控制的時鐘與亂數驗證單飛、跨節點鎖、提前刷新與 stale-while-revalidate。
+ */
+@DisplayName("SingleFlightCacheLoader 雪崩防護載入器測試")
+class SingleFlightCacheLoaderTest {
+
+    private static final String KEY = "dashboard:LINE-A";
+    private static final List<String> TAGS = DashboardCacheKeys.dashboardTags("LINE-A");
+
+    private CachePort cachePort;
+    private DistributedLockPort lockPort;
+    private StampedeProtectionProperties properties;
+    private AtomicReference<Object> stored;
+    private AtomicLong now;
+    private List<Runnable> backgroundTasks;
+
+    @BeforeEach
+    void setUp() {
+        cachePort = mock(CachePort.class);
+        lockPort = mock(DistributedLockPort.class);
+        properties = new StampedeProtectionProperties();
+        properties.setPollInterval(Duration.ofMillis(1));
+        stored = new AtomicReference<>();
+        now = new AtomicLong(0);
+        backgroundTasks = new ArrayList<>();
+
+        // 以 AtomicReference 模擬 Redis：put 之後 get 才會命中
+        when(cachePort.get(eq(KEY), eq(String.class))).thenAnswer(inv -> (String) stored.get());
+        doAnswer(inv -> {
+            stored.set(inv.getArgument(1));
+            return null;
+        }).when(cachePort).put(eq(KEY), any(), anyLong(), anyCollection());
+        when(lockPort.tryLock(anyString(), anyLong())).thenReturn("token");
+    }
+
+    @Test
+    @DisplayName("同一節點同時未命中時應只載入一次")
+    void concurrentMissesShouldLoadOnce() throws Exception {
+        SingleFlightCacheLoader loader = new SingleFlightCacheLoader(cachePort, lockPort, properties);
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    return loader.get(KEY, String.class, 1800, TAGS, () -> {
+                        loads.incrementAndGet();
+                        awaitQuietly(ready);
+                        sleepQuietly(100);
+                        return "view";
+                    });
+                }));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("view");
+            }
+        } finally {
+            pool.shutdownNow();
+            loader.shutdown();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(loader.getInFlightCount()).isZero();
+        verify(lockPort).unlock("lock:" + KEY, "token");
+    }
+
+    @Test
+    @DisplayName("其他節點持有鎖時應等待其寫入快取，不自行載入")
+    void shouldWaitForOtherNodeWhenLockIsBusy() {
+        when(lockPort.tryLock(anyString(), anyLong())).thenReturn(null);
+        when(cachePort.get(eq(KEY), eq(String.class))).thenReturn(null, null, "loaded-elsewhere");
+        SingleFlightCacheLoader loader = newLoader();
+
+        String result = loader.get(KEY, String.class, 1800, TAGS, () -> {
+            throw new AssertionError("should not load");
+        });
+
+        assertThat(result).isEqualTo("loaded-elsewhere");
+        verify(lockPort, never()).unlock(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("接近到期時應在背景提前刷新，遠離到期時不刷新")
+    void shouldRefreshEarlyNearExpiry() {
+        SingleFlightCacheLoader loader = newLoader();
+        AtomicInteger loads = new AtomicInteger();
+
+        // 載入耗時 1 秒，TTL 10 秒，邏輯到期時間 = 11_000
+        loader.get(KEY, String.class, 10, TAGS, () -> {
+            loads.incrementAndGet();
+            now.addAndGet(1_000);
+            return "v" + loads.get();
+        });
+
+        now.set(2_000);
+        assertThat(loader.get(KEY, String.class, 10, TAGS, () -> "unused")).isEqualTo("v1");
+        assertThat(backgroundTasks).isEmpty();
+
+        now.set(10_500);
+        assertThat(loader.get(KEY, String.class, 10, TAGS, () -> {
+            loads.incrementAndGet();
+            return "v" + loads.get();
+        })).isEqualTo("v1");
+        assertThat(backgroundTasks).hasSize(1);
+
+        backgroundTasks.get(0).run();
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(stored.get()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("啟用 stale-while-revalidate 時過期後應回傳舊值並在背景重新載入")
+    void shouldServeStaleWhileRevalidating() {
+        properties.setStaleWhileRevalidate(true);
+        SingleFlightCacheLoader loader = newLoader();
+        loader.get(KEY, String.class, 10, TAGS, () -> "old");
+
+        stored.set(null);
+        now.set(12_000);
+        String result = loader.get(KEY, String.class, 10, TAGS, () -> "new");
+
+        assertThat(result).isEqualTo("old");
+        assertThat(backgroundTasks).hasSize(1);
+        backgroundTasks.get(0).run();
+        assertThat(stored.get()).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("舊值超過 staleTtl 時應同步重新載入")
+    void shouldLoadSynchronouslyWhenStaleValueTooOld() {
+        properties.setStaleWhileRevalidate(true);
+        properties.setStaleTtl(Duration.ofSeconds(1));
+        SingleFlightCacheLoader loader = newLoader();
+        loader.get(KEY, String.class, 10, TAGS, () -> "old");
+
+        stored.set(null);
+        now.set(20_000);
+        String result = loader.get(KEY, String.class, 10, TAGS, () -> "new");
+
+        assertThat(result).isEqualTo("new");
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("明確失效後即使啟用 stale-while-revalidate 也應同步重新載入")
+    void shouldNotServeStaleValueAfterInvalidation() {
+        properties.setStaleWhileRevalidate(true);
+        SingleFlightCacheLoader loader = newLoader();
+        loader.get(KEY, String.class, 10, TAGS, () -> "old");
+
+        stored.set(null);
+        loader.invalidate(KEY);
+        now.set(12_000);
+        String result = loader.get(KEY, String.class, 10, TAGS, () -> "new");
+
+        assertThat(result).isEqualTo("new");
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("不經過載入器的寫入應更新舊值與到期時間")
+    void shouldServeLatestWriteAsStaleValue() {
+        properties.setStaleWhileRevalidate(true);
+        SingleFlightCacheLoader loader = newLoader();
+        loader.get(KEY, String.class, 10, TAGS, () -> "old");
+
+        // 5 秒時 Write-Through 寫入新值，到期時間延到 15 秒
+        now.set(5_000);
+        stored.set("written");
+        loader.recordWrite(KEY, "written", 10);
+
+        stored.set(null);
+        now.set(16_000);
+        String result = loader.get(KEY, String.class, 10, TAGS, () -> "new");
+
+        assertThat(result).isEqualTo("written");
+        assertThat(backgroundTasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("到期前就未命中表示鍵已被刪除，不應回傳舊值")
+    void shouldNotServeStaleValueWhenDeletedBeforeExpiry() {
+        properties.setStaleWhileRevalidate(true);
+        SingleFlightCacheLoader loader = newLoader();
+        loader.get(KEY, String.class, 10, TAGS, () -> "old");
+
+        stored.set(null);
+        now.set(5_000);
+        String result = loader.get(KEY, String.class, 10, TAGS, () -> "new");
+
+        assertThat(result).isEqualTo("new");
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("載入失敗時應將例外傳給呼叫端並釋放鎖")
+    void shouldPropagateLoaderException() {
+        SingleFlightCacheLoader loader = newLoader();
+
+        assertThatThrownBy(() -> loader.get(KEY, String.class, 10, TAGS, () -> {
+            throw new EntityNotFoundException("DashboardMetrics", "LINE-A");
+        })).isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(loader.getInFlightCount()).isZero();
+        verify(lockPort).unlock("lock:" + KEY, "token");
+        verify(cachePort, never()).put(anyString(), any(), anyLong(), anyCollection());
+    }
+
+    private SingleFlightCacheLoader newLoader() {
+        // 亂數固定為 0.5：-ln(0.5) ≈ 0.69，即提前約 0.69 倍的載入耗時觸發刷新
+        return new SingleFlightCacheLoader(cachePort, lockPort, properties,
+                backgroundTasks::add, now::get, () -> 0.5);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mes.redis.dashboard.benchmark;
+
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import com.mes.redis.dashboard.infrastructure.cache.CompactRedisSerializer;
+import com.mes.redis.dashboard.infrastructure.cache.RedisSerializerProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DashboardView 序列化效能基準：比較 JSON、compact、compact + Deflate 三種寫法。
+ *
+ * 對每種格式與每種看板大小（設備數）量測：
+ * <ul>
+ *   <li>序列化後的位元組數（即 Redis 記憶體與網路傳輸量）</li>
+ *   <li>序列化（寫入）與反序列化（讀取）的平均耗時</li>
+ * </ul>
+ *
+ * <p>此類別名稱不符合 surefire 預設的 *Test 規則，且需要 {@code -Dbench=true}，
+ * 因此不會在一般建置中執行。執行方式：</p>
+ *
+ * <pre>
+ * mvn -pl redis -am test -Dtest=DashboardViewSerializationBenchmark -Dbench=true \
+ *     -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dbench.iterations=200000 -Dbench.warmup=50000
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@DisplayName("DashboardView 序列化效能基準")
+class DashboardViewSerializationBenchmark {
+
+    private static final int[] EQUIPMENT_COUNTS = {0, 10, 50, 200};
+
+    private final int iterations = Integer.getInteger("bench.iterations", 100_000);
+    private final int warmup = Integer.getInteger("bench.warmup", 20_000);
+
+    /** 防止 JIT 消除未使用的結果。 */
+    private long blackhole;
+
+    @Test
+    @DisplayName("DashboardView 在各格式下的往返大小與耗時")
+    void roundTrip() {
+        System.out.println(String.format(Locale.ROOT, "%-16s %10s %8s %12s %12s",
+                "format", "equipment", "bytes", "ser(us/op)", "deser(us/op)"));
+        for (int equipmentCount : EQUIPMENT_COUNTS) {
+            DashboardView view = createView(equipmentCount);
+            run("json", serializer(RedisSerializerProperties.Format.JSON, 0), view, equipmentCount);
+            run("compact", serializer(RedisSerializerProperties.Format.COMPACT, 0), view, equipmentCount);
+            run("compact+deflate", serializer(RedisSerializerProperties.Format.COMPACT, 1024), view, equipmentCount);
+        }
+        assertThat(blackhole).isNotZero();
+    }
+
+    private void run(String name, CompactRedisSerializer serializer, DashboardView view, int equipmentCount) {
+        byte[] bytes = serializer.serialize(view);
+        DashboardView restored = (DashboardView) serializer.deserialize(bytes);
+        assertThat(restored.getEquipmentStatuses()).hasSize(equipmentCount);
+
+        for (int i = 0; i < warmup; i++) {
+            blackhole += serializer.serialize(view).length;
+            blackhole += serializer.deserialize(bytes).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += serializer.serialize(view).length;
+        }
+        long serializeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += serializer.deserialize(bytes).hashCode();
+        }
+        long deserializeNanos = System.nanoTime() - start;
+
+        System.out.println(String.format(Locale.ROOT, "%-16s %10d %8d %12.2f %12.2f",
+                name, equipmentCount, bytes.length,
+                serializeNanos / 1000.0 / iterations, deserializeNanos / 1000.0 / iterations));
+    }
+
+    private static CompactRedisSerializer serializer(RedisSerializerProperties.Format format, int threshold) {
+        RedisSerializerProperties properties = new RedisSerializerProperties();
+        properties.setFormat(format);
+        properties.setCompressionThreshold(threshold);
+        return CompactRedisSerializer.create(properties);
+    }
+
+    private static DashboardView createView(int equipmentCount) {
+        List<DashboardView.EquipmentStatusView> statuses = new ArrayList<>();
+        for (int i = 0; i < equipmentCount; i++) {
+            statuses.add(new DashboardView.EquipmentStatusView(
+                    "EQ-" + i, "CNC Machine " + i, i % 7 == 0 ? "BREAKDOWN" : "RUNNING",
+                    LocalDateTime.of(2024, 1, 1, 8, i % 60)));
+        }
+        return new DashboardView(
+                "LINE-A", 12000, 11800, 200,
+                new BigDecimal("0.9833"), 480.5,
+                statuses,
+                LocalDateTime.of(2024, 1, 1, 8, 30, 15));
+    }
+}
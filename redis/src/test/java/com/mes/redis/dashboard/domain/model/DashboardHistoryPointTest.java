@@ -0,0 +1,103 @@
+package com.mes.redis.dashboard.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DashboardHistoryPoint 與 HistoryResolution 的領域規則測試：時間桶對齊與彙總計算。
+ */
+@DisplayName("DashboardHistoryPoint 看板歷史資料點測試")
+class DashboardHistoryPointTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Nested
+    @DisplayName("時間桶對齊")
+    class BucketTests {
+
+        @Test
+        @DisplayName("各解析度應對齊到時間桶起點")
+        void shouldAlignToBucketStart() {
+            LocalDateTime time = LocalDateTime.of(2024, 1, 1, 8, 44, 59, 123_000_000);
+
+            assertThat(HistoryResolution.RAW.bucketStart(time)).isEqualTo(time);
+            assertThat(HistoryResolution.MINUTE.bucketStart(time)).isEqualTo(LocalDateTime.of(2024, 1, 1, 8, 44));
+            assertThat(HistoryResolution.FIFTEEN_MINUTES.bucketStart(time))
+                    .isEqualTo(LocalDateTime.of(2024, 1, 1, 8, 30));
+            assertThat(HistoryResolution.HOUR.bucketStart(time)).isEqualTo(LocalDateTime.of(2024, 1, 1, 8, 0));
+        }
+
+        @Test
+        @DisplayName("每一層的彙總來源應是較細的一層")
+        void shouldRollUpFromFinerResolution() {
+            assertThat(HistoryResolution.RAW.isRollUp()).isFalse();
+            assertThat(HistoryResolution.MINUTE.getSource()).isEqualTo(HistoryResolution.RAW);
+            assertThat(HistoryResolution.FIFTEEN_MINUTES.getSource()).isEqualTo(HistoryResolution.MINUTE);
+            assertThat(HistoryResolution.HOUR.getSource()).isEqualTo(HistoryResolution.FIFTEEN_MINUTES);
+        }
+
+        @Test
+        @DisplayName("pointsIn 應回傳時間範圍內的時間桶數")
+        void shouldCountBucketsInRange() {
+            MetricsTimeRange range = new MetricsTimeRange(BASE, BASE.plusHours(2));
+
+            assertThat(HistoryResolution.MINUTE.pointsIn(range)).isEqualTo(120);
+            assertThat(HistoryResolution.FIFTEEN_MINUTES.pointsIn(range)).isEqualTo(8);
+            assertThat(HistoryResolution.HOUR.pointsIn(range)).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("彙總")
+    class RollUpTests {
+
+        @Test
+        @DisplayName("累計值取最後一筆，產量取加權平均與最大值")
+        void shouldRollUpPoints() {
+            DashboardHistoryPoint later = DashboardHistoryPoint.of(BASE.plusSeconds(40),
+                    new ProductionSummary(200, 190, 10, 300.0));
+            DashboardHistoryPoint earlier = DashboardHistoryPoint.of(BASE.plusSeconds(10),
+                    new ProductionSummary(100, 95, 5, 100.0));
+
+            DashboardHistoryPoint bucket = DashboardHistoryPoint.rollUp(BASE, Arrays.asList(later, earlier));
+
+            assertThat(bucket.getTimestamp()).isEqualTo(BASE);
+            assertThat(bucket.getSampleCount()).isEqualTo(2);
+            assertThat(bucket.getTotalOutput()).isEqualTo(200);
+            assertThat(bucket.getGoodCount()).isEqualTo(190);
+            assertThat(bucket.getAverageThroughput()).isEqualTo(200.0);
+            assertThat(bucket.getMaxThroughput()).isEqualTo(300.0);
+            assertThat(bucket.getYieldRate()).isEqualByComparingTo("0.9500");
+        }
+
+        @Test
+        @DisplayName("逐層彙總時平均值應依樣本數加權")
+        void shouldWeightAverageBySampleCount() {
+            DashboardHistoryPoint threeSamples = new DashboardHistoryPoint(BASE, 3, 100, 100, 0, 100.0, 150.0);
+            DashboardHistoryPoint oneSample = new DashboardHistoryPoint(BASE.plusMinutes(1), 1, 120, 118, 2,
+                    200.0, 200.0);
+
+            DashboardHistoryPoint bucket = DashboardHistoryPoint.rollUp(BASE,
+                    Arrays.asList(threeSamples, oneSample));
+
+            assertThat(bucket.getSampleCount()).isEqualTo(4);
+            assertThat(bucket.getAverageThroughput()).isEqualTo(125.0);
+            assertThat(bucket.getTotalOutput()).isEqualTo(120);
+        }
+
+        @Test
+        @DisplayName("空的時間桶不可彙總")
+        void shouldRejectEmptyBucket() {
+            assertThatThrownBy(() -> DashboardHistoryPoint.rollUp(BASE, Collections.emptyList()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -144,6 +146,49 @@ class DashboardMetricsTest {
             assertThat(metrics.getEquipmentStatuses()).isEmpty();
             assertThat(metrics.getDomainEvents()).isEmpty();
         }
+
+        @Test
+        @DisplayName("新增已存在的設備應取代原快照，不產生重複")
+        void shouldReplaceExistingEquipmentOnAdd() {
+            metrics.addEquipmentStatus(new EquipmentStatusSnapshot(
+                    "EQ-001", "衝壓機A", "RUNNING", LocalDateTime.now()));
+            metrics.addEquipmentStatus(new EquipmentStatusSnapshot(
+                    "EQ-002", "衝壓機B", "RUNNING", LocalDateTime.now()));
+            metrics.addEquipmentStatus(new EquipmentStatusSnapshot(
+                    "EQ-001", "衝壓機A", "IDLE", LocalDateTime.now()));
+
+            assertThat(metrics.getEquipmentStatuses()).hasSize(2);
+            assertThat(metrics.getEquipmentStatuses().get(0).getStatus()).isEqualTo("IDLE");
+            assertThat(metrics.getEquipmentStatuses().get(1).getEquipmentId()).isEqualTo("EQ-002");
+        }
+
+        @Test
+        @DisplayName("批次套用設備狀態應新增或取代，且只註冊一個事件")
+        void shouldApplyEquipmentStatusesWithSingleEvent() {
+            metrics.addEquipmentStatus(new EquipmentStatusSnapshot(
+                    "EQ-001", "衝壓機A", "RUNNING", LocalDateTime.now()));
+            metrics.clearEvents();
+
+            metrics.applyEquipmentStatuses(Arrays.asList(
+                    new EquipmentStatusSnapshot("EQ-001", "衝壓機A", "BREAKDOWN", LocalDateTime.now()),
+                    new EquipmentStatusSnapshot("EQ-002", "衝壓機B", "RUNNING", LocalDateTime.now()),
+                    new EquipmentStatusSnapshot("EQ-003", "衝壓機C", "IDLE", LocalDateTime.now())));
+
+            assertThat(metrics.getEquipmentStatuses()).extracting(EquipmentStatusSnapshot::getStatus)
+                    .containsExactly("BREAKDOWN", "RUNNING", "IDLE");
+            assertThat(metrics.getDomainEvents()).hasSize(1);
+
+            metrics.updateEquipmentStatus("EQ-003", "RUNNING");
+            assertThat(metrics.getEquipmentStatuses().get(2).getStatus()).isEqualTo("RUNNING");
+        }
+
+        @Test
+        @DisplayName("批次套用空集合不應註冊事件")
+        void shouldIgnoreEmptyEquipmentStatuses() {
+            metrics.applyEquipmentStatuses(Collections.emptyList());
+
+            assertThat(metrics.getDomainEvents()).isEmpty();
+        }
     }
 
     @Nested
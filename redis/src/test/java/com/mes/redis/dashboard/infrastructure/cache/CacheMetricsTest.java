@@ -0,0 +1,95 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CacheMetrics 快取操作量測測試。
+ * 使用 SimpleMeterRegistry 驗證前綴分組、前綴上限與發佈到 Micrometer 的 Meter。
+ */
+@DisplayName("CacheMetrics 快取操作量測測試")
+class CacheMetricsTest {
+
+    private MeterRegistry registry;
+    private RedisCacheProperties properties;
+    private CacheMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new RedisCacheProperties();
+        metrics = new CacheMetrics(registry, properties);
+    }
+
+    @Test
+    @DisplayName("前綴應取到第一個 ':'（含），沒有 ':' 的鍵歸入 (none)")
+    void shouldResolvePrefixUpToFirstColon() {
+        assertThat(CacheMetrics.prefixOf("dashboard:LINE-A")).isEqualTo("dashboard:");
+        assertThat(CacheMetrics.prefixOf("cache:tag:line:LINE-A")).isEqualTo("cache:");
+        assertThat(CacheMetrics.prefixOf("dashboard:*")).isEqualTo("dashboard:");
+        assertThat(CacheMetrics.prefixOf("plain")).isEqualTo(CacheMetrics.NO_PREFIX);
+    }
+
+    @Test
+    @DisplayName("同一前綴的鍵應共用同一組 Meter")
+    void shouldReuseMetersForSamePrefix() {
+        assertThat(metrics.forKey("dashboard:LINE-A")).isSameAs(metrics.forKey("dashboard:LINE-B"));
+    }
+
+    @Test
+    @DisplayName("超過前綴上限後應歸入 (other)")
+    void shouldCapDistinctPrefixes() {
+        properties.setMetricsMaxPrefixes(2);
+
+        metrics.forKey("a:1").hit();
+        metrics.forKey("b:1").hit();
+        metrics.forKey("c:1").hit();
+        metrics.forKey("d:1").hit();
+
+        assertThat(metrics.snapshot()).containsOnlyKeys("a:", "b:", CacheMetrics.OTHER_PREFIX);
+        assertThat(metrics.snapshot().get(CacheMetrics.OTHER_PREFIX).getHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("應發佈命中計數、延遲與失敗計數到 Micrometer")
+    void shouldPublishToMicrometer() {
+        CacheMetrics.PrefixMeters meters = metrics.forKey("dashboard:LINE-A");
+        meters.hit();
+        meters.miss();
+        meters.latency(CacheMetrics.Operation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+        meters.failure(CacheMetrics.Operation.PUT);
+
+        assertThat(registry.get("mes.cache.requests").tag("prefix", "dashboard:").tag("result", "hit")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("mes.cache.latency").tag("prefix", "dashboard:").tag("operation", "get")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        assertThat(registry.get("mes.cache.failures").tag("prefix", "dashboard:").tag("operation", "put")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("快照應只列出有資料的操作，並計算命中率")
+    void snapshotShouldSummarizeActiveOperations() {
+        CacheMetrics.PrefixMeters meters = metrics.forKey("dashboard:LINE-A");
+        meters.hit();
+        meters.hit();
+        meters.hit();
+        meters.miss();
+        meters.latency(CacheMetrics.Operation.GET, TimeUnit.MICROSECONDS.toNanos(500));
+
+        CacheMetrics.PrefixSnapshot snapshot = metrics.snapshot().get("dashboard:");
+
+        assertThat(snapshot.getHitRatio()).isEqualTo(0.75);
+        assertThat(snapshot.getLatency()).containsOnlyKeys("get");
+        assertThat(snapshot.getLatency().get("get").getMeanMicros()).isEqualTo(500.0);
+        assertThat(snapshot.getLatency().get("get").getPercentileMicros()).containsKeys("p50", "p95", "p99");
+        assertThat(snapshot.getFailures()).isEmpty();
+    }
+}
@@ -0,0 +1,118 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompactRedisSerializer 值序列化器測試。
+ * 驗證兩種格式的往返、遷移期間的相容讀取、壓縮門檻與量測包裝。
+ */
+@DisplayName("CompactRedisSerializer 值序列化器測試")
+class CompactRedisSerializerTest {
+
+    @Test
+    @DisplayName("compact 格式應能完整往返 DashboardView，且比 JSON 小")
+    void compactRoundTripShouldBeSmallerThanJson() {
+        CompactRedisSerializer compact = serializer(RedisSerializerProperties.Format.COMPACT, 0);
+        CompactRedisSerializer json = serializer(RedisSerializerProperties.Format.JSON, 0);
+        DashboardView view = createTestView("LINE-A", 20);
+
+        byte[] compactBytes = compact.serialize(view);
+        byte[] jsonBytes = json.serialize(view);
+        DashboardView restored = (DashboardView) compact.deserialize(compactBytes);
+
+        assertThat(compactBytes[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(compactBytes.length).isLessThan(jsonBytes.length);
+        assertThat(restored.getLineId()).isEqualTo("LINE-A");
+        assertThat(restored.getYieldRate()).isEqualByComparingTo("0.9500");
+        assertThat(restored.getLastUpdated()).isEqualTo(view.getLastUpdated());
+        assertThat(restored.getEquipmentStatuses()).hasSize(20);
+        assertThat(restored.getEquipmentStatuses().get(3).getEquipmentId()).isEqualTo("EQ-3");
+    }
+
+    @Test
+    @DisplayName("JSON 格式應保持可讀，且 compact 讀取端可讀回既有 JSON 值")
+    void compactReaderShouldReadExistingJson() {
+        CompactRedisSerializer json = serializer(RedisSerializerProperties.Format.JSON, 0);
+        CompactRedisSerializer compact = serializer(RedisSerializerProperties.Format.COMPACT, 0);
+        DashboardView view = createTestView("LINE-B", 2);
+
+        byte[] jsonBytes = json.serialize(view);
+        String text = new String(jsonBytes, StandardCharsets.UTF_8);
+        DashboardView restored = (DashboardView) compact.deserialize(jsonBytes);
+
+        assertThat(text).startsWith("{").contains("\"lineId\":\"LINE-B\"");
+        assertThat(restored.getLineId()).isEqualTo("LINE-B");
+        assertThat(restored.getEquipmentStatuses()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("超過壓縮門檻時應以 Deflate 壓縮，未超過時不壓縮")
+    void shouldCompressAboveThreshold() {
+        CompactRedisSerializer serializer = serializer(RedisSerializerProperties.Format.COMPACT, 512);
+
+        byte[] small = serializer.serialize(createTestView("LINE-S", 0));
+        byte[] large = serializer.serialize(createTestView("LINE-L", 200));
+
+        assertThat(small[1] & CompactRedisSerializer.FLAG_DEFLATE).isZero();
+        assertThat(large[1] & CompactRedisSerializer.FLAG_DEFLATE).isEqualTo(CompactRedisSerializer.FLAG_DEFLATE);
+        DashboardView restored = (DashboardView) serializer.deserialize(large);
+        assertThat(restored.getEquipmentStatuses()).hasSize(200);
+    }
+
+    @Test
+    @DisplayName("null 與空位元組應對應")
+    void shouldHandleNull() {
+        CompactRedisSerializer serializer = serializer(RedisSerializerProperties.Format.COMPACT, 0);
+
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    @DisplayName("MeteredRedisSerializer 應依快取名稱累計位元組數")
+    void meteredSerializerShouldRecordBytesPerCacheName() {
+        SerializationMetrics metrics = new SerializationMetrics();
+        MeteredRedisSerializer metered = new MeteredRedisSerializer("dashboards",
+                serializer(RedisSerializerProperties.Format.COMPACT, 0), metrics);
+
+        byte[] bytes = metered.serialize(createTestView("LINE-A", 5));
+        metered.deserialize(bytes);
+
+        SerializationMetrics.Snapshot snapshot = metrics.snapshot().get("dashboards");
+        assertThat(snapshot.getSerializeCount()).isEqualTo(1);
+        assertThat(snapshot.getSerializedBytes()).isEqualTo(bytes.length);
+        assertThat(snapshot.getMaxBytes()).isEqualTo(bytes.length);
+        assertThat(snapshot.getDeserializeCount()).isEqualTo(1);
+    }
+
+    private static CompactRedisSerializer serializer(RedisSerializerProperties.Format format, int threshold) {
+        RedisSerializerProperties properties = new RedisSerializerProperties();
+        properties.setFormat(format);
+        properties.setCompressionThreshold(threshold);
+        return CompactRedisSerializer.create(properties);
+    }
+
+    private static DashboardView createTestView(String lineId, int equipmentCount) {
+        List<DashboardView.EquipmentStatusView> statuses = new ArrayList<>();
+        for (int i = 0; i < equipmentCount; i++) {
+            statuses.add(new DashboardView.EquipmentStatusView(
+                    "EQ-" + i, "Equipment " + i, "RUNNING", LocalDateTime.of(2024, 1, 1, 8, 0)));
+        }
+        return new DashboardView(
+                lineId, 1000, 950, 50,
+                new BigDecimal("0.9500"), 120.0,
+                statuses,
+                LocalDateTime.of(2024, 1, 1, 8, 30, 15));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NearCache 近端快取單元測試。
+ * 以可控時鐘驗證 TTL、筆數與權重上限及樣式失效。
+ */
+@DisplayName("NearCache 近端快取測試")
+class NearCacheTest {
+
+    private AtomicLong now;
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000);
+        cache = new NearCache(3, 100, now::get);
+    }
+
+    @Test
+    @DisplayName("未過期前應命中，過期後應視為未命中並移除")
+    void shouldExpireEntriesAfterTtl() {
+        cache.put("dashboard:LINE-A", "view", 10, 500);
+
+        now.addAndGet(499);
+        assertThat(cache.get("dashboard:LINE-A")).isEqualTo("view");
+
+        now.addAndGet(1);
+        assertThat(cache.get("dashboard:LINE-A")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    @DisplayName("超過筆數上限時應淘汰最久未使用的項目")
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+        cache.put("a", "A", 1, 10_000);
+        cache.put("b", "B", 1, 10_000);
+        cache.put("c", "C", 1, 10_000);
+        cache.get("a");
+
+        cache.put("d", "D", 1, 10_000);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("d")).isEqualTo("D");
+    }
+
+    @Test
+    @DisplayName("超過權重上限時應淘汰舊項目，單一過大項目不快取")
+    void shouldRespectWeightLimit() {
+        cache.put("a", "A", 60, 10_000);
+        cache.put("b", "B", 60, 10_000);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.weight()).isEqualTo(60);
+
+        assertThat(cache.put("huge", "H", 101, 10_000)).isFalse();
+        assertThat(cache.get("huge")).isNull();
+    }
+
+    @Test
+    @DisplayName("樣式失效應只移除符合 glob 的鍵")
+    void shouldInvalidateMatchingKeys() {
+        cache.put("dashboard:LINE-A", "A", 1, 10_000);
+        cache.put("dashboard:LINE-B", "B", 1, 10_000);
+        cache.put("overview:all", "O", 1, 10_000);
+
+        int removed = cache.invalidateMatching("dashboard:*");
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(cache.get("overview:all")).isEqualTo("O");
+    }
+
+    @Test
+    @DisplayName("glob 轉換應支援 ? 與字元類別，並跳脫其他正規表示式字元")
+    void shouldTranslateGlobPatterns() {
+        assertThat(NearCache.globToRegex("line-?").matcher("line-1").matches()).isTrue();
+        assertThat(NearCache.globToRegex("line-[AB]").matcher("line-B").matches()).isTrue();
+        assertThat(NearCache.globToRegex("line-[AB]").matcher("line-C").matches()).isFalse();
+        assertThat(NearCache.globToRegex("a.b").matcher("axb").matches()).isFalse();
+    }
+}
@@ -0,0 +1,151 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ReactiveRedisCacheAdapter 非阻塞快取配接器測試。
+ * 使用 Mock ReactiveRedisTemplate 驗證送出的指令、失敗時的降級與量測。
+ */
+@DisplayName("ReactiveRedisCacheAdapter 非阻塞快取配接器測試")
+class ReactiveRedisCacheAdapterTest {
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    @SuppressWarnings("unchecked")
+    private ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private ReactiveValueOperations<String, Object> valueOps = mock(ReactiveValueOperations.class);
+
+    private ReactiveStringRedisTemplate stringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private ReactiveSetOperations<String, String> setOps = mock(ReactiveSetOperations.class);
+
+    private CacheMetrics metrics;
+    private ReactiveRedisCacheAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOps);
+        RedisCacheProperties properties = new RedisCacheProperties();
+        metrics = new CacheMetrics(new SimpleMeterRegistry(), properties);
+        adapter = new ReactiveRedisCacheAdapter(redisTemplate, stringRedisTemplate, objectMapper, properties, metrics);
+    }
+
+    @Test
+    @DisplayName("get 命中時應回傳值，並記錄命中")
+    void getShouldReturnValueOnHit() {
+        DashboardView view = new DashboardView();
+        view.setLineId("LINE-A");
+        when(valueOps.get("dashboard:LINE-A")).thenReturn(Mono.<Object>just(view));
+
+        DashboardView result = adapter.get("dashboard:LINE-A", DashboardView.class).block(BLOCK_TIMEOUT);
+
+        assertThat(result).isSameAs(view);
+        assertThat(metrics.snapshot().get("dashboard:").getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get 取得未帶型別資訊的值時應以 ObjectMapper 轉換")
+    void getShouldConvertUntypedValue() {
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("lineId", "LINE-A");
+        raw.put("totalOutput", 1000);
+        when(valueOps.get("dashboard:LINE-A")).thenReturn(Mono.<Object>just(raw));
+
+        DashboardView result = adapter.get("dashboard:LINE-A", DashboardView.class).block(BLOCK_TIMEOUT);
+
+        assertThat(result.getLineId()).isEqualTo("LINE-A");
+        assertThat(result.getTotalOutput()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("get 失敗時應視為未命中並記錄失敗")
+    void getShouldReturnEmptyOnFailure() {
+        when(valueOps.get("dashboard:LINE-A")).thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        DashboardView result = adapter.get("dashboard:LINE-A", DashboardView.class).block(BLOCK_TIMEOUT);
+
+        assertThat(result).isNull();
+        assertThat(metrics.snapshot().get("dashboard:").getFailures()).containsEntry("get", 1L);
+    }
+
+    @Test
+    @DisplayName("put 應以 SET EX 寫入，並以 SADD 與 EXPIRE 登記各標籤")
+    void putShouldSetValueAndRegisterTags() {
+        DashboardView view = new DashboardView();
+        when(valueOps.set("dashboard:LINE-A", view, Duration.ofSeconds(1800))).thenReturn(Mono.just(true));
+        when(setOps.add("cache:tag:dashboard", "dashboard:LINE-A")).thenReturn(Mono.just(1L));
+        when(setOps.add("cache:tag:line:LINE-A", "dashboard:LINE-A")).thenReturn(Mono.just(1L));
+        when(stringRedisTemplate.expire(anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        Boolean written = adapter.put("dashboard:LINE-A", view, 1800, Arrays.asList("dashboard", "line:LINE-A"))
+                .block(BLOCK_TIMEOUT);
+
+        assertThat(written).isTrue();
+        verify(setOps).add("cache:tag:dashboard", "dashboard:LINE-A");
+        verify(setOps).add("cache:tag:line:LINE-A", "dashboard:LINE-A");
+        verify(stringRedisTemplate).expire("cache:tag:dashboard", Duration.ofSeconds(1800 + 300));
+    }
+
+    @Test
+    @DisplayName("put 失敗時應回傳 false，不登記標籤")
+    void putShouldReturnFalseOnFailure() {
+        DashboardView view = new DashboardView();
+        when(valueOps.set("dashboard:LINE-A", view, Duration.ofSeconds(1800)))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        Boolean written = adapter.put("dashboard:LINE-A", view, 1800, Collections.singletonList("dashboard"))
+                .block(BLOCK_TIMEOUT);
+
+        assertThat(written).isFalse();
+        verify(stringRedisTemplate, never()).opsForSet();
+        assertThat(metrics.snapshot().get("dashboard:").getFailures()).containsEntry("put", 1L);
+    }
+
+    @Test
+    @DisplayName("evict 應刪除鍵")
+    void evictShouldDeleteKey() {
+        when(valueOps.delete("dashboard:LINE-A")).thenReturn(Mono.just(true));
+
+        assertThat(adapter.evict("dashboard:LINE-A").block(BLOCK_TIMEOUT)).isTrue();
+    }
+
+    @Test
+    @DisplayName("evict 建立指令時同步拋出例外也應回傳 false，並記錄失敗")
+    void evictShouldReturnFalseOnSynchronousFailure() {
+        when(valueOps.delete("dashboard:LINE-A")).thenThrow(new IllegalStateException("connection closed"));
+
+        assertThat(adapter.evict("dashboard:LINE-A").block(BLOCK_TIMEOUT)).isFalse();
+        assertThat(metrics.snapshot().get("dashboard:").getFailures()).containsEntry("evict", 1L);
+    }
+}
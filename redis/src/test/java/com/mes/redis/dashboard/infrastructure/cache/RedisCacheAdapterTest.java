@@ -4,30 +4,46 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * RedisCacheAdapter 快取配接器測試。
- * 使用 Mock RedisTemplate 驗證 Redis 操作呼叫。
+ * 使用 Mock RedisTemplate 驗證 Redis 操作呼叫；
+ * 以 RedisCallback 執行的批次操作則交給 Mock RedisConnection 驗證實際送出的指令。
  */
 @DisplayName("RedisCacheAdapter 快取配接器測試")
 class RedisCacheAdapterTest {
@@ -38,7 +54,11 @@ class RedisCacheAdapterTest {
     @SuppressWarnings("unchecked")
     private ValueOperations<String, Object> valueOps = mock(ValueOperations.class);
 
+    private RedisConnection connection = mock(RedisConnection.class);
+
     private ObjectMapper objectMapper;
+    private RedisCacheProperties properties;
+    private CacheMetrics metrics;
     private RedisCacheAdapter adapter;
 
     @BeforeEach
@@ -47,7 +67,17 @@ class RedisCacheAdapterTest {
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        adapter = new RedisCacheAdapter(redisTemplate, objectMapper);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+                    return Collections.emptyList();
+                });
+        properties = new RedisCacheProperties();
+        properties.setInvalidationChunkSize(2);
+        metrics = new CacheMetrics(new SimpleMeterRegistry(), properties);
+        adapter = new RedisCacheAdapter(redisTemplate, objectMapper, properties, metrics);
     }
 
     @Test
@@ -91,15 +121,124 @@ class RedisCacheAdapterTest {
     }
 
     @Test
-    @DisplayName("evictByPattern 應呼叫 keys() 與 delete()")
-    void evictByPatternShouldCallKeysAndDelete() {
-        HashSet<String> keys = new HashSet<>(Arrays.asList("dashboard:LINE-A", "dashboard:LINE-B"));
-        when(redisTemplate.keys("dashboard:*")).thenReturn(keys);
+    @DisplayName("evictByPattern 應以 SCAN 漸進走訪並分批 UNLINK，不使用 KEYS")
+    void evictByPatternShouldScanAndUnlinkInChunks() {
+        Cursor<byte[]> cursor = cursorOf("dashboard:LINE-A", "dashboard:LINE-B", "dashboard:LINE-C");
+        when(connection.scan(any(ScanOptions.class))).thenReturn(cursor);
 
         adapter.evictByPattern("dashboard:*");
 
-        verify(redisTemplate).keys("dashboard:*");
-        verify(redisTemplate).delete(keys);
+        verify(connection).unlink(aryEq(raw("dashboard:LINE-A")), aryEq(raw("dashboard:LINE-B")));
+        verify(connection).unlink(aryEq(raw("dashboard:LINE-C")));
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    @DisplayName("帶標籤的 put 應以管線送出 SET EX、SADD 與 EXPIRE")
+    void putWithTagsShouldPipelineSetAndTagRegistration() {
+        doReturn(CompactRedisSerializer.create(new RedisSerializerProperties()))
+                .when(redisTemplate).getValueSerializer();
+
+        adapter.put("dashboard:LINE-A", createTestView("LINE-A"), 1800, Arrays.asList("dashboard", "line:LINE-A"));
+
+        verify(connection).set(aryEq(raw("dashboard:LINE-A")), any(byte[].class), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.upsert()));
+        verify(connection).sAdd(aryEq(raw("cache:tag:dashboard")), aryEq(raw("dashboard:LINE-A")));
+        verify(connection).sAdd(aryEq(raw("cache:tag:line:LINE-A")), aryEq(raw("dashboard:LINE-A")));
+        verify(connection).expire(aryEq(raw("cache:tag:dashboard")), eq(1800L + 300L));
+    }
+
+    @Test
+    @DisplayName("getAll 應以單一 MGET 取回所有鍵，只回傳命中的鍵")
+    void getAllShouldUseSingleMultiGet() {
+        DashboardView viewA = createTestView("LINE-A");
+        DashboardView viewC = createTestView("LINE-C");
+        List<String> keys = Arrays.asList("dashboard:LINE-A", "dashboard:LINE-B", "dashboard:LINE-C");
+        when(valueOps.multiGet(keys)).thenReturn(Arrays.<Object>asList(viewA, null, viewC));
+
+        Map<String, DashboardView> result = adapter.getAll(keys, DashboardView.class);
+
+        assertThat(result).containsOnlyKeys("dashboard:LINE-A", "dashboard:LINE-C");
+        assertThat(result.get("dashboard:LINE-C")).isSameAs(viewC);
+        verify(valueOps).multiGet(keys);
+        verify(valueOps, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("getAll 失敗時應視為全部未命中")
+    void getAllShouldReturnEmptyOnFailure() {
+        when(valueOps.multiGet(any())).thenThrow(new IllegalStateException("connection refused"));
+
+        Map<String, DashboardView> result = adapter.getAll(Arrays.asList("dashboard:LINE-A"), DashboardView.class);
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("putAll 應以單一管線送出每筆 SET EX 與標籤登記")
+    void putAllShouldPipelineSetsAndTags() {
+        doReturn(CompactRedisSerializer.create(new RedisSerializerProperties()))
+                .when(redisTemplate).getValueSerializer();
+        Map<String, DashboardView> entries = new LinkedHashMap<>();
+        entries.put("dashboard:LINE-A", createTestView("LINE-A"));
+        entries.put("dashboard:LINE-B", createTestView("LINE-B"));
+
+        adapter.putAll(entries, 1800, key -> Collections.singletonList("dashboard"));
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(connection).set(aryEq(raw("dashboard:LINE-A")), any(byte[].class), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.upsert()));
+        verify(connection).set(aryEq(raw("dashboard:LINE-B")), any(byte[].class), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.upsert()));
+        verify(connection).sAdd(aryEq(raw("cache:tag:dashboard")), aryEq(raw("dashboard:LINE-B")));
+        verify(valueOps, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("evictByTag 應以 SSCAN 取出成員並分批 UNLINK，且只從標籤集合 SREM 掃描到的成員")
+    void evictByTagShouldUnlinkMembersAndRemoveThemFromTagSet() {
+        Cursor<byte[]> cursor = cursorOf("dashboard:LINE-A", "dashboard:LINE-B", "dashboard:LINE-C");
+        when(connection.sScan(aryEq(raw("cache:tag:dashboard")), any(ScanOptions.class))).thenReturn(cursor);
+
+        List<String> evicted = adapter.evictTagMembers("dashboard");
+
+        assertThat(evicted).containsExactly("dashboard:LINE-A", "dashboard:LINE-B", "dashboard:LINE-C");
+        verify(connection).unlink(aryEq(raw("dashboard:LINE-A")), aryEq(raw("dashboard:LINE-B")));
+        verify(connection).unlink(aryEq(raw("dashboard:LINE-C")));
+        verify(connection).sRem(aryEq(raw("cache:tag:dashboard")),
+                aryEq(raw("dashboard:LINE-A")), aryEq(raw("dashboard:LINE-B")));
+        verify(connection).sRem(aryEq(raw("cache:tag:dashboard")), aryEq(raw("dashboard:LINE-C")));
+        // 掃描期間新加入的成員必須留在集合中，不可刪除整個標籤集合
+        verify(connection, never()).unlink(aryEq(raw("cache:tag:dashboard")));
+    }
+
+    @Test
+    @DisplayName("get 應依鍵前綴記錄命中、未命中與延遲")
+    void getShouldRecordHitsAndMissesByPrefix() {
+        when(valueOps.get("dashboard:LINE-A")).thenReturn(createTestView("LINE-A"));
+
+        adapter.get("dashboard:LINE-A", DashboardView.class);
+        adapter.get("dashboard:LINE-X", DashboardView.class);
+        adapter.getAll(Arrays.asList("dashboard:LINE-A", "dashboard:LINE-B"), DashboardView.class);
+
+        CacheMetrics.PrefixSnapshot snapshot = metrics.snapshot().get("dashboard:");
+        assertThat(snapshot.getHits()).isEqualTo(1);
+        assertThat(snapshot.getMisses()).isEqualTo(3);
+        assertThat(snapshot.getHitRatio()).isEqualTo(0.25);
+        assertThat(snapshot.getLatency()).containsOnlyKeys("get", "get-all");
+        assertThat(snapshot.getLatency().get("get").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Redis 失敗被吞下時應記錄失敗次數")
+    void shouldRecordSwallowedFailures() {
+        when(valueOps.get(anyString())).thenThrow(new IllegalStateException("connection refused"));
+
+        assertThat(adapter.get("dashboard:LINE-A", DashboardView.class)).isNull();
+
+        CacheMetrics.PrefixSnapshot snapshot = metrics.snapshot().get("dashboard:");
+        assertThat(snapshot.getFailures()).containsEntry("get", 1L);
+        assertThat(snapshot.getHits() + snapshot.getMisses()).isZero();
     }
 
     @Test
@@ -113,6 +252,25 @@ class RedisCacheAdapterTest {
         verify(redisTemplate).hasKey("dashboard:LINE-A");
     }
 
+    @SuppressWarnings("unchecked")
+    private static Cursor<byte[]> cursorOf(String... keys) {
+        Cursor<byte[]> cursor = mock(Cursor.class);
+        Boolean[] remaining = new Boolean[keys.length];
+        Arrays.fill(remaining, Boolean.TRUE);
+        remaining[keys.length - 1] = Boolean.FALSE;
+        when(cursor.hasNext()).thenReturn(Boolean.TRUE, remaining);
+        byte[][] values = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = raw(keys[i]);
+        }
+        when(cursor.next()).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+        return cursor;
+    }
+
+    private static byte[] raw(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
     private DashboardView createTestView(String lineId) {
         return new DashboardView(
                 lineId, 1000, 950, 50,
@@ -0,0 +1,208 @@
+package com.mes.redis.dashboard.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mes.redis.dashboard.application.query.dto.DashboardView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TwoLevelCacheAdapter 兩層快取配接器測試。
+ * 以 Mock 的 RedisCacheAdapter 作為 L2，驗證 L1 命中、回填與跨節點失效。
+ */
+@DisplayName("TwoLevelCacheAdapter 兩層快取配接器測試")
+class TwoLevelCacheAdapterTest {
+
+    private static final String CHANNEL = "mes:cache:invalidation";
+
+    private RedisCacheAdapter redisCache;
+    private StringRedisTemplate stringRedisTemplate;
+    private TwoLevelCacheAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = mock(RedisCacheAdapter.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        adapter = new TwoLevelCacheAdapter(redisCache, stringRedisTemplate, objectMapper,
+                new NearCacheProperties());
+    }
+
+    @Test
+    @DisplayName("L2 命中後應回填 L1，第二次讀取不再查 Redis")
+    void shouldServeSecondReadFromL1() {
+        DashboardView view = createTestView("LINE-A");
+        when(redisCache.get("dashboard:LINE-A", DashboardView.class)).thenReturn(view);
+
+        DashboardView first = adapter.get("dashboard:LINE-A", DashboardView.class);
+        DashboardView second = adapter.get("dashboard:LINE-A", DashboardView.class);
+
+        assertThat(first).isSameAs(view);
+        assertThat(second).isSameAs(view);
+        verify(redisCache, times(1)).get("dashboard:LINE-A", DashboardView.class);
+        assertThat(adapter.getL1HitCount()).isEqualTo(1);
+        assertThat(adapter.getL1MissCount()).isEqualTo(1);
+        assertThat(adapter.getL2HitCount()).isEqualTo(1);
+        assertThat(adapter.getL1WeightBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("兩層都未命中時應回傳 null 並計入 L2 未命中")
+    void shouldCountMissOnBothLevels() {
+        DashboardView result = adapter.get("dashboard:LINE-X", DashboardView.class);
+
+        assertThat(result).isNull();
+        assertThat(adapter.getL1MissCount()).isEqualTo(1);
+        assertThat(adapter.getL2MissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put 應寫入 L2、L1 並發佈失效通知")
+    void putShouldWriteThroughAndPublish() {
+        DashboardView view = createTestView("LINE-A");
+
+        adapter.put("dashboard:LINE-A", view, 1800);
+
+        verify(redisCache).put("dashboard:LINE-A", view, 1800);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), anyString());
+        assertThat(adapter.get("dashboard:LINE-A", DashboardView.class)).isSameAs(view);
+    }
+
+    @Test
+    @DisplayName("getAll 應只對 L1 未命中的鍵查詢 Redis，並回填 L1")
+    void getAllShouldQueryRedisOnlyForL1Misses() {
+        DashboardView viewA = createTestView("LINE-A");
+        DashboardView viewB = createTestView("LINE-B");
+        adapter.put("dashboard:LINE-A", viewA, 1800);
+        when(redisCache.getAll(Arrays.asList("dashboard:LINE-B", "dashboard:LINE-C"), DashboardView.class))
+                .thenReturn(Collections.singletonMap("dashboard:LINE-B", viewB));
+
+        Map<String, DashboardView> result = adapter.getAll(
+                Arrays.asList("dashboard:LINE-A", "dashboard:LINE-B", "dashboard:LINE-C"), DashboardView.class);
+
+        assertThat(result).containsOnlyKeys("dashboard:LINE-A", "dashboard:LINE-B");
+        assertThat(result.get("dashboard:LINE-A")).isSameAs(viewA);
+        assertThat(adapter.getL1HitCount()).isEqualTo(1);
+        assertThat(adapter.getL2HitCount()).isEqualTo(1);
+        assertThat(adapter.getL2MissCount()).isEqualTo(1);
+        assertThat(adapter.get("dashboard:LINE-B", DashboardView.class)).isSameAs(viewB);
+    }
+
+    @Test
+    @DisplayName("putAll 應批次寫入 L2 與 L1，並以單一批次訊息通知其他節點")
+    void putAllShouldWriteThroughAndPublishOneBatch() {
+        Map<String, DashboardView> entries = new LinkedHashMap<>();
+        entries.put("dashboard:LINE-A", createTestView("LINE-A"));
+        entries.put("dashboard:LINE-B", createTestView("LINE-B"));
+
+        adapter.putAll(entries, 1800);
+
+        verify(redisCache).putAll(entries, 1800);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL),
+                endsWith("|M|dashboard:LINE-A\ndashboard:LINE-B"));
+        assertThat(adapter.getL1Size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("evict 應清除兩層快取")
+    void evictShouldClearBothLevels() {
+        adapter.put("dashboard:LINE-A", createTestView("LINE-A"), 1800);
+
+        adapter.evict("dashboard:LINE-A");
+
+        verify(redisCache).evict("dashboard:LINE-A");
+        assertThat(adapter.getL1Size()).isZero();
+    }
+
+    @Test
+    @DisplayName("evictByTag 應清除 L2 回傳的鍵並廣播給其他節點")
+    void evictByTagShouldInvalidateEvictedKeysInL1() {
+        adapter.put("dashboard:LINE-A", createTestView("LINE-A"), 1800);
+        adapter.put("overview:all", createTestView("ALL"), 1800);
+        when(redisCache.evictTagMembers("dashboard")).thenReturn(Arrays.asList("dashboard:LINE-A"));
+
+        int evicted = adapter.evictByTag("dashboard");
+
+        assertThat(evicted).isEqualTo(1);
+        assertThat(adapter.getL1Size()).isEqualTo(1);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), endsWith("|M|dashboard:LINE-A"));
+    }
+
+    @Test
+    @DisplayName("收到其他節點的批次鍵失效通知時應逐一清除")
+    void shouldInvalidateKeyBatchOnRemoteMessage() {
+        adapter.put("dashboard:LINE-A", createTestView("LINE-A"), 1800);
+        adapter.put("dashboard:LINE-B", createTestView("LINE-B"), 1800);
+        adapter.put("overview:all", createTestView("ALL"), 1800);
+
+        adapter.onMessage(message("other-node|M|dashboard:LINE-A\ndashboard:LINE-B"), null);
+
+        assertThat(adapter.getL1Size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("收到其他節點的失效通知時應清除本機 L1，忽略自己的通知")
+    void shouldInvalidateL1OnRemoteMessage() {
+        adapter.put("dashboard:LINE-A", createTestView("LINE-A"), 1800);
+        adapter.put("dashboard:LINE-B", createTestView("LINE-B"), 1800);
+
+        adapter.onMessage(message("other-node|K|dashboard:LINE-A"), null);
+        assertThat(adapter.getL1Size()).isEqualTo(1);
+
+        adapter.onMessage(message("other-node|P|dashboard:*"), null);
+        assertThat(adapter.getL1Size()).isZero();
+        assertThat(adapter.getInvalidationsReceived()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("停用 L1 時應直接委派給 Redis")
+    void shouldBypassL1WhenDisabled() {
+        NearCacheProperties properties = new NearCacheProperties();
+        properties.setEnabled(false);
+        adapter = new TwoLevelCacheAdapter(redisCache, stringRedisTemplate, new ObjectMapper(), properties);
+        DashboardView view = createTestView("LINE-A");
+        when(redisCache.get("dashboard:LINE-A", DashboardView.class)).thenReturn(view);
+
+        adapter.get("dashboard:LINE-A", DashboardView.class);
+        adapter.get("dashboard:LINE-A", DashboardView.class);
+
+        verify(redisCache, times(2)).get("dashboard:LINE-A", DashboardView.class);
+        assertThat(adapter.getL1HitCount()).isZero();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private DashboardView createTestView(String lineId) {
+        return new DashboardView(
+                lineId, 1000, 950, 50,
+                new BigDecimal("0.9500"), 120.0,
+                new ArrayList<DashboardView.EquipmentStatusView>(),
+                LocalDateTime.now());
+    }
+}
@@ -1,6 +1,12 @@
 package com.mes.redis.dashboard.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mes.redis.dashboard.infrastructure.cache.CompactRedisSerializer;
+import com.mes.redis.dashboard.infrastructure.cache.MeteredRedisCacheManager;
+import com.mes.redis.dashboard.infrastructure.cache.MeteredRedisSerializer;
+import com.mes.redis.dashboard.infrastructure.cache.RedisSerializerProperties;
+import com.mes.redis.dashboard.infrastructure.cache.SerializationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,7 +14,7 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,11 +29,15 @@ class RedisConfigTest {
 
     private RedisConfig redisConfig;
     private RedisConnectionFactory connectionFactory;
+    private RedisSerializer<Object> valueSerializer;
+    private SerializationMetrics metrics;
 
     @BeforeEach
     void setUp() {
         redisConfig = new RedisConfig();
         connectionFactory = mock(RedisConnectionFactory.class);
+        valueSerializer = redisConfig.redisValueSerializer(new RedisSerializerProperties());
+        metrics = redisConfig.serializationMetrics(new SimpleMeterRegistry());
     }
 
     @Test
@@ -43,7 +53,8 @@ class RedisConfigTest {
     @Test
     @DisplayName("redisTemplate 應使用 StringRedisSerializer 作為 Key 序列化器")
     void shouldCreateRedisTemplateWithStringKeySerializer() {
-        RedisTemplate<String, Object> template = redisConfig.redisTemplate(connectionFactory);
+        RedisTemplate<String, Object> template =
+                redisConfig.redisTemplate(connectionFactory, valueSerializer, metrics);
 
         assertThat(template).isNotNull();
         assertThat(template.getKeySerializer()).isInstanceOf(StringRedisSerializer.class);
@@ -51,21 +62,25 @@ class RedisConfigTest {
     }
 
     @Test
-    @DisplayName("redisTemplate 應使用 GenericJackson2JsonRedisSerializer 作為 Value 序列化器")
-    void shouldCreateRedisTemplateWithJsonValueSerializer() {
-        RedisTemplate<String, Object> template = redisConfig.redisTemplate(connectionFactory);
+    @DisplayName("redisTemplate 應以量測包裝的 CompactRedisSerializer 作為 Value 序列化器，預設寫入 JSON")
+    void shouldCreateRedisTemplateWithMeteredValueSerializer() {
+        RedisTemplate<String, Object> template =
+                redisConfig.redisTemplate(connectionFactory, valueSerializer, metrics);
 
         assertThat(template).isNotNull();
-        assertThat(template.getValueSerializer()).isInstanceOf(GenericJackson2JsonRedisSerializer.class);
-        assertThat(template.getHashValueSerializer()).isInstanceOf(GenericJackson2JsonRedisSerializer.class);
+        assertThat(template.getValueSerializer()).isInstanceOf(MeteredRedisSerializer.class);
+        assertThat(template.getHashValueSerializer()).isInstanceOf(MeteredRedisSerializer.class);
+        RedisSerializer<Object> delegate = ((MeteredRedisSerializer) template.getValueSerializer()).getDelegate();
+        assertThat(delegate).isInstanceOf(CompactRedisSerializer.class);
+        assertThat(((CompactRedisSerializer) delegate).isWriteCompact()).isFalse();
     }
 
     @Test
     @DisplayName("redisCacheManager 應成功建立")
     void shouldCreateRedisCacheManager() {
-        RedisCacheManager cacheManager = redisConfig.redisCacheManager(connectionFactory);
+        RedisCacheManager cacheManager = redisConfig.redisCacheManager(connectionFactory, valueSerializer, metrics);
 
-        assertThat(cacheManager).isNotNull();
+        assertThat(cacheManager).isInstanceOf(MeteredRedisCacheManager.class);
     }
 
     @Test
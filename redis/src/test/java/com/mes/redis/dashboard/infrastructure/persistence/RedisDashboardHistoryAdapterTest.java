@@ -0,0 +1,131 @@
+package com.mes.redis.dashboard.infrastructure.persistence;
+
+import com.mes.redis.dashboard.domain.model.DashboardHistoryPoint;
+import com.mes.redis.dashboard.domain.model.HistoryResolution;
+import com.mes.redis.dashboard.domain.model.ProductionSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RedisDashboardHistoryAdapter 看板歷史配接器測試。
+ * 使用 Mock StringRedisTemplate 驗證 Sorted Set 指令與資料點的編碼。
+ */
+@DisplayName("RedisDashboardHistoryAdapter 看板歷史配接器測試")
+class RedisDashboardHistoryAdapterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final long TIME_MILLIS = 1704096000000L;
+
+    private StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private ZSetOperations<String, String> zSetOps = mock(ZSetOperations.class);
+
+    @SuppressWarnings("unchecked")
+    private HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+
+    private RedisConnection connection = mock(RedisConnection.class);
+
+    private RedisDashboardHistoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+                    return Collections.emptyList();
+                });
+        adapter = new RedisDashboardHistoryAdapter(stringRedisTemplate, ZONE);
+    }
+
+    @Test
+    @DisplayName("append 應以時間戳記為 score 寫入原始序列，並登記產線")
+    void appendShouldAddToRawSortedSet() {
+        DashboardHistoryPoint point = DashboardHistoryPoint.of(TIME, new ProductionSummary(1000, 950, 50, 120.0));
+
+        adapter.append("LINE-A", point);
+
+        verify(connection).zAdd(aryEq(raw("history:LINE-A:raw")), eq((double) TIME_MILLIS),
+                aryEq(raw(TIME_MILLIS + "|1|1000|950|50|120.0|120.0")));
+        verify(connection).sAdd(aryEq(raw("history:lines")), aryEq(raw("LINE-A")));
+    }
+
+    @Test
+    @DisplayName("findRange 應以 ZRANGEBYSCORE 查詢半開區間並解碼資料點")
+    void findRangeShouldDecodeMembers() {
+        Set<String> members = new LinkedHashSet<>();
+        members.add(TIME_MILLIS + "|3|1000|950|50|110.0|130.0");
+        members.add("malformed");
+        when(zSetOps.rangeByScore("history:LINE-A:1m", TIME_MILLIS, TIME_MILLIS + 3_600_000 - 1))
+                .thenReturn(members);
+
+        List<DashboardHistoryPoint> points = adapter.findRange("LINE-A", HistoryResolution.MINUTE,
+                TIME, TIME.plusHours(1));
+
+        assertThat(points).containsExactly(new DashboardHistoryPoint(TIME, 3, 1000, 950, 50, 110.0, 130.0));
+    }
+
+    @Test
+    @DisplayName("saveRollUps 應先刪除同一時間桶再寫入，並在同一個管線中推進進度")
+    void saveRollUpsShouldReplaceBucketsAndAdvanceProgress() {
+        DashboardHistoryPoint bucket = new DashboardHistoryPoint(TIME, 2, 20, 19, 1, 70.0, 80.0);
+
+        adapter.saveRollUps("LINE-A", HistoryResolution.MINUTE, Collections.singletonList(bucket),
+                TIME.plusMinutes(1));
+
+        verify(connection).zRemRangeByScore(aryEq(raw("history:LINE-A:1m")),
+                eq((double) TIME_MILLIS), eq((double) TIME_MILLIS));
+        verify(connection).zAdd(aryEq(raw("history:LINE-A:1m")), eq((double) TIME_MILLIS),
+                aryEq(raw(TIME_MILLIS + "|2|20|19|1|70.0|80.0")));
+        verify(connection).hSet(aryEq(raw("history:LINE-A:rolled-up")), aryEq(raw("1m")),
+                aryEq(raw(Long.toString(TIME_MILLIS + 60_000))));
+    }
+
+    @Test
+    @DisplayName("findRolledUpUntil 應讀取進度 Hash")
+    void findRolledUpUntilShouldReadProgressHash() {
+        when(hashOps.get("history:LINE-A:rolled-up", "15m")).thenReturn(Long.toString(TIME_MILLIS));
+
+        assertThat(adapter.findRolledUpUntil("LINE-A", HistoryResolution.FIFTEEN_MINUTES)).contains(TIME);
+        assertThat(adapter.findRolledUpUntil("LINE-A", HistoryResolution.HOUR)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("trim 應刪除保留期之前的資料點")
+    void trimShouldRemoveOlderPoints() {
+        when(zSetOps.removeRangeByScore("history:LINE-A:raw", Double.NEGATIVE_INFINITY, TIME_MILLIS - 1))
+                .thenReturn(5L);
+
+        assertThat(adapter.trim("LINE-A", HistoryResolution.RAW, TIME)).isEqualTo(5);
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}